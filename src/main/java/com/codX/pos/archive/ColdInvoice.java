@@ -0,0 +1,9 @@
+package com.codX.pos.archive;
+
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+
+import java.util.List;
+
+// An invoice with its lines as stored in a cold segment file
+public record ColdInvoice(InvoiceEntity invoice, List<InvoiceItemEntity> items) {}
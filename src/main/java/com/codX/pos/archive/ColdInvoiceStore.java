@@ -0,0 +1,173 @@
+package com.codX.pos.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier of the invoice archive: one {@link InvoiceSegment} file per company and month under
+ * {@code pos.invoice-archive.cold-dir}, as {@code <companyId>/<yyyy-MM>.seg}. Opened segments stay
+ * mapped, so a lookup costs an index probe per month and one block inflate.
+ * <p>
+ * Every instance reads the segments, so the directory has to be durable storage shared by all of
+ * them at the same absolute path. Without a configured directory the store is empty and nothing may
+ * be moved into it. Company directories are listed on each lookup and a segment is remapped when its
+ * file changed, so segments written by another instance are seen at once.
+ */
+@Slf4j
+@Component
+public class ColdInvoiceStore {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // Null when no directory is configured
+    private final Path directory;
+    private final ObjectMapper smileMapper;
+    private final Map<Path, OpenSegment> openSegments = new ConcurrentHashMap<>();
+
+    public ColdInvoiceStore(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                            @Value("${pos.invoice-archive.cold-dir:}") String directory) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.smileMapper = objectMapperBuilder.getObject().smile().build();
+    }
+
+    /**
+     * Fails unless segments can be written to a configured, absolute and already existing
+     * directory. The directory is never created here: a missing one usually means the shared
+     * volume is not mounted, and segments written to the local disk instead would be lost.
+     */
+    public void checkWritable() {
+        if (directory == null) {
+            throw new IllegalStateException("pos.invoice-archive.cold-dir is not set");
+        }
+        if (!directory.isAbsolute()) {
+            throw new IllegalStateException("pos.invoice-archive.cold-dir must be an absolute path: " + directory);
+        }
+        if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+            throw new IllegalStateException("pos.invoice-archive.cold-dir is not a writable directory: " + directory);
+        }
+    }
+
+    public Optional<ColdInvoice> findByInvoiceNumber(UUID companyId, String invoiceNumber) {
+        if (invoiceNumber == null) {
+            return Optional.empty();
+        }
+        return find(companyId, segment -> segment.mayContain(invoiceNumber)
+                ? segment.find(invoiceNumber)
+                : Optional.empty());
+    }
+
+    public Optional<ColdInvoice> findById(UUID companyId, UUID invoiceId) {
+        if (invoiceId == null) {
+            return Optional.empty();
+        }
+        return find(companyId, segment -> segment.findById(invoiceId));
+    }
+
+    private Optional<ColdInvoice> find(UUID companyId, SegmentLookup lookup) {
+        if (directory == null || companyId == null) {
+            return Optional.empty();
+        }
+        for (Path file : segments(companyId)) {
+            try {
+                Optional<ColdInvoice> found = lookup.find(open(file));
+                if (found.isPresent()) {
+                    return found;
+                }
+            } catch (IOException e) {
+                // One unreadable segment must not hide invoices in the others
+                log.error("Failed to read invoice segment {}", file, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds invoices, in any order, to the segment of a company and month. An invoice already in the
+     * segment is replaced, so writing the same invoices again leaves the segment unchanged.
+     */
+    public void write(UUID companyId, YearMonth month, List<ColdInvoice> invoices) {
+        checkWritable();
+        Path file = directory.resolve(companyId.toString()).resolve(month + SEGMENT_SUFFIX);
+        Map<UUID, ColdInvoice> merged = new LinkedHashMap<>();
+        try {
+            // An invoice closed late can reach the archive after its month went cold
+            if (Files.exists(file)) {
+                open(file).readAll().forEach(invoice -> merged.put(invoice.invoice().getId(), invoice));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read invoice segment " + file, e);
+        }
+        invoices.forEach(invoice -> merged.put(invoice.invoice().getId(), invoice));
+
+        List<ColdInvoice> sorted = new ArrayList<>(merged.values());
+        sorted.sort(Comparator.comparing(InvoiceSegment::sortKey));
+        List<List<ColdInvoice>> blocks = new ArrayList<>();
+        for (int start = 0; start < sorted.size(); start += InvoiceSegment.BLOCK_SIZE) {
+            blocks.add(sorted.subList(start, Math.min(start + InvoiceSegment.BLOCK_SIZE, sorted.size())));
+        }
+
+        try {
+            InvoiceSegment.write(file, blocks, smileMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write invoice segment " + file, e);
+        }
+        // Readers holding the old mapping keep a consistent view of the replaced file
+        openSegments.remove(file);
+    }
+
+    // A segment replaced since it was mapped, here or by another instance, is mapped again
+    private InvoiceSegment open(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        // A replacement is a new file, so its key changes even when the timestamps match
+        Object version = Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime());
+        OpenSegment open = openSegments.get(file);
+        if (open == null || !open.version().equals(version)) {
+            open = new OpenSegment(version, InvoiceSegment.open(file, smileMapper));
+            openSegments.put(file, open);
+        }
+        return open.segment();
+    }
+
+    // Newest month first, since recent invoices are looked up more often
+    private List<Path> segments(UUID companyId) {
+        Path companyDirectory = directory.resolve(companyId.toString());
+        if (!Files.isDirectory(companyDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(companyDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list invoice segments of company " + companyId, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SegmentLookup {
+        Optional<ColdInvoice> find(InvoiceSegment segment) throws IOException;
+    }
+
+    private record OpenSegment(Object version, InvoiceSegment segment) {}
+}
@@ -0,0 +1,297 @@
+package com.codX.pos.archive;
+
+import com.codX.pos.entity.DiscountType;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+import com.codX.pos.entity.InvoiceItemType;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.entity.InvoiceType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Reads and moves rows of the invoice archive tables over JDBC. Reads that know the invoice date
+ * bound it, so MySQL prunes to the partitions of those months.
+ */
+@Repository
+public class InvoiceArchiveRepository {
+
+    private static final String INVOICE_COLUMNS = "id, invoice_number, invoice_date, subtotal, tax_amount, " +
+            "discount_amount, total_amount, status, type, customer_id, vehicle_id, service_record_id, company_id, " +
+            "branch_id, overall_discount_value, overall_discount_type, overall_discount_amount, created_date, " +
+            "last_modified_date, created_user_id, modified_user_id";
+
+    private static final String ITEM_COLUMNS = "id, invoice_id, item_id, service_type_id, description, quantity, " +
+            "unit_price, total_price, discount_value, discount_type, discount_amount, final_price, type, company_id, branch_id";
+
+    private static final RowMapper<InvoiceEntity> INVOICE_MAPPER = (rs, rowNum) -> InvoiceEntity.builder()
+            .id(uuid(rs, "id"))
+            .invoiceNumber(rs.getString("invoice_number"))
+            .invoiceDate(dateTime(rs, "invoice_date"))
+            .subtotal(rs.getBigDecimal("subtotal"))
+            .taxAmount(rs.getBigDecimal("tax_amount"))
+            .discountAmount(rs.getBigDecimal("discount_amount"))
+            .totalAmount(rs.getBigDecimal("total_amount"))
+            .status(enumValue(InvoiceStatus.class, rs.getString("status")))
+            .type(enumValue(InvoiceType.class, rs.getString("type")))
+            .customerId(uuid(rs, "customer_id"))
+            .vehicleId(uuid(rs, "vehicle_id"))
+            .serviceRecordId(uuid(rs, "service_record_id"))
+            .companyId(uuid(rs, "company_id"))
+            .branchId(uuid(rs, "branch_id"))
+            .overallDiscountValue(rs.getBigDecimal("overall_discount_value"))
+            .overallDiscountType(enumValue(DiscountType.class, rs.getString("overall_discount_type")))
+            .overallDiscountAmount(rs.getBigDecimal("overall_discount_amount"))
+            .createdDate(dateTime(rs, "created_date"))
+            .lastModifiedDate(dateTime(rs, "last_modified_date"))
+            .createdUserId(uuid(rs, "created_user_id"))
+            .modifiedUserId(uuid(rs, "modified_user_id"))
+            .build();
+
+    private static final RowMapper<InvoiceItemEntity> ITEM_MAPPER = (rs, rowNum) -> InvoiceItemEntity.builder()
+            .id(uuid(rs, "id"))
+            .invoiceId(uuid(rs, "invoice_id"))
+            .itemId(uuid(rs, "item_id"))
+            .serviceTypeId(uuid(rs, "service_type_id"))
+            .description(rs.getString("description"))
+            .quantity((Integer) rs.getObject("quantity"))
+            .unitPrice(rs.getBigDecimal("unit_price"))
+            .totalPrice(rs.getBigDecimal("total_price"))
+            .discountValue(rs.getBigDecimal("discount_value"))
+            .discountType(enumValue(DiscountType.class, rs.getString("discount_type")))
+            .discountAmount(rs.getBigDecimal("discount_amount"))
+            .finalPrice(rs.getBigDecimal("final_price"))
+            .type(enumValue(InvoiceItemType.class, rs.getString("type")))
+            .companyId(uuid(rs, "company_id"))
+            .branchId(uuid(rs, "branch_id"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public InvoiceArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<InvoiceEntity> findByIdAndCompanyId(UUID id, UUID companyId) {
+        return findOne("id = :id AND company_id = :companyId", new MapSqlParameterSource()
+                .addValue("id", bytes(id))
+                .addValue("companyId", bytes(companyId)));
+    }
+
+    public Optional<InvoiceEntity> findByInvoiceNumberAndCompanyId(String invoiceNumber, UUID companyId) {
+        return findOne("company_id = :companyId AND invoice_number = :invoiceNumber", new MapSqlParameterSource()
+                .addValue("invoiceNumber", invoiceNumber)
+                .addValue("companyId", bytes(companyId)));
+    }
+
+    public boolean existsByServiceRecordIdAndCompanyId(UUID serviceRecordId, UUID companyId) {
+        return findOne("service_record_id = :serviceRecordId AND company_id = :companyId", new MapSqlParameterSource()
+                .addValue("serviceRecordId", bytes(serviceRecordId))
+                .addValue("companyId", bytes(companyId))).isPresent();
+    }
+
+    public List<InvoiceEntity> findByCustomerIdAndCompanyIdOrderByInvoiceDateDesc(UUID customerId, UUID companyId) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE company_id = :companyId AND customer_id = :customerId ORDER BY invoice_date DESC",
+                new MapSqlParameterSource()
+                        .addValue("customerId", bytes(customerId))
+                        .addValue("companyId", bytes(companyId)),
+                INVOICE_MAPPER);
+    }
+
+    public List<InvoiceEntity> findByCompanyIdOrderByInvoiceDateDesc(UUID companyId) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE company_id = :companyId ORDER BY invoice_date DESC",
+                new MapSqlParameterSource("companyId", bytes(companyId)),
+                INVOICE_MAPPER);
+    }
+
+    // Read through the (company_id, invoice_date) key; archived rows carry no branch index of their own
+    public List<InvoiceEntity> findByBranchIdAndCompanyIdOrderByInvoiceDateDesc(UUID branchId, UUID companyId) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE company_id = :companyId AND branch_id = :branchId ORDER BY invoice_date DESC",
+                new MapSqlParameterSource()
+                        .addValue("branchId", bytes(branchId))
+                        .addValue("companyId", bytes(companyId)),
+                INVOICE_MAPPER);
+    }
+
+    public List<InvoiceEntity> findByDateRangeAndCompanyId(LocalDateTime startDate, LocalDateTime endDate, UUID companyId) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE company_id = :companyId AND invoice_date BETWEEN :startDate AND :endDate ORDER BY invoice_date DESC",
+                new MapSqlParameterSource()
+                        .addValue("companyId", bytes(companyId))
+                        .addValue("startDate", Timestamp.valueOf(startDate))
+                        .addValue("endDate", Timestamp.valueOf(endDate)),
+                INVOICE_MAPPER);
+    }
+
+    // Invoice dates bound the scan to the partitions the invoices were archived into
+    public List<InvoiceItemEntity> findItemsByInvoices(Collection<InvoiceEntity> invoices, UUID companyId) {
+        if (invoices.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime from = invoices.stream().map(InvoiceEntity::getInvoiceDate).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime to = invoices.stream().map(InvoiceEntity::getInvoiceDate).max(LocalDateTime::compareTo).orElseThrow();
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM " + InvoiceArchiveSchema.ITEMS_TABLE +
+                        " WHERE invoice_id IN (:invoiceIds) AND company_id = :companyId AND invoice_date BETWEEN :from AND :to",
+                new MapSqlParameterSource()
+                        .addValue("invoiceIds", invoices.stream().map(invoice -> bytes(invoice.getId())).toList())
+                        .addValue("companyId", bytes(companyId))
+                        .addValue("from", Timestamp.valueOf(from))
+                        .addValue("to", Timestamp.valueOf(to)),
+                ITEM_MAPPER);
+    }
+
+    public Optional<LocalDateTime> findOldestArchivedInvoiceDate() {
+        Timestamp oldest = jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MIN(invoice_date) FROM " + InvoiceArchiveSchema.INVOICES_TABLE, Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    public List<UUID> findArchivedCompanyIds(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT DISTINCT company_id FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE invoice_date >= :from AND invoice_date < :to",
+                new MapSqlParameterSource()
+                        .addValue("from", Timestamp.valueOf(from))
+                        .addValue("to", Timestamp.valueOf(to)),
+                (rs, rowNum) -> uuid(rs, "company_id"));
+    }
+
+    public List<InvoiceEntity> findArchivedByCompanyId(UUID companyId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                        " WHERE company_id = :companyId AND invoice_date >= :from AND invoice_date < :to",
+                new MapSqlParameterSource()
+                        .addValue("companyId", bytes(companyId))
+                        .addValue("from", Timestamp.valueOf(from))
+                        .addValue("to", Timestamp.valueOf(to)),
+                INVOICE_MAPPER);
+    }
+
+    public int deleteArchivedBetween(LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        jdbcTemplate.update("DELETE FROM " + InvoiceArchiveSchema.ITEMS_TABLE +
+                " WHERE invoice_date >= :from AND invoice_date < :to", params);
+        return jdbcTemplate.update("DELETE FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                " WHERE invoice_date >= :from AND invoice_date < :to", params);
+    }
+
+    public List<UUID> lockArchiveCandidates(LocalDateTime before, Collection<InvoiceStatus> statuses, int limit) {
+        return jdbcTemplate.query("SELECT id FROM invoices WHERE invoice_date < :before AND status IN (:statuses) " +
+                        "ORDER BY invoice_date LIMIT :limit FOR UPDATE",
+                new MapSqlParameterSource()
+                        .addValue("before", Timestamp.valueOf(before))
+                        .addValue("statuses", statuses.stream().map(Enum::name).toList())
+                        .addValue("limit", limit),
+                (rs, rowNum) -> uuid(rs, "id"));
+    }
+
+    public Optional<LocalDateTime> findOldestArchiveCandidateDate(LocalDateTime before, Collection<InvoiceStatus> statuses) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(invoice_date) FROM invoices " +
+                        "WHERE invoice_date < :before AND status IN (:statuses)",
+                new MapSqlParameterSource()
+                        .addValue("before", Timestamp.valueOf(before))
+                        .addValue("statuses", statuses.stream().map(Enum::name).toList()),
+                Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Runs the work while holding a MySQL named lock, or returns empty without running it when
+     * another connection holds the lock. The lock lives as long as the connection, so an instance
+     * that dies mid-run releases it.
+     */
+    public <T> Optional<T> withNamedLock(String name, Supplier<T> work) {
+        return jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Optional<T>>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, name);
+                try (ResultSet result = lock.executeQuery()) {
+                    if (!result.next() || result.getInt(1) != 1) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            try {
+                return Optional.ofNullable(work.get());
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, name);
+                    release.execute();
+                }
+            }
+        });
+    }
+
+    /**
+     * Copies the given invoices and their lines into the archive and deletes them from the live
+     * tables, as four set-based statements in the caller's transaction.
+     */
+    public int moveToArchive(Collection<UUID> invoiceIds, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", invoiceIds.stream().map(InvoiceArchiveRepository::bytes).toList())
+                .addValue("archivedAt", Timestamp.valueOf(archivedAt));
+
+        int invoices = jdbcTemplate.update("INSERT INTO " + InvoiceArchiveSchema.INVOICES_TABLE +
+                " (" + INVOICE_COLUMNS + ", archived_at) SELECT " + INVOICE_COLUMNS + ", :archivedAt FROM invoices WHERE id IN (:ids)", params);
+        jdbcTemplate.update("INSERT INTO " + InvoiceArchiveSchema.ITEMS_TABLE + " (" + ITEM_COLUMNS + ", invoice_date) " +
+                "SELECT " + prefixed("ii", ITEM_COLUMNS) + ", i.invoice_date FROM invoice_items ii " +
+                "JOIN invoices i ON i.id = ii.invoice_id WHERE ii.invoice_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM invoice_items WHERE invoice_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM invoices WHERE id IN (:ids)", params);
+        return invoices;
+    }
+
+    private Optional<InvoiceEntity> findOne(String condition, MapSqlParameterSource params) {
+        return jdbcTemplate.query("SELECT " + INVOICE_COLUMNS + " FROM " + InvoiceArchiveSchema.INVOICES_TABLE +
+                " WHERE " + condition + " LIMIT 1", params, INVOICE_MAPPER).stream().findFirst();
+    }
+
+    private static String prefixed(String alias, String columns) {
+        return alias + "." + columns.replace(", ", ", " + alias + ".");
+    }
+
+    private static UUID uuid(ResultSet rs, String column) throws SQLException {
+        byte[] bytes = rs.getBytes(column);
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static LocalDateTime dateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    private static byte[] bytes(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
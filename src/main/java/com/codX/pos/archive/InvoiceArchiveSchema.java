@@ -0,0 +1,164 @@
+package com.codX.pos.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Owns the {@code invoices_archive} and {@code invoice_items_archive} tables. They are not JPA
+ * entities: Hibernate cannot declare partitioning, and schema update would create them unpartitioned
+ * before this runs. Both tables are compressed and range partitioned by month of the invoice date,
+ * which is part of every key as MySQL requires, so date-bounded reads only open the months they need.
+ * <p>
+ * Tables start with a single catch-all {@code p_max} partition; monthly partitions are split off it
+ * before rows for those months are archived, so the split never has to move data.
+ */
+@Slf4j
+@Component
+public class InvoiceArchiveSchema {
+
+    static final String INVOICES_TABLE = "invoices_archive";
+    static final String ITEMS_TABLE = "invoice_items_archive";
+
+    private static final String CATCH_ALL_PARTITION = "p_max";
+    private static final String MONTHLY_PARTITION_PREFIX = "p";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String CREATE_INVOICES = """
+            CREATE TABLE IF NOT EXISTS invoices_archive (
+                id BINARY(16) NOT NULL,
+                invoice_number VARCHAR(255),
+                invoice_date DATETIME(6) NOT NULL,
+                subtotal DECIMAL(38,2),
+                tax_amount DECIMAL(38,2),
+                discount_amount DECIMAL(38,2),
+                total_amount DECIMAL(38,2),
+                status VARCHAR(20),
+                type VARCHAR(20),
+                customer_id BINARY(16) NOT NULL,
+                vehicle_id BINARY(16),
+                service_record_id BINARY(16),
+                company_id BINARY(16) NOT NULL,
+                branch_id BINARY(16) NOT NULL,
+                overall_discount_value DECIMAL(5,2),
+                overall_discount_type VARCHAR(20),
+                overall_discount_amount DECIMAL(10,2),
+                created_date DATETIME(6),
+                last_modified_date DATETIME(6),
+                created_user_id BINARY(16),
+                modified_user_id BINARY(16),
+                archived_at DATETIME(6) NOT NULL,
+                PRIMARY KEY (id, invoice_date),
+                KEY IDX_invoices_archive_company_date (company_id, invoice_date),
+                KEY IDX_invoices_archive_customer (company_id, customer_id, invoice_date),
+                KEY IDX_invoices_archive_number (company_id, invoice_number),
+                KEY IDX_invoices_archive_service_record (service_record_id)
+            ) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8
+            PARTITION BY RANGE COLUMNS (invoice_date) (PARTITION p_max VALUES LESS THAN (MAXVALUE))
+            """;
+
+    private static final String CREATE_ITEMS = """
+            CREATE TABLE IF NOT EXISTS invoice_items_archive (
+                id BINARY(16) NOT NULL,
+                invoice_id BINARY(16) NOT NULL,
+                item_id BINARY(16),
+                service_type_id BINARY(16),
+                description VARCHAR(255),
+                quantity INT,
+                unit_price DECIMAL(38,2),
+                total_price DECIMAL(38,2),
+                discount_value DECIMAL(5,2),
+                discount_type VARCHAR(20),
+                discount_amount DECIMAL(10,2),
+                final_price DECIMAL(10,2),
+                type VARCHAR(20),
+                company_id BINARY(16) NOT NULL,
+                branch_id BINARY(16) NOT NULL,
+                invoice_date DATETIME(6) NOT NULL,
+                PRIMARY KEY (id, invoice_date),
+                KEY IDX_invoice_items_archive_invoice (invoice_id, invoice_date)
+            ) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8
+            PARTITION BY RANGE COLUMNS (invoice_date) (PARTITION p_max VALUES LESS THAN (MAXVALUE))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean manageSchema;
+    private volatile boolean created;
+
+    public InvoiceArchiveSchema(JdbcTemplate jdbcTemplate,
+                                @Value("${pos.invoice-archive.manage-schema:true}") boolean manageSchema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.manageSchema = manageSchema;
+    }
+
+    // DDL commits implicitly in MySQL, so it runs here and in the archival job, never inside a request transaction
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOnStartup() {
+        try {
+            ensureTables();
+        } catch (RuntimeException e) {
+            log.error("Failed to create invoice archive tables", e);
+        }
+    }
+
+    public void ensureTables() {
+        if (created || !manageSchema) {
+            return;
+        }
+        synchronized (this) {
+            if (!created) {
+                jdbcTemplate.execute(CREATE_INVOICES);
+                jdbcTemplate.execute(CREATE_ITEMS);
+                created = true;
+            }
+        }
+    }
+
+    /**
+     * Makes sure both tables have a partition for every month from {@code from} to {@code to}. The
+     * first monthly partition also takes any earlier month, so only months after the newest existing
+     * partition are ever added.
+     */
+    public synchronized void ensureMonthlyPartitions(YearMonth from, YearMonth to) {
+        ensureTables();
+        if (!manageSchema) {
+            return;
+        }
+        ensureMonthlyPartitions(INVOICES_TABLE, from, to);
+        ensureMonthlyPartitions(ITEMS_TABLE, from, to);
+    }
+
+    private void ensureMonthlyPartitions(String table, YearMonth from, YearMonth to) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME <> ? " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, table, CATCH_ALL_PARTITION);
+
+        YearMonth next = partitions.isEmpty()
+                ? from
+                : YearMonth.parse(partitions.get(partitions.size() - 1).substring(MONTHLY_PARTITION_PREFIX.length()), PARTITION_MONTH)
+                        .plusMonths(1);
+        if (next.isAfter(to)) {
+            return;
+        }
+
+        StringBuilder ddl = new StringBuilder("ALTER TABLE ").append(table)
+                .append(" REORGANIZE PARTITION ").append(CATCH_ALL_PARTITION).append(" INTO (");
+        for (YearMonth month = next; !month.isAfter(to); month = month.plusMonths(1)) {
+            ddl.append("PARTITION ").append(MONTHLY_PARTITION_PREFIX).append(month.format(PARTITION_MONTH))
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        ddl.append("PARTITION ").append(CATCH_ALL_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+
+        jdbcTemplate.execute(ddl.toString());
+        log.info("Added monthly partitions {} to {} on {}", next, to, table);
+    }
+}
@@ -0,0 +1,272 @@
+package com.codX.pos.archive;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of a cold invoice segment: one company's invoices of one month, sorted by invoice number.
+ * <pre>
+ * block*   deflated Smile array of up to {@value #BLOCK_SIZE} ColdInvoice
+ * index    Smile array of BlockEntry, one per block: first and last invoice number, offset, length
+ * ids      one fixed entry per invoice, sorted by id: id (two longs), block number (int)
+ * trailer  index offset (long), index length (int), ids offset (long), id count (int), MAGIC (int)
+ * </pre>
+ * The file is memory mapped and only the sparse index is kept on the heap; a lookup binary searches
+ * the index and inflates the one block that can hold the number. Lookups by id binary search the
+ * mapped id entries instead.
+ */
+public final class InvoiceSegment {
+
+    static final int BLOCK_SIZE = 64;
+
+    private static final int MAGIC = 0x50534732; // "PSG2"
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int ID_ENTRY_SIZE = Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final TypeReference<List<BlockEntry>> INDEX_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<ColdInvoice>> BLOCK_TYPE = new TypeReference<>() {};
+
+    private final MappedByteBuffer data;
+    private final List<BlockEntry> index;
+    private final long idsOffset;
+    private final int idCount;
+    private final ObjectMapper smileMapper;
+
+    private InvoiceSegment(MappedByteBuffer data, List<BlockEntry> index, long idsOffset, int idCount,
+                           ObjectMapper smileMapper) {
+        this.data = data;
+        this.index = index;
+        this.idsOffset = idsOffset;
+        this.idCount = idCount;
+        this.smileMapper = smileMapper;
+    }
+
+    public static InvoiceSegment open(Path file, ObjectMapper smileMapper) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.capacity() < TRAILER_SIZE || data.getInt(data.capacity() - Integer.BYTES) != MAGIC) {
+            throw new IOException("Not an invoice segment: " + file);
+        }
+        int trailer = data.capacity() - TRAILER_SIZE;
+        long indexOffset = data.getLong(trailer);
+        int indexLength = data.getInt(trailer + Long.BYTES);
+        long idsOffset = data.getLong(trailer + Long.BYTES + Integer.BYTES);
+        int idCount = data.getInt(trailer + Long.BYTES + Integer.BYTES + Long.BYTES);
+        if (indexOffset < 0 || indexLength < 0 || indexOffset + indexLength != idsOffset
+                || idCount < 0 || idsOffset + (long) idCount * ID_ENTRY_SIZE != trailer) {
+            throw new IOException("Corrupt invoice segment trailer: " + file);
+        }
+        List<BlockEntry> index = smileMapper.readValue(bytes(data, indexOffset, indexLength), INDEX_TYPE);
+        for (BlockEntry block : index) {
+            if (block.offset() < 0 || block.length() < 0 || block.offset() + block.length() > indexOffset) {
+                throw new IOException("Corrupt invoice segment index: " + file);
+            }
+        }
+        return new InvoiceSegment(data, index, idsOffset, idCount, smileMapper);
+    }
+
+    public int blockCount() {
+        return index.size();
+    }
+
+    public boolean mayContain(String invoiceNumber) {
+        return !index.isEmpty()
+                && invoiceNumber.compareTo(index.get(0).firstNumber()) >= 0
+                && invoiceNumber.compareTo(index.get(index.size() - 1).lastNumber()) <= 0;
+    }
+
+    public Optional<ColdInvoice> find(String invoiceNumber) throws IOException {
+        // Last block whose first number is not after the one looked up
+        int low = 0;
+        int high = index.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (index.get(mid).firstNumber().compareTo(invoiceNumber) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0 || invoiceNumber.compareTo(index.get(candidate).lastNumber()) > 0) {
+            return Optional.empty();
+        }
+
+        return readBlock(index.get(candidate)).stream()
+                .filter(invoice -> invoiceNumber.equals(sortKey(invoice)))
+                .findFirst();
+    }
+
+    public Optional<ColdInvoice> findById(UUID invoiceId) throws IOException {
+        int low = 0;
+        int high = idCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long entry = idsOffset + (long) mid * ID_ENTRY_SIZE;
+            int order = compareIds(data.getLong(Math.toIntExact(entry)), data.getLong(Math.toIntExact(entry + Long.BYTES)), invoiceId);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                int block = data.getInt(Math.toIntExact(entry + 2 * Long.BYTES));
+                if (block < 0 || block >= index.size()) {
+                    throw new IOException("Corrupt invoice segment id entry");
+                }
+                return readBlock(index.get(block)).stream()
+                        .filter(invoice -> invoiceId.equals(invoice.invoice().getId()))
+                        .findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<ColdInvoice> readAll() throws IOException {
+        List<ColdInvoice> invoices = new ArrayList<>();
+        for (BlockEntry block : index) {
+            invoices.addAll(readBlock(block));
+        }
+        return invoices;
+    }
+
+    private List<ColdInvoice> readBlock(BlockEntry block) throws IOException {
+        return smileMapper.readValue(inflate(bytes(data, block.offset(), block.length())), BLOCK_TYPE);
+    }
+
+    /**
+     * Writes a segment of invoices already sorted by invoice number. The file is written next to the
+     * target, forced to disk and then moved into place, so readers never see a partial segment.
+     */
+    public static void write(Path target, List<List<ColdInvoice>> blocks, ObjectMapper smileMapper) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        List<BlockEntry> index = new ArrayList<>(blocks.size());
+        List<IdEntry> ids = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            for (List<ColdInvoice> block : blocks) {
+                if (block.isEmpty()) {
+                    continue;
+                }
+                byte[] compressed = deflate(smileMapper.writeValueAsBytes(block));
+                writeFully(channel, ByteBuffer.wrap(compressed));
+                for (ColdInvoice invoice : block) {
+                    ids.add(new IdEntry(invoice.invoice().getId(), index.size()));
+                }
+                index.add(new BlockEntry(
+                        sortKey(block.get(0)),
+                        sortKey(block.get(block.size() - 1)),
+                        offset, compressed.length, block.size()));
+                offset += compressed.length;
+            }
+
+            byte[] indexBytes = smileMapper.writeValueAsBytes(index);
+            writeFully(channel, ByteBuffer.wrap(indexBytes));
+
+            ids.sort(Comparator.comparingLong((IdEntry id) -> id.id().getMostSignificantBits())
+                    .thenComparingLong(id -> id.id().getLeastSignificantBits()));
+            ByteBuffer idBytes = ByteBuffer.allocate(ids.size() * ID_ENTRY_SIZE);
+            for (IdEntry id : ids) {
+                idBytes.putLong(id.id().getMostSignificantBits())
+                        .putLong(id.id().getLeastSignificantBits())
+                        .putInt(id.block());
+            }
+            writeFully(channel, idBytes.flip());
+
+            writeFully(channel, ByteBuffer.allocate(TRAILER_SIZE)
+                    .putLong(offset)
+                    .putInt(indexBytes.length)
+                    .putLong(offset + indexBytes.length)
+                    .putInt(ids.size())
+                    .putInt(MAGIC)
+                    .flip());
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Invoices without a number sort first and can only be found by a search for the empty string
+    static String sortKey(ColdInvoice invoice) {
+        return Objects.toString(invoice.invoice().getInvoiceNumber(), "");
+    }
+
+    // Signed order of the two halves, the same on the write and the read side
+    private static int compareIds(long mostSignificant, long leastSignificant, UUID id) {
+        int order = Long.compare(mostSignificant, id.getMostSignificantBits());
+        return order != 0 ? order : Long.compare(leastSignificant, id.getLeastSignificantBits());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer data, long offset, int length) {
+        byte[] bytes = new byte[length];
+        data.get(Math.toIntExact(offset), bytes);
+        return bytes;
+    }
+
+    private static byte[] deflate(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream stream = new DeflaterOutputStream(out, deflater)) {
+            stream.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated invoice segment block");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt invoice segment block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    record BlockEntry(String firstNumber, String lastNumber, long offset, int length, int count) {}
+
+    private record IdEntry(UUID id, int block) {}
+}
@@ -0,0 +1,11 @@
+package com.codX.pos.audit;
+
+import com.codX.pos.entity.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Raw change as captured on commit; turned into JSON by the writer thread
+public record AuditEvent(String entityType, String entityId, AuditAction action, UUID companyId, UUID branchId,
+                         UUID userId, String[] propertyNames, Object[] oldState, Object[] newState,
+                         int[] dirtyProperties, LocalDateTime occurredAt) {}
@@ -0,0 +1,134 @@
+package com.codX.pos.audit;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.entity.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Captures inserts, updates and deletes of audited entities once their transaction has committed
+ * and hands them to {@link AuditTrailWriter}. Only the property arrays are copied here; building
+ * the JSON and writing it happen on the writer thread. Bulk JPQL and native statements bypass
+ * Hibernate events and are not captured.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pos.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    // Technical tables and logs that are already append-only histories of their own
+    private static final Set<Class<?>> NOT_AUDITED = Set.of(
+            AuditLogEntity.class,
+            StockMovementEntity.class,
+            StockSnapshotEntity.class,
+            CustomerTimelineEventEntity.class,
+            IdempotencyKeyEntity.class,
+            InvoiceNumberSequenceEntity.class,
+            OutboxEventEntity.class,
+            PasswordResetOtpEntity.class
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditTrailWriter auditTrailWriter;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(AuditAction.INSERT, event.getId(), event.getPersister(), null, event.getState(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(AuditAction.UPDATE, event.getId(), event.getPersister(), event.getOldState(), event.getState(),
+                event.getDirtyProperties());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(AuditAction.DELETE, event.getId(), event.getPersister(), event.getDeletedState(), null, null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back, nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back, nothing to audit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back, nothing to audit
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return !NOT_AUDITED.contains(persister.getMappedClass());
+    }
+
+    private void capture(AuditAction action, Object id, EntityPersister persister,
+                         Object[] oldState, Object[] newState, int[] dirtyProperties) {
+        if (!requiresPostCommitHandling(persister)) {
+            return;
+        }
+        String[] propertyNames = persister.getPropertyNames();
+        Object[] state = newState != null ? newState : oldState;
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        auditTrailWriter.submit(new AuditEvent(
+                persister.getMappedClass().getSimpleName(),
+                String.valueOf(id),
+                action,
+                uuidProperty(propertyNames, state, "companyId"),
+                uuidProperty(propertyNames, state, "branchId"),
+                currentUser != null ? currentUser.userId() : null,
+                propertyNames,
+                oldState != null ? Arrays.copyOf(oldState, oldState.length) : null,
+                newState != null ? Arrays.copyOf(newState, newState.length) : null,
+                dirtyProperties,
+                LocalDateTime.now()));
+    }
+
+    private static UUID uuidProperty(String[] propertyNames, Object[] state, String property) {
+        if (state == null) {
+            return null;
+        }
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (propertyNames[i].equals(property) && state[i] instanceof UUID value) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.codX.pos.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log of audit rows that are still only in memory. Every row is appended to the
+ * current segment before it is queued, and the writer forces the segment to disk every few
+ * milliseconds, so a killed process loses nothing and a power failure at most the last fsync
+ * interval. A segment is deleted once it has been rotated out and every row in it has been made
+ * durable elsewhere (inserted or spilled). Segments found at startup belong to a run that died
+ * and are handed back to be replayed.
+ */
+@Slf4j
+final class AuditJournal {
+
+    static final String PREFIX = "journal-";
+    static final String SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+
+    // All guarded by this
+    private Segment current;
+
+    AuditJournal(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Returns the segments left behind by a previous run. Must be called before the first append.
+     */
+    List<Path> recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditJournal::isSegment).sorted().toList();
+        }
+    }
+
+    synchronized Segment append(String line) throws IOException {
+        if (current == null || current.bytes >= maxSegmentBytes) {
+            rotate();
+        }
+        ByteBuffer bytes = ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8));
+        current.bytes += bytes.remaining();
+        while (bytes.hasRemaining()) {
+            current.channel.write(bytes);
+        }
+        current.appended++;
+        return current;
+    }
+
+    /**
+     * Records that rows of the segment are now in the database or a spill file.
+     */
+    synchronized void release(Segment segment, int rows) {
+        segment.released += rows;
+        if (segment != current) {
+            deleteIfReleased(segment);
+        }
+    }
+
+    synchronized void force() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.channel.force(false);
+        } catch (IOException e) {
+            log.error("Failed to sync audit journal {}", current.path, e);
+        }
+    }
+
+    synchronized void close() {
+        if (current != null) {
+            Segment closing = current;
+            current = null;
+            deleteIfReleased(closing);
+            try {
+                closing.channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit journal {}", closing.path, e);
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        Segment previous = current;
+        Path path = directory.resolve(PREFIX + System.currentTimeMillis() + "-" + UUID.randomUUID() + SUFFIX);
+        current = new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        if (previous != null && previous.released < previous.appended) {
+            // Its unsynced tail would otherwise miss every later force()
+            previous.channel.force(false);
+        }
+        if (previous != null) {
+            deleteIfReleased(previous);
+        }
+    }
+
+    private void deleteIfReleased(Segment segment) {
+        if (segment.released < segment.appended) {
+            return;
+        }
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Failed to delete audit journal {}", segment.path, e);
+        }
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static final class Segment {
+
+        private final Path path;
+        private final FileChannel channel;
+        private long bytes;
+        private long appended;
+        private long released;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.codX.pos.audit;
+
+import com.codX.pos.entity.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One audit_log row, also the line format of the spill files
+public record AuditRow(String entityType, String entityId, AuditAction action, UUID companyId, UUID branchId,
+                       UUID userId, String changes, LocalDateTime occurredAt) {}
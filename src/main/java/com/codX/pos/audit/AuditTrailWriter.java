@@ -0,0 +1,409 @@
+package com.codX.pos.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Moves captured entity changes into audit_log off the request thread. Events go into a bounded
+ * lock-free ring buffer; one writer thread drains it and inserts them in JDBC batches. When the
+ * buffer is full or the database rejects a batch, the rows are appended to a spill file on disk
+ * instead (the committing thread pays for that append, which is the backpressure), and the files
+ * are replayed into the table once inserts succeed again. Replay is at-least-once: a crash during
+ * a replay can insert part of a file twice.
+ * <p>
+ * With the journal on (the default) each row is also appended to an {@link AuditJournal} before it
+ * is queued, and the writer syncs the journal every {@code pos.audit.journal.fsync-interval-ms}.
+ * Rows still in the buffer then survive a killed process, and a power failure loses at most that
+ * interval; the price is building the JSON on the committing thread. Journal segments left by a
+ * crashed run are replayed like spill files. With the journal off, buffered events are lost on a
+ * hard crash.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "pos.audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrailWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log (entity_type, entity_id, action, company_id, branch_id, " +
+            "user_id, changes, occurred_at, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SPILL_PREFIX = "audit-";
+    private static final String SPILL_SUFFIX = ".ndjson";
+    private static final long JOURNAL_SEGMENT_BYTES = 16L * 1024 * 1024;
+    private static final Set<String> MASKED_PROPERTIES = Set.of("password");
+    // Already recorded by the audit row itself
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("lastModifiedDate", "modifiedUserId");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditRingBuffer<Pending> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryIntervalMillis;
+    private final Path spillDirectory;
+    private final AuditJournal journal;
+    private final long journalFsyncIntervalNanos;
+    private final Counter spilledRows;
+    private final Object spillLock = new Object();
+
+    private Thread writerThread;
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private volatile long retryAfterMillis;
+    // Guarded by spillLock
+    private Path activeSpillFile;
+
+    public AuditTrailWriter(JdbcTemplate jdbcTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${pos.audit.buffer-size:65536}") int bufferSize,
+                            @Value("${pos.audit.batch-size:500}") int batchSize,
+                            @Value("${pos.audit.flush-interval-ms:200}") long flushIntervalMillis,
+                            @Value("${pos.audit.retry-interval-seconds:30}") long retryIntervalSeconds,
+                            @Value("${pos.audit.spill-dir:audit-spill}") String spillDirectory,
+                            @Value("${pos.audit.journal.enabled:true}") boolean journalEnabled,
+                            @Value("${pos.audit.journal.fsync-interval-ms:50}") long journalFsyncIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.retryIntervalMillis = TimeUnit.SECONDS.toMillis(retryIntervalSeconds);
+        this.spillDirectory = Path.of(spillDirectory);
+        this.journal = journalEnabled ? new AuditJournal(this.spillDirectory, JOURNAL_SEGMENT_BYTES) : null;
+        this.journalFsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(journalFsyncIntervalMillis);
+        this.spilledRows = Counter.builder("pos.audit.spilled")
+                .description("Audit rows written to spill files instead of the database")
+                .register(meterRegistry);
+        Gauge.builder("pos.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(spillDirectory);
+        if (journal != null) {
+            // Rows of a run that died before writing them; replayed with the spill files
+            for (Path segment : journal.recover()) {
+                Files.move(segment, spillDirectory.resolve(SPILL_PREFIX + segment.getFileName().toString()
+                        .substring(AuditJournal.PREFIX.length())));
+                log.warn("Recovered audit journal {} from a previous run", segment.getFileName());
+            }
+        }
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            // Left behind by a previous run that could not reach the database
+            spillPending = files.anyMatch(AuditTrailWriter::isSpillFile);
+        }
+        running = true;
+        writerThread = new Thread(this::run, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (writerThread.isAlive()) {
+            log.warn("Audit writer did not finish in time, {} events not written", buffer.size());
+        } else if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public void submit(AuditEvent event) {
+        Pending pending = journal != null ? journaled(event) : new Pending(event, null, null);
+        if (!buffer.offer(pending)) {
+            // The writer cannot keep up or the database is down; keep the change on disk rather than drop it
+            if (spill(List.of(rowOf(pending)))) {
+                release(List.of(pending));
+            }
+            return;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private Pending journaled(AuditEvent event) {
+        AuditRow row = toRow(event);
+        try {
+            return new Pending(null, row, journal.append(objectMapper.writeValueAsString(row)));
+        } catch (IOException e) {
+            log.error("Failed to journal audit row of {} {}", row.entityType(), row.entityId(), e);
+            return new Pending(null, row, null);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long nextSync = System.nanoTime() + journalFsyncIntervalNanos;
+        while (running || buffer.size() > 0) {
+            try {
+                buffer.drainTo(batch, batchSize);
+                if (!batch.isEmpty() && write(batch.stream().map(this::rowOf).toList())) {
+                    release(batch);
+                }
+                if (journal != null && System.nanoTime() >= nextSync) {
+                    journal.force();
+                    nextSync = System.nanoTime() + journalFsyncIntervalNanos;
+                }
+                if (spillPending && System.currentTimeMillis() >= retryAfterMillis) {
+                    replaySpillFiles();
+                }
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(journal != null ? Math.min(flushIntervalNanos, journalFsyncIntervalNanos) : flushIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Audit writer failed to process {} events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private AuditRow rowOf(Pending pending) {
+        return pending.row() != null ? pending.row() : toRow(pending.event());
+    }
+
+    // Journal segments may go once their rows are in the table or a spill file
+    private void release(List<Pending> written) {
+        if (journal == null) {
+            return;
+        }
+        Map<AuditJournal.Segment, Integer> rowsBySegment = new IdentityHashMap<>();
+        for (Pending pending : written) {
+            if (pending.segment() != null) {
+                rowsBySegment.merge(pending.segment(), 1, Integer::sum);
+            }
+        }
+        rowsBySegment.forEach(journal::release);
+    }
+
+    // True once the rows are durable, in the table or in a spill file
+    private boolean write(List<AuditRow> rows) {
+        if (System.currentTimeMillis() < retryAfterMillis) {
+            return spill(rows);
+        }
+        try {
+            insert(rows);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Audit insert failed, spilling to {} and retrying in {} ms", spillDirectory, retryIntervalMillis, e);
+            retryAfterMillis = System.currentTimeMillis() + retryIntervalMillis;
+            return spill(rows);
+        }
+    }
+
+    private void insert(List<AuditRow> rows) {
+        Timestamp recordedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.entityType());
+            statement.setString(2, row.entityId());
+            statement.setString(3, row.action().name());
+            statement.setBytes(4, bytes(row.companyId()));
+            statement.setBytes(5, bytes(row.branchId()));
+            statement.setBytes(6, bytes(row.userId()));
+            statement.setString(7, row.changes());
+            statement.setTimestamp(8, Timestamp.valueOf(row.occurredAt()));
+            statement.setTimestamp(9, recordedAt);
+        });
+    }
+
+    private boolean spill(List<AuditRow> rows) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (AuditRow row : rows) {
+                lines.append(objectMapper.writeValueAsString(row)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} audit rows, dropping them", rows.size(), e);
+            return false;
+        }
+
+        synchronized (spillLock) {
+            try {
+                if (activeSpillFile == null) {
+                    activeSpillFile = spillDirectory.resolve(SPILL_PREFIX + System.currentTimeMillis() + "-"
+                            + UUID.randomUUID() + SPILL_SUFFIX);
+                }
+                try (FileChannel channel = FileChannel.open(activeSpillFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    channel.force(false);
+                }
+                spillPending = true;
+                spilledRows.increment(rows.size());
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit rows to {}, dropping them", rows.size(), activeSpillFile, e);
+                return false;
+            }
+        }
+    }
+
+    private void replaySpillFiles() {
+        List<Path> files;
+        synchronized (spillLock) {
+            // New spills go to a fresh file while these are replayed
+            activeSpillFile = null;
+            spillPending = false;
+            try (Stream<Path> listing = Files.list(spillDirectory)) {
+                files = listing.filter(AuditTrailWriter::isSpillFile).sorted().toList();
+            } catch (IOException e) {
+                log.error("Failed to list audit spill files in {}", spillDirectory, e);
+                spillPending = true;
+                return;
+            }
+        }
+
+        for (Path file : files) {
+            try {
+                replay(file);
+                Files.delete(file);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to replay audit spill file {}, retrying in {} ms", file, retryIntervalMillis, e);
+                retryAfterMillis = System.currentTimeMillis() + retryIntervalMillis;
+                spillPending = true;
+                return;
+            }
+        }
+        if (!files.isEmpty()) {
+            log.info("Replayed {} audit spill files", files.size());
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        List<AuditRow> rows = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rows.add(objectMapper.readValue(line, AuditRow.class));
+                if (rows.size() >= batchSize) {
+                    insert(rows);
+                    rows.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            insert(rows);
+        }
+    }
+
+    private AuditRow toRow(AuditEvent event) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        String[] names = event.propertyNames();
+        switch (event.action()) {
+            case INSERT -> {
+                for (int i = 0; i < names.length; i++) {
+                    if (event.newState()[i] != null) {
+                        changes.put(names[i], value(names[i], event.newState()[i]));
+                    }
+                }
+            }
+            case DELETE -> {
+                for (int i = 0; i < names.length; i++) {
+                    changes.put(names[i], value(names[i], event.oldState()[i]));
+                }
+            }
+            case UPDATE -> {
+                for (int i : changedProperties(event)) {
+                    if (IGNORED_PROPERTIES.contains(names[i])) {
+                        continue;
+                    }
+                    Map<String, Object> change = new LinkedHashMap<>();
+                    change.put("old", event.oldState() != null ? value(names[i], event.oldState()[i]) : null);
+                    change.put("new", value(names[i], event.newState()[i]));
+                    changes.put(names[i], change);
+                }
+            }
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            json = "{\"error\":\"changes could not be serialized\"}";
+        }
+        return new AuditRow(event.entityType(), event.entityId(), event.action(), event.companyId(),
+                event.branchId(), event.userId(), json, event.occurredAt());
+    }
+
+    private static int[] changedProperties(AuditEvent event) {
+        if (event.dirtyProperties() != null) {
+            return event.dirtyProperties();
+        }
+        // Without dirty tracking, compare the states; without an old state, report every property
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < event.propertyNames().length; i++) {
+            if (event.oldState() == null || !Objects.equals(event.oldState()[i], event.newState()[i])) {
+                changed.add(i);
+            }
+        }
+        return changed.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Object value(String property, Object value) {
+        if (value != null && MASKED_PROPERTIES.contains(property)) {
+            return "***";
+        }
+        return value;
+    }
+
+    private static boolean isSpillFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SPILL_PREFIX) && name.endsWith(SPILL_SUFFIX);
+    }
+
+    // An event queued as captured, or already turned into a row and journaled
+    private record Pending(AuditEvent event, AuditRow row, AuditJournal.Segment segment) {}
+
+    private static byte[] bytes(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,103 @@
+package com.codX.pos.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Map bounded by the total byte size of its values, evicting the least recently read entry first.
+ * Lookups are counted as {@code <prefix>.requests} tagged hit or miss, and the bytes held are
+ * reported as the {@code <prefix>.bytes} gauge.
+ */
+public class ByteBoundedLruCache<K, V> {
+
+    private final long maxBytes;
+    private final ToIntFunction<V> weigher;
+    // Told about every entry that is replaced, removed or evicted, while the cache is locked
+    private final BiConsumer<K, V> removalListener;
+    private final Counter hits;
+    private final Counter misses;
+
+    // Guarded by this; access order makes iteration start at the least recently read entry
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ByteBoundedLruCache(MeterRegistry meterRegistry, String metricPrefix, String description, long maxBytes,
+                               ToIntFunction<V> weigher) {
+        this(meterRegistry, metricPrefix, description, maxBytes, weigher, (key, value) -> {});
+    }
+
+    public ByteBoundedLruCache(MeterRegistry meterRegistry, String metricPrefix, String description, long maxBytes,
+                               ToIntFunction<V> weigher, BiConsumer<K, V> removalListener) {
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+        this.hits = Counter.builder(metricPrefix + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(metricPrefix + ".requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(metricPrefix + ".bytes", this, ByteBoundedLruCache::totalBytes)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    // A null key, or an entry the caller can no longer use, counts as a miss
+    public V get(K key, Predicate<V> usable) {
+        V value;
+        synchronized (this) {
+            value = key != null ? entries.get(key) : null;
+        }
+        if (value == null || !usable.test(value)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return value;
+    }
+
+    // Returns false when the value alone is larger than the whole cache
+    public boolean put(K key, V value) {
+        int weight = weigher.applyAsInt(value);
+        if (weight > maxBytes) {
+            return false;
+        }
+        synchronized (this) {
+            remove(key);
+            entries.put(key, value);
+            totalBytes += weight;
+
+            Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<K, V> evicted = eldest.next();
+                eldest.remove();
+                forget(evicted.getKey(), evicted.getValue());
+            }
+        }
+        return true;
+    }
+
+    public synchronized void remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            forget(key, removed);
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void forget(K key, V value) {
+        totalBytes -= weigher.applyAsInt(value);
+        removalListener.accept(key, value);
+    }
+}
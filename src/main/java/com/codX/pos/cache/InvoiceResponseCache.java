@@ -0,0 +1,141 @@
+package com.codX.pos.cache;
+
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.util.StandardResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serialized single-invoice responses of paid and cancelled invoices, which can no longer change:
+ * status updates out of those states are rejected, so entries on other instances never go stale.
+ * Entries are the complete JSON body of the get-invoice endpoints, so a hit is written to the
+ * response as is. Entries are keyed by company as well, so a hit never skips the company check of a
+ * database read. The cache is bounded by total bytes and evicts the least recently read invoice.
+ */
+@Component
+public class InvoiceResponseCache {
+
+    public static final String RETRIEVED_MESSAGE = "Invoice retrieved successfully";
+
+    private final ObjectMapper objectMapper;
+    // Changed only while this is locked, so the number index below stays in step with it
+    private final ByteBoundedLruCache<InvoiceKey, Entry> byId;
+
+    // Guarded by this
+    private final Map<NumberKey, InvoiceKey> byNumber = new HashMap<>();
+    private long invalidations;
+
+    public InvoiceResponseCache(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${pos.invoice-cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.byId = new ByteBoundedLruCache<>(meterRegistry, "pos.invoice.cache",
+                "Bytes of serialized invoices held in the closed invoice cache", maxBytes,
+                entry -> entry.json().length, this::forget);
+    }
+
+    public static boolean isCacheable(InvoiceStatus status) {
+        return status == InvoiceStatus.PAID || status == InvoiceStatus.CANCELLED;
+    }
+
+    public byte[] getById(UUID companyId, UUID invoiceId) {
+        return json(byId.get(new InvoiceKey(companyId, invoiceId)));
+    }
+
+    public byte[] getByNumber(UUID companyId, String invoiceNumber) {
+        InvoiceKey key;
+        synchronized (this) {
+            key = byNumber.get(new NumberKey(companyId, invoiceNumber));
+        }
+        return json(byId.get(key));
+    }
+
+    // The body the get-invoice endpoints would have produced for this invoice
+    public byte[] serialize(InvoiceResponse invoice) {
+        try {
+            return objectMapper.writeValueAsBytes(new StandardResponse<>(200, invoice, RETRIEVED_MESSAGE));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize invoice", e);
+        }
+    }
+
+    // Compared on put, so a read that raced with a status change away from paid is not cached
+    public synchronized long stamp() {
+        return invalidations;
+    }
+
+    public void putAfterCommit(UUID companyId, InvoiceResponse invoice) {
+        long stamp = stamp();
+        afterCommit(() -> put(companyId, invoice, serialize(invoice), stamp));
+    }
+
+    public void evictAfterCommit(UUID companyId, UUID invoiceId) {
+        afterCommit(() -> evict(companyId, invoiceId));
+    }
+
+    public void put(UUID companyId, InvoiceResponse invoice, byte[] json, long stamp) {
+        if (!isCacheable(invoice.status())) {
+            return;
+        }
+        InvoiceKey key = new InvoiceKey(companyId, invoice.id());
+        Entry entry = new Entry(invoice.invoiceNumber(), json);
+        synchronized (this) {
+            if (stamp != invalidations) {
+                return;
+            }
+            if (byId.put(key, entry) && entry.invoiceNumber() != null) {
+                byNumber.put(new NumberKey(companyId, entry.invoiceNumber()), key);
+            }
+        }
+    }
+
+    public synchronized void evict(UUID companyId, UUID invoiceId) {
+        invalidations++;
+        byId.remove(new InvoiceKey(companyId, invoiceId));
+    }
+
+    public long totalBytes() {
+        return byId.totalBytes();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static byte[] json(Entry entry) {
+        return entry != null ? entry.json() : null;
+    }
+
+    // Called by byId with this locked
+    private void forget(InvoiceKey key, Entry entry) {
+        if (entry.invoiceNumber() != null) {
+            byNumber.remove(new NumberKey(key.companyId(), entry.invoiceNumber()), key);
+        }
+    }
+
+    private record InvoiceKey(UUID companyId, UUID invoiceId) {}
+
+    private record NumberKey(UUID companyId, String invoiceNumber) {}
+
+    // The byte array is shared with every response that serves it and must never be modified
+    private record Entry(String invoiceNumber, byte[] json) {}
+}
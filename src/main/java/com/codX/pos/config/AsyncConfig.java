@@ -0,0 +1,38 @@
+package com.codX.pos.config;
+
+import com.codX.pos.context.UserContextTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor catalogImportExecutor(
+            @Value("${pos.catalog-import.workers:2}") int workers,
+            @Value("${pos.catalog-import.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("catalog-import-");
+        executor.setTaskDecorator(new UserContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Virtual threads for short blocking reads fanned out from one request; the limit bounds database use
+    @Bean
+    public SimpleAsyncTaskExecutor vehicleOverviewExecutor(
+            @Value("${pos.vehicle-overview.concurrency-limit:64}") int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("vehicle-overview-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskDecorator(new UserContextTaskDecorator());
+        return executor;
+    }
+}
@@ -3,6 +3,9 @@ package com.codX.pos.config;
 import com.codX.pos.context.UserContext;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.entity.Role;
+import com.codX.pos.metrics.TenantTierResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +29,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -43,32 +47,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        Timer.Sample authenticationSample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+        try {
+            jwt = authHeader.substring(7);
+            username = jwtService.extractUsername(jwt);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // Set user context
-                UserContextDto userContextDto = UserContextDto.builder()
-                        .userId(UUID.fromString(jwtService.extractClaim(jwt, claims -> claims.get("userId", String.class))))
-                        .username(username)
-                        .role(Role.valueOf(jwtService.extractRole(jwt)))
-                        .companyId(jwtService.extractCompanyId(jwt))
-                        .branchId(jwtService.extractBranchId(jwt))
-                        .build();
+                if (jwtService.isTokenValid(jwt, userDetails)) {
+                    // Set user context
+                    UserContextDto userContextDto = UserContextDto.builder()
+                            .userId(UUID.fromString(jwtService.extractClaim(jwt, claims -> claims.get("userId", String.class))))
+                            .username(username)
+                            .role(Role.valueOf(jwtService.extractRole(jwt)))
+                            .companyId(jwtService.extractCompanyId(jwt))
+                            .branchId(jwtService.extractBranchId(jwt))
+                            .build();
 
-                UserContext.setUserContext(userContextDto);
+                    UserContext.setUserContext(userContextDto);
+                    // Kept on the request so metrics recorded after the context is cleared can tag the tenant
+                    request.setAttribute(TenantTierResolver.COMPANY_ID_ATTRIBUTE, userContextDto.companyId());
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "authenticated";
+                }
             }
+        } finally {
+            authenticationSample.stop(Timer.builder("pos.auth.jwt")
+                    .description("Time spent validating the bearer token and loading the user")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
         }
 
         try {
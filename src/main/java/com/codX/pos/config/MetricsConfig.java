@@ -0,0 +1,52 @@
+package com.codX.pos.config;
+
+import com.codX.pos.metrics.SqlStatementCounter;
+import com.codX.pos.metrics.TenantTierResolver;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry, TenantTierResolver tenantTierResolver) {
+        Function<ProceedingJoinPoint, Iterable<Tag>> tags = joinPoint -> Tags.of(
+                "class", joinPoint.getStaticPart().getSignature().getDeclaringTypeName(),
+                "method", joinPoint.getStaticPart().getSignature().getName(),
+                "tier", tenantTierResolver.currentTier()
+        );
+        return new TimedAspect(meterRegistry, tags);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public ServerRequestObservationConvention tenantTierServerRequestObservationConvention(TenantTierResolver tenantTierResolver) {
+        // http.server.requests tagged by tier; the user context is already cleared when the
+        // observation stops, so the company id is read from the request attribute
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                UUID companyId = (UUID) context.getCarrier().getAttribute(TenantTierResolver.COMPANY_ID_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context).and("tier", tenantTierResolver.tierOf(companyId));
+            }
+        };
+    }
+}
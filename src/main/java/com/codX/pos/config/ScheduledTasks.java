@@ -1,6 +1,15 @@
 package com.codX.pos.config;
 
+import com.codX.pos.live.BranchActivityFeed;
+import com.codX.pos.metrics.TenantTierResolver;
+import com.codX.pos.search.ItemSearchIndex;
+import com.codX.pos.search.VehiclePlateIndex;
+import com.codX.pos.service.CatalogImportService;
+import com.codX.pos.service.IdempotencyService;
+import com.codX.pos.service.InvoiceArchiveService;
+import com.codX.pos.service.OutboxService;
 import com.codX.pos.service.PasswordResetService;
+import com.codX.pos.service.StockLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,6 +21,15 @@ import org.springframework.stereotype.Component;
 public class ScheduledTasks {
 
     private final PasswordResetService passwordResetService;
+    private final IdempotencyService idempotencyService;
+    private final StockLedgerService stockLedgerService;
+    private final OutboxService outboxService;
+    private final InvoiceArchiveService invoiceArchiveService;
+    private final TenantTierResolver tenantTierResolver;
+    private final VehiclePlateIndex vehiclePlateIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final CatalogImportService catalogImportService;
+    private final BranchActivityFeed branchActivityFeed;
 
     @Scheduled(fixedRate = 3600000) // Run every hour
     public void cleanupExpiredOtps() {
@@ -21,4 +39,99 @@ public class ScheduledTasks {
             log.error("Failed to cleanup expired OTPs", e);
         }
     }
+
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void cleanupExpiredIdempotencyKeys() {
+        try {
+            idempotencyService.cleanupExpiredKeys();
+        } catch (Exception e) {
+            log.error("Failed to cleanup expired idempotency keys", e);
+        }
+    }
+
+    @Scheduled(cron = "${pos.stock-ledger.snapshot-cron:0 30 2 * * *}")
+    public void takeStockSnapshots() {
+        try {
+            stockLedgerService.takeSnapshots();
+        } catch (Exception e) {
+            log.error("Failed to take stock snapshots", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pos.outbox.poll-interval-ms:1000}")
+    public void relayOutboxEvents() {
+        try {
+            outboxService.relayPendingEvents();
+        } catch (Exception e) {
+            log.error("Failed to relay outbox events", e);
+        }
+    }
+
+    // Pushes changes made on any instance to the activity streams open on this one
+    @Scheduled(fixedDelayString = "${pos.live.poll-interval-ms:500}")
+    public void pollBranchActivity() {
+        try {
+            branchActivityFeed.poll();
+        } catch (Exception e) {
+            log.error("Failed to poll branch activity", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    public void cleanupPublishedOutboxEvents() {
+        try {
+            outboxService.cleanupPublishedEvents();
+        } catch (Exception e) {
+            log.error("Failed to cleanup published outbox events", e);
+        }
+    }
+
+    @Scheduled(cron = "${pos.invoice-archive.cron:0 0 3 * * SUN}")
+    public void archiveClosedInvoices() {
+        try {
+            invoiceArchiveService.archiveClosedInvoices();
+            invoiceArchiveService.moveArchivedInvoicesToColdStorage();
+        } catch (Exception e) {
+            log.error("Failed to archive closed invoices", e);
+        }
+    }
+
+    // Picks up tier changes made on other instances
+    @Scheduled(fixedRateString = "${pos.metrics.tier-refresh-ms:300000}", initialDelayString = "${pos.metrics.tier-refresh-ms:300000}")
+    public void refreshTenantTiers() {
+        try {
+            tenantTierResolver.refresh();
+        } catch (Exception e) {
+            log.error("Failed to refresh tenant metric tiers", e);
+        }
+    }
+
+    // Picks up vehicles written on other instances
+    @Scheduled(fixedDelayString = "${pos.vehicle-search.refresh-ms:30000}")
+    public void refreshVehiclePlateIndex() {
+        try {
+            vehiclePlateIndex.refresh();
+        } catch (Exception e) {
+            log.error("Failed to refresh vehicle plate index", e);
+        }
+    }
+
+    // Picks up items written on other instances
+    @Scheduled(fixedDelayString = "${pos.item-search.refresh-ms:30000}")
+    public void refreshItemSearchIndex() {
+        try {
+            itemSearchIndex.refresh();
+        } catch (Exception e) {
+            log.error("Failed to refresh item search index", e);
+        }
+    }
+
+    @Scheduled(fixedRate = 600000) // Run every 10 minutes
+    public void cleanupCatalogImportJobs() {
+        try {
+            catalogImportService.cleanupJobs();
+        } catch (Exception e) {
+            log.error("Failed to cleanup catalog import jobs", e);
+        }
+    }
 }
@@ -0,0 +1,469 @@
+package com.codX.pos.config;
+
+import com.codX.pos.dto.Status;
+import com.codX.pos.entity.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a large synthetic dataset for benchmarking and EXPLAIN validation. Only registered
+ * under the {@code seed} profile, which no environment activates; run it against an empty (or
+ * previously unseeded) database, e.g.
+ * {@code --spring.profiles.active=local,seed --pos.seed.companies=10 --pos.seed.invoices-per-branch=250000}
+ * for 10M invoice lines with the default 4 lines per invoice and 10 branches per company.
+ *
+ * <p>Rows go straight to the tables in multi-row INSERT statements, bypassing JPA, and every
+ * branch is generated by its own writer so branches load in parallel. Data is derived from
+ * {@code pos.seed.random-seed} and the position of each row, never from the order writers finish
+ * in, so the same settings produce the same dataset. Till credentials
+ * are written to {@code pos.seed.credentials-file} for the load-test harness.
+ */
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Profile("seed")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String COMPANY_NAME_PREFIX = "Synthetic Company ";
+    private static final String[] MAKES = {"Toyota", "Honda", "Nissan", "Suzuki", "Mitsubishi", "Mazda", "Hyundai", "Kia"};
+    private static final String[] COLORS = {"White", "Black", "Silver", "Grey", "Red", "Blue"};
+    private static final String[] UNITS = {"pieces", "liters", "kg", "sets"};
+    private static final String[] SERVICE_NAMES = {"Full Service", "Oil Change", "Wheel Alignment", "Body Wash",
+            "Brake Service", "Engine Tune-up", "AC Service", "Battery Check"};
+    private static final DateTimeFormatter INVOICE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.10");
+
+    private static final String[] USER_COLUMNS = {"id", "first_name", "last_name", "user_name", "password", "phone_number",
+            "email", "is_default_password", "is_active", "role", "company_id", "branch_id", "created_date", "last_modified_date"};
+    private static final String[] VEHICLE_COLUMNS = {"id", "vehicle_number", "make", "model", "year", "color", "engine_number",
+            "chassis_number", "is_active", "customer_id", "company_id", "branch_id", "created_date", "last_modified_date"};
+    private static final String[] SERVICE_RECORD_COLUMNS = {"id", "service_date", "current_mileage", "notes", "total_amount",
+            "status", "customer_id", "vehicle_id", "invoice_id", "company_id", "branch_id", "created_date", "last_modified_date"};
+    private static final String[] SERVICE_DETAIL_COLUMNS = {"id", "service_record_id", "service_type_id", "item_id", "quantity",
+            "unit_price", "total_price", "notes", "type", "company_id", "branch_id"};
+    private static final String[] INVOICE_COLUMNS = {"id", "invoice_number", "invoice_date", "subtotal", "tax_amount",
+            "discount_amount", "total_amount", "status", "type", "customer_id", "vehicle_id", "service_record_id", "company_id",
+            "branch_id", "overall_discount_value", "overall_discount_type", "overall_discount_amount", "created_date",
+            "last_modified_date"};
+    private static final String[] INVOICE_LINE_COLUMNS = {"id", "invoice_id", "item_id", "service_type_id", "description",
+            "quantity", "unit_price", "total_price", "discount_value", "discount_type", "discount_amount", "final_price", "type",
+            "company_id", "branch_id"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${pos.seed.companies:2}")
+    private int companies;
+
+    @Value("${pos.seed.branches-per-company:10}")
+    private int branchesPerCompany;
+
+    @Value("${pos.seed.tills-per-branch:4}")
+    private int tillsPerBranch;
+
+    @Value("${pos.seed.items-per-branch:500}")
+    private int itemsPerBranch;
+
+    @Value("${pos.seed.service-types-per-branch:40}")
+    private int serviceTypesPerBranch;
+
+    @Value("${pos.seed.customers-per-branch:2000}")
+    private int customersPerBranch;
+
+    @Value("${pos.seed.vehicles-per-customer:2}")
+    private int vehiclesPerCustomer;
+
+    @Value("${pos.seed.service-records-per-branch:20000}")
+    private int serviceRecordsPerBranch;
+
+    @Value("${pos.seed.invoices-per-branch:50000}")
+    private int invoicesPerBranch;
+
+    @Value("${pos.seed.lines-per-invoice:4}")
+    private int linesPerInvoice;
+
+    @Value("${pos.seed.history-days:365}")
+    private int historyDays;
+
+    @Value("${pos.seed.writer-threads:8}")
+    private int writerThreads;
+
+    @Value("${pos.seed.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${pos.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${pos.seed.password:Password@123}")
+    private String password;
+
+    @Value("${pos.seed.credentials-file:target/loadtest-credentials.csv}")
+    private String credentialsFile;
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    @Override
+    public void run(String... args) throws Exception {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM company WHERE name LIKE ?", Integer.class, COMPANY_NAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present ({} companies) - skipping generation", existing);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        String passwordHash = passwordEncoder.encode(password);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Branch> branches = new ArrayList<>();
+        List<Object[]> companyRows = new ArrayList<>();
+        List<Object[]> branchRows = new ArrayList<>();
+        for (int c = 0; c < companies; c++) {
+            SplittableRandom random = new SplittableRandom(randomSeed + c);
+            UUID companyId = uuid(random);
+            companyRows.add(new Object[]{bytes(companyId), COMPANY_NAME_PREFIX + (c + 1), "company" + (c + 1) + "@synthetic.test",
+                    "No " + (c + 1) + ", Main Street", null, phone(random), Math.max(branchesPerCompany, 5), true,
+                    Status.ACTIVE.name(), timestamp(now), timestamp(now)});
+            for (int b = 0; b < branchesPerCompany; b++) {
+                Branch branch = new Branch(c, b, companyId, uuid(random));
+                branches.add(branch);
+                branchRows.add(new Object[]{bytes(branch.branchId()), "Branch " + (b + 1), "Branch road " + (b + 1),
+                        phone(random), true, bytes(companyId), timestamp(now), timestamp(now)});
+            }
+        }
+        insert("company", new String[]{"id", "name", "email", "address", "logo_url", "contact_number", "max_branches",
+                "is_active", "status", "created_date", "last_modified_date"}, companyRows);
+        insert("branches", new String[]{"id", "name", "address", "contact_number", "is_active", "company_id",
+                "created_date", "last_modified_date"}, branchRows);
+
+        List<String> credentials = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (Branch branch : branches) {
+                running.add(writers.submit(() -> {
+                    generateBranch(branch, passwordHash, now, credentials);
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+
+        writeCredentials(credentials);
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Synthetic dataset generated: {} companies, {} branches, {} rows in {} s ({} rows/s)",
+                companies, branches.size(), rowsWritten.get(), elapsed / 1000, rowsWritten.get() * 1000 / Math.max(elapsed, 1));
+    }
+
+    private void generateBranch(Branch branch, String passwordHash, LocalDateTime now, List<String> credentials) {
+        SplittableRandom random = new SplittableRandom(randomSeed * 31 + branch.companyIndex() * 10_007L + branch.branchIndex());
+        byte[] companyId = bytes(branch.companyId());
+        byte[] branchId = bytes(branch.branchId());
+        Timestamp created = timestamp(now);
+        String userPrefix = "c" + (branch.companyIndex() + 1) + "b" + (branch.branchIndex() + 1);
+
+        // Staff: one branch admin and the tills
+        List<Object[]> users = new ArrayList<>();
+        users.add(userRow(uuid(random), userPrefix + "admin", passwordHash, Role.BRANCH_ADMIN, companyId, branchId, created, random));
+        for (int t = 0; t < tillsPerBranch; t++) {
+            String userName = userPrefix + "till" + (t + 1);
+            users.add(userRow(uuid(random), userName, passwordHash, Role.POS_USER, companyId, branchId, created, random));
+            credentials.add(String.join(",", userName, password, branch.companyId().toString(), branch.branchId().toString()));
+        }
+
+        // Catalog
+        UUID itemCategoryId = uuid(random);
+        insert("item_categories", new String[]{"id", "name", "description", "is_active", "company_id", "branch_id",
+                        "created_date", "last_modified_date"},
+                List.<Object[]>of(new Object[]{bytes(itemCategoryId), "General Items", "Synthetic items", true, companyId, branchId, created, created}));
+        List<UUID> itemIds = new ArrayList<>(itemsPerBranch);
+        List<BigDecimal> itemPrices = new ArrayList<>(itemsPerBranch);
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < itemsPerBranch; i++) {
+            UUID id = uuid(random);
+            BigDecimal price = money(random, 100, 25_000);
+            itemIds.add(id);
+            itemPrices.add(price);
+            items.add(new Object[]{bytes(id), "Item " + (i + 1) + " " + MAKES[i % MAKES.length] + " part", "Synthetic item " + (i + 1),
+                    price, UNITS[i % UNITS.length], 1_000_000, 10, true, bytes(itemCategoryId), companyId, branchId,
+                    BigDecimal.ZERO, DiscountType.PERCENTAGE.name(), created, created});
+        }
+        insert("items", new String[]{"id", "name", "description", "unit_price", "unit", "stock_quantity", "min_stock_level",
+                "is_active", "item_category_id", "company_id", "branch_id", "default_discount_value", "default_discount_type",
+                "created_date", "last_modified_date"}, items);
+
+        UUID serviceCategoryId = uuid(random);
+        insert("service_categories", new String[]{"id", "name", "description", "is_active", "company_id", "branch_id",
+                        "created_date", "last_modified_date"},
+                List.<Object[]>of(new Object[]{bytes(serviceCategoryId), "General Services", "Synthetic services", true, companyId, branchId, created, created}));
+        List<UUID> serviceTypeIds = new ArrayList<>(serviceTypesPerBranch);
+        List<BigDecimal> servicePrices = new ArrayList<>(serviceTypesPerBranch);
+        List<Object[]> serviceTypes = new ArrayList<>();
+        for (int s = 0; s < serviceTypesPerBranch; s++) {
+            UUID id = uuid(random);
+            BigDecimal price = money(random, 1_000, 30_000);
+            serviceTypeIds.add(id);
+            servicePrices.add(price);
+            serviceTypes.add(new Object[]{bytes(id), SERVICE_NAMES[s % SERVICE_NAMES.length] + " " + (s + 1), "Synthetic service",
+                    price, 30 + random.nextInt(180), true, bytes(serviceCategoryId), companyId, branchId,
+                    BigDecimal.ZERO, DiscountType.PERCENTAGE.name(), created, created});
+        }
+        insert("service_types", new String[]{"id", "name", "description", "base_price", "estimated_duration_minutes",
+                "is_active", "service_category_id", "company_id", "branch_id", "default_discount_value",
+                "default_discount_type", "created_date", "last_modified_date"}, serviceTypes);
+
+        // Customers and their vehicles
+        long branchOrdinal = (long) branch.companyIndex() * branchesPerCompany + branch.branchIndex();
+        UUID[] customerIds = new UUID[customersPerBranch];
+        UUID[] vehicleIds = new UUID[customersPerBranch * vehiclesPerCustomer];
+        List<Object[]> vehicles = new ArrayList<>();
+        for (int c = 0; c < customersPerBranch; c++) {
+            customerIds[c] = uuid(random);
+            users.add(userRow(customerIds[c], userPrefix + "cust" + (c + 1), passwordHash, Role.CUSTOMER, companyId, branchId, created, random));
+            for (int v = 0; v < vehiclesPerCustomer; v++) {
+                int index = c * vehiclesPerCustomer + v;
+                vehicleIds[index] = uuid(random);
+                vehicles.add(new Object[]{bytes(vehicleIds[index]), plate(branchOrdinal * vehicleIds.length + index),
+                        MAKES[random.nextInt(MAKES.length)], "Model " + (1 + random.nextInt(20)), 2000 + random.nextInt(25),
+                        COLORS[random.nextInt(COLORS.length)], "EN" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                        "CH" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36), true, bytes(customerIds[c]),
+                        companyId, branchId, created, created});
+            }
+            flushIfFull("users", USER_COLUMNS, users);
+            flushIfFull("vehicles", VEHICLE_COLUMNS, vehicles);
+        }
+        insert("users", USER_COLUMNS, users);
+        insert("vehicles", VEHICLE_COLUMNS, vehicles);
+
+        // Service records, each with one service and one item line, and its service invoice
+        List<Object[]> serviceRecords = new ArrayList<>();
+        List<Object[]> serviceDetails = new ArrayList<>();
+        List<Object[]> invoices = new ArrayList<>();
+        List<Object[]> invoiceLines = new ArrayList<>();
+        for (int s = 0; s < serviceRecordsPerBranch; s++) {
+            int vehicleIndex = random.nextInt(vehicleIds.length);
+            byte[] customerId = bytes(customerIds[vehicleIndex / vehiclesPerCustomer]);
+            byte[] vehicleId = bytes(vehicleIds[vehicleIndex]);
+            LocalDateTime serviceDate = pastDate(random, now);
+            int serviceIndex = random.nextInt(serviceTypeIds.size());
+            int itemIndex = random.nextInt(itemIds.size());
+            BigDecimal servicePrice = servicePrices.get(serviceIndex);
+            BigDecimal itemPrice = itemPrices.get(itemIndex);
+            BigDecimal total = servicePrice.add(itemPrice);
+            UUID serviceRecordId = uuid(random);
+            UUID invoiceId = uuid(random);
+            Timestamp serviceTimestamp = timestamp(serviceDate);
+
+            serviceRecords.add(new Object[]{bytes(serviceRecordId), serviceTimestamp, 5_000 + random.nextInt(200_000),
+                    "Synthetic service visit", total, ServiceStatus.COMPLETED.name(), customerId, vehicleId, bytes(invoiceId),
+                    companyId, branchId, serviceTimestamp, serviceTimestamp});
+            serviceDetails.add(new Object[]{bytes(uuid(random)), bytes(serviceRecordId), bytes(serviceTypeIds.get(serviceIndex)), null,
+                    1, servicePrice, servicePrice, null, ServiceDetailType.SERVICE.name(), companyId, branchId});
+            serviceDetails.add(new Object[]{bytes(uuid(random)), bytes(serviceRecordId), bytes(serviceTypeIds.get(serviceIndex)),
+                    bytes(itemIds.get(itemIndex)), 1, itemPrice, itemPrice, null, ServiceDetailType.ITEM.name(), companyId, branchId});
+
+            invoices.add(invoiceRow(invoiceId, invoiceNumber(branch, s, serviceDate), serviceDate, total, InvoiceType.SERVICE, customerId, vehicleId,
+                    bytes(serviceRecordId), companyId, branchId, random));
+            invoiceLines.add(invoiceLineRow(bytes(uuid(random)), bytes(invoiceId), null, bytes(serviceTypeIds.get(serviceIndex)),
+                    "Service " + (serviceIndex + 1), 1, servicePrice, InvoiceItemType.SERVICE, companyId, branchId));
+            invoiceLines.add(invoiceLineRow(bytes(uuid(random)), bytes(invoiceId), bytes(itemIds.get(itemIndex)), null,
+                    "Item " + (itemIndex + 1), 1, itemPrice, InvoiceItemType.ITEM, companyId, branchId));
+
+            flushIfFull("service_records", SERVICE_RECORD_COLUMNS, serviceRecords);
+            flushIfFull("service_details", SERVICE_DETAIL_COLUMNS, serviceDetails);
+            flushIfFull("invoices", INVOICE_COLUMNS, invoices);
+            flushIfFull("invoice_items", INVOICE_LINE_COLUMNS, invoiceLines);
+        }
+        insert("service_records", SERVICE_RECORD_COLUMNS, serviceRecords);
+        insert("service_details", SERVICE_DETAIL_COLUMNS, serviceDetails);
+
+        // Item sales make up the rest of the invoices
+        for (int i = serviceRecordsPerBranch; i < invoicesPerBranch; i++) {
+            int vehicleIndex = random.nextInt(vehicleIds.length);
+            UUID invoiceId = uuid(random);
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int l = 0; l < linesPerInvoice; l++) {
+                int itemIndex = random.nextInt(itemIds.size());
+                int quantity = 1 + random.nextInt(3);
+                BigDecimal unitPrice = itemPrices.get(itemIndex);
+                subtotal = subtotal.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+                invoiceLines.add(invoiceLineRow(bytes(uuid(random)), bytes(invoiceId), bytes(itemIds.get(itemIndex)), null,
+                        "Item " + (itemIndex + 1), quantity, unitPrice, InvoiceItemType.ITEM, companyId, branchId));
+            }
+            LocalDateTime invoiceDate = pastDate(random, now);
+            invoices.add(invoiceRow(invoiceId, invoiceNumber(branch, i, invoiceDate), invoiceDate, subtotal, InvoiceType.ITEM_SALE,
+                    bytes(customerIds[vehicleIndex / vehiclesPerCustomer]), bytes(vehicleIds[vehicleIndex]), null,
+                    companyId, branchId, random));
+
+            flushIfFull("invoices", INVOICE_COLUMNS, invoices);
+            flushIfFull("invoice_items", INVOICE_LINE_COLUMNS, invoiceLines);
+        }
+        insert("invoices", INVOICE_COLUMNS, invoices);
+        insert("invoice_items", INVOICE_LINE_COLUMNS, invoiceLines);
+
+        log.info("Generated branch {} of company {}", branch.branchIndex() + 1, branch.companyIndex() + 1);
+    }
+
+    private Object[] userRow(UUID id, String userName, String passwordHash, Role role, byte[] companyId, byte[] branchId,
+                             Timestamp created, SplittableRandom random) {
+        return new Object[]{bytes(id), "Synthetic", userName, userName, passwordHash, phone(random),
+                userName + "@synthetic.test", false, true, role.name(), companyId, branchId, created, created};
+    }
+
+    private Object[] invoiceRow(UUID id, String invoiceNumber, LocalDateTime invoiceDate, BigDecimal subtotal, InvoiceType type,
+                                byte[] customerId, byte[] vehicleId, byte[] serviceRecordId, byte[] companyId, byte[] branchId,
+                                SplittableRandom random) {
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        Timestamp timestamp = timestamp(invoiceDate);
+        InvoiceStatus status = random.nextInt(10) == 0 ? InvoiceStatus.DRAFT : InvoiceStatus.PAID;
+        return new Object[]{bytes(id), invoiceNumber, timestamp, subtotal, tax,
+                BigDecimal.ZERO, subtotal.add(tax), status.name(), type.name(), customerId, vehicleId, serviceRecordId,
+                companyId, branchId, BigDecimal.ZERO, DiscountType.PERCENTAGE.name(), BigDecimal.ZERO, timestamp, timestamp};
+    }
+
+    private static Object[] invoiceLineRow(byte[] id, byte[] invoiceId, byte[] itemId, byte[] serviceTypeId, String description,
+                                           int quantity, BigDecimal unitPrice, InvoiceItemType type, byte[] companyId, byte[] branchId) {
+        BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        return new Object[]{id, invoiceId, itemId, serviceTypeId, description, quantity, unitPrice, total, BigDecimal.ZERO,
+                DiscountType.PERCENTAGE.name(), BigDecimal.ZERO, total, type.name(), companyId, branchId};
+    }
+
+    /**
+     * INV-yyyyMMdd-nnnn like the invoice service, with the sequence taken from the invoice's position
+     * in its company (branch, then index within the branch) rather than a shared counter, so numbers
+     * are unique per company and identical on every run. They are not gapless per day.
+     */
+    private String invoiceNumber(Branch branch, int invoiceIndex, LocalDateTime invoiceDate) {
+        long invoicesInBranch = Math.max(invoicesPerBranch, serviceRecordsPerBranch);
+        long sequence = branch.branchIndex() * invoicesInBranch + invoiceIndex + 1;
+        return String.format("INV-%s-%04d", invoiceDate.format(INVOICE_DATE_FORMAT), sequence);
+    }
+
+    private void flushIfFull(String table, String[] columns, List<Object[]> rows) {
+        if (rows.size() >= rowsPerStatement * 10) {
+            insert(table, columns, rows);
+        }
+    }
+
+    /**
+     * Writes and clears the rows, {@code rowsPerStatement} rows per INSERT statement.
+     */
+    private void insert(String table, String[] columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String rowPlaceholders = "(" + String.join(",", Collections.nCopies(columns.length, "?")) + ")";
+        String prefix = "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES ";
+
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+            StringBuilder sql = new StringBuilder(prefix.length() + chunk.size() * (rowPlaceholders.length() + 1));
+            sql.append(prefix);
+            Object[] args = new Object[chunk.size() * columns.length];
+            for (int r = 0; r < chunk.size(); r++) {
+                if (r > 0) {
+                    sql.append(',');
+                }
+                sql.append(rowPlaceholders);
+                System.arraycopy(chunk.get(r), 0, args, r * columns.length, columns.length);
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+        rowsWritten.addAndGet(rows.size());
+        rows.clear();
+    }
+
+    private void writeCredentials(List<String> credentials) throws IOException {
+        Path path = Path.of(credentialsFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> sorted = new ArrayList<>(credentials);
+        Collections.sort(sorted);
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write("userName,password,companyId,branchId\n");
+            for (String line : sorted) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        log.info("Wrote {} till credentials to {}", sorted.size(), path.toAbsolutePath());
+    }
+
+    /**
+     * A moment before today, so the live per-day invoice counters never meet synthetic numbers.
+     */
+    private LocalDateTime pastDate(SplittableRandom random, LocalDateTime now) {
+        return now.toLocalDate().atStartOfDay().minusMinutes(1 + random.nextLong(Math.max(historyDays, 1) * 24L * 60));
+    }
+
+    /**
+     * Unique, plate-like vehicle numbers (ABC-1234) for up to 175M vehicles.
+     */
+    private static String plate(long ordinal) {
+        long letters = ordinal / 10_000;
+        char[] prefix = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            prefix[i] = (char) ('A' + letters % 26);
+            letters /= 26;
+        }
+        return new String(prefix) + "-" + String.format("%04d", ordinal % 10_000);
+    }
+
+    private static BigDecimal money(SplittableRandom random, int min, int max) {
+        return BigDecimal.valueOf(min + random.nextInt(max - min)).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+9477" + (1_000_000 + random.nextInt(9_000_000));
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        // Version 4 layout from a seeded source, so datasets are reproducible
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    private record Branch(int companyIndex, int branchIndex, UUID companyId, UUID branchId) {}
+}
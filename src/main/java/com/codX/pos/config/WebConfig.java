@@ -0,0 +1,52 @@
+package com.codX.pos.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC already registers Smile and CBOR converters after JSON when the dataformats are on
+        // the classpath, but with a default mapper. Swap them in place for ones built from the
+        // application's Jackson builder so dates/enums serialize the same way as JSON; binary stays
+        // opt-in via Accept: application/x-jackson-smile or application/cbor.
+        replace(converters, MappingJackson2SmileHttpMessageConverter.class,
+                () -> new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().smile().build()));
+        replace(converters, MappingJackson2CborHttpMessageConverter.class,
+                () -> new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().cbor().build()));
+    }
+
+    private static void replace(List<HttpMessageConverter<?>> converters,
+                                Class<? extends HttpMessageConverter<?>> type,
+                                Supplier<HttpMessageConverter<?>> replacement) {
+        HttpMessageConverter<?> converter = replacement.get();
+        boolean replaced = false;
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                if (replaced) {
+                    converters.remove(i--);
+                } else {
+                    converters.set(i, converter);
+                    replaced = true;
+                }
+            }
+        }
+        if (!replaced) {
+            converters.add(converter);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.codX.pos.context;
+
+import com.codX.pos.dto.UserContextDto;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting request's {@link UserContext} over to a worker thread, so services keep
+ * their usual tenant and role checks when run in the background.
+ */
+public class UserContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        UserContextDto userContext = UserContext.getUserContext();
+        return () -> {
+            UserContext.setUserContext(userContext);
+            try {
+                runnable.run();
+            } finally {
+                UserContext.clear();
+            }
+        };
+    }
+}
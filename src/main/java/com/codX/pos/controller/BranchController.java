@@ -2,6 +2,7 @@ package com.codX.pos.controller;
 
 import com.codX.pos.dto.request.CreateBranchRequest;
 import com.codX.pos.entity.BranchEntity;
+import com.codX.pos.service.BranchActivityService;
 import com.codX.pos.service.BranchService;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,9 +17,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,6 +35,7 @@ import java.util.UUID;
 public class BranchController {
 
     private final BranchService branchService;
+    private final BranchActivityService branchActivityService;
 
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN')")
@@ -165,4 +169,25 @@ public class BranchController {
                 HttpStatus.OK
         );
     }
+
+    @GetMapping(value = "/{id}/activity", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Stream branch activity",
+            description = """
+            Server-Sent Events stream of service record and invoice changes in a branch, sent as they commit.
+            Each change is an `activity` event; a `resync` event means events were dropped because the client
+            fell behind, and branch data should be reloaded. The stream ends periodically and clients reconnect.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions"),
+            @ApiResponse(responseCode = "404", description = "Branch not found")
+    })
+    public SseEmitter streamBranchActivity(
+            @Parameter(description = "Branch ID", example = "123e4567-e89b-12d3-a456-426614174001")
+            @PathVariable UUID id) {
+        return branchActivityService.streamBranchActivity(id);
+    }
 }
@@ -0,0 +1,71 @@
+package com.codX.pos.controller;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ImportFormat;
+import com.codX.pos.dto.response.CatalogImportJobResponse;
+import com.codX.pos.service.CatalogImportService;
+import com.codX.pos.util.StandardResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/catalog/import")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Catalog Import", description = "Bulk import of items and service types")
+@SecurityRequirement(name = "Bearer Authentication")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(value = "/{catalogType}", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN')")
+    @Operation(
+            summary = "Start a catalog import",
+            description = "Upload items or service types for the current branch as CSV (text/csv, header row with the " +
+                    "create request field names, e.g. name,description,unitPrice,unit,stockQuantity,minStockLevel,itemCategoryId) " +
+                    "or NDJSON (application/x-ndjson, one create request per line). Entries whose name already exists " +
+                    "in the branch are updated. The import runs in the background; poll the returned job for progress."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import accepted"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> startImport(
+            @Parameter(description = "ITEMS or SERVICE_TYPES") @PathVariable CatalogType catalogType,
+            @RequestHeader("Content-Type") String contentType,
+            InputStream content) {
+        ImportFormat format = contentType.startsWith("text/csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+        CatalogImportJobResponse job = catalogImportService.startImport(catalogType, format, content);
+        return new ResponseEntity<>(
+                new StandardResponse(202, job, "Catalog import started"),
+                HttpStatus.ACCEPTED
+        );
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN')")
+    @Operation(
+            summary = "Get catalog import progress",
+            description = "Returns the status, row counts and rejected rows of an import job"
+    )
+    public ResponseEntity<?> getImportJob(@Parameter(description = "Import job ID") @PathVariable UUID jobId) {
+        CatalogImportJobResponse job = catalogImportService.getImportJob(jobId);
+        return new ResponseEntity<>(
+                new StandardResponse(200, job, "Catalog import job retrieved successfully"),
+                HttpStatus.OK
+        );
+    }
+}
@@ -3,8 +3,11 @@ package com.codX.pos.controller;
 import com.codX.pos.auth.AuthenticationRequest;
 import com.codX.pos.auth.AuthenticationResponse;
 import com.codX.pos.auth.AuthenticationService;
+import com.codX.pos.dto.response.CustomerTimelineResponse;
+import com.codX.pos.service.CustomerTimelineService;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,6 +18,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
     private final AuthenticationService authenticationService;
+    private final CustomerTimelineService customerTimelineService;
 
     @PostMapping("/login")
     @Operation(
@@ -75,20 +80,24 @@ public class CustomerController {
     }
 
     @GetMapping("/service-history")
+    @PreAuthorize("hasRole('CUSTOMER')")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(
             summary = "Get customer service history",
-            description = "Retrieve the service history for the authenticated customer. This endpoint will be implemented to show past services and transactions."
+            description = "Retrieve the service and invoice timeline for the authenticated customer, newest first. " +
+                    "Pass the returned nextCursor to fetch the next (older) page."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Service history retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Authentication required"),
             @ApiResponse(responseCode = "403", description = "Access denied - Customer access only")
     })
-    public ResponseEntity<?> getServiceHistory() {
-        // TODO: Implement service history retrieval
+    public ResponseEntity<?> getServiceHistory(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        CustomerTimelineResponse history = customerTimelineService.getServiceHistory(cursor, size);
         return new ResponseEntity<>(
-                new StandardResponse(200, null, "Service history retrieved successfully"),
+                new StandardResponse(200, history, "Service history retrieved successfully"),
                 HttpStatus.OK
         );
     }
@@ -1,11 +1,16 @@
 package com.codX.pos.controller;
 
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.dto.request.CreateInvoiceBatchRequest;
 import com.codX.pos.dto.request.CreateInvoiceRequest;
 import com.codX.pos.dto.request.UpdateInvoiceDiscountRequest;
+import com.codX.pos.dto.response.InvoiceBatchResponse;
 import com.codX.pos.dto.response.InvoicePreviewResponse;
 import com.codX.pos.dto.response.InvoiceResponse;
 import com.codX.pos.entity.InvoiceEntity;
 import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.render.InvoiceDocument;
+import com.codX.pos.service.InvoiceDocumentService;
 import com.codX.pos.service.InvoiceService;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,12 +25,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,7 +48,10 @@ import java.util.UUID;
 @SecurityRequirement(name = "Bearer Authentication")
 public class InvoiceController {
 
+    private static final String UNPRINTABLE_CHARACTERS_HEADER = "X-Unprintable-Characters";
+
     private final InvoiceService invoiceService;
+    private final InvoiceDocumentService invoiceDocumentService;
 
     @PostMapping("/service/{serviceRecordId}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
@@ -67,7 +81,8 @@ public class InvoiceController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Item sale invoice created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid item data or insufficient stock")
+            @ApiResponse(responseCode = "400", description = "Invalid item data or insufficient stock"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused for a different request or still being processed")
     })
     public ResponseEntity<?> createItemSaleInvoice(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -92,14 +107,44 @@ public class InvoiceController {
                         """)
                     )
             )
-            @Valid @RequestBody CreateInvoiceRequest request) {
-        InvoiceEntity invoice = invoiceService.createItemSaleInvoice(request);
+            @Valid @RequestBody CreateInvoiceRequest request,
+            @Parameter(description = "Client-generated key; a retry with the same key returns the original invoice")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        InvoiceEntity invoice = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? invoiceService.createItemSaleInvoice(request, idempotencyKey)
+                : invoiceService.createItemSaleInvoice(request);
         return new ResponseEntity<>(
                 new StandardResponse(201, invoice, "Item sale invoice created successfully"),
                 HttpStatus.CREATED
         );
     }
 
+    @PostMapping("/item-sale/batch")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Create item sale invoices in bulk",
+            description = "Create many item sale invoices in one transaction, e.g. an end-of-day upload from an offline branch. " +
+                    "Invalid invoices are rejected individually and reported in the per-invoice results."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-invoice results"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more than 5000 invoices"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key reused for a different request or still being processed")
+    })
+    public ResponseEntity<?> createItemSaleInvoiceBatch(
+            @Valid @RequestBody CreateInvoiceBatchRequest request,
+            @Parameter(description = "Client-generated key; a retry with the same key returns the original results")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        InvoiceBatchResponse response = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? invoiceService.createItemSaleInvoiceBatch(request, idempotencyKey)
+                : invoiceService.createItemSaleInvoiceBatch(request);
+        return new ResponseEntity<>(
+                new StandardResponse(200, response,
+                        "Batch processed: " + response.created() + " created, " + response.failed() + " failed"),
+                HttpStatus.OK
+        );
+    }
+
     @PostMapping("/mixed")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
     @Operation(
@@ -120,7 +165,13 @@ public class InvoiceController {
             summary = "Get invoice by ID",
             description = "Retrieve invoice details by ID with all invoice items"
     )
-    public ResponseEntity<?> getInvoiceById(@PathVariable UUID id) {
+    public ResponseEntity<?> getInvoiceById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (prefersJson(accept)) {
+            // Closed invoices come pre-serialized from the cache and are written out as is
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(invoiceService.getInvoiceJsonById(id));
+        }
         InvoiceResponse invoice = invoiceService.getInvoiceById(id);
         return new ResponseEntity<>(
                 new StandardResponse(200, invoice, "Invoice retrieved successfully"),
@@ -140,7 +191,12 @@ public class InvoiceController {
             @ApiResponse(responseCode = "403", description = "Insufficient permissions")
     })
     public ResponseEntity<?> getInvoiceByNumber(
-            @Parameter(description = "Invoice Number", example = "INV-20241215-0001") @PathVariable String invoiceNumber) {
+            @Parameter(description = "Invoice Number", example = "INV-20241215-0001") @PathVariable String invoiceNumber,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (prefersJson(accept)) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(invoiceService.getInvoiceJsonByNumber(invoiceNumber));
+        }
         InvoiceResponse invoice = invoiceService.getInvoiceByNumber(invoiceNumber);
         return new ResponseEntity<>(
                 new StandardResponse(200, invoice, "Invoice retrieved successfully"),
@@ -148,6 +204,33 @@ public class InvoiceController {
         );
     }
 
+    @GetMapping("/{id}/document")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER', 'CUSTOMER')")
+    @Operation(
+            summary = "Render invoice document",
+            description = "Render the invoice with the company letterhead as a PDF or as ESC/POS commands for thermal receipt printers. " +
+                    "Characters the format cannot print (outside Windows-1252 for PDF, outside ASCII for ESC/POS) are printed as '?' " +
+                    "and counted in the " + UNPRINTABLE_CHARACTERS_HEADER + " header"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Invoice document rendered successfully"),
+            @ApiResponse(responseCode = "404", description = "Invoice not found"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<StreamingResponseBody> getInvoiceDocument(
+            @PathVariable UUID id,
+            @Parameter(description = "Document format") @RequestParam(defaultValue = "PDF") DocumentFormat format) {
+        InvoiceDocument document = invoiceDocumentService.renderInvoice(id, format);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(document.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename(document.fileName()).build().toString());
+        if (document.unprintableCharacters() > 0) {
+            response.header(UNPRINTABLE_CHARACTERS_HEADER, String.valueOf(document.unprintableCharacters()));
+        }
+        return response.body(document.body());
+    }
+
     @GetMapping("/customer/{customerId}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
     @Operation(
@@ -332,4 +415,18 @@ public class InvoiceController {
         );
     }
 
+    // Clients asking for Smile or CBOR first go through the message converters instead
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                    .map(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                    .orElse(true);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.codX.pos.controller;
 import com.codX.pos.dto.request.CreateItemCategoryRequest;
 import com.codX.pos.entity.ItemCategoryEntity;
 import com.codX.pos.service.ItemCategoryService;
+import com.codX.pos.util.ConditionalResponse;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,8 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -93,11 +94,13 @@ public class ItemCategoryController {
             description = "Retrieve all item categories for a specific company"
     )
     public ResponseEntity<?> getItemCategoriesByCompany(
-            @Parameter(description = "Company ID") @PathVariable UUID companyId) {
-        List<ItemCategoryEntity> categories = itemCategoryService.getItemCategoriesByCompany(companyId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, categories, "Item categories retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Company ID") @PathVariable UUID companyId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                itemCategoryService.getItemCategoriesByCompanyETag(companyId),
+                () -> itemCategoryService.getItemCategoriesByCompany(companyId),
+                "Item categories retrieved successfully"
         );
     }
 
@@ -109,11 +112,13 @@ public class ItemCategoryController {
     )
     public ResponseEntity<?> getItemCategoriesByBranch(
             @Parameter(description = "Company ID") @PathVariable UUID companyId,
-            @Parameter(description = "Branch ID") @PathVariable UUID branchId) {
-        List<ItemCategoryEntity> categories = itemCategoryService.getItemCategoriesByBranch(companyId, branchId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, categories, "Item categories retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                itemCategoryService.getItemCategoriesByBranchETag(companyId, branchId),
+                () -> itemCategoryService.getItemCategoriesByBranch(companyId, branchId),
+                "Item categories retrieved successfully"
         );
     }
 
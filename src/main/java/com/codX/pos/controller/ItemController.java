@@ -1,9 +1,13 @@
 package com.codX.pos.controller;
 
+import com.codX.pos.dto.ItemCatalogQuery;
+import com.codX.pos.dto.ItemCatalogSort;
 import com.codX.pos.dto.request.CreateItemRequest;
 import com.codX.pos.dto.request.DiscountRequest;
+import com.codX.pos.dto.response.ItemSearchResult;
 import com.codX.pos.entity.ItemEntity;
 import com.codX.pos.service.ItemService;
+import com.codX.pos.util.ConditionalResponse;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +24,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -72,6 +77,28 @@ public class ItemController {
         );
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Search items",
+            description = "Typeahead search over item name, description and unit within a branch. Every word of the " +
+                    "query must start a word of the item; name matches are ranked first. Stock levels are not included."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items found"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> searchItems(
+            @Parameter(description = "Branch ID") @RequestParam UUID branchId,
+            @Parameter(description = "Search text") @RequestParam String q,
+            @Parameter(description = "Maximum number of results (1-50)") @RequestParam(defaultValue = "20") int limit) {
+        List<ItemSearchResult> items = itemService.searchItems(branchId, q, limit);
+        return new ResponseEntity<>(
+                new StandardResponse(200, items, "Items found"),
+                HttpStatus.OK
+        );
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
     @Operation(
@@ -99,11 +126,13 @@ public class ItemController {
             description = "Retrieve all items under a specific category"
     )
     public ResponseEntity<?> getItemsByCategory(
-            @Parameter(description = "Item Category ID") @PathVariable UUID categoryId) {
-        List<ItemEntity> items = itemService.getItemsByCategory(categoryId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, items, "Items retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Item Category ID") @PathVariable UUID categoryId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                itemService.getItemsByCategoryETag(categoryId),
+                () -> itemService.getItemsByCategory(categoryId),
+                "Items retrieved successfully"
         );
     }
 
@@ -114,11 +143,13 @@ public class ItemController {
             description = "Retrieve all items for a specific company"
     )
     public ResponseEntity<?> getItemsByCompany(
-            @Parameter(description = "Company ID") @PathVariable UUID companyId) {
-        List<ItemEntity> items = itemService.getItemsByCompany(companyId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, items, "Items retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Company ID") @PathVariable UUID companyId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                itemService.getItemsByCompanyETag(companyId),
+                () -> itemService.getItemsByCompany(companyId),
+                "Items retrieved successfully"
         );
     }
 
@@ -134,11 +165,44 @@ public class ItemController {
             @ApiResponse(responseCode = "404", description = "Branch not found")
     })
     public ResponseEntity<?> getItemsByBranch(
-            @Parameter(description = "Branch ID") @PathVariable UUID branchId) {
-        List<ItemEntity> items = itemService.getItemsByBranch(branchId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, items, "Branch items retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                itemService.getItemsByBranchETag(branchId),
+                () -> itemService.getItemsByBranch(branchId),
+                "Branch items retrieved successfully"
+        );
+    }
+
+    @GetMapping("/branch/{branchId}/catalog")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Get a page of the branch item catalog",
+            description = "Active items of a branch, optionally filtered by category and name prefix, sorted by name or " +
+                    "stock. Pass nextCursor from the previous page to continue; keep the other parameters unchanged."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog page retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> getItemCatalogPage(
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            @Parameter(description = "Only items of this category") @RequestParam(required = false) UUID categoryId,
+            @Parameter(description = "Only items whose name starts with this text") @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Sort order") @RequestParam(defaultValue = "NAME") ItemCatalogSort sort,
+            @Parameter(description = "Sort descending") @RequestParam(defaultValue = "false") boolean descending,
+            @Parameter(description = "Items per page (max " + ItemCatalogQuery.MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + ItemCatalogQuery.DEFAULT_LIMIT) int limit,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        ItemCatalogQuery query = ItemCatalogQuery.of(categoryId, namePrefix, sort, descending, limit, cursor);
+        return ConditionalResponse.of(
+                webRequest,
+                itemService.getItemCatalogPageETag(branchId, query),
+                () -> itemService.getItemCatalogPage(branchId, query),
+                "Catalog page retrieved successfully"
         );
     }
 
@@ -3,6 +3,7 @@ package com.codX.pos.controller;
 import com.codX.pos.dto.request.CreateServiceCategoryRequest;
 import com.codX.pos.entity.ServiceCategoryEntity;
 import com.codX.pos.service.ServiceCategoryService;
+import com.codX.pos.util.ConditionalResponse;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,8 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -73,11 +74,13 @@ public class ServiceCategoryController {
             description = "Retrieve all service categories for a specific company"
     )
     public ResponseEntity<?> getServiceCategoriesByCompany(
-            @Parameter(description = "Company ID") @PathVariable UUID companyId) {
-        List<ServiceCategoryEntity> categories = serviceCategoryService.getServiceCategoriesByCompany(companyId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, categories, "Service categories retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Company ID") @PathVariable UUID companyId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                serviceCategoryService.getServiceCategoriesByCompanyETag(companyId),
+                () -> serviceCategoryService.getServiceCategoriesByCompany(companyId),
+                "Service categories retrieved successfully"
         );
     }
 
@@ -89,11 +92,13 @@ public class ServiceCategoryController {
     )
     public ResponseEntity<?> getServiceCategoriesByBranch(
             @Parameter(description = "Company ID") @PathVariable UUID companyId,
-            @Parameter(description = "Branch ID") @PathVariable UUID branchId) {
-        List<ServiceCategoryEntity> categories = serviceCategoryService.getServiceCategoriesByBranch(companyId, branchId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, categories, "Service categories retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                serviceCategoryService.getServiceCategoriesByBranchETag(companyId, branchId),
+                () -> serviceCategoryService.getServiceCategoriesByBranch(companyId, branchId),
+                "Service categories retrieved successfully"
         );
     }
 
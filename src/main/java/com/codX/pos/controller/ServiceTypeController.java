@@ -4,6 +4,7 @@ import com.codX.pos.dto.request.CreateServiceTypeRequest;
 import com.codX.pos.dto.request.DiscountRequest;
 import com.codX.pos.entity.ServiceTypeEntity;
 import com.codX.pos.service.ServiceTypeService;
+import com.codX.pos.util.ConditionalResponse;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,8 +21,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -97,11 +98,13 @@ public class ServiceTypeController {
             description = "Retrieve all service types under a specific category"
     )
     public ResponseEntity<?> getServiceTypesByCategory(
-            @Parameter(description = "Service Category ID") @PathVariable UUID categoryId) {
-        List<ServiceTypeEntity> serviceTypes = serviceTypeService.getServiceTypesByCategory(categoryId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, serviceTypes, "Service types retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Service Category ID") @PathVariable UUID categoryId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                serviceTypeService.getServiceTypesByCategoryETag(categoryId),
+                () -> serviceTypeService.getServiceTypesByCategory(categoryId),
+                "Service types retrieved successfully"
         );
     }
 
@@ -112,11 +115,13 @@ public class ServiceTypeController {
             description = "Retrieve all service types for a specific company"
     )
     public ResponseEntity<?> getServiceTypesByCompany(
-            @Parameter(description = "Company ID") @PathVariable UUID companyId) {
-        List<ServiceTypeEntity> serviceTypes = serviceTypeService.getServiceTypesByCompany(companyId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, serviceTypes, "Service types retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Company ID") @PathVariable UUID companyId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                serviceTypeService.getServiceTypesByCompanyETag(companyId),
+                () -> serviceTypeService.getServiceTypesByCompany(companyId),
+                "Service types retrieved successfully"
         );
     }
 
@@ -132,11 +137,13 @@ public class ServiceTypeController {
             @ApiResponse(responseCode = "404", description = "Branch not found")
     })
     public ResponseEntity<?> getServiceTypesByBranch(
-            @Parameter(description = "Branch ID") @PathVariable UUID branchId) {
-        List<ServiceTypeEntity> serviceTypes = serviceTypeService.getServiceTypesByBranch(branchId);
-        return new ResponseEntity<>(
-                new StandardResponse(200, serviceTypes, "Branch service types retrieved successfully"),
-                HttpStatus.OK
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            WebRequest webRequest) {
+        return ConditionalResponse.of(
+                webRequest,
+                serviceTypeService.getServiceTypesByBranchETag(branchId),
+                () -> serviceTypeService.getServiceTypesByBranch(branchId),
+                "Branch service types retrieved successfully"
         );
     }
 
@@ -0,0 +1,77 @@
+package com.codX.pos.controller;
+
+import com.codX.pos.dto.response.StockLevelResponse;
+import com.codX.pos.dto.response.StockMovementResponse;
+import com.codX.pos.service.StockLedgerService;
+import com.codX.pos.util.StandardResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/stock")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Stock Ledger", description = "Stock movement history and point-in-time stock levels")
+@SecurityRequirement(name = "Bearer Authentication")
+public class StockLedgerController {
+
+    private final StockLedgerService stockLedgerService;
+
+    @GetMapping("/items/{itemId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Get stock level at a point in time",
+            description = "Stock quantity of an item at the given time (now if omitted), computed from the latest " +
+                    "snapshot before that time and the movements after it"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock level retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> getStockLevel(
+            @Parameter(description = "Item ID") @PathVariable UUID itemId,
+            @Parameter(description = "Point in time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        StockLevelResponse stockLevel = stockLedgerService.getStockLevel(itemId, at);
+        return new ResponseEntity<>(
+                new StandardResponse(200, stockLevel, "Stock level retrieved successfully"),
+                HttpStatus.OK
+        );
+    }
+
+    @GetMapping("/items/{itemId}/movements")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Get stock movements of an item",
+            description = "Sales, service use, restores and adjustments of an item in a time range, oldest first. " +
+                    "Defaults to the last 30 days."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock movements retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> getMovements(
+            @Parameter(description = "Item ID") @PathVariable UUID itemId,
+            @Parameter(description = "Start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Maximum number of movements (1-500)") @RequestParam(defaultValue = "100") int limit) {
+        List<StockMovementResponse> movements = stockLedgerService.getMovements(itemId, from, to, limit);
+        return new ResponseEntity<>(
+                new StandardResponse(200, movements, "Stock movements retrieved successfully"),
+                HttpStatus.OK
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.codX.pos.controller;
+
+import com.codX.pos.dto.SyncCursor;
+import com.codX.pos.dto.SyncEntityType;
+import com.codX.pos.dto.response.SyncResponse;
+import com.codX.pos.service.ItemService;
+import com.codX.pos.service.ServiceRecordService;
+import com.codX.pos.service.VehicleService;
+import com.codX.pos.util.StandardResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/sync")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Terminal Sync", description = "Delta sync for offline-capable POS terminals")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SyncController {
+
+    private final ItemService itemService;
+    private final VehicleService vehicleService;
+    private final ServiceRecordService serviceRecordService;
+
+    @GetMapping("/branch/{branchId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Get branch changes since a high-water mark",
+            description = "Returns rows of one entity type changed since the given (since, afterId) position, " +
+                    "oldest first, including deactivated rows. Omit both to start a full sync, then pass back " +
+                    "nextSince and nextAfterId; keep calling while hasMore is true."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<?> getBranchChanges(
+            @Parameter(description = "Branch ID") @PathVariable UUID branchId,
+            @Parameter(description = "Entity type to sync") @RequestParam SyncEntityType entity,
+            @Parameter(description = "nextSince from the previous page")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "nextAfterId from the previous page") @RequestParam(required = false) UUID afterId,
+            @Parameter(description = "Maximum rows per page (max " + SyncCursor.MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + SyncCursor.DEFAULT_LIMIT) int limit) {
+        SyncCursor cursor = SyncCursor.of(since, afterId, limit);
+
+        SyncResponse<?> changes = switch (entity) {
+            case ITEMS -> itemService.getItemChangesByBranch(branchId, cursor);
+            case VEHICLES -> vehicleService.getVehicleChangesByBranch(branchId, cursor);
+            case SERVICE_RECORDS -> serviceRecordService.getServiceRecordChangesByBranch(branchId, cursor);
+        };
+
+        return new ResponseEntity<>(
+                new StandardResponse(200, changes, "Changes retrieved successfully"),
+                HttpStatus.OK
+        );
+    }
+}
@@ -1,8 +1,10 @@
 package com.codX.pos.controller;
 
 import com.codX.pos.dto.request.CreateVehicleRequest;
+import com.codX.pos.dto.response.VehicleOverviewResponse;
 import com.codX.pos.dto.response.VehicleResponse;
 import com.codX.pos.entity.VehicleEntity;
+import com.codX.pos.service.VehicleOverviewService;
 import com.codX.pos.service.VehicleService;
 import com.codX.pos.util.StandardResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,6 +35,7 @@ import java.util.UUID;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final VehicleOverviewService vehicleOverviewService;
 
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
@@ -153,17 +156,38 @@ public class VehicleController {
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
     @Operation(
             summary = "Search vehicles by number",
-            description = "Search vehicles by vehicle number (partial match)"
+            description = "Search vehicles by vehicle number (partial match). Spaces and dashes are ignored; " +
+                    "exact and prefix matches are ranked before substring matches."
     )
     public ResponseEntity<?> searchVehicles(
-            @Parameter(description = "Vehicle number to search") @RequestParam String vehicleNumber) {
-        List<VehicleResponse> vehicles = vehicleService.searchVehiclesByNumber(vehicleNumber);
+            @Parameter(description = "Vehicle number to search") @RequestParam String vehicleNumber,
+            @Parameter(description = "Maximum number of results (1-50)") @RequestParam(defaultValue = "20") int limit) {
+        List<VehicleResponse> vehicles = vehicleService.searchVehiclesByNumber(vehicleNumber, limit);
         return new ResponseEntity<>(
                 new StandardResponse(200, vehicles, "Vehicles found"),
                 HttpStatus.OK
         );
     }
 
+    @GetMapping("/number/{vehicleNumber}/overview")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
+    @Operation(
+            summary = "Get vehicle overview",
+            description = "Retrieve a vehicle by number together with its service history and its customer's invoices in one call"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicle overview retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Vehicle not found")
+    })
+    public ResponseEntity<?> getVehicleOverview(
+            @Parameter(description = "Vehicle number plate") @PathVariable String vehicleNumber) {
+        VehicleOverviewResponse overview = vehicleOverviewService.getVehicleOverview(vehicleNumber);
+        return new ResponseEntity<>(
+                new StandardResponse(200, overview, "Vehicle overview retrieved successfully"),
+                HttpStatus.OK
+        );
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'COMPANY_ADMIN', 'BRANCH_ADMIN', 'POS_USER')")
     @Operation(summary = "Get vehicle by ID")
@@ -0,0 +1,8 @@
+package com.codX.pos.dto;
+
+public enum CatalogType {
+    ITEMS,
+    ITEM_CATEGORIES,
+    SERVICE_TYPES,
+    SERVICE_CATEGORIES
+}
@@ -0,0 +1,6 @@
+package com.codX.pos.dto;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
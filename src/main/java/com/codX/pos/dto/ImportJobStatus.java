@@ -0,0 +1,8 @@
+package com.codX.pos.dto;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,69 @@
+package com.codX.pos.dto;
+
+import com.codX.pos.dto.response.ItemCatalogEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Filter, order and keyset position of a catalog page. Items are ordered by (name, id) or
+ * (stockQuantity, id), and a page starts strictly after the position encoded in the cursor of the
+ * previous page, so deep pages cost the same as the first one.
+ */
+public record ItemCatalogQuery(UUID categoryId, String namePrefix, ItemCatalogSort sort, boolean descending,
+                               int limit, String afterName, Integer afterStock, UUID afterId) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public static ItemCatalogQuery of(UUID categoryId, String namePrefix, ItemCatalogSort sort, boolean descending,
+                                      Integer limit, String cursor) {
+        ItemCatalogSort order = sort != null ? sort : ItemCatalogSort.NAME;
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        String prefix = namePrefix == null || namePrefix.isBlank() ? null : namePrefix.trim();
+
+        if (cursor == null || cursor.isBlank()) {
+            return new ItemCatalogQuery(categoryId, prefix, order, descending, pageSize, null, null, null);
+        }
+
+        // Cursor is "<sort>|<position>|<id>", base64url encoded
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid catalog cursor");
+        }
+        int first = decoded.indexOf('|');
+        int last = decoded.lastIndexOf('|');
+        if (first < 0 || first == last || !decoded.substring(0, first).equals(order.name())) {
+            throw new RuntimeException("Invalid catalog cursor for sort " + order);
+        }
+        String position = decoded.substring(first + 1, last);
+        UUID afterId = UUID.fromString(decoded.substring(last + 1));
+        return order == ItemCatalogSort.NAME
+                ? new ItemCatalogQuery(categoryId, prefix, order, descending, pageSize, position, null, afterId)
+                : new ItemCatalogQuery(categoryId, prefix, order, descending, pageSize, null,
+                        position.isEmpty() ? null : Integer.valueOf(position), afterId);
+    }
+
+    public boolean hasPosition() {
+        return afterId != null;
+    }
+
+    public String cursorAfter(ItemCatalogEntry entry) {
+        // Items without a stock quantity sort before all others and encode an empty position
+        String position = sort == ItemCatalogSort.NAME ? entry.name()
+                : entry.stockQuantity() != null ? String.valueOf(entry.stockQuantity()) : "";
+        String raw = sort.name() + "|" + position + "|" + entry.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Distinguishes ETags of different queries on the same catalog version.
+     */
+    public String fingerprint() {
+        return Integer.toHexString((categoryId + "|" + namePrefix + "|" + sort + "|" + descending + "|" + limit
+                + "|" + afterName + "|" + afterStock + "|" + afterId).hashCode());
+    }
+}
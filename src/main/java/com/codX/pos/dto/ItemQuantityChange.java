@@ -0,0 +1,5 @@
+package com.codX.pos.dto;
+
+import java.util.UUID;
+
+public record ItemQuantityChange(UUID itemId, Long quantity) {}
@@ -0,0 +1,5 @@
+package com.codX.pos.dto;
+
+import java.util.UUID;
+
+public record ItemStockLevel(UUID itemId, UUID companyId, UUID branchId, Integer stockQuantity) {}
@@ -0,0 +1,30 @@
+package com.codX.pos.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keyset position of a delta sync page: rows are ordered by (lastModifiedDate, id) and a page
+ * starts strictly after (since, afterId). Rows modified within the last few seconds are held back
+ * until {@code until} passes them, so a transaction that commits late with an older timestamp is
+ * not skipped by a terminal that already moved its high-water mark.
+ */
+public record SyncCursor(LocalDateTime since, UUID afterId, LocalDateTime until, int limit) {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final long SETTLE_SECONDS = 5;
+
+    public static SyncCursor of(LocalDateTime since, UUID afterId, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return new SyncCursor(
+                since != null ? since : BEGINNING,
+                afterId != null ? afterId : MIN_ID,
+                LocalDateTime.now().minusSeconds(SETTLE_SECONDS),
+                pageSize
+        );
+    }
+}
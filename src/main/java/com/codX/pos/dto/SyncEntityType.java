@@ -0,0 +1,7 @@
+package com.codX.pos.dto;
+
+public enum SyncEntityType {
+    ITEMS,
+    VEHICLES,
+    SERVICE_RECORDS
+}
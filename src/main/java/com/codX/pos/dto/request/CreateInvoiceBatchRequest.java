@@ -0,0 +1,18 @@
+package com.codX.pos.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Batch of item sale invoices, e.g. an end-of-day upload from an offline branch")
+public record CreateInvoiceBatchRequest(
+        // Invoices are checked one by one so a bad sale fails alone instead of the whole upload
+        @NotEmpty(message = "At least one invoice is required")
+        @Size(max = 5000, message = "At most 5000 invoices per batch")
+        @Schema(description = "Item sale invoices to create")
+        List<CreateInvoiceRequest> invoices
+) {}
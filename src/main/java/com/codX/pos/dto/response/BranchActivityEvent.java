@@ -0,0 +1,29 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.entity.OutboxEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder(toBuilder = true)
+@Schema(description = "Service record or invoice change pushed to branch dashboards")
+public record BranchActivityEvent(
+        @Schema(description = "Event sequence number on this server, also sent as the SSE event id")
+        long sequence,
+        OutboxEventType eventType,
+        @Schema(description = "Service record or invoice ID")
+        UUID aggregateId,
+        UUID branchId,
+        @Schema(description = "Service or invoice status after the change")
+        String status,
+        @Schema(description = "Service status before an update, when it changed")
+        String previousStatus,
+        String invoiceNumber,
+        UUID customerId,
+        UUID vehicleId,
+        BigDecimal totalAmount,
+        LocalDateTime occurredAt
+) {}
@@ -0,0 +1,56 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ImportJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Progress of a catalog import job")
+public record CatalogImportJobResponse(
+        @Schema(description = "Job ID, used to poll for progress")
+        UUID jobId,
+
+        @Schema(description = "Catalog being imported", example = "ITEMS")
+        CatalogType catalogType,
+
+        @Schema(description = "Job status", example = "RUNNING")
+        ImportJobStatus status,
+
+        @Schema(description = "Data rows read so far", example = "2500")
+        int processedRows,
+
+        @Schema(description = "Entries created", example = "2400")
+        int created,
+
+        @Schema(description = "Existing entries updated by name", example = "90")
+        int updated,
+
+        @Schema(description = "Rows rejected", example = "10")
+        int failed,
+
+        @Schema(description = "Rejected rows, capped at the first 1000")
+        List<RowError> errors,
+
+        @Schema(description = "Reason the whole job failed")
+        String message,
+
+        @Schema(description = "When the job was submitted")
+        LocalDateTime submittedAt,
+
+        @Schema(description = "When the job finished")
+        LocalDateTime finishedAt
+) {
+    @Schema(description = "A rejected import row")
+    public record RowError(
+            @Schema(description = "1-based line number in the uploaded file", example = "17")
+            long line,
+
+            @Schema(description = "Why the row was rejected")
+            String error
+    ) {}
+}
@@ -0,0 +1,43 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.entity.TimelineEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Customer timeline event")
+public record CustomerTimelineEventResponse(
+        @Schema(description = "Event ID")
+        UUID id,
+
+        @Schema(description = "Event type")
+        TimelineEventType eventType,
+
+        @Schema(description = "Service record or invoice ID")
+        UUID sourceId,
+
+        @Schema(description = "Vehicle ID (if applicable)")
+        UUID vehicleId,
+
+        @Schema(description = "Invoice number (for invoice events)")
+        String referenceNumber,
+
+        @Schema(description = "Service or invoice status at the time of the event")
+        String status,
+
+        @Schema(description = "Event description")
+        String description,
+
+        @Schema(description = "Amount at the time of the event")
+        BigDecimal amount,
+
+        @Schema(description = "Service or invoice date")
+        LocalDateTime eventDate,
+
+        @Schema(description = "Time the event was recorded")
+        LocalDateTime recordedAt
+) {}
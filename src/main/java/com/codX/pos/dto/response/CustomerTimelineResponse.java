@@ -0,0 +1,16 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "A page of the customer service and invoice timeline, newest first")
+public record CustomerTimelineResponse(
+        @Schema(description = "Timeline events")
+        List<CustomerTimelineEventResponse> events,
+
+        @Schema(description = "Cursor for the next (older) page, null when there are no more events")
+        String nextCursor
+) {}
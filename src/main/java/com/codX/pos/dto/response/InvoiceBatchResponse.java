@@ -0,0 +1,19 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Result of a batch invoice upload")
+public record InvoiceBatchResponse(
+        @Schema(description = "Number of invoices created")
+        int created,
+
+        @Schema(description = "Number of invoices rejected")
+        int failed,
+
+        @Schema(description = "Per-invoice results, in request order")
+        List<InvoiceBatchResultResponse> results
+) {}
@@ -0,0 +1,29 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Outcome of one invoice of a batch")
+public record InvoiceBatchResultResponse(
+        @Schema(description = "Position of the invoice in the request", example = "0")
+        int index,
+
+        @Schema(description = "Whether the invoice was created")
+        boolean success,
+
+        @Schema(description = "Created invoice ID")
+        UUID invoiceId,
+
+        @Schema(description = "Created invoice number", example = "INV-20241215-0001")
+        String invoiceNumber,
+
+        @Schema(description = "Total amount")
+        BigDecimal totalAmount,
+
+        @Schema(description = "Reason the invoice was rejected")
+        String error
+) {}
@@ -0,0 +1,38 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.entity.DiscountType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Selected directly by the catalog query, so the constructor must match its select list
+@Schema(description = "Item as listed in a till catalog")
+public record ItemCatalogEntry(
+        @Schema(description = "Item ID")
+        UUID id,
+
+        @Schema(description = "Item name", example = "Engine Oil 5W-30")
+        String name,
+
+        @Schema(description = "Unit price", example = "12.50")
+        BigDecimal unitPrice,
+
+        @Schema(description = "Unit of measurement", example = "liters")
+        String unit,
+
+        @Schema(description = "Current stock quantity", example = "100")
+        Integer stockQuantity,
+
+        @Schema(description = "Minimum stock level", example = "10")
+        Integer minStockLevel,
+
+        @Schema(description = "Item category ID")
+        UUID itemCategoryId,
+
+        @Schema(description = "Default discount value", example = "0")
+        BigDecimal defaultDiscountValue,
+
+        @Schema(description = "Default discount type", example = "PERCENTAGE")
+        DiscountType defaultDiscountType
+) {}
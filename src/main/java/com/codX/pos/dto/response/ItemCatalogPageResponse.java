@@ -0,0 +1,19 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "One page of a branch item catalog")
+public record ItemCatalogPageResponse(
+        @Schema(description = "Items of this page, in the requested order")
+        List<ItemCatalogEntry> items,
+
+        @Schema(description = "Cursor for the next page; null on the last page")
+        String nextCursor,
+
+        @Schema(description = "Whether more items follow")
+        boolean hasMore
+) {}
@@ -0,0 +1,27 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "Item matched by the till search box")
+public record ItemSearchResult(
+        @Schema(description = "Item ID")
+        UUID id,
+
+        @Schema(description = "Item name", example = "Engine Oil 5W-30")
+        String name,
+
+        @Schema(description = "Item description", example = "Premium synthetic engine oil")
+        String description,
+
+        @Schema(description = "Unit of measurement", example = "liters")
+        String unit,
+
+        @Schema(description = "Unit price", example = "12.50")
+        BigDecimal unitPrice,
+
+        @Schema(description = "Item category ID")
+        UUID itemCategoryId
+) {}
@@ -40,5 +40,8 @@ public record ServiceRecordResponse(
         UUID invoiceId,
 
         @Schema(description = "Service details")
-        List<ServiceDetailResponse> serviceDetails
+        List<ServiceDetailResponse> serviceDetails,
+
+        @Schema(description = "Last modification date")
+        LocalDateTime lastModifiedDate
 ) {}
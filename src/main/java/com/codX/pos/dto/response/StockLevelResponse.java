@@ -0,0 +1,23 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Stock quantity of an item at a point in time")
+public record StockLevelResponse(
+        @Schema(description = "Item ID")
+        UUID itemId,
+
+        @Schema(description = "Point in time the quantity applies to")
+        LocalDateTime at,
+
+        @Schema(description = "Stock quantity at that time", example = "42")
+        Integer quantity,
+
+        @Schema(description = "Time of the snapshot the quantity was computed from, if any")
+        LocalDateTime snapshotAt
+) {}
@@ -0,0 +1,33 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.entity.StockMovementType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Builder
+@Schema(description = "Stock movement ledger entry")
+public record StockMovementResponse(
+        @Schema(description = "Movement ID")
+        Long id,
+
+        @Schema(description = "Item ID")
+        UUID itemId,
+
+        @Schema(description = "Movement type")
+        StockMovementType movementType,
+
+        @Schema(description = "Signed change to the stock quantity", example = "-2")
+        Integer quantity,
+
+        @Schema(description = "Invoice or service record ID (if applicable)")
+        UUID referenceId,
+
+        @Schema(description = "User who made the change")
+        UUID createdBy,
+
+        @Schema(description = "Time of the movement")
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,58 @@
+package com.codX.pos.dto.response;
+
+import com.codX.pos.dto.SyncCursor;
+import com.codX.pos.dto.SyncEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Builder
+@Schema(description = "A page of rows changed since the terminal's high-water mark, oldest change first")
+public record SyncResponse<T>(
+        @Schema(description = "Synced entity type")
+        SyncEntityType entity,
+
+        @Schema(description = "Changed rows, including deactivated ones")
+        List<T> changes,
+
+        @Schema(description = "High-water mark to send as 'since' on the next call")
+        LocalDateTime nextSince,
+
+        @Schema(description = "Tie-breaker to send as 'afterId' on the next call")
+        UUID nextAfterId,
+
+        @Schema(description = "Whether more changes are available right away")
+        boolean hasMore
+) {
+
+    /**
+     * Builds a page from rows fetched with {@code cursor.limit() + 1}; the extra row only signals
+     * that another page exists. With no changes the cursor is handed back unchanged.
+     */
+    public static <E, T> SyncResponse<T> of(SyncEntityType entity, SyncCursor cursor, List<E> rows,
+                                            Function<E, LocalDateTime> modifiedDate, Function<E, UUID> id,
+                                            Function<List<E>, List<T>> mapper) {
+        boolean hasMore = rows.size() > cursor.limit();
+        List<E> page = hasMore ? rows.subList(0, cursor.limit()) : rows;
+
+        LocalDateTime nextSince = cursor.since();
+        UUID nextAfterId = cursor.afterId();
+        if (!page.isEmpty()) {
+            E last = page.get(page.size() - 1);
+            nextSince = modifiedDate.apply(last);
+            nextAfterId = id.apply(last);
+        }
+
+        return SyncResponse.<T>builder()
+                .entity(entity)
+                .changes(mapper.apply(page))
+                .nextSince(nextSince)
+                .nextAfterId(nextAfterId)
+                .hasMore(hasMore)
+                .build();
+    }
+}
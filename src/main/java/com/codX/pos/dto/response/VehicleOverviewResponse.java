@@ -0,0 +1,19 @@
+package com.codX.pos.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "A vehicle with its service history and its customer's invoices, for the front desk")
+public record VehicleOverviewResponse(
+        @Schema(description = "Vehicle")
+        VehicleResponse vehicle,
+
+        @Schema(description = "Service records of the vehicle with service details, newest first")
+        List<ServiceRecordResponse> serviceRecords,
+
+        @Schema(description = "Invoices of the vehicle's customer with invoice items, newest first")
+        List<InvoiceResponse> invoices
+) {}
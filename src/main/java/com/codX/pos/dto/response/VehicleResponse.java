@@ -37,5 +37,11 @@ public record VehicleResponse(
         UUID customerId,
 
         @Schema(description = "Creation date")
-        LocalDateTime createdDate
+        LocalDateTime createdDate,
+
+        @Schema(description = "Whether the vehicle is active")
+        Boolean isActive,
+
+        @Schema(description = "Last modification date")
+        LocalDateTime lastModifiedDate
 ) {}
\ No newline at end of file
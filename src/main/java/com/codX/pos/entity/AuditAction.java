@@ -0,0 +1,15 @@
+package com.codX.pos.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Audited change type enumeration")
+public enum AuditAction {
+    @Schema(description = "Entity was created")
+    INSERT,
+
+    @Schema(description = "Entity was updated")
+    UPDATE,
+
+    @Schema(description = "Entity was deleted")
+    DELETE
+}
@@ -0,0 +1,56 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Written in batches by AuditTrailWriter over JDBC; mapped here for the schema and for reads
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "audit_log", indexes = {
+        @Index(name = "IDX_audit_log_entity", columnList = "entityType, entityId, id"),
+        @Index(name = "IDX_audit_log_company_occurred_at", columnList = "companyId, occurredAt")
+})
+public class AuditLogEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String entityType;
+
+    @Column(nullable = false, length = 64)
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AuditAction action;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID companyId;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID branchId;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    // JSON: new values for inserts, old values for deletes, {"old": .., "new": ..} per changed property for updates
+    @Column(columnDefinition = "TEXT")
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,62 @@
+package com.codX.pos.entity;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "catalog_import_jobs", indexes = {
+        @Index(name = "IDX_catalog_import_jobs_status_updated_at", columnList = "status, updatedAt")
+})
+public class CatalogImportJobEntity {
+
+    @Id
+    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid")
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private CatalogType catalogType;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    private int processedRows;
+    private int created;
+    private int updated;
+    private int failed;
+
+    // Rejected rows as a JSON array, capped like the API response
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String errors;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private LocalDateTime submittedAt;
+
+    // Last progress write; a running job that stops updating was lost with its instance
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,37 @@
+package com.codX.pos.entity;
+
+import com.codX.pos.dto.CatalogType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "catalog_versions", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_catalog_version_type_scope", columnNames = {"catalogType", "scopeId"})
+})
+public class CatalogVersionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private CatalogType catalogType;
+
+    // Company or branch the version covers
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID scopeId;
+
+    // Incremented by every committed write to the catalog rows of the scope
+    @Column(nullable = false)
+    private long version;
+}
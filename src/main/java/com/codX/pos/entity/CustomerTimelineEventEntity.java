@@ -0,0 +1,66 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "customer_timeline_events", indexes = {
+        @Index(name = "IDX_timeline_customer_company_recorded", columnList = "customerId, companyId, recordedAt, id")
+})
+public class CustomerTimelineEventEntity {
+
+    // Generated before insert so batched saves stay batched; pages are keyed on (recordedAt, id)
+    @Id
+    @GenericGenerator(name = "uuid", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid")
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID customerId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID companyId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID branchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TimelineEventType eventType;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID sourceId; // Service record or invoice ID
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID vehicleId;
+
+    private String referenceNumber; // Invoice number
+    private String status;
+    private String description;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    private LocalDateTime eventDate;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        recordedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_idempotency_company_key", columnNames = {"companyId", "idempotencyKey"})
+}, indexes = {
+        @Index(name = "IDX_idempotency_expires_at", columnList = "expiresAt")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID companyId;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, so a key reused for a different request is rejected
+    @Column(columnDefinition = "CHAR(64)", nullable = false)
+    private String requestHash;
+
+    // Id of the created resource; null while the first request is still running
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID resultId;
+
+    // JSON of the result when it is more than an id, e.g. the per-invoice outcomes of a batch upload
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String resultBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
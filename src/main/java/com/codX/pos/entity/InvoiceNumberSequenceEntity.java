@@ -0,0 +1,35 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "invoice_number_sequences", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_invoice_sequence_company_date", columnNames = {"companyId", "sequenceDate"})
+})
+public class InvoiceNumberSequenceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID companyId;
+
+    @Column(nullable = false)
+    private LocalDate sequenceDate;
+
+    // Last sequence number handed out for the day; the next invoice gets lastValue + 1
+    @Column(nullable = false)
+    private int lastValue;
+}
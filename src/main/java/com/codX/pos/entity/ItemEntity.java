@@ -21,7 +21,14 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "IDX_items_branch_modified_id", columnList = "branchId, lastModifiedDate, id"),
+        @Index(name = "IDX_items_modified_id", columnList = "lastModifiedDate, id"),
+        @Index(name = "IDX_items_company_branch_name", columnList = "companyId, branchId, name"),
+        @Index(name = "IDX_items_catalog_name", columnList = "branchId, isActive, name, id"),
+        @Index(name = "IDX_items_catalog_stock", columnList = "branchId, isActive, stockQuantity, id"),
+        @Index(name = "IDX_items_catalog_category_name", columnList = "branchId, isActive, itemCategoryId, name, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class ItemEntity {
 
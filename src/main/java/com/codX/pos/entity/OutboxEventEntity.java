@@ -0,0 +1,69 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "IDX_outbox_events_status_id", columnList = "status, id"),
+        @Index(name = "IDX_outbox_events_published_at", columnList = "publishedAt")
+})
+public class OutboxEventEntity {
+
+    // Relayed in id order. Batches are inserted by OutboxEventBatchRepository, which keeps the auto-increment order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID aggregateId; // Invoice, service record or item ID
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID companyId;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID branchId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxEventStatus status = OutboxEventStatus.PENDING;
+
+    // Null until a sink has accepted the event
+    private LocalDateTime publishedAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    // Not relayed before this after a failed attempt
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
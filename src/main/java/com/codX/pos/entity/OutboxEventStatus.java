@@ -0,0 +1,15 @@
+package com.codX.pos.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outbox event delivery status enumeration")
+public enum OutboxEventStatus {
+    @Schema(description = "Event waits to be relayed, possibly backing off after failed attempts")
+    PENDING,
+
+    @Schema(description = "Event was accepted by the sink")
+    PUBLISHED,
+
+    @Schema(description = "Event failed too many times and is no longer relayed")
+    DEAD_LETTER
+}
@@ -0,0 +1,30 @@
+package com.codX.pos.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Domain event type enumeration")
+public enum OutboxEventType {
+    @Schema(description = "Invoice was created")
+    INVOICE_CREATED,
+
+    @Schema(description = "Invoice discounts or totals were updated")
+    INVOICE_UPDATED,
+
+    @Schema(description = "Invoice status was changed to anything but paid")
+    INVOICE_STATUS_CHANGED,
+
+    @Schema(description = "Invoice was marked paid")
+    INVOICE_PAID,
+
+    @Schema(description = "Service record was created")
+    SERVICE_RECORD_CREATED,
+
+    @Schema(description = "Service record was updated")
+    SERVICE_RECORD_UPDATED,
+
+    @Schema(description = "Service record was deleted")
+    SERVICE_RECORD_DELETED,
+
+    @Schema(description = "Item stock levels changed")
+    STOCK_CHANGED
+}
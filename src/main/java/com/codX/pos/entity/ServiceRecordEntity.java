@@ -21,7 +21,9 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "service_records")
+@Table(name = "service_records", indexes = {
+        @Index(name = "IDX_service_records_branch_modified_id", columnList = "branchId, lastModifiedDate, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class ServiceRecordEntity {
 
@@ -21,7 +21,9 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "service_types")
+@Table(name = "service_types", indexes = {
+        @Index(name = "IDX_service_types_company_branch_name", columnList = "companyId, branchId, name")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class ServiceTypeEntity {
 
@@ -0,0 +1,60 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "IDX_stock_movements_item_id", columnList = "itemId, id"),
+        @Index(name = "IDX_stock_movements_item_created_at", columnList = "itemId, createdAt"),
+        @Index(name = "IDX_stock_movements_created_at", columnList = "createdAt")
+})
+public class StockMovementEntity {
+
+    // Append-only and monotonically increasing, so snapshots record the last id they include.
+    // Inserted as JDBC batches by StockMovementBatchRepository, which keep the auto-increment order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID itemId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID companyId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID branchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StockMovementType movementType;
+
+    // Signed change to the stock quantity: negative for sales and service use
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID referenceId; // Invoice or service record ID
+
+    @Column(columnDefinition = "BINARY(16)")
+    private UUID createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
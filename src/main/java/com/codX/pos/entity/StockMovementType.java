@@ -0,0 +1,18 @@
+package com.codX.pos.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Stock movement type enumeration")
+public enum StockMovementType {
+    @Schema(description = "Sold on an item sale invoice")
+    SALE,
+
+    @Schema(description = "Used on a service record")
+    SERVICE_USE,
+
+    @Schema(description = "Returned to stock when a service record was changed or deleted")
+    RESTORE,
+
+    @Schema(description = "Set manually, by an item update or a catalog import")
+    ADJUSTMENT
+}
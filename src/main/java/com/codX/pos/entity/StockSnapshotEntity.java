@@ -0,0 +1,45 @@
+package com.codX.pos.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stock_snapshots", indexes = {
+        @Index(name = "IDX_stock_snapshots_item_snapshot_at", columnList = "itemId, snapshotAt"),
+        @Index(name = "IDX_stock_snapshots_last_movement_id", columnList = "lastMovementId")
+})
+public class StockSnapshotEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID itemId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID companyId;
+
+    @Column(columnDefinition = "BINARY(16)", nullable = false)
+    private UUID branchId;
+
+    // Stock after every movement up to and including lastMovementId
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Long lastMovementId;
+
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+}
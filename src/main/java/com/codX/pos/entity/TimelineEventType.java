@@ -0,0 +1,24 @@
+package com.codX.pos.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Customer timeline event type enumeration")
+public enum TimelineEventType {
+    @Schema(description = "Service record was created")
+    SERVICE_RECORD_CREATED,
+
+    @Schema(description = "Service record was updated")
+    SERVICE_RECORD_UPDATED,
+
+    @Schema(description = "Service record was deleted")
+    SERVICE_RECORD_DELETED,
+
+    @Schema(description = "Invoice was created")
+    INVOICE_CREATED,
+
+    @Schema(description = "Invoice discounts or totals were updated")
+    INVOICE_UPDATED,
+
+    @Schema(description = "Invoice status was changed")
+    INVOICE_STATUS_CHANGED
+}
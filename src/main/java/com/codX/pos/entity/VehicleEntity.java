@@ -22,6 +22,9 @@ import java.util.UUID;
 @NoArgsConstructor
 @Table(name = "vehicles", uniqueConstraints = {
         @UniqueConstraint(name = "UK_vehicle_number_company_branch", columnNames = {"vehicleNumber", "companyId", "branchId"})
+}, indexes = {
+        @Index(name = "IDX_vehicles_branch_modified_id", columnList = "branchId, lastModifiedDate, id"),
+        @Index(name = "IDX_vehicles_modified_id", columnList = "lastModifiedDate, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class VehicleEntity {
@@ -19,6 +19,14 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<?> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        return new ResponseEntity<>(
+                new StandardResponse(409, null, ex.getMessage()),
+                HttpStatus.CONFLICT
+        );
+    }
+
     @ExceptionHandler(UserNameOrPasswordIncorrectException.class)
     public ResponseEntity<?> handleUserNameOrPasswordIncorrectException(UserNameOrPasswordIncorrectException ex) {
         return new ResponseEntity<>(
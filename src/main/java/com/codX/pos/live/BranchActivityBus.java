@@ -0,0 +1,106 @@
+package com.codX.pos.live;
+
+import com.codX.pos.dto.response.BranchActivityEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of branch activity to the Server-Sent Events connections open on this instance. Events
+ * come from {@link BranchActivityFeed}, which tails the outbox every instance writes to, so a
+ * dashboard sees changes made through any instance, and only once they committed. Each connection
+ * has its own bounded queue drained by a virtual thread, so a slow client only ever delays itself.
+ * A client whose queue overflows loses the oldest events and is sent a {@code resync} event telling
+ * it to reload.
+ */
+@Slf4j
+@Component
+public class BranchActivityBus {
+
+    private final Map<UUID, Set<BranchSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final Duration heartbeatInterval;
+    private final long emitterTimeoutMillis;
+
+    public BranchActivityBus(MeterRegistry meterRegistry,
+                             @Value("${pos.live.queue-capacity:256}") int queueCapacity,
+                             @Value("${pos.live.max-connections:10000}") int maxConnections,
+                             @Value("${pos.live.heartbeat-seconds:15}") int heartbeatSeconds,
+                             @Value("${pos.live.emitter-timeout-minutes:30}") int emitterTimeoutMinutes) {
+        this.queueCapacity = queueCapacity;
+        this.maxConnections = maxConnections;
+        this.heartbeatInterval = Duration.ofSeconds(heartbeatSeconds);
+        this.emitterTimeoutMillis = Duration.ofMinutes(emitterTimeoutMinutes).toMillis();
+        Gauge.builder("pos.live.connections", connections, AtomicInteger::get)
+                .description("Open branch activity streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID branchId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RuntimeException("Too many open activity streams, try again later");
+        }
+
+        // Clients reconnect on timeout, which also bounds how long a half-open connection lingers
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        BranchSubscription subscription = new BranchSubscription(branchId, emitter, queueCapacity, heartbeatInterval,
+                this::unsubscribe);
+        subscriptions.computeIfAbsent(branchId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscription.start();
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public boolean hasSubscribers(UUID branchId) {
+        return subscriptions.containsKey(branchId);
+    }
+
+    public void publish(BranchActivityEvent event) {
+        Set<BranchSubscription> branch = event.branchId() != null ? subscriptions.get(event.branchId()) : null;
+        if (branch == null || branch.isEmpty()) {
+            return;
+        }
+        // Numbered at delivery, so ids are increasing in the order clients receive events
+        BranchActivityEvent numbered = event.toBuilder().sequence(sequence.incrementAndGet()).build();
+        for (BranchSubscription subscription : branch) {
+            subscription.offer(numbered);
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(branch -> branch.forEach(BranchSubscription::close));
+    }
+
+    private void unsubscribe(BranchSubscription subscription) {
+        Set<BranchSubscription> branch = subscriptions.get(subscription.branchId());
+        if (branch != null && branch.remove(subscription)) {
+            connections.decrementAndGet();
+            subscriptions.computeIfPresent(subscription.branchId(), (id, set) -> set.isEmpty() ? null : set);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.codX.pos.live;
+
+import com.codX.pos.dto.response.BranchActivityEvent;
+import com.codX.pos.entity.OutboxEventEntity;
+import com.codX.pos.entity.OutboxEventType;
+import com.codX.pos.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Follows {@code outbox_events} by id and hands the service record and invoice events of branches
+ * with a stream open on this instance to {@link BranchActivityBus}. Every instance runs its own
+ * feed, so a change written through any instance reaches every dashboard within a poll interval.
+ * <p>
+ * An id is taken when its row is inserted but only becomes visible when the transaction commits, so
+ * a lower id can appear after a higher one was read. Ids skipped over are looked up again on every
+ * poll until {@code pos.live.gap-timeout-seconds} has passed, after which their transaction is taken
+ * to have rolled back.
+ */
+@Slf4j
+@Component
+public class BranchActivityFeed {
+
+    private static final Set<OutboxEventType> ACTIVITY_TYPES = EnumSet.complementOf(EnumSet.of(OutboxEventType.STOCK_CHANGED));
+
+    // Upper bound on batches read per poll, so a backlog cannot hold the scheduler thread
+    private static final int MAX_BATCHES_PER_POLL = 20;
+
+    // Skipped ids beyond this are not tracked; an event committing that late is missed
+    private static final int MAX_GAPS = 10_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BranchActivityBus branchActivityBus;
+    private final ObjectReader payloadReader;
+    private final int batchSize;
+    private final Duration gapTimeout;
+
+    // Skipped id to when it was first skipped
+    private final Map<Long, Instant> gaps = new LinkedHashMap<>();
+
+    // Last id read, negative while no stream is open
+    private long lastId = -1;
+
+    public BranchActivityFeed(OutboxEventRepository outboxEventRepository,
+                              BranchActivityBus branchActivityBus,
+                              ObjectMapper objectMapper,
+                              @Value("${pos.live.feed-batch-size:500}") int batchSize,
+                              @Value("${pos.live.gap-timeout-seconds:60}") int gapTimeoutSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.branchActivityBus = branchActivityBus;
+        this.payloadReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.batchSize = batchSize;
+        this.gapTimeout = Duration.ofSeconds(gapTimeoutSeconds);
+    }
+
+    public synchronized int poll() {
+        if (!branchActivityBus.hasSubscribers()) {
+            // Nothing to catch up on for streams opened later, they start from the tail
+            lastId = -1;
+            gaps.clear();
+            return 0;
+        }
+        if (lastId < 0) {
+            Long maxId = outboxEventRepository.findMaxId();
+            lastId = maxId != null ? maxId : 0;
+        }
+
+        int delivered = recheckGaps();
+        for (int batch = 0; batch < MAX_BATCHES_PER_POLL; batch++) {
+            List<OutboxEventEntity> events = outboxEventRepository.findAfter(lastId, batchSize);
+            for (OutboxEventEntity event : events) {
+                skipTo(event.getId());
+                delivered += deliver(event);
+            }
+            if (events.size() < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private void skipTo(long id) {
+        Instant now = Instant.now();
+        for (long skipped = lastId + 1; skipped < id && gaps.size() < MAX_GAPS; skipped++) {
+            gaps.putIfAbsent(skipped, now);
+        }
+        lastId = id;
+    }
+
+    private int recheckGaps() {
+        Instant expired = Instant.now().minus(gapTimeout);
+        gaps.values().removeIf(skippedAt -> skippedAt.isBefore(expired));
+        if (gaps.isEmpty()) {
+            return 0;
+        }
+
+        int delivered = 0;
+        for (OutboxEventEntity event : outboxEventRepository.findAllById(new ArrayList<>(gaps.keySet()))) {
+            gaps.remove(event.getId());
+            delivered += deliver(event);
+        }
+        return delivered;
+    }
+
+    private int deliver(OutboxEventEntity event) {
+        if (!ACTIVITY_TYPES.contains(event.getEventType()) || event.getBranchId() == null
+                || !branchActivityBus.hasSubscribers(event.getBranchId())) {
+            return 0;
+        }
+
+        JsonNode payload;
+        try {
+            payload = payloadReader.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping outbox event {} with unreadable payload", event.getId(), e);
+            return 0;
+        }
+        branchActivityBus.publish(BranchActivityEvent.builder()
+                .eventType(event.getEventType())
+                .aggregateId(event.getAggregateId())
+                .branchId(event.getBranchId())
+                .status(text(payload, "status"))
+                .previousStatus(text(payload, "previousStatus"))
+                .invoiceNumber(text(payload, "invoiceNumber"))
+                .customerId(uuid(payload, "customerId"))
+                .vehicleId(uuid(payload, "vehicleId"))
+                .totalAmount(payload.hasNonNull("totalAmount") ? payload.get("totalAmount").decimalValue() : null)
+                .occurredAt(event.getCreatedAt())
+                .build());
+        return 1;
+    }
+
+    private static String text(JsonNode payload, String field) {
+        return payload.hasNonNull(field) ? payload.get(field).asText() : null;
+    }
+
+    private static UUID uuid(JsonNode payload, String field) {
+        return payload.hasNonNull(field) ? UUID.fromString(payload.get(field).asText()) : null;
+    }
+}
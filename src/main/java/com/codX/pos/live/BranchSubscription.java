@@ -0,0 +1,96 @@
+package com.codX.pos.live;
+
+import com.codX.pos.dto.response.BranchActivityEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// One open activity stream: a bounded queue and the virtual thread writing it to the client
+class BranchSubscription {
+
+    private final UUID branchId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<BranchActivityEvent> queue;
+    private final Duration heartbeatInterval;
+    private final Consumer<BranchSubscription> onClose;
+
+    private volatile boolean lagged;
+    private volatile boolean closed;
+    private Thread writer;
+
+    BranchSubscription(UUID branchId, SseEmitter emitter, int queueCapacity, Duration heartbeatInterval,
+                       Consumer<BranchSubscription> onClose) {
+        this.branchId = branchId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.heartbeatInterval = heartbeatInterval;
+        this.onClose = onClose;
+    }
+
+    UUID branchId() {
+        return branchId;
+    }
+
+    void start() {
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+        writer = Thread.ofVirtual().name("branch-activity-" + branchId).start(this::run);
+    }
+
+    // Called on the publishing thread, so it must never block
+    void offer(BranchActivityEvent event) {
+        while (!queue.offer(event)) {
+            queue.poll();
+            lagged = true;
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        onClose.accept(this);
+        Thread thread = writer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (!closed) {
+                BranchActivityEvent event = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (lagged) {
+                    lagged = false;
+                    emitter.send(SseEmitter.event().name("resync").data("Events were dropped, reload branch data"));
+                }
+                if (event == null) {
+                    // Keeps proxies from closing an idle stream and detects clients that went away
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name("activity")
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+        } finally {
+            close();
+            emitter.complete();
+        }
+    }
+}
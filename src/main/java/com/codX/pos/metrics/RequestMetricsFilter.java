@@ -0,0 +1,75 @@
+package com.codX.pos.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Records how many SQL statements each request issued, per route and tenant tier, and logs
+ * requests that go over the statement budget or repeat one statement often enough to look like
+ * an N+1.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTierResolver tenantTierResolver;
+
+    @Value("${pos.sql.statement-budget:30}")
+    private int statementBudget;
+
+    @Value("${pos.sql.repeated-statement-threshold:10}")
+    private int repeatedStatementThreshold;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.StatementStats stats = SqlStatementCounter.stop();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = route != null ? route.toString() : "UNKNOWN";
+            boolean overBudget = stats.total() > statementBudget;
+
+            DistributionSummary.builder("pos.http.sql.statements")
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .tag("tier", tenantTierResolver.tierOf((UUID) request.getAttribute(TenantTierResolver.COMPANY_ID_ATTRIBUTE)))
+                    .tag("budget", overBudget ? "exceeded" : "ok")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(stats.total());
+
+            if (overBudget) {
+                log.warn("{} {} issued {} SQL statements (budget {})",
+                        request.getMethod(), uri, stats.total(), statementBudget);
+            }
+            if (stats.mostRepeatedCount() >= repeatedStatementThreshold) {
+                log.warn("Possible N+1 in {} {}: statement repeated {} times: {}",
+                        request.getMethod(), uri, stats.mostRepeatedCount(), stats.mostRepeated());
+            }
+        }
+    }
+}
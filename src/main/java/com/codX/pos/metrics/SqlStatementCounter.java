@@ -0,0 +1,106 @@
+package com.codX.pos.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and
+ * {@link #stop()}, and how often each distinct statement repeats - the same select issued once per
+ * row is the usual signature of an N+1. Registered as the session factory's statement inspector;
+ * it never rewrites SQL.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<StatementStats> statementStats = new ThreadLocal<>();
+
+    public static void start() {
+        statementStats.set(new StatementStats());
+    }
+
+    public static boolean isActive() {
+        return statementStats.get() != null;
+    }
+
+    public static int current() {
+        StatementStats stats = statementStats.get();
+        return stats != null ? stats.total : 0;
+    }
+
+    public static StatementStats snapshot() {
+        StatementStats stats = statementStats.get();
+        return stats != null ? stats.copy() : new StatementStats();
+    }
+
+    public static StatementStats stop() {
+        StatementStats stats = statementStats.get();
+        statementStats.remove();
+        return stats != null ? stats : new StatementStats();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        StatementStats stats = statementStats.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+        return sql;
+    }
+
+    public static final class StatementStats {
+
+        private int total;
+        private final Map<String, Integer> countBySql = new HashMap<>();
+
+        private void record(String sql) {
+            total++;
+            countBySql.merge(sql, 1, Integer::sum);
+        }
+
+        private StatementStats copy() {
+            StatementStats copy = new StatementStats();
+            copy.total = total;
+            copy.countBySql.putAll(countBySql);
+            return copy;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        public int countOf(String sql) {
+            return countBySql.getOrDefault(sql, 0);
+        }
+
+        /**
+         * The statement issued most often, or null when nothing ran.
+         */
+        public String mostRepeated() {
+            return countBySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        public int mostRepeatedCount() {
+            String sql = mostRepeated();
+            return sql != null ? countBySql.get(sql) : 0;
+        }
+
+        /**
+         * Statements issued since {@code earlier}, a snapshot taken from the same counter.
+         */
+        public StatementStats since(StatementStats earlier) {
+            StatementStats delta = new StatementStats();
+            delta.total = total - earlier.total;
+            countBySql.forEach((sql, count) -> {
+                int issued = count - earlier.countOf(sql);
+                if (issued > 0) {
+                    delta.countBySql.put(sql, issued);
+                }
+            });
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.codX.pos.metrics;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.entity.CompanyEntity;
+import com.codX.pos.repository.CompanyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps a company to a low-cardinality tier tag for metrics, derived from its branch allowance.
+ * Tags stay bounded no matter how many tenants there are. Tiers are loaded for all companies once
+ * the application is ready and refreshed periodically, so building a tag never queries the
+ * database; a company not loaded yet is tagged {@value #UNKNOWN}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TenantTierResolver {
+
+    public static final String COMPANY_ID_ATTRIBUTE = TenantTierResolver.class.getName() + ".companyId";
+
+    public static final String NO_TENANT = "none";
+    public static final String UNKNOWN = "unknown";
+
+    private final CompanyRepository companyRepository;
+    private volatile Map<UUID, String> tiers = new ConcurrentHashMap<>();
+
+    public String currentTier() {
+        UserContextDto currentUser = UserContext.getUserContext();
+        return tierOf(currentUser != null ? currentUser.companyId() : null);
+    }
+
+    public String tierOf(UUID companyId) {
+        if (companyId == null) {
+            return NO_TENANT;
+        }
+        return tiers.getOrDefault(companyId, UNKNOWN);
+    }
+
+    // Companies created or changed on this instance are tagged right away; others on the next refresh
+    public void register(CompanyEntity company) {
+        tiers.put(company.getId(), tierFor(company.getMaxBranches()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        Map<UUID, String> loaded = new ConcurrentHashMap<>();
+        for (CompanyEntity company : companyRepository.findAll()) {
+            loaded.put(company.getId(), tierFor(company.getMaxBranches()));
+        }
+        tiers = loaded;
+        log.debug("Loaded metric tiers for {} companies", loaded.size());
+    }
+
+    static String tierFor(int maxBranches) {
+        if (maxBranches <= 1) {
+            return "single";
+        }
+        if (maxBranches <= 5) {
+            return "standard";
+        }
+        return "enterprise";
+    }
+}
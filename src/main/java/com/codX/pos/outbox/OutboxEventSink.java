@@ -0,0 +1,11 @@
+package com.codX.pos.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch counts as delivered when this returns; throwing
+ * leaves the whole batch unpublished, so sinks must tolerate receiving an event more than once.
+ */
+public interface OutboxEventSink {
+    void publish(List<OutboxMessage> messages);
+}
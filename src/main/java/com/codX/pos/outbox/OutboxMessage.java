@@ -0,0 +1,10 @@
+package com.codX.pos.outbox;
+
+import com.codX.pos.entity.OutboxEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An outbox event as handed to a sink; payload is the JSON written with the event
+public record OutboxMessage(Long id, OutboxEventType eventType, UUID aggregateId, UUID companyId, UUID branchId,
+                            String payload, LocalDateTime createdAt) {}
@@ -0,0 +1,100 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.dto.response.InvoiceResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes invoices as ESC/POS commands for thermal receipt printers. Text is sent as US-ASCII, which
+ * every printer code page agrees on; other characters print as '?' and are counted by
+ * {@link #unprintableCharacters}.
+ */
+@Component
+public class EscPosInvoiceRenderer implements InvoiceRenderer {
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+
+    private static final byte[] INITIALIZE = {ESC, '@'};
+    private static final byte[] ALIGN_LEFT = {ESC, 'a', 0};
+    private static final byte[] ALIGN_CENTER = {ESC, 'a', 1};
+    private static final byte[] DOUBLE_SIZE = {GS, '!', 0x11};
+    private static final byte[] NORMAL_SIZE = {GS, '!', 0x00};
+    private static final byte[] BOLD_ON = {ESC, 'E', 1};
+    private static final byte[] BOLD_OFF = {ESC, 'E', 0};
+    // Feed past the cutter before a partial cut
+    private static final byte[] FEED_AND_CUT = {ESC, 'd', 4, GS, 'V', 66, 0};
+
+    @Override
+    public DocumentFormat format() {
+        return DocumentFormat.ESC_POS;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/octet-stream";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "bin";
+    }
+
+    @Override
+    public int unprintableCharacters(InvoiceTemplate template, InvoiceResponse invoice) {
+        int columns = template.receiptColumns();
+        return ReceiptLayout.unencodable(ReceiptLayout.letterhead(template.branding(), columns), StandardCharsets.US_ASCII)
+                + ReceiptLayout.unencodable(ReceiptLayout.body(invoice, columns), StandardCharsets.US_ASCII);
+    }
+
+    static byte[] compileHeader(InvoiceTemplate.Branding branding, int columns) {
+        ByteArrayOutputStream header = new ByteArrayOutputStream(256);
+        header.writeBytes(INITIALIZE);
+        header.writeBytes(ALIGN_CENTER);
+        // Double-size characters are twice as wide, so the name gets half the columns
+        header.writeBytes(DOUBLE_SIZE);
+        for (String line : ReceiptLayout.wrap(branding.companyName(), columns / 2)) {
+            writeLine(header, line);
+        }
+        header.writeBytes(NORMAL_SIZE);
+        // The printer centers the address and contact lines, the first letterhead line being the name
+        List<ReceiptLine> letterhead = ReceiptLayout.letterhead(branding, columns);
+        for (ReceiptLine line : letterhead.subList(1, letterhead.size())) {
+            writeLine(header, line.text().strip());
+        }
+        header.writeBytes(ALIGN_LEFT);
+        header.write('\n');
+        return header.toByteArray();
+    }
+
+    @Override
+    public void render(InvoiceTemplate template, InvoiceResponse invoice, OutputStream out) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(2048);
+        body.writeBytes(template.escPosHeader());
+        boolean bold = false;
+        for (ReceiptLine line : ReceiptLayout.body(invoice, template.receiptColumns())) {
+            if (line.bold() != bold) {
+                bold = line.bold();
+                body.writeBytes(bold ? BOLD_ON : BOLD_OFF);
+            }
+            writeLine(body, line.text());
+        }
+        if (bold) {
+            body.writeBytes(BOLD_OFF);
+        }
+        body.writeBytes(FEED_AND_CUT);
+        body.writeTo(out);
+        out.flush();
+    }
+
+    private static void writeLine(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.US_ASCII));
+        out.write('\n');
+    }
+}
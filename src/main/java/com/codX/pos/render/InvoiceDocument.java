@@ -0,0 +1,6 @@
+package com.codX.pos.render;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// A rendered invoice ready to be written to the response; unprintable characters were printed as '?'
+public record InvoiceDocument(String contentType, String fileName, int unprintableCharacters, StreamingResponseBody body) {}
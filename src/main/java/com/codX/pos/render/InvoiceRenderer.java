@@ -0,0 +1,17 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.dto.response.InvoiceResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface InvoiceRenderer {
+    DocumentFormat format();
+    String contentType();
+    String fileExtension();
+    void render(InvoiceTemplate template, InvoiceResponse invoice, OutputStream out) throws IOException;
+
+    // Characters of the document the format cannot encode, which are printed as '?'
+    int unprintableCharacters(InvoiceTemplate template, InvoiceResponse invoice);
+}
@@ -0,0 +1,70 @@
+package com.codX.pos.render;
+
+import com.codX.pos.entity.CompanyEntity;
+
+import java.util.List;
+
+/**
+ * Company letterhead compiled once into the byte fragments every document of that company starts
+ * with. A template is reused for as long as the company's branding stays the same.
+ */
+public final class InvoiceTemplate {
+
+    private final Branding branding;
+    private final long version;
+    private final int receiptColumns;
+    private final byte[] pdfLetterhead;
+    private final int pdfLetterheadLines;
+    private final byte[] escPosHeader;
+
+    private InvoiceTemplate(Branding branding, long version, int receiptColumns) {
+        this.branding = branding;
+        this.version = version;
+        this.receiptColumns = receiptColumns;
+        List<ReceiptLine> pdfLines = ReceiptLayout.letterhead(branding, PdfInvoiceRenderer.COLUMNS);
+        this.pdfLetterhead = PdfInvoiceRenderer.compileLetterhead(pdfLines);
+        this.pdfLetterheadLines = pdfLines.size();
+        this.escPosHeader = EscPosInvoiceRenderer.compileHeader(branding, receiptColumns);
+    }
+
+    static InvoiceTemplate compile(Branding branding, long version, int receiptColumns) {
+        return new InvoiceTemplate(branding, version, receiptColumns);
+    }
+
+    public Branding branding() {
+        return branding;
+    }
+
+    // Changes whenever the template is recompiled, so cached documents of an old letterhead are not reused
+    public long version() {
+        return version;
+    }
+
+    int receiptColumns() {
+        return receiptColumns;
+    }
+
+    byte[] pdfLetterhead() {
+        return pdfLetterhead;
+    }
+
+    int pdfLetterheadLines() {
+        return pdfLetterheadLines;
+    }
+
+    byte[] escPosHeader() {
+        return escPosHeader;
+    }
+
+    /**
+     * The company fields a template is built from. A new logo URL recompiles the template, but PDFs
+     * only link the company name to it: fetching and embedding remote images is left out of rendering.
+     */
+    public record Branding(String companyName, String address, String contactNumber, String email, String logoUrl) {
+
+        public static Branding of(CompanyEntity company) {
+            return new Branding(company.getName(), company.getAddress(), company.getContactNumber(),
+                    company.getEmail(), company.getLogoUrl());
+        }
+    }
+}
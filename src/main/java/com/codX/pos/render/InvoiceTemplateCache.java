@@ -0,0 +1,39 @@
+package com.codX.pos.render;
+
+import com.codX.pos.entity.CompanyEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled templates per company. The branding is compared on every lookup, so an edited company
+ * gets a freshly compiled template on its next document without any eviction hook.
+ */
+@Component
+public class InvoiceTemplateCache {
+
+    private final int receiptColumns;
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<UUID, InvoiceTemplate> templates = new ConcurrentHashMap<>();
+
+    public InvoiceTemplateCache(@Value("${pos.render.receipt-columns:48}") int receiptColumns) {
+        this.receiptColumns = receiptColumns;
+    }
+
+    public InvoiceTemplate get(CompanyEntity company) {
+        InvoiceTemplate.Branding branding = InvoiceTemplate.Branding.of(company);
+        return templates.compute(company.getId(), (id, current) ->
+                current != null && current.branding().equals(branding)
+                        ? current
+                        : InvoiceTemplate.compile(branding, versions.incrementAndGet(), receiptColumns));
+    }
+
+    // Not cached, for rendering outside a company such as the benchmark
+    public InvoiceTemplate compile(InvoiceTemplate.Branding branding) {
+        return InvoiceTemplate.compile(branding, versions.incrementAndGet(), receiptColumns);
+    }
+}
@@ -0,0 +1,210 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.dto.response.InvoiceResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes invoices as A4 PDF 1.4 in the built-in Courier fonts, so no font is embedded and the text
+ * columns line up. Objects are written in one pass while their offsets are counted for the
+ * cross-reference table, so the document streams straight to the response.
+ * <p>
+ * The built-in fonts only cover Windows-1252, so other characters (Sinhala, Tamil, CJK) print as
+ * '?'. {@link #unprintableCharacters} counts them so the caller can report the loss; printing them
+ * would need an embedded Unicode font with glyph subsetting and, for Indic scripts, text shaping.
+ */
+@Component
+public class PdfInvoiceRenderer implements InvoiceRenderer {
+
+    static final int COLUMNS = 80;
+
+    private static final int PAGE_WIDTH = 595;
+    private static final int PAGE_HEIGHT = 842;
+    private static final int MARGIN = 50;
+    private static final int FONT_SIZE = 9;
+    private static final int LEADING = 12;
+    static final int LINES_PER_PAGE = (PAGE_HEIGHT - 2 * MARGIN) / LEADING;
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    // Catalog, page tree and the two fonts come first; each page adds a page and a content object
+    private static final int FIRST_PAGE_OBJECT = 5;
+
+    @Override
+    public DocumentFormat format() {
+        return DocumentFormat.PDF;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/pdf";
+    }
+
+    @Override
+    public String fileExtension() {
+        return "pdf";
+    }
+
+    @Override
+    public int unprintableCharacters(InvoiceTemplate template, InvoiceResponse invoice) {
+        return ReceiptLayout.unencodable(ReceiptLayout.letterhead(template.branding(), COLUMNS), WIN_ANSI)
+                + ReceiptLayout.unencodable(ReceiptLayout.body(invoice, COLUMNS), WIN_ANSI);
+    }
+
+    static byte[] compileLetterhead(List<ReceiptLine> lines) {
+        StringBuilder ops = new StringBuilder();
+        appendLines(ops, lines, PAGE_HEIGHT - MARGIN);
+        return ops.toString().getBytes(WIN_ANSI);
+    }
+
+    @Override
+    public void render(InvoiceTemplate template, InvoiceResponse invoice, OutputStream out) throws IOException {
+        List<ReceiptLine> body = ReceiptLayout.body(invoice, COLUMNS);
+        // A blank line separates the letterhead from the invoice on the first page
+        int firstPageLines = Math.max(1, LINES_PER_PAGE - template.pdfLetterheadLines() - 1);
+        List<List<ReceiptLine>> pages = new ArrayList<>();
+        for (int start = 0, size = firstPageLines; start < body.size() || pages.isEmpty(); start += size, size = LINES_PER_PAGE) {
+            pages.add(body.subList(start, Math.min(start + size, body.size())));
+        }
+
+        PdfOutput pdf = new PdfOutput(out, FIRST_PAGE_OBJECT + 2 * pages.size());
+        pdf.header();
+        pdf.object(1, "<< /Type /Catalog /Pages 2 0 R >>");
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pages.size(); i++) {
+            kids.append(FIRST_PAGE_OBJECT + 2 * i).append(" 0 R ");
+        }
+        pdf.object(2, "<< /Type /Pages /Kids [" + kids + "] /Count " + pages.size() + " >>");
+        pdf.object(3, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        pdf.object(4, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier-Bold /Encoding /WinAnsiEncoding >>");
+
+        for (int i = 0; i < pages.size(); i++) {
+            int pageObject = FIRST_PAGE_OBJECT + 2 * i;
+            boolean first = i == 0;
+            String annotations = first ? logoLink(template) : "";
+            pdf.object(pageObject, "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PAGE_WIDTH + " " + PAGE_HEIGHT + "]"
+                    + " /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >>" + annotations
+                    + " /Contents " + (pageObject + 1) + " 0 R >>");
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream(4096);
+            int top = PAGE_HEIGHT - MARGIN;
+            if (first) {
+                content.write(template.pdfLetterhead());
+                top -= (template.pdfLetterheadLines() + 1) * LEADING;
+            }
+            StringBuilder ops = new StringBuilder();
+            appendLines(ops, pages.get(i), top);
+            content.write(ops.toString().getBytes(WIN_ANSI));
+            pdf.stream(pageObject + 1, deflate(content.toByteArray()));
+        }
+        pdf.finish();
+    }
+
+    private static void appendLines(StringBuilder ops, List<ReceiptLine> lines, int top) {
+        ops.append("BT ").append(LEADING).append(" TL ").append(MARGIN).append(' ').append(top).append(" Td\n");
+        Boolean bold = null;
+        for (ReceiptLine line : lines) {
+            if (bold == null || bold != line.bold()) {
+                bold = line.bold();
+                ops.append(bold ? "/F2 " : "/F1 ").append(FONT_SIZE).append(" Tf\n");
+            }
+            ops.append('(');
+            escape(ops, line.text());
+            ops.append(") Tj T*\n");
+        }
+        ops.append("ET\n");
+    }
+
+    // The company name on the first line of the letterhead links to the logo
+    private static String logoLink(InvoiceTemplate template) {
+        String logoUrl = template.branding().logoUrl();
+        if (logoUrl == null || logoUrl.isBlank()) {
+            return "";
+        }
+        StringBuilder uri = new StringBuilder();
+        escape(uri, logoUrl.strip());
+        int baseline = PAGE_HEIGHT - MARGIN;
+        return " /Annots [<< /Type /Annot /Subtype /Link /Border [0 0 0] /Rect [" + MARGIN + " " + (baseline - 3)
+                + " " + (PAGE_WIDTH - MARGIN) + " " + (baseline + FONT_SIZE) + "] /A << /S /URI /URI (" + uri + ") >> >>]";
+    }
+
+    private static void escape(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                out.append('\\');
+            }
+            out.append(c < ' ' ? ' ' : c);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 64);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (OutputStream stream = new DeflaterOutputStream(out, deflater)) {
+            stream.write(raw);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    // Counts bytes written so each object's offset is known for the cross-reference table
+    private static final class PdfOutput {
+
+        private final OutputStream out;
+        private final long[] offsets;
+        private long position;
+
+        PdfOutput(OutputStream out, int objectCount) {
+            this.out = out;
+            this.offsets = new long[objectCount];
+        }
+
+        void header() throws IOException {
+            // The binary comment marks the file as binary for transfer tools
+            write("%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII));
+            write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+        }
+
+        void object(int number, String dictionary) throws IOException {
+            offsets[number] = position;
+            write((number + " 0 obj\n" + dictionary + "\nendobj\n").getBytes(WIN_ANSI));
+        }
+
+        void stream(int number, byte[] data) throws IOException {
+            offsets[number] = position;
+            write((number + " 0 obj\n<< /Length " + data.length + " /Filter /FlateDecode >>\nstream\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            write(data);
+            write("\nendstream\nendobj\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        void finish() throws IOException {
+            long xref = position;
+            StringBuilder table = new StringBuilder("xref\n0 ").append(offsets.length).append('\n');
+            table.append("0000000000 65535 f \n");
+            for (int i = 1; i < offsets.length; i++) {
+                table.append(String.format("%010d 00000 n \n", offsets[i]));
+            }
+            table.append("trailer\n<< /Size ").append(offsets.length).append(" /Root 1 0 R >>\n")
+                    .append("startxref\n").append(xref).append("\n%%EOF\n");
+            write(table.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            position += bytes.length;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.response.InvoiceItemResponse;
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.DiscountType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lays an invoice out as fixed-width text lines, shared by the PDF (monospaced font) and ESC/POS
+ * renderers so both documents read the same.
+ */
+final class ReceiptLayout {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private ReceiptLayout() {
+    }
+
+    static List<ReceiptLine> letterhead(InvoiceTemplate.Branding branding, int width) {
+        List<ReceiptLine> lines = new ArrayList<>();
+        lines.add(ReceiptLine.bold(center(branding.companyName(), width)));
+        for (String line : wrap(branding.address(), width)) {
+            lines.add(ReceiptLine.plain(center(line, width)));
+        }
+        String contact = join(branding.contactNumber(), branding.email());
+        if (!contact.isEmpty()) {
+            lines.add(ReceiptLine.plain(center(contact, width)));
+        }
+        return lines;
+    }
+
+    static List<ReceiptLine> body(InvoiceResponse invoice, int width) {
+        List<InvoiceItemResponse> items = invoice.items() != null ? invoice.items() : List.of();
+        List<ReceiptLine> lines = new ArrayList<>(16 + items.size() * 3);
+        String rule = "-".repeat(width);
+
+        lines.add(ReceiptLine.bold(spread("INVOICE", text(invoice.invoiceNumber()), width)));
+        lines.add(ReceiptLine.plain(spread(
+                invoice.invoiceDate() != null ? invoice.invoiceDate().format(DATE_FORMAT) : "",
+                invoice.status() != null ? invoice.status().name() : "", width)));
+        lines.add(ReceiptLine.plain(rule));
+
+        for (InvoiceItemResponse item : items) {
+            for (String line : wrap(text(item.description()), width)) {
+                lines.add(ReceiptLine.plain(line));
+            }
+            lines.add(ReceiptLine.plain(spread("  " + (item.quantity() != null ? item.quantity() : 0)
+                    + " x " + money(item.unitPrice()), money(item.totalPrice()), width)));
+            if (item.discountAmount() != null && item.discountAmount().signum() != 0) {
+                String label = item.discountType() == DiscountType.PERCENTAGE && item.discountValue() != null
+                        ? "  Discount " + item.discountValue().stripTrailingZeros().toPlainString() + "%"
+                        : "  Discount";
+                lines.add(ReceiptLine.plain(spread(label, "-" + money(item.discountAmount()), width)));
+            }
+        }
+
+        lines.add(ReceiptLine.plain(rule));
+        lines.add(ReceiptLine.plain(spread("Subtotal", money(invoice.subtotal()), width)));
+        if (invoice.discountAmount() != null && invoice.discountAmount().signum() != 0) {
+            lines.add(ReceiptLine.plain(spread("Discount", "-" + money(invoice.discountAmount()), width)));
+        }
+        lines.add(ReceiptLine.plain(spread("Tax", money(invoice.taxAmount()), width)));
+        lines.add(ReceiptLine.bold(spread("TOTAL", money(invoice.totalAmount()), width)));
+        return lines;
+    }
+
+    static int unencodable(List<ReceiptLine> lines, Charset charset) {
+        CharsetEncoder encoder = charset.newEncoder();
+        int count = 0;
+        for (ReceiptLine line : lines) {
+            String text = line.text();
+            if (encoder.canEncode(text)) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i += Character.charCount(text.codePointAt(i))) {
+                if (!encoder.canEncode(new String(Character.toChars(text.codePointAt(i))))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    static String center(String text, int width) {
+        String value = truncate(text(text), width);
+        return " ".repeat((width - value.length()) / 2) + value;
+    }
+
+    // Left text and right text on one line, the left one cut short when both do not fit
+    static String spread(String left, String right, int width) {
+        String value = truncate(right, width);
+        String label = truncate(left, Math.max(0, width - value.length() - 1));
+        return label + " ".repeat(Math.max(1, width - label.length() - value.length())) + value;
+    }
+
+    static List<String> wrap(String text, int width) {
+        List<String> lines = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return lines;
+        }
+        StringBuilder line = new StringBuilder(width);
+        for (String word : text.trim().split("\\s+")) {
+            while (word.length() > width) {
+                if (!line.isEmpty()) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                lines.add(word.substring(0, width));
+                word = word.substring(width);
+            }
+            if (!line.isEmpty() && line.length() + 1 + word.length() > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        if (!line.isEmpty()) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static String money(BigDecimal amount) {
+        BigDecimal value = (amount != null ? amount : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+        String plain = value.abs().toPlainString();
+        int point = plain.indexOf('.');
+        StringBuilder grouped = new StringBuilder(plain.length() + 4);
+        for (int i = 0; i < point; i++) {
+            if (i > 0 && (point - i) % 3 == 0) {
+                grouped.append(',');
+            }
+            grouped.append(plain.charAt(i));
+        }
+        grouped.append(plain, point, plain.length());
+        return value.signum() < 0 ? "-" + grouped : grouped.toString();
+    }
+
+    private static String join(String first, String second) {
+        String a = text(first);
+        String b = text(second);
+        return a.isEmpty() ? b : b.isEmpty() ? a : a + "  " + b;
+    }
+
+    private static String truncate(String text, int width) {
+        return text.length() > width ? text.substring(0, width) : text;
+    }
+
+    private static String text(String value) {
+        return value != null ? value.strip() : "";
+    }
+}
@@ -0,0 +1,13 @@
+package com.codX.pos.render;
+
+// One line of laid-out document text; bold lines are printed emphasized
+record ReceiptLine(String text, boolean bold) {
+
+    static ReceiptLine plain(String text) {
+        return new ReceiptLine(text, false);
+    }
+
+    static ReceiptLine bold(String text) {
+        return new ReceiptLine(text, true);
+    }
+}
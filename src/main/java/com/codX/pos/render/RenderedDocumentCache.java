@@ -0,0 +1,43 @@
+package com.codX.pos.render;
+
+import com.codX.pos.cache.ByteBoundedLruCache;
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.dto.response.InvoiceResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Rendered documents of paid and cancelled invoices. An entry keeps the invoice it was rendered from
+ * and the template version, and is only served while both still match, so neither an edited
+ * letterhead nor a later status change can return a stale document. Bounded by total bytes, the
+ * least recently read document is evicted first.
+ */
+@Component
+public class RenderedDocumentCache {
+
+    private final ByteBoundedLruCache<DocumentKey, Entry> documents;
+
+    public RenderedDocumentCache(MeterRegistry meterRegistry,
+                                 @Value("${pos.render.cache.max-bytes:67108864}") long maxBytes) {
+        this.documents = new ByteBoundedLruCache<>(meterRegistry, "pos.render.cache",
+                "Bytes of rendered invoice documents held in the document cache", maxBytes,
+                entry -> entry.content().length);
+    }
+
+    public byte[] get(UUID companyId, DocumentFormat format, InvoiceTemplate template, InvoiceResponse invoice) {
+        Entry entry = documents.get(new DocumentKey(companyId, invoice.id(), format),
+                cached -> cached.templateVersion() == template.version() && cached.invoice().equals(invoice));
+        return entry != null ? entry.content() : null;
+    }
+
+    public void put(UUID companyId, DocumentFormat format, InvoiceTemplate template, InvoiceResponse invoice, byte[] content) {
+        documents.put(new DocumentKey(companyId, invoice.id(), format), new Entry(template.version(), invoice, content));
+    }
+
+    private record DocumentKey(UUID companyId, UUID invoiceId, DocumentFormat format) {}
+
+    private record Entry(long templateVersion, InvoiceResponse invoice, byte[] content) {}
+}
@@ -0,0 +1,33 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.dto.ImportJobStatus;
+import com.codX.pos.entity.CatalogImportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface CatalogImportJobRepository extends JpaRepository<CatalogImportJobEntity, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CatalogImportJobEntity j SET j.status = :failed, j.message = :message, j.finishedAt = :now, j.updatedAt = :now " +
+            "WHERE j.status IN :active AND j.updatedAt < :staleBefore")
+    int failStaleJobs(@Param("active") Collection<ImportJobStatus> active,
+                      @Param("failed") ImportJobStatus failed,
+                      @Param("message") String message,
+                      @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CatalogImportJobEntity j WHERE j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
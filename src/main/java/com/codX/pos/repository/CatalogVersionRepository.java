@@ -0,0 +1,25 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.entity.CatalogVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersionEntity, Long> {
+
+    @Query("SELECT v.version FROM CatalogVersionEntity v WHERE v.catalogType = :catalogType AND v.scopeId = :scopeId")
+    Optional<Long> findVersion(@Param("catalogType") CatalogType catalogType, @Param("scopeId") UUID scopeId);
+
+    // Creates the row on the first write to a scope, so concurrent writers never race to insert it
+    @Modifying
+    @Query(value = "INSERT INTO catalog_versions (catalog_type, scope_id, version) VALUES (:catalogType, :scopeId, 1) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment(@Param("catalogType") String catalogType, @Param("scopeId") UUID scopeId);
+}
@@ -0,0 +1,26 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.CustomerTimelineEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CustomerTimelineEventRepository extends JpaRepository<CustomerTimelineEventEntity, UUID> {
+    List<CustomerTimelineEventEntity> findByCustomerIdAndCompanyIdOrderByRecordedAtDescIdDesc(UUID customerId, UUID companyId, Pageable pageable);
+
+    @Query("SELECT e FROM CustomerTimelineEventEntity e WHERE e.customerId = :customerId AND e.companyId = :companyId " +
+            "AND (e.recordedAt < :recordedAt OR (e.recordedAt = :recordedAt AND e.id < :id)) " +
+            "ORDER BY e.recordedAt DESC, e.id DESC")
+    List<CustomerTimelineEventEntity> findOlderThan(@Param("customerId") UUID customerId,
+                                                     @Param("companyId") UUID companyId,
+                                                     @Param("recordedAt") LocalDateTime recordedAt,
+                                                     @Param("id") UUID id,
+                                                     Pageable pageable);
+}
@@ -2,13 +2,22 @@ package com.codX.pos.repository;
 
 import com.codX.pos.entity.InvoiceItemEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface InvoiceItemRepository extends JpaRepository<InvoiceItemEntity, UUID> {
     List<InvoiceItemEntity> findByInvoiceIdAndCompanyId(UUID invoiceId, UUID companyId);
-    void deleteByInvoiceIdAndCompanyId(UUID invoiceId, UUID companyId);
+    List<InvoiceItemEntity> findByInvoiceIdInAndCompanyId(Collection<UUID> invoiceIds, UUID companyId);
+
+    // One DELETE statement instead of loading and removing each line
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM InvoiceItemEntity ii WHERE ii.invoiceId = :invoiceId AND ii.companyId = :companyId")
+    int deleteByInvoiceIdAndCompanyId(@Param("invoiceId") UUID invoiceId, @Param("companyId") UUID companyId);
 }
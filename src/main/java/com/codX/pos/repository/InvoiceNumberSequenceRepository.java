@@ -0,0 +1,24 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.InvoiceNumberSequenceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceNumberSequenceRepository extends JpaRepository<InvoiceNumberSequenceEntity, Long> {
+
+    Optional<InvoiceNumberSequenceEntity> findByCompanyIdAndSequenceDate(UUID companyId, LocalDate sequenceDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InvoiceNumberSequenceEntity s WHERE s.companyId = :companyId AND s.sequenceDate = :sequenceDate")
+    Optional<InvoiceNumberSequenceEntity> findForUpdate(@Param("companyId") UUID companyId,
+                                                        @Param("sequenceDate") LocalDate sequenceDate);
+}
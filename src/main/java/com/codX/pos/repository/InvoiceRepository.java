@@ -22,6 +22,7 @@ public interface InvoiceRepository extends JpaRepository<InvoiceEntity, UUID> {
     List<InvoiceEntity> findByStatusAndCompanyIdAndBranchId(InvoiceStatus status, UUID companyId, UUID branchId);
     Optional<InvoiceEntity> findByInvoiceNumberAndCompanyId(String invoiceNumber, UUID companyId);
     Optional<InvoiceEntity> findByServiceRecordIdAndCompanyId(UUID serviceRecordId, UUID companyId);
+    long countByCompanyIdAndInvoiceDateBetween(UUID companyId, LocalDateTime startDate, LocalDateTime endDate);
 
     @Query("SELECT i FROM InvoiceEntity i WHERE i.invoiceDate BETWEEN :startDate AND :endDate AND i.companyId = :companyId ORDER BY i.invoiceDate DESC")
     List<InvoiceEntity> findByDateRangeAndCompanyId(@Param("startDate") LocalDateTime startDate,
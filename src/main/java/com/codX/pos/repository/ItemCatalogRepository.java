@@ -0,0 +1,11 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.dto.ItemCatalogQuery;
+import com.codX.pos.dto.response.ItemCatalogEntry;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ItemCatalogRepository {
+    List<ItemCatalogEntry> findCatalogPage(UUID branchId, UUID companyId, ItemCatalogQuery query, int maxResults);
+}
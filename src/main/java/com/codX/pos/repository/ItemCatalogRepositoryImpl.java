@@ -0,0 +1,85 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.dto.ItemCatalogQuery;
+import com.codX.pos.dto.ItemCatalogSort;
+import com.codX.pos.dto.response.ItemCatalogEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the catalog page query from the optional filters. Only the projected columns are
+ * selected, and the keyset predicate matches the (branchId, isActive, name|stockQuantity, id)
+ * indexes on items so a page is a short index range scan.
+ */
+public class ItemCatalogRepositoryImpl implements ItemCatalogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ItemCatalogEntry> findCatalogPage(UUID branchId, UUID companyId, ItemCatalogQuery query, int maxResults) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.codX.pos.dto.response.ItemCatalogEntry(" +
+                "i.id, i.name, i.unitPrice, i.unit, i.stockQuantity, i.minStockLevel, i.itemCategoryId, " +
+                "i.defaultDiscountValue, i.defaultDiscountType) " +
+                "FROM ItemEntity i WHERE i.branchId = :branchId AND i.isActive = true");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("branchId", branchId);
+
+        if (companyId != null) {
+            jpql.append(" AND i.companyId = :companyId");
+            parameters.put("companyId", companyId);
+        }
+        if (query.categoryId() != null) {
+            jpql.append(" AND i.itemCategoryId = :categoryId");
+            parameters.put("categoryId", query.categoryId());
+        }
+        if (query.namePrefix() != null) {
+            jpql.append(" AND i.name LIKE :namePrefix ESCAPE '!'");
+            parameters.put("namePrefix", query.namePrefix()
+                    .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+
+        String comparison = query.descending() ? "<" : ">";
+        String direction = query.descending() ? " DESC" : " ASC";
+        if (query.sort() == ItemCatalogSort.NAME) {
+            if (query.hasPosition()) {
+                jpql.append(" AND (i.name ").append(comparison).append(" :afterName OR (i.name = :afterName AND i.id ")
+                        .append(comparison).append(" :afterId))");
+                parameters.put("afterName", query.afterName());
+                parameters.put("afterId", query.afterId());
+            }
+            jpql.append(" ORDER BY i.name").append(direction).append(", i.id").append(direction);
+        } else {
+            if (query.hasPosition()) {
+                appendStockPosition(jpql, parameters, query, comparison);
+            }
+            jpql.append(" ORDER BY i.stockQuantity").append(direction).append(", i.id").append(direction);
+        }
+
+        TypedQuery<ItemCatalogEntry> typedQuery = entityManager.createQuery(jpql.toString(), ItemCatalogEntry.class);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery.setMaxResults(maxResults).getResultList();
+    }
+
+    // MySQL orders NULL stock first ascending and last descending
+    private void appendStockPosition(StringBuilder jpql, Map<String, Object> parameters, ItemCatalogQuery query,
+                                     String comparison) {
+        parameters.put("afterId", query.afterId());
+        if (query.afterStock() == null) {
+            jpql.append(query.descending()
+                    ? " AND (i.stockQuantity IS NULL AND i.id < :afterId)"
+                    : " AND ((i.stockQuantity IS NULL AND i.id > :afterId) OR i.stockQuantity IS NOT NULL)");
+            return;
+        }
+        parameters.put("afterStock", query.afterStock());
+        jpql.append(" AND (i.stockQuantity ").append(comparison).append(" :afterStock OR (i.stockQuantity = :afterStock AND i.id ")
+                .append(comparison).append(" :afterId)");
+        jpql.append(query.descending() ? " OR i.stockQuantity IS NULL)" : ")");
+    }
+}
@@ -1,19 +1,78 @@
 package com.codX.pos.repository;
 
+import com.codX.pos.dto.ItemStockLevel;
 import com.codX.pos.entity.ItemEntity;
+import com.codX.pos.search.SearchableItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ItemRepository extends JpaRepository<ItemEntity, UUID> {
+public interface ItemRepository extends JpaRepository<ItemEntity, UUID>, ItemCatalogRepository {
     List<ItemEntity> findByCompanyIdAndIsActiveTrue(UUID companyId);
     List<ItemEntity> findByCompanyIdAndBranchIdAndIsActiveTrue(UUID companyId, UUID branchId);
     List<ItemEntity> findByBranchIdAndIsActiveTrue(UUID branchId); // NEW METHOD
     List<ItemEntity> findByItemCategoryIdAndCompanyIdAndIsActiveTrue(UUID itemCategoryId, UUID companyId);
     Optional<ItemEntity> findByIdAndCompanyIdAndIsActiveTrue(UUID id, UUID companyId);
     boolean existsByNameAndCompanyIdAndBranchId(String name, UUID companyId, UUID branchId);
+    List<ItemEntity> findByCompanyIdAndBranchIdAndNameIn(UUID companyId, UUID branchId, Collection<String> names);
+
+    @Query("SELECT i FROM ItemEntity i WHERE i.branchId = :branchId AND (:companyId IS NULL OR i.companyId = :companyId) " +
+            "AND i.lastModifiedDate <= :until " +
+            "AND (i.lastModifiedDate > :since OR (i.lastModifiedDate = :since AND i.id > :afterId)) " +
+            "ORDER BY i.lastModifiedDate, i.id")
+    List<ItemEntity> findChangesByBranch(@Param("branchId") UUID branchId,
+                                         @Param("companyId") UUID companyId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("afterId") UUID afterId,
+                                         @Param("until") LocalDateTime until,
+                                         Pageable pageable);
+
+    @Query("SELECT new com.codX.pos.search.SearchableItem(i.id, i.companyId, i.branchId, i.name, i.description, i.unit, i.unitPrice, i.itemCategoryId) " +
+            "FROM ItemEntity i WHERE i.companyId = :companyId AND i.isActive = true")
+    List<SearchableItem> findActiveSearchableItemsByCompanyId(@Param("companyId") UUID companyId);
+
+    // MySQL only streams rows one by one with this fetch size; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.codX.pos.search.SearchableItem(i.id, i.companyId, i.branchId, i.name, i.description, i.unit, i.unitPrice, i.itemCategoryId) " +
+            "FROM ItemEntity i WHERE i.isActive = true")
+    Stream<SearchableItem> streamActiveSearchableItems();
+
+    @Query("SELECT i FROM ItemEntity i WHERE i.lastModifiedDate > :since " +
+            "OR (i.lastModifiedDate = :since AND i.id > :afterId) " +
+            "ORDER BY i.lastModifiedDate, i.id")
+    List<ItemEntity> findChangesSince(@Param("since") LocalDateTime since,
+                                      @Param("afterId") UUID afterId,
+                                      Pageable pageable);
+
+    // Puts back everything a service record's item details took from stock, in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items i JOIN (SELECT d.item_id, SUM(d.quantity) AS quantity FROM service_details d " +
+            "WHERE d.service_record_id = :serviceRecordId AND d.company_id = :companyId AND d.type = 'ITEM' AND d.item_id IS NOT NULL " +
+            "GROUP BY d.item_id) used ON used.item_id = i.id " +
+            "SET i.stock_quantity = i.stock_quantity + used.quantity, i.last_modified_date = :modifiedAt, i.modified_user_id = :modifiedBy",
+            nativeQuery = true)
+    int restoreServiceRecordStock(@Param("serviceRecordId") UUID serviceRecordId,
+                                  @Param("companyId") UUID companyId,
+                                  @Param("modifiedAt") LocalDateTime modifiedAt,
+                                  @Param("modifiedBy") UUID modifiedBy);
+
+    @Query("SELECT new com.codX.pos.dto.ItemStockLevel(i.id, i.companyId, i.branchId, i.stockQuantity) FROM ItemEntity i")
+    List<ItemStockLevel> findAllStockLevels();
+
+    @Query("SELECT new com.codX.pos.dto.ItemStockLevel(i.id, i.companyId, i.branchId, i.stockQuantity) FROM ItemEntity i WHERE i.id IN :ids")
+    List<ItemStockLevel> findStockLevelsByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,40 @@
+package com.codX.pos.repository;
+
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Helpers for the JDBC batch inserts of append-only tables. Their ids stay AUTO_INCREMENT, which
+ * readers following the tables by id rely on, and a batched insert returns the generated ids in
+ * row order.
+ */
+final class JdbcInserts {
+
+    private JdbcInserts() {
+    }
+
+    static byte[] bytes(UUID id) {
+        if (id == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    static <T> void assignIds(KeyHolder keyHolder, List<T> rows, BiConsumer<T, Long> idSetter) {
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new RuntimeException("Expected " + rows.size() + " generated ids but got " + keys.size());
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            idSetter.accept(rows.get(i), ((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+}
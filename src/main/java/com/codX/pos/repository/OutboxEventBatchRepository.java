@@ -0,0 +1,9 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.OutboxEventEntity;
+
+import java.util.List;
+
+public interface OutboxEventBatchRepository {
+    void insertAll(List<OutboxEventEntity> events);
+}
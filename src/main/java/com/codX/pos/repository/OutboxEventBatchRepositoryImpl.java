@@ -0,0 +1,64 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.OutboxEventEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts outbox events as one JDBC batch, which the driver rewrites into multi-row inserts. The id
+ * stays AUTO_INCREMENT rather than coming from a pooled generator, since the relay and the branch
+ * activity feed follow the table in id order and per-instance id blocks would break it.
+ */
+public class OutboxEventBatchRepositoryImpl implements OutboxEventBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (event_type, aggregate_id, company_id, " +
+            "branch_id, payload, created_at, status, attempts) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<OutboxEventEntity> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        events.forEach(event -> event.setCreatedAt(createdAt));
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        OutboxEventEntity event = events.get(i);
+                        statement.setString(1, event.getEventType().name());
+                        statement.setBytes(2, JdbcInserts.bytes(event.getAggregateId()));
+                        statement.setBytes(3, JdbcInserts.bytes(event.getCompanyId()));
+                        statement.setBytes(4, JdbcInserts.bytes(event.getBranchId()));
+                        statement.setString(5, event.getPayload());
+                        statement.setTimestamp(6, Timestamp.valueOf(event.getCreatedAt()));
+                        statement.setString(7, event.getStatus().name());
+                        statement.setInt(8, event.getAttempts());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return events.size();
+                    }
+                },
+                keyHolder);
+        JdbcInserts.assignIds(keyHolder, events, OutboxEventEntity::setId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.OutboxEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long>, OutboxEventBatchRepository {
+
+    // Rows locked by another relay instance are skipped rather than waited for, rows backing off are left alone
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventEntity> lockRelayable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Read by every instance to follow changes made anywhere, whatever the relay has done with them
+    @Query(value = "SELECT * FROM outbox_events WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEventEntity> findAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query("SELECT MAX(e.id) FROM OutboxEventEntity e")
+    Long findMaxId();
+
+    @Modifying
+    @Query("UPDATE OutboxEventEntity e SET e.status = com.codX.pos.entity.OutboxEventStatus.PUBLISHED, " +
+            "e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEventEntity e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
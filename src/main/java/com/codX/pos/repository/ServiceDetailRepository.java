@@ -2,8 +2,12 @@ package com.codX.pos.repository;
 
 import com.codX.pos.entity.ServiceDetailEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,5 +15,10 @@ import java.util.UUID;
 public interface ServiceDetailRepository extends JpaRepository<ServiceDetailEntity, UUID> {
     List<ServiceDetailEntity> findByServiceRecordIdAndCompanyId(UUID serviceRecordId, UUID companyId);
     List<ServiceDetailEntity> findByServiceRecordIdOrderByTypeDesc(UUID serviceRecordId);
-    void deleteByServiceRecordIdAndCompanyId(UUID serviceRecordId, UUID companyId);
+    List<ServiceDetailEntity> findByServiceRecordIdIn(Collection<UUID> serviceRecordIds);
+
+    // One DELETE statement instead of loading and removing each detail
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ServiceDetailEntity d WHERE d.serviceRecordId = :serviceRecordId AND d.companyId = :companyId")
+    int deleteByServiceRecordIdAndCompanyId(@Param("serviceRecordId") UUID serviceRecordId, @Param("companyId") UUID companyId);
 }
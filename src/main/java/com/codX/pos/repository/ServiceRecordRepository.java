@@ -2,7 +2,9 @@ package com.codX.pos.repository;
 
 import com.codX.pos.entity.ServiceRecordEntity;
 import com.codX.pos.entity.ServiceStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,8 +24,23 @@ public interface ServiceRecordRepository extends JpaRepository<ServiceRecordEnti
     Optional<ServiceRecordEntity> findByIdAndCompanyId(UUID id, UUID companyId);
     List<ServiceRecordEntity> findByStatusAndCompanyIdAndBranchId(ServiceStatus status, UUID companyId, UUID branchId);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ServiceRecordEntity sr WHERE sr.id = :id AND sr.companyId = :companyId")
+    int deleteByIdAndCompanyId(@Param("id") UUID id, @Param("companyId") UUID companyId);
+
     @Query("SELECT sr FROM ServiceRecordEntity sr WHERE sr.serviceDate BETWEEN :startDate AND :endDate AND sr.companyId = :companyId ORDER BY sr.serviceDate DESC")
     List<ServiceRecordEntity> findByDateRangeAndCompanyId(@Param("startDate") LocalDateTime startDate,
                                                           @Param("endDate") LocalDateTime endDate,
                                                           @Param("companyId") UUID companyId);
+
+    @Query("SELECT sr FROM ServiceRecordEntity sr WHERE sr.branchId = :branchId AND (:companyId IS NULL OR sr.companyId = :companyId) " +
+            "AND sr.lastModifiedDate <= :until " +
+            "AND (sr.lastModifiedDate > :since OR (sr.lastModifiedDate = :since AND sr.id > :afterId)) " +
+            "ORDER BY sr.lastModifiedDate, sr.id")
+    List<ServiceRecordEntity> findChangesByBranch(@Param("branchId") UUID branchId,
+                                                  @Param("companyId") UUID companyId,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("afterId") UUID afterId,
+                                                  @Param("until") LocalDateTime until,
+                                                  Pageable pageable);
 }
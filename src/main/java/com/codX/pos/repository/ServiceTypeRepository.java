@@ -4,6 +4,7 @@ import com.codX.pos.entity.ServiceTypeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +17,5 @@ public interface ServiceTypeRepository extends JpaRepository<ServiceTypeEntity,
     List<ServiceTypeEntity> findByServiceCategoryIdAndCompanyIdAndIsActiveTrue(UUID serviceCategoryId, UUID companyId);
     Optional<ServiceTypeEntity> findByIdAndCompanyIdAndIsActiveTrue(UUID id, UUID companyId);
     boolean existsByNameAndCompanyIdAndBranchId(String name, UUID companyId, UUID branchId);
+    List<ServiceTypeEntity> findByCompanyIdAndBranchIdAndNameIn(UUID companyId, UUID branchId, Collection<String> names);
 }
@@ -0,0 +1,9 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.StockMovementEntity;
+
+import java.util.List;
+
+public interface StockMovementBatchRepository {
+    void insertAll(List<StockMovementEntity> movements);
+}
@@ -0,0 +1,65 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.StockMovementEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts stock movements as one JDBC batch, which the driver rewrites into multi-row inserts.
+ * Hibernate cannot batch inserts of IDENTITY entities, and a pooled generator would hand each
+ * instance its own id block, so ids would no longer grow with insert order and snapshots would
+ * skip movements.
+ */
+public class StockMovementBatchRepositoryImpl implements StockMovementBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO stock_movements (item_id, company_id, branch_id, " +
+            "movement_type, quantity, reference_id, created_by, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockMovementBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<StockMovementEntity> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        movements.forEach(movement -> movement.setCreatedAt(createdAt));
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        StockMovementEntity movement = movements.get(i);
+                        statement.setBytes(1, JdbcInserts.bytes(movement.getItemId()));
+                        statement.setBytes(2, JdbcInserts.bytes(movement.getCompanyId()));
+                        statement.setBytes(3, JdbcInserts.bytes(movement.getBranchId()));
+                        statement.setString(4, movement.getMovementType().name());
+                        statement.setInt(5, movement.getQuantity());
+                        statement.setBytes(6, JdbcInserts.bytes(movement.getReferenceId()));
+                        statement.setBytes(7, JdbcInserts.bytes(movement.getCreatedBy()));
+                        statement.setTimestamp(8, Timestamp.valueOf(movement.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return movements.size();
+                    }
+                },
+                keyHolder);
+        JdbcInserts.assignIds(keyHolder, movements, StockMovementEntity::setId);
+    }
+}
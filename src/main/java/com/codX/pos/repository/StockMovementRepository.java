@@ -0,0 +1,51 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.dto.ItemQuantityChange;
+import com.codX.pos.entity.StockMovementEntity;
+import com.codX.pos.entity.StockMovementType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovementEntity, Long>, StockMovementBatchRepository {
+    List<StockMovementEntity> findByItemIdAndCreatedAtBetweenOrderByIdAsc(UUID itemId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<StockMovementEntity> findByReferenceIdAndCompanyIdAndMovementType(UUID referenceId, UUID companyId, StockMovementType movementType);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO stock_movements (item_id, company_id, branch_id, movement_type, quantity, reference_id, created_by, created_at) " +
+            "SELECT d.item_id, i.company_id, i.branch_id, 'RESTORE', SUM(d.quantity), :serviceRecordId, :createdBy, :createdAt " +
+            "FROM service_details d JOIN items i ON i.id = d.item_id " +
+            "WHERE d.service_record_id = :serviceRecordId AND d.company_id = :companyId AND d.type = 'ITEM' " +
+            "GROUP BY d.item_id, i.company_id, i.branch_id HAVING SUM(d.quantity) <> 0",
+            nativeQuery = true)
+    int insertServiceRecordRestores(@Param("serviceRecordId") UUID serviceRecordId,
+                                    @Param("companyId") UUID companyId,
+                                    @Param("createdBy") UUID createdBy,
+                                    @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("SELECT MAX(m.id) FROM StockMovementEntity m WHERE m.createdAt <= :time")
+    Long findLastIdCreatedUpTo(@Param("time") LocalDateTime time);
+
+    @Query("SELECT DISTINCT m.itemId FROM StockMovementEntity m WHERE m.id > :afterId AND m.id <= :upToId")
+    List<UUID> findItemIdsMovedBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    @Query("SELECT new com.codX.pos.dto.ItemQuantityChange(m.itemId, SUM(m.quantity)) FROM StockMovementEntity m " +
+            "WHERE m.id > :afterId GROUP BY m.itemId")
+    List<ItemQuantityChange> sumQuantitiesAfter(@Param("afterId") Long afterId);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovementEntity m " +
+            "WHERE m.itemId = :itemId AND m.id > :afterId AND m.createdAt <= :time")
+    long sumQuantityAfterIdUpTo(@Param("itemId") UUID itemId, @Param("afterId") Long afterId, @Param("time") LocalDateTime time);
+
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM StockMovementEntity m WHERE m.itemId = :itemId AND m.createdAt > :time")
+    long sumQuantityAfter(@Param("itemId") UUID itemId, @Param("time") LocalDateTime time);
+}
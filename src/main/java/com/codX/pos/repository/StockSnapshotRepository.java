@@ -0,0 +1,18 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.StockSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshotEntity, Long> {
+    Optional<StockSnapshotEntity> findFirstByItemIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(UUID itemId, LocalDateTime time);
+
+    @Query("SELECT MAX(s.lastMovementId) FROM StockSnapshotEntity s")
+    Long findLastSnapshotMovementId();
+}
@@ -1,11 +1,14 @@
 package com.codX.pos.repository;
 
 import com.codX.pos.entity.VehicleEntity;
+import com.codX.pos.search.VehiclePlate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,24 @@ public interface VehicleRepository extends JpaRepository<VehicleEntity, UUID> {
     Optional<VehicleEntity> findByIdAndCompanyIdAndIsActiveTrue(UUID id, UUID companyId);
     boolean existsByVehicleNumberAndCompanyId(String vehicleNumber, UUID companyId);
 
-    @Query("SELECT v FROM VehicleEntity v WHERE v.vehicleNumber LIKE %:vehicleNumber% AND v.companyId = :companyId AND v.isActive = true")
-    List<VehicleEntity> searchByVehicleNumber(@Param("vehicleNumber") String vehicleNumber, @Param("companyId") UUID companyId);
+    @Query("SELECT new com.codX.pos.search.VehiclePlate(v.id, v.vehicleNumber) FROM VehicleEntity v WHERE v.companyId = :companyId AND v.isActive = true")
+    List<VehiclePlate> findActivePlatesByCompanyId(@Param("companyId") UUID companyId);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE v.lastModifiedDate > :since " +
+            "OR (v.lastModifiedDate = :since AND v.id > :afterId) " +
+            "ORDER BY v.lastModifiedDate, v.id")
+    List<VehicleEntity> findChangesSince(@Param("since") LocalDateTime since,
+                                         @Param("afterId") UUID afterId,
+                                         Pageable pageable);
+
+    @Query("SELECT v FROM VehicleEntity v WHERE v.branchId = :branchId AND (:companyId IS NULL OR v.companyId = :companyId) " +
+            "AND v.lastModifiedDate <= :until " +
+            "AND (v.lastModifiedDate > :since OR (v.lastModifiedDate = :since AND v.id > :afterId)) " +
+            "ORDER BY v.lastModifiedDate, v.id")
+    List<VehicleEntity> findChangesByBranch(@Param("branchId") UUID branchId,
+                                            @Param("companyId") UUID companyId,
+                                            @Param("since") LocalDateTime since,
+                                            @Param("afterId") UUID afterId,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
 }
@@ -0,0 +1,418 @@
+package com.codX.pos.search;
+
+import com.codX.pos.entity.ItemEntity;
+import com.codX.pos.repository.ItemRepository;
+import com.codX.pos.search.TenantIndexSupport.ChangeFeed;
+import com.codX.pos.search.TenantIndexSupport.Tenant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory item search index, one per company. Item name, description and unit are split into
+ * lower-cased words, and every word prefix (up to {@value #MAX_GRAM} characters) has a posting set
+ * of item ids, so a query matches an item when each of its words starts some word of the item.
+ * A query word of at least {@value #MIN_TYPO_LENGTH} characters that starts no word is retried with
+ * one edit (a missing, extra, swapped or wrong character). Name matches rank above description and
+ * unit matches, whole words above prefixes, earlier name words above later ones, and corrected
+ * words below exact ones.
+ * <p>
+ * The index is rebuilt from a streaming scan once the application is ready; until then a company
+ * is loaded on its first search, through {@link TenantIndexSupport}. Writes on this instance
+ * reach the index through {@link #index(ItemEntity)} after they commit; writes on other instances
+ * are picked up by {@link #refresh()}, which rescans items by last modified date.
+ * Stock levels are deliberately not indexed, since invoices change them on every sale.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final int MAX_GRAM = 10;
+    private static final int MIN_TYPO_LENGTH = 4;
+    private static final String TYPO_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStartup;
+    private final ChangeFeed<ItemEntity> changeFeed;
+    private final Object updateLock = new Object();
+
+    private volatile Map<UUID, Tenant<TenantIndex>> tenants = new ConcurrentHashMap<>();
+    // Set once a full scan has been swapped in; from then on a missing company simply has no items
+    private volatile boolean complete;
+    // Changes made while a rebuild is scanning, replayed onto the new index before it is swapped in
+    private List<Consumer<Map<UUID, TenantIndex>>> pendingChanges;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${pos.item-search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                           @Value("${pos.item-search.refresh-overlap-seconds:60}") long refreshOverlapSeconds) {
+        this.itemRepository = itemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.changeFeed = new ChangeFeed<>(itemRepository::findChangesSince, ItemEntity::getLastModifiedDate,
+                ItemEntity::getId, refreshOverlapSeconds);
+    }
+
+    public List<SearchableItem> search(UUID companyId, UUID branchId, String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (companyId == null || terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        TenantIndex index;
+        if (complete) {
+            Tenant<TenantIndex> tenant = tenants.get(companyId);
+            index = tenant != null ? tenant.awaitLoaded() : null;
+        } else {
+            index = TenantIndexSupport.awaitTenant(tenants, companyId, this::load);
+        }
+        if (index == null) {
+            return List.of();
+        }
+        return index.search(branchId, terms, limit);
+    }
+
+    public void index(ItemEntity item) {
+        UUID companyId = item.getCompanyId();
+        if (companyId == null || item.getId() == null) {
+            return;
+        }
+        Consumer<TenantIndex> change = changeOf(item);
+        TenantIndexSupport.afterCommit(() -> apply(companyId, change));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            Thread rebuild = new Thread(this::rebuild, "item-search-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+        }
+    }
+
+    public void rebuild() {
+        synchronized (updateLock) {
+            if (pendingChanges != null) {
+                log.info("Item search index rebuild already running");
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        Map<UUID, TenantIndex> rebuilt = new ConcurrentHashMap<>();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<SearchableItem> items = itemRepository.streamActiveSearchableItems()) {
+                    items.forEach(item -> rebuilt.computeIfAbsent(item.companyId(), id -> new TenantIndex()).put(item));
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                pendingChanges = null;
+            }
+            log.error("Item search index rebuild failed, companies will be loaded on first search", e);
+            return;
+        }
+
+        synchronized (updateLock) {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            Map<UUID, Tenant<TenantIndex>> loaded = new ConcurrentHashMap<>();
+            rebuilt.forEach((companyId, index) -> loaded.put(companyId, Tenant.completed(index)));
+            tenants = loaded;
+            complete = true;
+        }
+        log.info("Rebuilt item search index for {} companies with {} items in {} ms", rebuilt.size(),
+                rebuilt.values().stream().mapToInt(TenantIndex::size).sum(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies items changed since the last refresh, on any instance, to the index. A row is applied
+     * as it is now, so seeing it twice is harmless.
+     */
+    public void refresh() {
+        int seen = changeFeed.refresh(item -> {
+            if (item.getCompanyId() == null) {
+                return false;
+            }
+            apply(item.getCompanyId(), changeOf(item));
+            return true;
+        });
+        if (seen > 0) {
+            log.debug("Refreshed item search index with {} changed items", seen);
+        }
+    }
+
+    private static Consumer<TenantIndex> changeOf(ItemEntity item) {
+        UUID id = item.getId();
+        if (!item.isActive()) {
+            return index -> index.remove(id);
+        }
+        SearchableItem searchable = new SearchableItem(id, item.getCompanyId(), item.getBranchId(), item.getName(),
+                item.getDescription(), item.getUnit(), item.getUnitPrice(), item.getItemCategoryId());
+        return index -> index.put(searchable);
+    }
+
+    private void apply(UUID companyId, Consumer<TenantIndex> change) {
+        synchronized (updateLock) {
+            // Before the first full scan, a company that is not loaded yet picks the change up from the database
+            Tenant<TenantIndex> tenant = complete
+                    ? tenants.computeIfAbsent(companyId, id -> Tenant.completed(new TenantIndex()))
+                    : tenants.get(companyId);
+            if (tenant != null) {
+                tenant.apply(change);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(rebuilt -> change.accept(rebuilt.computeIfAbsent(companyId, id -> new TenantIndex())));
+            }
+        }
+    }
+
+    private TenantIndex load(UUID companyId) {
+        long start = System.currentTimeMillis();
+        TenantIndex index = new TenantIndex();
+        itemRepository.findActiveSearchableItemsByCompanyId(companyId).forEach(index::put);
+        log.info("Loaded item search index for company {} with {} items in {} ms",
+                companyId, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String gram(String token) {
+        return token.length() > MAX_GRAM ? token.substring(0, MAX_GRAM) : token;
+    }
+
+    private static Set<String> oneEditVariants(String word) {
+        Set<String> variants = new LinkedHashSet<>();
+        for (int i = 0; i < word.length(); i++) {
+            variants.add(word.substring(0, i) + word.substring(i + 1));
+            if (i + 1 < word.length()) {
+                variants.add(word.substring(0, i) + word.charAt(i + 1) + word.charAt(i) + word.substring(i + 2));
+            }
+            for (int c = 0; c < TYPO_ALPHABET.length(); c++) {
+                variants.add(word.substring(0, i) + TYPO_ALPHABET.charAt(c) + word.substring(i + 1));
+            }
+        }
+        for (int i = 0; i <= word.length(); i++) {
+            for (int c = 0; c < TYPO_ALPHABET.length(); c++) {
+                variants.add(gram(word.substring(0, i) + TYPO_ALPHABET.charAt(c) + word.substring(i)));
+            }
+        }
+        variants.remove(word);
+        variants.remove("");
+        return variants;
+    }
+
+    private static final class TenantIndex {
+
+        private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> idsByGram = new ConcurrentHashMap<>();
+
+        int size() {
+            return documents.size();
+        }
+
+        synchronized void put(SearchableItem item) {
+            remove(item.id());
+            Document document = Document.of(item);
+            documents.put(item.id(), document);
+            for (String gram : document.grams()) {
+                idsByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(item.id());
+            }
+        }
+
+        synchronized void remove(UUID id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String gram : document.grams()) {
+                Set<UUID> ids = idsByGram.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        idsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<SearchableItem> search(UUID branchId, List<String> terms, int limit) {
+            // Walk the rarest posting set and probe the others, so no set is copied
+            List<QueryTerm> queryTerms = new ArrayList<>(terms.size());
+            List<Set<UUID>> postings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                QueryTerm queryTerm = resolve(term);
+                if (queryTerm == null) {
+                    return List.of();
+                }
+                queryTerms.add(queryTerm);
+                postings.add(queryTerm.ids());
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+
+            String phrase = String.join(" ", terms);
+            List<ScoredDocument> matches = new ArrayList<>();
+            for (UUID id : postings.get(0)) {
+                if (!inAll(id, postings)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (document == null || (branchId != null && !branchId.equals(document.item().branchId()))) {
+                    continue;
+                }
+                int score = document.score(queryTerms, phrase);
+                if (score > 0) {
+                    matches.add(new ScoredDocument(document, score));
+                }
+            }
+
+            matches.sort(Comparator.comparingInt(ScoredDocument::score).reversed()
+                    .thenComparingInt(match -> match.document().name().length())
+                    .thenComparing(match -> match.document().name()));
+            List<SearchableItem> results = new ArrayList<>(Math.min(limit, matches.size()));
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                results.add(matches.get(i).document().item());
+            }
+            return results;
+        }
+
+        // The term itself when some word starts with it, otherwise its indexed one-edit variants
+        private QueryTerm resolve(String term) {
+            String gram = gram(term);
+            Set<UUID> ids = idsByGram.get(gram);
+            if (ids != null) {
+                return new QueryTerm(List.of(term), false, ids);
+            }
+            if (term.length() < MIN_TYPO_LENGTH) {
+                return null;
+            }
+            List<String> corrections = new ArrayList<>();
+            Set<UUID> correctedIds = new HashSet<>();
+            for (String variant : oneEditVariants(gram)) {
+                Set<UUID> variantIds = idsByGram.get(variant);
+                if (variantIds != null) {
+                    corrections.add(variant);
+                    correctedIds.addAll(variantIds);
+                }
+            }
+            return corrections.isEmpty() ? null : new QueryTerm(corrections, true, correctedIds);
+        }
+
+        private static boolean inAll(UUID id, List<Set<UUID>> postings) {
+            for (int i = 1; i < postings.size(); i++) {
+                if (!postings.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record ScoredDocument(Document document, int score) {}
+
+    private record QueryTerm(List<String> forms, boolean corrected, Set<UUID> ids) {}
+
+    private record Document(SearchableItem item, String name, List<String> nameTokens, List<String> otherTokens) {
+
+        static Document of(SearchableItem item) {
+            List<String> nameTokens = tokenize(item.name());
+            List<String> otherTokens = tokenize(item.description());
+            otherTokens.addAll(tokenize(item.unit()));
+            return new Document(item, String.join(" ", nameTokens), nameTokens, otherTokens);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new LinkedHashSet<>();
+            addGrams(nameTokens, grams);
+            addGrams(otherTokens, grams);
+            return grams;
+        }
+
+        private static void addGrams(List<String> tokens, Set<String> grams) {
+            for (String token : tokens) {
+                String longest = gram(token);
+                for (int length = 1; length <= longest.length(); length++) {
+                    grams.add(longest.substring(0, length));
+                }
+            }
+        }
+
+        // Zero when some query word starts no word of the item (possible for words longer than MAX_GRAM)
+        int score(List<QueryTerm> terms, String phrase) {
+            int score = 0;
+            boolean corrected = false;
+            for (QueryTerm term : terms) {
+                int best = 0;
+                for (String form : term.forms()) {
+                    best = Math.max(best, score(form));
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                if (term.corrected()) {
+                    corrected = true;
+                    best = Math.max(best / 2, 1);
+                }
+                score += best;
+            }
+            // Typing the start of the name ranks above matching scattered words
+            return !corrected && name.startsWith(phrase) ? score + 5 : score;
+        }
+
+        private int score(String term) {
+            int best = 0;
+            for (int i = 0; i < nameTokens.size(); i++) {
+                String token = nameTokens.get(i);
+                if (token.startsWith(term)) {
+                    int wordScore = token.length() == term.length() ? 10 : 6;
+                    best = Math.max(best, wordScore - Math.min(i, 2));
+                }
+            }
+            if (best == 0) {
+                for (String token : otherTokens) {
+                    if (token.startsWith(term)) {
+                        best = Math.max(best, token.length() == term.length() ? 3 : 2);
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
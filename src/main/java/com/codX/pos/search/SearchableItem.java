@@ -0,0 +1,7 @@
+package com.codX.pos.search;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record SearchableItem(UUID id, UUID companyId, UUID branchId, String name, String description,
+                             String unit, BigDecimal unitPrice, UUID itemCategoryId) {}
@@ -0,0 +1,174 @@
+package com.codX.pos.search;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Loading and refresh machinery shared by the per-company search indexes. A tenant's holder is
+ * published before its load runs, so writes committed meanwhile are queued and replayed onto the
+ * loaded index instead of being lost; writes made on other instances are found by paging through
+ * rows by last modified date and id.
+ */
+final class TenantIndexSupport {
+
+    // The lowest id in MySQL's unsigned BINARY(16) order, like SyncCursor's
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private TenantIndexSupport() {
+    }
+
+    // A rolled back write must not show up in search results
+    static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Returns the company's index, loading it on this thread if no other search has started to.
+     * A failed load is removed again, so the next search retries it.
+     */
+    static <I> I awaitTenant(Map<UUID, Tenant<I>> tenants, UUID companyId, Function<UUID, I> loader) {
+        Tenant<I> tenant = tenants.get(companyId);
+        if (tenant == null) {
+            Tenant<I> created = new Tenant<>();
+            tenant = tenants.putIfAbsent(companyId, created);
+            if (tenant == null) {
+                tenant = created;
+                I index;
+                try {
+                    index = loader.apply(companyId);
+                } catch (RuntimeException e) {
+                    // The next search loads again; changes queued meanwhile are in the database by then
+                    tenants.remove(companyId, created);
+                    created.failed(e);
+                    throw e;
+                }
+                created.loaded(index);
+            }
+        }
+        return tenant.awaitLoaded();
+    }
+
+    static final class Tenant<I> {
+
+        private final CompletableFuture<I> ready = new CompletableFuture<>();
+        // Changes arriving while the tenant loads; null once they have been replayed
+        private List<Consumer<I>> pendingChanges = new ArrayList<>();
+        private I index;
+
+        static <I> Tenant<I> completed(I index) {
+            Tenant<I> tenant = new Tenant<>();
+            tenant.loaded(index);
+            return tenant;
+        }
+
+        synchronized void apply(Consumer<I> change) {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            } else {
+                change.accept(index);
+            }
+        }
+
+        void loaded(I loaded) {
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                pendingChanges = null;
+                index = loaded;
+            }
+            ready.complete(loaded);
+        }
+
+        void failed(RuntimeException e) {
+            ready.completeExceptionally(e);
+        }
+
+        I awaitLoaded() {
+            try {
+                return ready.join();
+            } catch (CompletionException e) {
+                // Searches waiting on a failed load fail the same way the loading search did
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    interface ChangeSource<E> {
+        List<E> findChangesSince(LocalDateTime since, UUID afterId, Pageable pageable);
+    }
+
+    /**
+     * Pages through rows changed since the last refresh, on any instance. Each refresh rescans
+     * {@code overlapSeconds} back, for rows stamped before but committed after the previous one, so
+     * a row may be seen twice and must be applied as it is now.
+     */
+    static final class ChangeFeed<E> {
+
+        private static final int PAGE_SIZE = 1000;
+
+        private final ChangeSource<E> source;
+        private final Function<E, LocalDateTime> lastModified;
+        private final Function<E, UUID> id;
+        private final long overlapSeconds;
+        private LocalDateTime refreshedUntil = LocalDateTime.now();
+
+        ChangeFeed(ChangeSource<E> source, Function<E, LocalDateTime> lastModified, Function<E, UUID> id,
+                   long overlapSeconds) {
+            this.source = source;
+            this.lastModified = lastModified;
+            this.id = id;
+            this.overlapSeconds = overlapSeconds;
+        }
+
+        // Hands every changed row to apply and returns how many it reported as applied
+        synchronized int refresh(Predicate<E> apply) {
+            LocalDateTime since = refreshedUntil.minusSeconds(overlapSeconds);
+            UUID afterId = MIN_ID;
+            LocalDateTime latest = refreshedUntil;
+            int applied = 0;
+            List<E> changes;
+            do {
+                changes = source.findChangesSince(since, afterId, PageRequest.of(0, PAGE_SIZE));
+                for (E row : changes) {
+                    if (apply.test(row)) {
+                        applied++;
+                    }
+                    if (lastModified.apply(row).isAfter(latest)) {
+                        latest = lastModified.apply(row);
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    E last = changes.get(changes.size() - 1);
+                    since = lastModified.apply(last);
+                    afterId = id.apply(last);
+                }
+            } while (changes.size() == PAGE_SIZE);
+            refreshedUntil = latest;
+            return applied;
+        }
+    }
+}
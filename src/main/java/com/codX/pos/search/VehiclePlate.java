@@ -0,0 +1,5 @@
+package com.codX.pos.search;
+
+import java.util.UUID;
+
+public record VehiclePlate(UUID id, String vehicleNumber) {}
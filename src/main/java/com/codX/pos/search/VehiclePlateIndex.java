@@ -0,0 +1,259 @@
+package com.codX.pos.search;
+
+import com.codX.pos.entity.VehicleEntity;
+import com.codX.pos.repository.VehicleRepository;
+import com.codX.pos.search.TenantIndexSupport.ChangeFeed;
+import com.codX.pos.search.TenantIndexSupport.Tenant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory plate number index, one per company. Plates are normalized (spaces and dashes
+ * stripped, upper-cased) and indexed twice: a sorted map for prefix lookups and a trigram
+ * posting list for substring lookups.
+ * <p>
+ * A tenant is loaded from the database on its first search, through {@link TenantIndexSupport}.
+ * Writes on this instance reach the index through
+ * {@link com.codX.pos.service.impl.VehicleServiceImpl} after they commit; writes on other instances
+ * are picked up by {@link #refresh()}, which rescans vehicles by last modified date.
+ */
+@Slf4j
+@Component
+public class VehiclePlateIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final VehicleRepository vehicleRepository;
+    private final ChangeFeed<VehicleEntity> changeFeed;
+    private final Map<UUID, Tenant<TenantIndex>> tenants = new ConcurrentHashMap<>();
+
+    public VehiclePlateIndex(VehicleRepository vehicleRepository,
+                             @Value("${pos.vehicle-search.refresh-overlap-seconds:60}") long refreshOverlapSeconds) {
+        this.vehicleRepository = vehicleRepository;
+        this.changeFeed = new ChangeFeed<>(vehicleRepository::findChangesSince, VehicleEntity::getLastModifiedDate,
+                VehicleEntity::getId, refreshOverlapSeconds);
+    }
+
+    public List<UUID> search(UUID companyId, String query, int limit) {
+        String normalized = normalize(query);
+        if (companyId == null || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return TenantIndexSupport.awaitTenant(tenants, companyId, this::load).search(normalized, limit);
+    }
+
+    public void index(VehicleEntity vehicle) {
+        afterCommit(vehicle.getCompanyId(), changeOf(vehicle));
+    }
+
+    public void remove(VehicleEntity vehicle) {
+        UUID id = vehicle.getId();
+        afterCommit(vehicle.getCompanyId(), index -> index.remove(id));
+    }
+
+    /**
+     * Applies vehicles changed since the last refresh, on any instance, to the tenants loaded here.
+     * A row is applied as it is now, so seeing it twice is harmless.
+     */
+    public void refresh() {
+        int applied = changeFeed.refresh(vehicle -> {
+            Tenant<TenantIndex> tenant = tenants.get(vehicle.getCompanyId());
+            if (tenant == null) {
+                return false;
+            }
+            tenant.apply(changeOf(vehicle));
+            return true;
+        });
+        if (applied > 0) {
+            log.debug("Refreshed plate index with {} changed vehicles", applied);
+        }
+    }
+
+    public static String normalize(String plate) {
+        if (plate == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(plate.length());
+        for (int i = 0; i < plate.length(); i++) {
+            char c = plate.charAt(i);
+            if (c == '-' || Character.isWhitespace(c)) {
+                continue;
+            }
+            normalized.append(Character.toUpperCase(c));
+        }
+        return normalized.toString();
+    }
+
+    private static Consumer<TenantIndex> changeOf(VehicleEntity vehicle) {
+        UUID id = vehicle.getId();
+        String vehicleNumber = vehicle.getVehicleNumber();
+        return vehicle.isActive()
+                ? index -> index.put(id, vehicleNumber)
+                : index -> index.remove(id);
+    }
+
+    private void afterCommit(UUID companyId, Consumer<TenantIndex> change) {
+        if (companyId != null) {
+            TenantIndexSupport.afterCommit(() -> apply(companyId, change));
+        }
+    }
+
+    private void apply(UUID companyId, Consumer<TenantIndex> change) {
+        // A tenant not loaded yet reads the committed write from the database on its first search
+        Tenant<TenantIndex> tenant = tenants.get(companyId);
+        if (tenant != null) {
+            tenant.apply(change);
+        }
+    }
+
+    private TenantIndex load(UUID companyId) {
+        long start = System.currentTimeMillis();
+        TenantIndex index = new TenantIndex();
+        for (VehiclePlate plate : vehicleRepository.findActivePlatesByCompanyId(companyId)) {
+            index.put(plate.id(), plate.vehicleNumber());
+        }
+        log.info("Loaded plate index for company {} with {} vehicles in {} ms",
+                companyId, index.size(), System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private static final class TenantIndex {
+
+        private final NavigableMap<String, Set<UUID>> idsByPlate = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<String>> platesByGram = new ConcurrentHashMap<>();
+        private final Map<UUID, String> plateById = new ConcurrentHashMap<>();
+
+        int size() {
+            return plateById.size();
+        }
+
+        synchronized void put(UUID id, String vehicleNumber) {
+            String plate = normalize(vehicleNumber);
+            String previous = plateById.put(id, plate);
+            if (plate.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            Set<UUID> ids = idsByPlate.computeIfAbsent(plate, p -> ConcurrentHashMap.newKeySet());
+            if (ids.isEmpty()) {
+                for (String gram : grams(plate)) {
+                    platesByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(plate);
+                }
+            }
+            ids.add(id);
+        }
+
+        synchronized void remove(UUID id) {
+            String plate = plateById.remove(id);
+            if (plate != null) {
+                unlink(id, plate);
+            }
+        }
+        private void unlink(UUID id, String plate) {
+            Set<UUID> ids = idsByPlate.get(plate);
+            if (ids == null) {
+                return;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByPlate.remove(plate);
+                for (String gram : grams(plate)) {
+                    Set<String> plates = platesByGram.get(gram);
+                    if (plates != null) {
+                        plates.remove(plate);
+                        if (plates.isEmpty()) {
+                            platesByGram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<UUID> search(String query, int limit) {
+            // Exact and prefix matches come first, in plate order
+            Set<String> matches = new LinkedHashSet<>();
+            for (String plate : idsByPlate.subMap(query, true, query + Character.MAX_VALUE, false).keySet()) {
+                matches.add(plate);
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+
+            // Substring matches fill the rest, ranked by match position and then plate length
+            if (matches.size() < limit && query.length() >= GRAM_SIZE) {
+                List<String> substringMatches = new ArrayList<>();
+                for (String plate : candidates(query)) {
+                    if (!matches.contains(plate) && plate.contains(query)) {
+                        substringMatches.add(plate);
+                    }
+                }
+                substringMatches.sort(Comparator.<String>comparingInt(plate -> plate.indexOf(query))
+                        .thenComparingInt(String::length)
+                        .thenComparing(Comparator.naturalOrder()));
+                for (String plate : substringMatches) {
+                    matches.add(plate);
+                    if (matches.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+
+            List<UUID> ids = new ArrayList<>(Math.min(limit, matches.size()));
+            for (String plate : matches) {
+                Set<UUID> plateIds = idsByPlate.get(plate);
+                if (plateIds == null) {
+                    continue;
+                }
+                for (UUID id : plateIds) {
+                    if (ids.size() >= limit) {
+                        return ids;
+                    }
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        private Set<String> candidates(String query) {
+            // Intersect the posting lists, starting from the rarest gram
+            List<Set<String>> postings = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<String> plates = platesByGram.get(gram);
+                if (plates == null) {
+                    return Set.of();
+                }
+                postings.add(plates);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+
+            Set<String> candidates = new LinkedHashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(postings.get(i));
+            }
+            return candidates;
+        }
+
+        private static Set<String> grams(String plate) {
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM_SIZE <= plate.length(); i++) {
+                grams.add(plate.substring(i, i + GRAM_SIZE));
+            }
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.codX.pos.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface BranchActivityService {
+    SseEmitter streamBranchActivity(UUID branchId);
+}
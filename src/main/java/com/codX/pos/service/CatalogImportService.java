@@ -0,0 +1,14 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ImportFormat;
+import com.codX.pos.dto.response.CatalogImportJobResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface CatalogImportService {
+    CatalogImportJobResponse startImport(CatalogType catalogType, ImportFormat format, InputStream content);
+    CatalogImportJobResponse getImportJob(UUID jobId);
+    void cleanupJobs();
+}
@@ -0,0 +1,11 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.CatalogType;
+
+import java.util.UUID;
+
+public interface CatalogVersionService {
+    String getCompanyETag(CatalogType catalogType, UUID companyId);
+    String getBranchETag(CatalogType catalogType, UUID branchId);
+    void recordChange(CatalogType catalogType, UUID companyId, UUID branchId);
+}
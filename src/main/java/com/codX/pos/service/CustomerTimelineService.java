@@ -0,0 +1,15 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.response.CustomerTimelineResponse;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.ServiceRecordEntity;
+import com.codX.pos.entity.TimelineEventType;
+
+import java.util.List;
+
+public interface CustomerTimelineService {
+    void recordServiceRecordEvent(ServiceRecordEntity serviceRecord, TimelineEventType eventType);
+    void recordInvoiceEvent(InvoiceEntity invoice, TimelineEventType eventType);
+    void recordInvoiceEvents(List<InvoiceEntity> invoices, TimelineEventType eventType);
+    CustomerTimelineResponse getServiceHistory(String cursor, int size);
+}
@@ -0,0 +1,10 @@
+package com.codX.pos.service;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    UUID execute(String idempotencyKey, Object request, Supplier<UUID> action);
+    <T> T execute(String idempotencyKey, Object request, Class<T> resultType, Supplier<T> action);
+    void cleanupExpiredKeys();
+}
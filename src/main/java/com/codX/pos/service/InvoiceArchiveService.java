@@ -0,0 +1,6 @@
+package com.codX.pos.service;
+
+public interface InvoiceArchiveService {
+    int archiveClosedInvoices();
+    int moveArchivedInvoicesToColdStorage();
+}
@@ -0,0 +1,10 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.DocumentFormat;
+import com.codX.pos.render.InvoiceDocument;
+
+import java.util.UUID;
+
+public interface InvoiceDocumentService {
+    InvoiceDocument renderInvoice(UUID invoiceId, DocumentFormat format);
+}
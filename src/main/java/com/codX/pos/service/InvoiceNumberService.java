@@ -0,0 +1,9 @@
+package com.codX.pos.service;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InvoiceNumberService {
+    List<String> reserve(UUID companyId, int count);
+    String peekNext(UUID companyId);
+}
@@ -1,7 +1,9 @@
 package com.codX.pos.service;
 
+import com.codX.pos.dto.request.CreateInvoiceBatchRequest;
 import com.codX.pos.dto.request.CreateInvoiceRequest;
 import com.codX.pos.dto.request.UpdateInvoiceDiscountRequest;
+import com.codX.pos.dto.response.InvoiceBatchResponse;
 import com.codX.pos.dto.response.InvoiceResponse;
 import com.codX.pos.dto.response.InvoicePreviewResponse;
 import com.codX.pos.entity.InvoiceEntity;
@@ -14,9 +16,14 @@ import java.util.UUID;
 public interface InvoiceService {
     InvoiceEntity createServiceInvoice(UUID serviceRecordId);
     InvoiceEntity createItemSaleInvoice(CreateInvoiceRequest request);
+    InvoiceEntity createItemSaleInvoice(CreateInvoiceRequest request, String idempotencyKey);
+    InvoiceBatchResponse createItemSaleInvoiceBatch(CreateInvoiceBatchRequest request);
+    InvoiceBatchResponse createItemSaleInvoiceBatch(CreateInvoiceBatchRequest request, String idempotencyKey);
     InvoiceEntity createMixedInvoice(CreateInvoiceRequest request);
     InvoiceResponse getInvoiceById(UUID id);
     InvoiceResponse getInvoiceByNumber(String invoiceNumber);
+    byte[] getInvoiceJsonById(UUID id);
+    byte[] getInvoiceJsonByNumber(String invoiceNumber);
     List<InvoiceResponse> getInvoicesByCustomer(UUID customerId);
     List<InvoiceResponse> getInvoicesByCompany(UUID companyId);
     List<InvoiceResponse> getInvoicesByBranch(UUID branchId);
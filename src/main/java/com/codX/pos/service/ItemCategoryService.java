@@ -10,6 +10,8 @@ public interface ItemCategoryService {
     ItemCategoryEntity createItemCategory(CreateItemCategoryRequest request);
     List<ItemCategoryEntity> getItemCategoriesByCompany(UUID companyId);
     List<ItemCategoryEntity> getItemCategoriesByBranch(UUID companyId, UUID branchId);
+    String getItemCategoriesByCompanyETag(UUID companyId);
+    String getItemCategoriesByBranchETag(UUID companyId, UUID branchId);
     ItemCategoryEntity getItemCategoryById(UUID id);
     ItemCategoryEntity updateItemCategory(UUID id, CreateItemCategoryRequest request);
     void deactivateItemCategory(UUID id);
@@ -1,7 +1,12 @@
 package com.codX.pos.service;
 
+import com.codX.pos.dto.ItemCatalogQuery;
+import com.codX.pos.dto.SyncCursor;
 import com.codX.pos.dto.request.CreateItemRequest;
 import com.codX.pos.dto.request.DiscountRequest;
+import com.codX.pos.dto.response.ItemCatalogPageResponse;
+import com.codX.pos.dto.response.ItemSearchResult;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.entity.ItemEntity;
 
 import java.util.List;
@@ -12,6 +17,13 @@ public interface ItemService {
     List<ItemEntity> getItemsByCategory(UUID categoryId);
     List<ItemEntity> getItemsByCompany(UUID companyId);
     List<ItemEntity> getItemsByBranch(UUID branchId);
+    String getItemsByCategoryETag(UUID categoryId);
+    String getItemsByCompanyETag(UUID companyId);
+    String getItemsByBranchETag(UUID branchId);
+    ItemCatalogPageResponse getItemCatalogPage(UUID branchId, ItemCatalogQuery query);
+    String getItemCatalogPageETag(UUID branchId, ItemCatalogQuery query);
+    List<ItemSearchResult> searchItems(UUID branchId, String query, int limit);
+    SyncResponse<ItemEntity> getItemChangesByBranch(UUID branchId, SyncCursor cursor);
     ItemEntity getItemById(UUID id);
     ItemEntity updateItem(UUID id, CreateItemRequest request);
     ItemEntity updateDefaultDiscount(UUID id, DiscountRequest discountRequest); // NEW
@@ -0,0 +1,18 @@
+package com.codX.pos.service;
+
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.OutboxEventType;
+import com.codX.pos.entity.ServiceRecordEntity;
+import com.codX.pos.entity.ServiceStatus;
+import com.codX.pos.entity.StockMovementEntity;
+
+import java.util.List;
+
+public interface OutboxService {
+    void publishInvoiceEvent(InvoiceEntity invoice, OutboxEventType eventType);
+    void publishInvoiceEvents(List<InvoiceEntity> invoices, OutboxEventType eventType);
+    void publishServiceRecordEvent(ServiceRecordEntity serviceRecord, ServiceStatus previousStatus, OutboxEventType eventType);
+    void publishStockEvents(List<StockMovementEntity> movements);
+    int relayPendingEvents();
+    void cleanupPublishedEvents();
+}
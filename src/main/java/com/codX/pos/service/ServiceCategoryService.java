@@ -10,6 +10,8 @@ public interface ServiceCategoryService {
     ServiceCategoryEntity createServiceCategory(CreateServiceCategoryRequest request);
     List<ServiceCategoryEntity> getServiceCategoriesByCompany(UUID companyId);
     List<ServiceCategoryEntity> getServiceCategoriesByBranch(UUID companyId, UUID branchId);
+    String getServiceCategoriesByCompanyETag(UUID companyId);
+    String getServiceCategoriesByBranchETag(UUID companyId, UUID branchId);
     ServiceCategoryEntity getServiceCategoryById(UUID id);
     ServiceCategoryEntity updateServiceCategory(UUID id, CreateServiceCategoryRequest request);
     void deactivateServiceCategory(UUID id);
@@ -1,7 +1,9 @@
 package com.codX.pos.service;
 
+import com.codX.pos.dto.SyncCursor;
 import com.codX.pos.dto.request.CreateServiceRecordRequest;
 import com.codX.pos.dto.response.ServiceRecordResponse;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.entity.ServiceRecordEntity;
 
 import java.time.LocalDateTime;
@@ -13,6 +15,7 @@ public interface ServiceRecordService {
     List<ServiceRecordResponse> getServiceRecordsByVehicle(UUID vehicleId);
     List<ServiceRecordResponse> getServiceRecordsByCustomer(UUID customerId);
     List<ServiceRecordResponse> getServiceRecordsByBranch(UUID branchId); // NEW
+    SyncResponse<ServiceRecordResponse> getServiceRecordChangesByBranch(UUID branchId, SyncCursor cursor);
     List<ServiceRecordResponse> getServiceRecordsByDateRange(LocalDateTime startDate, LocalDateTime endDate);
     ServiceRecordResponse getServiceRecordById(UUID id);
     ServiceRecordEntity updateServiceRecord(UUID id, CreateServiceRecordRequest request);
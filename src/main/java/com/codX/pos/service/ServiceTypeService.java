@@ -12,6 +12,9 @@ public interface ServiceTypeService {
     List<ServiceTypeEntity> getServiceTypesByCategory(UUID categoryId);
     List<ServiceTypeEntity> getServiceTypesByCompany(UUID companyId);
     List<ServiceTypeEntity> getServiceTypesByBranch(UUID branchId);
+    String getServiceTypesByCategoryETag(UUID categoryId);
+    String getServiceTypesByCompanyETag(UUID companyId);
+    String getServiceTypesByBranchETag(UUID branchId);
     ServiceTypeEntity getServiceTypeById(UUID id);
     ServiceTypeEntity updateServiceType(UUID id, CreateServiceTypeRequest request);
     ServiceTypeEntity updateDefaultDiscount(UUID id, DiscountRequest discountRequest); // NEW
@@ -0,0 +1,20 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.response.StockLevelResponse;
+import com.codX.pos.dto.response.StockMovementResponse;
+import com.codX.pos.entity.ItemEntity;
+import com.codX.pos.entity.StockMovementEntity;
+import com.codX.pos.entity.StockMovementType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface StockLedgerService {
+    void recordMovement(ItemEntity item, int quantity, StockMovementType movementType, UUID referenceId);
+    void recordMovements(List<StockMovementEntity> movements);
+    int recordServiceRecordRestore(UUID serviceRecordId, UUID companyId);
+    StockLevelResponse getStockLevel(UUID itemId, LocalDateTime at);
+    List<StockMovementResponse> getMovements(UUID itemId, LocalDateTime from, LocalDateTime to, int limit);
+    int takeSnapshots();
+}
@@ -0,0 +1,7 @@
+package com.codX.pos.service;
+
+import com.codX.pos.dto.response.VehicleOverviewResponse;
+
+public interface VehicleOverviewService {
+    VehicleOverviewResponse getVehicleOverview(String vehicleNumber);
+}
@@ -1,6 +1,8 @@
 package com.codX.pos.service;
 
+import com.codX.pos.dto.SyncCursor;
 import com.codX.pos.dto.request.CreateVehicleRequest;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.dto.response.VehicleResponse;
 import com.codX.pos.entity.VehicleEntity;
 
@@ -12,10 +14,11 @@ public interface VehicleService {
     List<VehicleResponse> getVehiclesByCustomer(UUID customerId);
     List<VehicleResponse> getVehiclesByCompany(UUID companyId);
     List<VehicleResponse> getVehiclesByBranch(UUID branchId); // NEW METHOD
+    SyncResponse<VehicleResponse> getVehicleChangesByBranch(UUID branchId, SyncCursor cursor);
     List<VehicleResponse> getAllVehicles(); // NEW METHOD
     VehicleResponse getVehicleById(UUID id);
     VehicleResponse getVehicleByNumber(String vehicleNumber);
-    List<VehicleResponse> searchVehiclesByNumber(String vehicleNumber);
+    List<VehicleResponse> searchVehiclesByNumber(String vehicleNumber, int limit);
     VehicleEntity updateVehicle(UUID id, CreateVehicleRequest request);
     void deactivateVehicle(UUID id);
 }
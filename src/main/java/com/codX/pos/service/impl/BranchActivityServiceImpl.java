@@ -0,0 +1,49 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.entity.BranchEntity;
+import com.codX.pos.exception.UnauthorizedException;
+import com.codX.pos.live.BranchActivityBus;
+import com.codX.pos.repository.BranchRepository;
+import com.codX.pos.service.BranchActivityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BranchActivityServiceImpl implements BranchActivityService {
+
+    private final BranchActivityBus branchActivityBus;
+    private final BranchRepository branchRepository;
+
+    @Override
+    public SseEmitter streamBranchActivity(UUID branchId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        switch (currentUser.role()) {
+            case SUPER_ADMIN:
+                break;
+            case COMPANY_ADMIN:
+                BranchEntity branch = branchRepository.findById(branchId)
+                        .orElseThrow(() -> new RuntimeException("Branch not found"));
+                if (!currentUser.companyId().equals(branch.getCompanyId())) {
+                    throw new UnauthorizedException("Access denied to branch");
+                }
+                break;
+            case BRANCH_ADMIN:
+            case POS_USER:
+                if (!currentUser.branchId().equals(branchId)) {
+                    throw new UnauthorizedException("You can only follow activity of your own branch");
+                }
+                break;
+            default:
+                throw new UnauthorizedException("Insufficient permissions to follow branch activity");
+        }
+
+        return branchActivityBus.subscribe(branchId);
+    }
+}
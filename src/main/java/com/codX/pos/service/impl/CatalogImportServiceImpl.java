@@ -0,0 +1,531 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ImportFormat;
+import com.codX.pos.dto.ImportJobStatus;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.request.CreateItemRequest;
+import com.codX.pos.dto.request.CreateServiceTypeRequest;
+import com.codX.pos.dto.response.CatalogImportJobResponse;
+import com.codX.pos.dto.response.CatalogImportJobResponse.RowError;
+import com.codX.pos.entity.*;
+import com.codX.pos.exception.UnauthorizedException;
+import com.codX.pos.repository.CatalogImportJobRepository;
+import com.codX.pos.repository.ItemCategoryRepository;
+import com.codX.pos.repository.ItemRepository;
+import com.codX.pos.repository.ServiceCategoryRepository;
+import com.codX.pos.repository.ServiceTypeRepository;
+import com.codX.pos.search.ItemSearchIndex;
+import com.codX.pos.service.CatalogImportService;
+import com.codX.pos.service.CatalogVersionService;
+import com.codX.pos.service.StockLedgerService;
+import com.codX.pos.util.CsvLineParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items or service types from CSV (with a header row naming the request fields) or NDJSON
+ * (one request object per line). The upload is spooled to a temp file and processed on the
+ * catalog import executor in chunks: one name lookup per chunk finds the rows to update, the rest
+ * are inserted, and each chunk commits on its own. Rows that fail validation are reported with
+ * their line number and skipped. Job progress is written to the catalog_import_jobs table after
+ * every chunk, so any instance can answer a status poll.
+ */
+@Slf4j
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final ItemCategoryRepository itemCategoryRepository;
+    private final ServiceCategoryRepository serviceCategoryRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final StockLedgerService stockLedgerService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor catalogImportExecutor;
+    private final CatalogImportJobRepository catalogImportJobRepository;
+
+    @Value("${pos.catalog-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${pos.catalog-import.max-bytes:52428800}")
+    private long maxBytes;
+
+    @Value("${pos.catalog-import.job-retention-hours:24}")
+    private int jobRetentionHours;
+
+    @Value("${pos.catalog-import.stale-job-minutes:30}")
+    private int staleJobMinutes;
+
+    public CatalogImportServiceImpl(ItemRepository itemRepository,
+                                    ServiceTypeRepository serviceTypeRepository,
+                                    ItemCategoryRepository itemCategoryRepository,
+                                    ServiceCategoryRepository serviceCategoryRepository,
+                                    ItemSearchIndex itemSearchIndex,
+                                    StockLedgerService stockLedgerService,
+                                    CatalogVersionService catalogVersionService,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("catalogImportExecutor") ThreadPoolTaskExecutor catalogImportExecutor,
+                                    CatalogImportJobRepository catalogImportJobRepository) {
+        this.itemRepository = itemRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.itemCategoryRepository = itemCategoryRepository;
+        this.serviceCategoryRepository = serviceCategoryRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.stockLedgerService = stockLedgerService;
+        this.catalogVersionService = catalogVersionService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogImportExecutor = catalogImportExecutor;
+        this.catalogImportJobRepository = catalogImportJobRepository;
+    }
+
+    @Override
+    public CatalogImportJobResponse startImport(CatalogType catalogType, ImportFormat format, InputStream content) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        if (currentUser.role() != Role.BRANCH_ADMIN && currentUser.role() != Role.COMPANY_ADMIN &&
+                currentUser.role() != Role.SUPER_ADMIN) {
+            throw new UnauthorizedException("Only Branch Admin or above can import catalog entries");
+        }
+        if (catalogType != CatalogType.ITEMS && catalogType != CatalogType.SERVICE_TYPES) {
+            throw new RuntimeException("Only ITEMS and SERVICE_TYPES can be imported");
+        }
+
+        Path file = spool(content);
+        ImportJob job = createJob(catalogType, currentUser.companyId(), file);
+
+        try {
+            catalogImportExecutor.execute(() -> run(job, format, file, currentUser.companyId(), currentUser.branchId()));
+        } catch (TaskRejectedException e) {
+            catalogImportJobRepository.deleteById(job.id);
+            deleteQuietly(file);
+            throw new RuntimeException("Too many catalog imports are running, try again later");
+        }
+        return toResponse(job.toEntity(objectMapper));
+    }
+
+    private ImportJob createJob(CatalogType catalogType, UUID companyId, Path file) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            CatalogImportJobEntity saved = catalogImportJobRepository.save(CatalogImportJobEntity.builder()
+                    .catalogType(catalogType)
+                    .companyId(companyId)
+                    .status(ImportJobStatus.QUEUED)
+                    .submittedAt(now)
+                    .updatedAt(now)
+                    .build());
+            return new ImportJob(saved.getId(), catalogType, companyId, now);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public CatalogImportJobResponse getImportJob(UUID jobId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        CatalogImportJobEntity job = catalogImportJobRepository.findById(jobId)
+                .filter(found -> currentUser.role() == Role.SUPER_ADMIN || Objects.equals(found.getCompanyId(), currentUser.companyId()))
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+        return toResponse(job);
+    }
+
+    @Override
+    public void cleanupJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = catalogImportJobRepository.failStaleJobs(
+                List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING), ImportJobStatus.FAILED,
+                "Import was interrupted, upload the file again", now.minusMinutes(staleJobMinutes), now);
+        int deleted = catalogImportJobRepository.deleteFinishedBefore(now.minusHours(jobRetentionHours));
+        log.info("Marked {} interrupted catalog imports as failed, deleted {} finished ones", abandoned, deleted);
+    }
+
+    private void run(ImportJob job, ImportFormat format, Path file, UUID companyId, UUID branchId) {
+        job.status = ImportJobStatus.RUNNING;
+        saveProgress(job);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (job.catalogType == CatalogType.ITEMS) {
+                Set<UUID> categoryIds = itemCategoryRepository.findByCompanyIdAndIsActiveTrue(companyId).stream()
+                        .map(ItemCategoryEntity::getId)
+                        .collect(Collectors.toSet());
+                importRows(job, reader, format, CreateItemRequest.class, CreateItemRequest::itemCategoryId, categoryIds,
+                        chunk -> upsertItems(chunk, companyId, branchId));
+            } else {
+                Set<UUID> categoryIds = serviceCategoryRepository.findByCompanyIdAndIsActiveTrue(companyId).stream()
+                        .map(ServiceCategoryEntity::getId)
+                        .collect(Collectors.toSet());
+                importRows(job, reader, format, CreateServiceTypeRequest.class, CreateServiceTypeRequest::serviceCategoryId,
+                        categoryIds, chunk -> upsertServiceTypes(chunk, companyId, branchId));
+            }
+            job.finish(ImportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Catalog import {} failed", job.id, e);
+            job.finish(ImportJobStatus.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(file);
+            saveProgress(job);
+        }
+    }
+
+    private <T> void importRows(ImportJob job, BufferedReader reader, ImportFormat format, Class<T> requestType,
+                                Function<T, UUID> categoryOf, Set<UUID> categoryIds,
+                                Function<List<ImportRow<T>>, UpsertResult> upsert) throws IOException {
+        List<String> header = null;
+        List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = CsvLineParser.parse(line.replace("\uFEFF", ""));
+                continue;
+            }
+
+            job.processedRows.incrementAndGet();
+            try {
+                T request = format == ImportFormat.CSV
+                        ? fromCsv(header, line, requestType)
+                        : objectMapper.readValue(line, requestType);
+                String error = validate(request, categoryOf, categoryIds);
+                if (error != null) {
+                    job.rowFailed(lineNumber, error);
+                    continue;
+                }
+                chunk.add(new ImportRow<>(lineNumber, request));
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                job.rowFailed(lineNumber, "Unreadable row: " + e.getMessage());
+            }
+
+            if (chunk.size() >= chunkSize) {
+                writeChunk(job, chunk, upsert);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(job, chunk, upsert);
+        }
+    }
+
+    private <T> T fromCsv(List<String> header, String line, Class<T> requestType) {
+        List<String> values = CsvLineParser.parse(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        return objectMapper.convertValue(fields, requestType);
+    }
+
+    private <T> String validate(T request, Function<T, UUID> categoryOf, Set<UUID> categoryIds) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!categoryIds.contains(categoryOf.apply(request))) {
+            return "Category not found: " + categoryOf.apply(request);
+        }
+        return null;
+    }
+
+    private <T> void writeChunk(ImportJob job, List<ImportRow<T>> chunk, Function<List<ImportRow<T>>, UpsertResult> upsert) {
+        try {
+            UpsertResult result = transactionTemplate.execute(status -> upsert.apply(chunk));
+            job.created.addAndGet(result.created());
+            job.updated.addAndGet(result.updated());
+        } catch (RuntimeException e) {
+            log.warn("Catalog import {} failed to save rows {}-{}", job.id, chunk.get(0).line(),
+                    chunk.get(chunk.size() - 1).line(), e);
+            chunk.forEach(row -> job.rowFailed(row.line(), "Could not be saved: " + e.getMessage()));
+        }
+        saveProgress(job);
+    }
+
+    private void saveProgress(ImportJob job) {
+        try {
+            catalogImportJobRepository.save(job.toEntity(objectMapper));
+        } catch (RuntimeException e) {
+            // The import itself goes on; pollers see the next successful write
+            log.warn("Failed to save progress of catalog import {}", job.id, e);
+        }
+    }
+
+    private CatalogImportJobResponse toResponse(CatalogImportJobEntity job) {
+        List<RowError> errors = List.of();
+        if (job.getErrors() != null) {
+            try {
+                errors = objectMapper.readValue(job.getErrors(), new TypeReference<List<RowError>>() {});
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable errors of catalog import {}", job.getId(), e);
+            }
+        }
+        return CatalogImportJobResponse.builder()
+                .jobId(job.getId())
+                .catalogType(job.getCatalogType())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .created(job.getCreated())
+                .updated(job.getUpdated())
+                .failed(job.getFailed())
+                .errors(errors)
+                .message(job.getMessage())
+                .submittedAt(job.getSubmittedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private UpsertResult upsertItems(List<ImportRow<CreateItemRequest>> rows, UUID companyId, UUID branchId) {
+        // The last row wins when a name repeats; names compare case-insensitively, like the column collation
+        Map<String, CreateItemRequest> byName = new LinkedHashMap<>();
+        rows.forEach(row -> byName.put(nameKey(row.request().name()), row.request()));
+
+        Map<String, ItemEntity> existing = new HashMap<>();
+        itemRepository.findByCompanyIdAndBranchIdAndNameIn(companyId, branchId,
+                        byName.values().stream().map(request -> request.name().trim()).toList())
+                .forEach(item -> existing.putIfAbsent(nameKey(item.getName()), item));
+
+        List<ItemEntity> items = new ArrayList<>(byName.size());
+        List<Integer> stockChanges = new ArrayList<>(byName.size());
+        int created = 0;
+        for (Map.Entry<String, CreateItemRequest> entry : byName.entrySet()) {
+            CreateItemRequest request = entry.getValue();
+            ItemEntity item = existing.get(entry.getKey());
+            if (item == null) {
+                item = ItemEntity.builder()
+                        .name(request.name().trim())
+                        .stockQuantity(request.stockQuantity())
+                        .minStockLevel(request.minStockLevel())
+                        .defaultDiscountValue(BigDecimal.ZERO)
+                        .defaultDiscountType(DiscountType.PERCENTAGE)
+                        .companyId(companyId)
+                        .branchId(branchId)
+                        .build();
+                stockChanges.add(quantityOf(request.stockQuantity()));
+                created++;
+            } else {
+                if (request.stockQuantity() != null) {
+                    stockChanges.add(request.stockQuantity() - quantityOf(item.getStockQuantity()));
+                    item.setStockQuantity(request.stockQuantity());
+                } else {
+                    stockChanges.add(0);
+                }
+                if (request.minStockLevel() != null) {
+                    item.setMinStockLevel(request.minStockLevel());
+                }
+            }
+            item.setDescription(request.description());
+            item.setUnitPrice(request.unitPrice());
+            item.setUnit(request.unit());
+            item.setItemCategoryId(request.itemCategoryId());
+            item.setActive(true);
+            items.add(item);
+        }
+
+        List<ItemEntity> savedItems = itemRepository.saveAll(items);
+        List<StockMovementEntity> movements = new ArrayList<>(savedItems.size());
+        for (int i = 0; i < savedItems.size(); i++) {
+            ItemEntity item = savedItems.get(i);
+            movements.add(StockMovementEntity.builder()
+                    .itemId(item.getId())
+                    .companyId(companyId)
+                    .branchId(branchId)
+                    .movementType(StockMovementType.ADJUSTMENT)
+                    .quantity(stockChanges.get(i))
+                    .build());
+            // Indexed once the chunk commits
+            itemSearchIndex.index(item);
+        }
+        stockLedgerService.recordMovements(movements);
+        catalogVersionService.recordChange(CatalogType.ITEMS, companyId, branchId);
+        return new UpsertResult(created, rows.size() - created);
+    }
+
+    private UpsertResult upsertServiceTypes(List<ImportRow<CreateServiceTypeRequest>> rows, UUID companyId, UUID branchId) {
+        Map<String, CreateServiceTypeRequest> byName = new LinkedHashMap<>();
+        rows.forEach(row -> byName.put(nameKey(row.request().name()), row.request()));
+
+        Map<String, ServiceTypeEntity> existing = new HashMap<>();
+        serviceTypeRepository.findByCompanyIdAndBranchIdAndNameIn(companyId, branchId,
+                        byName.values().stream().map(request -> request.name().trim()).toList())
+                .forEach(serviceType -> existing.putIfAbsent(nameKey(serviceType.getName()), serviceType));
+
+        List<ServiceTypeEntity> serviceTypes = new ArrayList<>(byName.size());
+        int created = 0;
+        for (Map.Entry<String, CreateServiceTypeRequest> entry : byName.entrySet()) {
+            CreateServiceTypeRequest request = entry.getValue();
+            ServiceTypeEntity serviceType = existing.get(entry.getKey());
+            if (serviceType == null) {
+                serviceType = ServiceTypeEntity.builder()
+                        .name(request.name().trim())
+                        .defaultDiscountValue(BigDecimal.ZERO)
+                        .defaultDiscountType(DiscountType.PERCENTAGE)
+                        .companyId(companyId)
+                        .branchId(branchId)
+                        .build();
+                created++;
+            }
+            serviceType.setDescription(request.description());
+            serviceType.setBasePrice(request.basePrice());
+            if (request.estimatedDurationMinutes() != null) {
+                serviceType.setEstimatedDurationMinutes(request.estimatedDurationMinutes());
+            }
+            serviceType.setServiceCategoryId(request.serviceCategoryId());
+            serviceType.setActive(true);
+            serviceTypes.add(serviceType);
+        }
+
+        serviceTypeRepository.saveAll(serviceTypes);
+        catalogVersionService.recordChange(CatalogType.SERVICE_TYPES, companyId, branchId);
+        return new UpsertResult(created, rows.size() - created);
+    }
+
+    private Path spool(InputStream content) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("catalog-import-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                long total = 0;
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new RuntimeException("Import file exceeds the limit of " + maxBytes + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return file;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("Failed to read import file", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete import file {}", file, e);
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int quantityOf(Integer stockQuantity) {
+        return stockQuantity != null ? stockQuantity : 0;
+    }
+
+    private record ImportRow<T>(long line, T request) {}
+
+    private record UpsertResult(int created, int updated) {}
+
+    private static final class ImportJob {
+        private final UUID id;
+        private final CatalogType catalogType;
+        private final UUID companyId;
+        private final LocalDateTime submittedAt;
+        private final AtomicInteger processedRows = new AtomicInteger();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(UUID id, CatalogType catalogType, UUID companyId, LocalDateTime submittedAt) {
+            this.id = id;
+            this.catalogType = catalogType;
+            this.companyId = companyId;
+            this.submittedAt = submittedAt;
+        }
+
+        private void rowFailed(long line, String error) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, error));
+            }
+        }
+
+        private void finish(ImportJobStatus finalStatus, String failureMessage) {
+            message = failureMessage;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private CatalogImportJobEntity toEntity(ObjectMapper objectMapper) {
+            String reportedErrors;
+            synchronized (errors) {
+                try {
+                    reportedErrors = errors.isEmpty() ? null : objectMapper.writeValueAsString(errors);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Failed to serialize import errors", e);
+                }
+            }
+            return CatalogImportJobEntity.builder()
+                    .id(id)
+                    .catalogType(catalogType)
+                    .companyId(companyId)
+                    .status(status)
+                    .processedRows(processedRows.get())
+                    .created(created.get())
+                    .updated(updated.get())
+                    .failed(failed.get())
+                    .errors(reportedErrors)
+                    .message(message != null && message.length() > 1000 ? message.substring(0, 1000) : message)
+                    .submittedAt(submittedAt)
+                    .updatedAt(LocalDateTime.now())
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
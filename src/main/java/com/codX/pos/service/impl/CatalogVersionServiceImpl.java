@@ -0,0 +1,99 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.repository.CatalogVersionRepository;
+import com.codX.pos.service.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Catalog versions backing the ETags of the catalog list endpoints, kept as one counter row per
+ * catalog and company or branch. Catalog writes call {@link #recordChange}, which increments the
+ * rows in the writing transaction, so every instance sees the new ETag exactly when the change
+ * commits and a poll costs one indexed single-row read.
+ * <p>
+ * Increments are held back until just before commit and applied in a fixed order, so the counter
+ * rows, which every write to a scope shares, stay locked only for the commit and cannot deadlock.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private static final Comparator<CatalogScope> SCOPE_ORDER = Comparator
+            .comparing(CatalogScope::catalogType)
+            .thenComparing(CatalogScope::scopeId);
+
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    @Override
+    public String getCompanyETag(CatalogType catalogType, UUID companyId) {
+        return companyId != null ? eTag(catalogType, companyId) : null;
+    }
+
+    @Override
+    public String getBranchETag(CatalogType catalogType, UUID branchId) {
+        return branchId != null ? eTag(catalogType, branchId) : null;
+    }
+
+    @Override
+    public void recordChange(CatalogType catalogType, UUID companyId, UUID branchId) {
+        Set<CatalogScope> scopes = new TreeSet<>(SCOPE_ORDER);
+        if (companyId != null) {
+            scopes.add(new CatalogScope(catalogType, companyId));
+        }
+        if (branchId != null) {
+            scopes.add(new CatalogScope(catalogType, branchId));
+        }
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(scopes);
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.scopes.addAll(scopes);
+    }
+
+    private String eTag(CatalogType catalogType, UUID scopeId) {
+        long version = catalogVersionRepository.findVersion(catalogType, scopeId).orElse(0L);
+        return "\"" + catalogType.name().toLowerCase(Locale.ROOT) + "-" + Long.toString(version, 36) + "\"";
+    }
+
+    private void increment(Set<CatalogScope> scopes) {
+        scopes.forEach(scope -> catalogVersionRepository.increment(scope.catalogType().name(), scope.scopeId()));
+    }
+
+    private record CatalogScope(CatalogType catalogType, UUID scopeId) {
+    }
+
+    // Scopes changed by the current transaction, incremented once each when it commits
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final Set<CatalogScope> scopes = new TreeSet<>(SCOPE_ORDER);
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            increment(scopes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersionServiceImpl.this);
+        }
+    }
+}
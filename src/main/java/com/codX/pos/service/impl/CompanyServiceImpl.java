@@ -6,6 +6,7 @@ import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.entity.CompanyEntity;
 import com.codX.pos.entity.Role;
 import com.codX.pos.exception.UnauthorizedException;
+import com.codX.pos.metrics.TenantTierResolver;
 import com.codX.pos.repository.CompanyRepository;
 import com.codX.pos.service.CompanyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,6 +22,7 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
     private final ObjectMapper objectMapper;
+    private final TenantTierResolver tenantTierResolver;
 
     @Override
     public CompanyEntity create(Company company) {
@@ -46,7 +48,9 @@ public class CompanyServiceImpl implements CompanyService {
                 .isActive(true)
                 .build();
 
-        return companyRepository.save(companyEntity);
+        CompanyEntity savedCompany = companyRepository.save(companyEntity);
+        tenantTierResolver.register(savedCompany);
+        return savedCompany;
     }
 
     @Override
@@ -99,7 +103,9 @@ public class CompanyServiceImpl implements CompanyService {
         CompanyEntity company = getCompanyById(companyId);
         company.setMaxBranches(maxBranches);
 
-        return companyRepository.save(company);
+        CompanyEntity savedCompany = companyRepository.save(company);
+        tenantTierResolver.register(savedCompany);
+        return savedCompany;
     }
 
     @Override
@@ -0,0 +1,150 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.response.CustomerTimelineEventResponse;
+import com.codX.pos.dto.response.CustomerTimelineResponse;
+import com.codX.pos.entity.CustomerTimelineEventEntity;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.Role;
+import com.codX.pos.entity.ServiceRecordEntity;
+import com.codX.pos.entity.TimelineEventType;
+import com.codX.pos.exception.UnauthorizedException;
+import com.codX.pos.repository.CustomerTimelineEventRepository;
+import com.codX.pos.service.CustomerTimelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerTimelineServiceImpl implements CustomerTimelineService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final CustomerTimelineEventRepository customerTimelineEventRepository;
+
+    @Override
+    public void recordServiceRecordEvent(ServiceRecordEntity serviceRecord, TimelineEventType eventType) {
+        CustomerTimelineEventEntity event = CustomerTimelineEventEntity.builder()
+                .customerId(serviceRecord.getCustomerId())
+                .companyId(serviceRecord.getCompanyId())
+                .branchId(serviceRecord.getBranchId())
+                .eventType(eventType)
+                .sourceId(serviceRecord.getId())
+                .vehicleId(serviceRecord.getVehicleId())
+                .status(serviceRecord.getStatus() != null ? serviceRecord.getStatus().name() : null)
+                .description(serviceRecord.getNotes())
+                .amount(serviceRecord.getTotalAmount())
+                .eventDate(serviceRecord.getServiceDate())
+                .build();
+
+        customerTimelineEventRepository.save(event);
+    }
+
+    @Override
+    public void recordInvoiceEvent(InvoiceEntity invoice, TimelineEventType eventType) {
+        customerTimelineEventRepository.save(toInvoiceEvent(invoice, eventType));
+    }
+
+    @Override
+    public void recordInvoiceEvents(List<InvoiceEntity> invoices, TimelineEventType eventType) {
+        customerTimelineEventRepository.saveAll(invoices.stream()
+                .map(invoice -> toInvoiceEvent(invoice, eventType))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public CustomerTimelineResponse getServiceHistory(String cursor, int size) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        if (currentUser.role() != Role.CUSTOMER) {
+            throw new UnauthorizedException("Service history is only available to customers");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Read one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<CustomerTimelineEventEntity> events;
+        if (cursor == null || cursor.isBlank()) {
+            events = customerTimelineEventRepository.findByCustomerIdAndCompanyIdOrderByRecordedAtDescIdDesc(
+                    currentUser.userId(), currentUser.companyId(), page);
+        } else {
+            Position after = decodeCursor(cursor);
+            events = customerTimelineEventRepository.findOlderThan(
+                    currentUser.userId(), currentUser.companyId(), after.recordedAt(), after.id(), page);
+        }
+
+        boolean hasMore = events.size() > pageSize;
+        List<CustomerTimelineEventEntity> pageEvents = hasMore ? events.subList(0, pageSize) : events;
+
+        return CustomerTimelineResponse.builder()
+                .events(pageEvents.stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(pageEvents.get(pageEvents.size() - 1)) : null)
+                .build();
+    }
+
+    // Cursor is "<recordedAt>|<id>" of the last event of the page, base64url encoded
+    private static String encodeCursor(CustomerTimelineEventEntity event) {
+        String raw = event.getRecordedAt() + "|" + event.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException(decoded);
+            }
+            return new Position(LocalDateTime.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid timeline cursor");
+        }
+    }
+
+    private CustomerTimelineEventResponse mapToResponse(CustomerTimelineEventEntity event) {
+        return CustomerTimelineEventResponse.builder()
+                .id(event.getId())
+                .eventType(event.getEventType())
+                .sourceId(event.getSourceId())
+                .vehicleId(event.getVehicleId())
+                .referenceNumber(event.getReferenceNumber())
+                .status(event.getStatus())
+                .description(event.getDescription())
+                .amount(event.getAmount())
+                .eventDate(event.getEventDate())
+                .recordedAt(event.getRecordedAt())
+                .build();
+    }
+
+    private CustomerTimelineEventEntity toInvoiceEvent(InvoiceEntity invoice, TimelineEventType eventType) {
+        return CustomerTimelineEventEntity.builder()
+                .customerId(invoice.getCustomerId())
+                .companyId(invoice.getCompanyId())
+                .branchId(invoice.getBranchId())
+                .eventType(eventType)
+                .sourceId(invoice.getId())
+                .vehicleId(invoice.getVehicleId())
+                .referenceNumber(invoice.getInvoiceNumber())
+                .status(invoice.getStatus() != null ? invoice.getStatus().name() : null)
+                .description(invoice.getType() != null ? invoice.getType().name() : null)
+                .amount(invoice.getTotalAmount())
+                .eventDate(invoice.getInvoiceDate())
+                .build();
+    }
+
+    private record Position(LocalDateTime recordedAt, UUID id) {}
+}
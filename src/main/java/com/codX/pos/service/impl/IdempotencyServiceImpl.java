@@ -0,0 +1,241 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.entity.IdempotencyKeyEntity;
+import com.codX.pos.exception.IdempotencyKeyConflictException;
+import com.codX.pos.repository.IdempotencyKeyRepository;
+import com.codX.pos.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per company and client-supplied key. The claim row is inserted in the
+ * same transaction as the write, so a failed write releases the key and a committed one always has
+ * its result stored. Duplicates arriving while the first request runs on this instance wait for it;
+ * completed keys are answered from a small in-memory cache before going to the table.
+ * <p>
+ * Results are either the id of the created resource or, for writes answering with more than an
+ * id, their JSON, which a replay deserializes again.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    // Larger JSON results are replayed from the table rather than kept in memory
+    private static final int MAX_CACHED_BODY_LENGTH = 8192;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<KeyScope, CompletableFuture<StoredResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<KeyScope, StoredResult> completed;
+
+    @Value("${pos.idempotency.ttl-hours:24}")
+    private int ttlHours;
+
+    @Value("${pos.idempotency.wait-timeout-seconds:30}")
+    private int waitTimeoutSeconds;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository idempotencyKeyRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${pos.idempotency.cache-size:10000}") int cacheSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<KeyScope, StoredResult> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public UUID execute(String idempotencyKey, Object request, Supplier<UUID> action) {
+        if (!isKeyed(idempotencyKey)) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        return executeKeyed(idempotencyKey, request, () -> new Outcome(action.get(), null)).resultId();
+    }
+
+    @Override
+    public <T> T execute(String idempotencyKey, Object request, Class<T> resultType, Supplier<T> action) {
+        if (!isKeyed(idempotencyKey)) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        String resultBody = executeKeyed(idempotencyKey, request, () -> new Outcome(null, toJson(action.get()))).resultBody();
+        try {
+            return objectMapper.readValue(resultBody, resultType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read stored idempotent result", e);
+        }
+    }
+
+    private boolean isKeyed(String idempotencyKey) {
+        return idempotencyKey != null && !idempotencyKey.isBlank() && UserContext.getUserContext().companyId() != null;
+    }
+
+    private StoredResult executeKeyed(String idempotencyKey, Object request, Supplier<Outcome> action) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        KeyScope scope = new KeyScope(currentUser.companyId(), idempotencyKey);
+        String requestHash = hash(request);
+
+        StoredResult cached = completed.get(scope);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return cached.resultFor(requestHash);
+        }
+
+        CompletableFuture<StoredResult> running = new CompletableFuture<>();
+        CompletableFuture<StoredResult> existing = inFlight.putIfAbsent(scope, running);
+        if (existing != null) {
+            return awaitResult(existing).resultFor(requestHash);
+        }
+
+        try {
+            StoredResult result = executeOnce(scope, requestHash, action);
+            if (result.resultBody() == null || result.resultBody().length() <= MAX_CACHED_BODY_LENGTH) {
+                completed.put(scope, result);
+            }
+            running.complete(result);
+            return result.resultFor(requestHash);
+        } catch (RuntimeException e) {
+            running.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, running);
+        }
+    }
+
+    @Override
+    public void cleanupExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpiredKeys(LocalDateTime.now());
+        log.info("Cleaned up {} expired idempotency keys", deleted);
+    }
+
+    private StoredResult executeOnce(KeyScope scope, String requestHash, Supplier<Outcome> action) {
+        StoredResult stored = findStored(scope);
+        if (stored != null) {
+            return stored;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                // An expired key not yet cleaned up is free to be claimed again
+                idempotencyKeyRepository.findByCompanyIdAndIdempotencyKey(scope.companyId(), scope.key())
+                        .filter(key -> !key.getExpiresAt().isAfter(now))
+                        .ifPresent(key -> {
+                            idempotencyKeyRepository.delete(key);
+                            idempotencyKeyRepository.flush();
+                        });
+
+                IdempotencyKeyEntity claim = idempotencyKeyRepository.saveAndFlush(IdempotencyKeyEntity.builder()
+                        .companyId(scope.companyId())
+                        .idempotencyKey(scope.key())
+                        .requestHash(requestHash)
+                        .createdAt(now)
+                        .expiresAt(now.plusHours(ttlHours))
+                        .build());
+
+                Outcome outcome = action.get();
+                claim.setResultId(outcome.resultId());
+                claim.setResultBody(outcome.resultBody());
+                idempotencyKeyRepository.save(claim);
+                return new StoredResult(claim.getRequestHash(), claim.getResultId(), claim.getResultBody(),
+                        claim.getExpiresAt());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Claimed by another instance; its insert held the key until it committed
+            stored = findStored(scope);
+            if (stored == null) {
+                throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            return stored;
+        }
+    }
+
+    private StoredResult findStored(KeyScope scope) {
+        return idempotencyKeyRepository.findByCompanyIdAndIdempotencyKey(scope.companyId(), scope.key())
+                .filter(key -> (key.getResultId() != null || key.getResultBody() != null)
+                        && key.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(key -> new StoredResult(key.getRequestHash(), key.getResultId(), key.getResultBody(),
+                        key.getExpiresAt()))
+                .orElse(null);
+    }
+
+    private StoredResult awaitResult(CompletableFuture<StoredResult> running) {
+        try {
+            return running.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            // The duplicate fails the same way the original did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private String toJson(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to store idempotent result", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new RuntimeException("Failed to hash request", e);
+        }
+    }
+
+    private record KeyScope(UUID companyId, String key) {}
+
+    private record Outcome(UUID resultId, String resultBody) {}
+
+    private record StoredResult(String requestHash, UUID resultId, String resultBody, LocalDateTime expiresAt) {
+        StoredResult resultFor(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyConflictException("Idempotency-Key was already used for a different request");
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.archive.ColdInvoice;
+import com.codX.pos.archive.ColdInvoiceStore;
+import com.codX.pos.archive.InvoiceArchiveRepository;
+import com.codX.pos.archive.InvoiceArchiveSchema;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.service.InvoiceArchiveService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves paid and cancelled invoices of whole past years out of the live tables into the partitioned
+ * archive, in chunks of one transaction each so the live tables are never locked for long. The
+ * invoice read endpoints fall back to the archive, so archived invoices stay visible but read-only.
+ * Much older archived months can move on again, into per-company segment files that are looked up
+ * by id or invoice number. That step is off by default; when enabled it needs a shared segment
+ * directory and runs on one instance at a time under a database lock.
+ */
+@Slf4j
+@Service
+public class InvoiceArchiveServiceImpl implements InvoiceArchiveService {
+
+    private static final Set<InvoiceStatus> CLOSED_STATUSES = Set.of(InvoiceStatus.PAID, InvoiceStatus.CANCELLED);
+    private static final String COLD_MOVE_LOCK = "pos.invoice-archive.cold-move";
+
+    private final InvoiceArchiveRepository invoiceArchiveRepository;
+    private final InvoiceArchiveSchema invoiceArchiveSchema;
+    private final ColdInvoiceStore coldInvoiceStore;
+    private final TransactionTemplate transactionTemplate;
+
+    // Years kept in the live tables besides the current one
+    @Value("${pos.invoice-archive.keep-years:2}")
+    private int keepYears;
+
+    @Value("${pos.invoice-archive.chunk-size:500}")
+    private int chunkSize;
+
+    // Archived invoices older than this many whole years move on to segment files
+    @Value("${pos.invoice-archive.cold-after-years:7}")
+    private int coldAfterYears;
+
+    @Value("${pos.invoice-archive.cold-enabled:false}")
+    private boolean coldEnabled;
+
+    public InvoiceArchiveServiceImpl(InvoiceArchiveRepository invoiceArchiveRepository,
+                                     InvoiceArchiveSchema invoiceArchiveSchema,
+                                     ColdInvoiceStore coldInvoiceStore,
+                                     PlatformTransactionManager transactionManager) {
+        this.invoiceArchiveRepository = invoiceArchiveRepository;
+        this.invoiceArchiveSchema = invoiceArchiveSchema;
+        this.coldInvoiceStore = coldInvoiceStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // A misconfigured segment directory stops startup rather than the first weekly run
+    @PostConstruct
+    void checkColdStorage() {
+        if (coldEnabled) {
+            coldInvoiceStore.checkWritable();
+        }
+    }
+
+    @Override
+    public int archiveClosedInvoices() {
+        LocalDateTime cutoff = LocalDate.now().minusYears(keepYears).withDayOfYear(1).atStartOfDay();
+        Optional<LocalDateTime> oldest = invoiceArchiveRepository.findOldestArchiveCandidateDate(cutoff, CLOSED_STATUSES);
+        if (oldest.isEmpty()) {
+            log.info("No closed invoices before {} to archive", cutoff.toLocalDate());
+            return 0;
+        }
+
+        // Partitions are split off the empty catch-all before any rows for their months arrive
+        invoiceArchiveSchema.ensureMonthlyPartitions(YearMonth.from(oldest.get()), YearMonth.from(cutoff.minusDays(1)));
+
+        long start = System.currentTimeMillis();
+        int archived = 0;
+        int moved;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<UUID> invoiceIds = invoiceArchiveRepository.lockArchiveCandidates(cutoff, CLOSED_STATUSES, chunkSize);
+                if (invoiceIds.isEmpty()) {
+                    return 0;
+                }
+                return invoiceArchiveRepository.moveToArchive(invoiceIds, LocalDateTime.now());
+            });
+            moved = chunk != null ? chunk : 0;
+            archived += moved;
+        } while (moved == chunkSize);
+
+        log.info("Archived {} closed invoices dated before {} in {} ms",
+                archived, cutoff.toLocalDate(), System.currentTimeMillis() - start);
+        return archived;
+    }
+
+    @Override
+    public int moveArchivedInvoicesToColdStorage() {
+        if (!coldEnabled) {
+            return 0;
+        }
+        // The directory may have been unmounted since startup
+        coldInvoiceStore.checkWritable();
+        Optional<Integer> moved = invoiceArchiveRepository.withNamedLock(COLD_MOVE_LOCK, this::moveToColdStorage);
+        if (moved.isEmpty()) {
+            log.info("Archived invoices are being moved to cold storage by another instance");
+            return 0;
+        }
+        return moved.get();
+    }
+
+    private int moveToColdStorage() {
+        LocalDateTime cutoff = LocalDate.now().minusYears(coldAfterYears).withDayOfYear(1).atStartOfDay();
+        Optional<LocalDateTime> oldest = invoiceArchiveRepository.findOldestArchivedInvoiceDate();
+        if (oldest.isEmpty() || !oldest.get().isBefore(cutoff)) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int moved = 0;
+        for (YearMonth month = YearMonth.from(oldest.get()); month.atDay(1).atStartOfDay().isBefore(cutoff); month = month.plusMonths(1)) {
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            List<UUID> companyIds = invoiceArchiveRepository.findArchivedCompanyIds(from, to);
+            if (companyIds.isEmpty()) {
+                continue;
+            }
+
+            // Segments are complete on disk before the rows go; a rerun after a crash just rewrites them
+            for (UUID companyId : companyIds) {
+                coldInvoiceStore.write(companyId, month, loadColdInvoices(companyId, from, to));
+            }
+            Integer deleted = transactionTemplate.execute(status -> invoiceArchiveRepository.deleteArchivedBetween(from, to));
+            moved += deleted != null ? deleted : 0;
+            log.info("Moved archived invoices of {} for {} companies to cold storage", month, companyIds.size());
+        }
+
+        log.info("Moved {} archived invoices dated before {} to cold storage in {} ms",
+                moved, cutoff.toLocalDate(), System.currentTimeMillis() - start);
+        return moved;
+    }
+
+    private List<ColdInvoice> loadColdInvoices(UUID companyId, LocalDateTime from, LocalDateTime to) {
+        List<InvoiceEntity> invoices = invoiceArchiveRepository.findArchivedByCompanyId(companyId, from, to);
+        List<ColdInvoice> coldInvoices = new ArrayList<>(invoices.size());
+        for (int i = 0; i < invoices.size(); i += chunkSize) {
+            List<InvoiceEntity> chunk = invoices.subList(i, Math.min(i + chunkSize, invoices.size()));
+            Map<UUID, List<InvoiceItemEntity>> itemsByInvoice = invoiceArchiveRepository.findItemsByInvoices(chunk, companyId)
+                    .stream()
+                    .collect(Collectors.groupingBy(InvoiceItemEntity::getInvoiceId));
+            chunk.forEach(invoice -> coldInvoices.add(
+                    new ColdInvoice(invoice, itemsByInvoice.getOrDefault(invoice.getId(), List.of()))));
+        }
+        return coldInvoices;
+    }
+}
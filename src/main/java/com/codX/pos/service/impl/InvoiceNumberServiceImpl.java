@@ -0,0 +1,95 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.entity.InvoiceNumberSequenceEntity;
+import com.codX.pos.repository.InvoiceNumberSequenceRepository;
+import com.codX.pos.repository.InvoiceRepository;
+import com.codX.pos.service.InvoiceNumberService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands out INV-yyyyMMdd-nnnn numbers from a per-company, per-day counter row. Reserving locks the
+ * row until the caller's transaction ends, so numbers stay unique and gapless, and a block of any
+ * size costs one locked read and one update.
+ */
+@Service
+public class InvoiceNumberServiceImpl implements InvoiceNumberService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final InvoiceNumberSequenceRepository sequenceRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate newTransaction;
+
+    public InvoiceNumberServiceImpl(InvoiceNumberSequenceRepository sequenceRepository,
+                                    InvoiceRepository invoiceRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> reserve(UUID companyId, int count) {
+        LocalDate today = LocalDate.now();
+        InvoiceNumberSequenceEntity sequence = sequenceRepository.findForUpdate(companyId, today)
+                .orElseGet(() -> {
+                    createSequence(companyId, today);
+                    return sequenceRepository.findForUpdate(companyId, today)
+                            .orElseThrow(() -> new RuntimeException("Invoice number sequence not found"));
+                });
+
+        int first = sequence.getLastValue() + 1;
+        sequence.setLastValue(sequence.getLastValue() + count);
+        sequenceRepository.save(sequence);
+
+        String prefix = "INV-" + today.format(DATE_FORMAT) + "-";
+        List<String> numbers = new ArrayList<>(count);
+        for (int value = first; value < first + count; value++) {
+            numbers.add(prefix + String.format("%04d", value));
+        }
+        return numbers;
+    }
+
+    @Override
+    public String peekNext(UUID companyId) {
+        LocalDate today = LocalDate.now();
+        int lastValue = sequenceRepository.findByCompanyIdAndSequenceDate(companyId, today)
+                .map(InvoiceNumberSequenceEntity::getLastValue)
+                .orElseGet(() -> countInvoices(companyId, today));
+        return String.format("INV-%s-%04d", today.format(DATE_FORMAT), lastValue + 1);
+    }
+
+    private void createSequence(UUID companyId, LocalDate date) {
+        // Committed on its own so concurrent first reservations of the day all lock the same row
+        try {
+            newTransaction.executeWithoutResult(status -> sequenceRepository.saveAndFlush(
+                    InvoiceNumberSequenceEntity.builder()
+                            .companyId(companyId)
+                            .sequenceDate(date)
+                            // Continue after invoices numbered before the counter existed
+                            .lastValue(countInvoices(companyId, date))
+                            .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another request
+        }
+    }
+
+    private int countInvoices(UUID companyId, LocalDate date) {
+        return (int) invoiceRepository.countByCompanyIdAndInvoiceDateBetween(
+                companyId, date.atStartOfDay(), date.plusDays(1).atStartOfDay().minusNanos(1));
+    }
+}
@@ -1,16 +1,29 @@
 package com.codX.pos.service.impl;
 
+import com.codX.pos.archive.ColdInvoiceStore;
+import com.codX.pos.archive.InvoiceArchiveRepository;
+import com.codX.pos.cache.InvoiceResponseCache;
 import com.codX.pos.context.UserContext;
 import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.request.CreateInvoiceBatchRequest;
 import com.codX.pos.dto.request.CreateInvoiceRequest;
+import com.codX.pos.dto.request.InvoiceItemRequest;
 import com.codX.pos.dto.request.UpdateInvoiceDiscountRequest;
+import com.codX.pos.dto.response.InvoiceBatchResponse;
+import com.codX.pos.dto.response.InvoiceBatchResultResponse;
 import com.codX.pos.dto.response.InvoiceItemResponse;
 import com.codX.pos.dto.response.InvoiceResponse;
 import com.codX.pos.dto.response.InvoicePreviewResponse;
 import com.codX.pos.entity.*;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.*;
+import com.codX.pos.service.CustomerTimelineService;
+import com.codX.pos.service.OutboxService;
+import com.codX.pos.service.IdempotencyService;
+import com.codX.pos.service.InvoiceNumberService;
 import com.codX.pos.service.InvoiceService;
+import com.codX.pos.service.StockLedgerService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,23 +31,45 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class InvoiceServiceImpl implements InvoiceService {
 
+    // Live and archived invoices are merged into one list, newest first
+    private static final Comparator<InvoiceResponse> NEWEST_FIRST = Comparator.comparing(
+            InvoiceResponse::invoiceDate, Comparator.nullsLast(Comparator.reverseOrder()));
+    private static final int LINE_LOAD_CHUNK = 500;
+
     private final InvoiceRepository invoiceRepository;
     private final InvoiceItemRepository invoiceItemRepository;
     private final ServiceRecordRepository serviceRecordRepository;
     private final ItemRepository itemRepository;
     private final ServiceTypeRepository serviceTypeRepository;
+    private final CustomerTimelineService customerTimelineService;
+    private final OutboxService outboxService;
+    private final InvoiceArchiveRepository invoiceArchiveRepository;
+    private final ColdInvoiceStore coldInvoiceStore;
+    private final InvoiceResponseCache invoiceResponseCache;
+    private final IdempotencyService idempotencyService;
+    private final InvoiceNumberService invoiceNumberService;
+    private final StockLedgerService stockLedgerService;
 
     @Override
     @Transactional
+    @Timed(value = "pos.checkout", extraTags = {"operation", "service_invoice"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
     public InvoiceEntity createServiceInvoice(UUID serviceRecordId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -46,12 +81,12 @@ public class InvoiceServiceImpl implements InvoiceService {
         ServiceRecordEntity serviceRecord = serviceRecordRepository.findByIdAndCompanyId(serviceRecordId, currentUser.companyId())
                 .orElseThrow(() -> new RuntimeException("Service record not found"));
 
-        if (invoiceRepository.findByServiceRecordIdAndCompanyId(serviceRecordId, currentUser.companyId()).isPresent()) {
+        if (invoiceRepository.findByServiceRecordIdAndCompanyId(serviceRecordId, currentUser.companyId()).isPresent() ||
+                invoiceArchiveRepository.existsByServiceRecordIdAndCompanyId(serviceRecordId, currentUser.companyId())) {
             throw new RuntimeException("Invoice already exists for this service record");
         }
 
         InvoiceEntity invoice = InvoiceEntity.builder()
-                .invoiceNumber(generateInvoiceNumber())
                 .invoiceDate(LocalDateTime.now())
                 .customerId(serviceRecord.getCustomerId())
                 .vehicleId(serviceRecord.getVehicleId())
@@ -73,21 +108,25 @@ public class InvoiceServiceImpl implements InvoiceService {
                 .subtract(invoice.getDiscountAmount());
         invoice.setTotalAmount(total);
 
+        // Reserved once everything else is read and computed, since the counter row stays locked until commit
+        invoice.setInvoiceNumber(invoiceNumberService.reserve(currentUser.companyId(), 1).get(0));
         InvoiceEntity savedInvoice = invoiceRepository.save(invoice);
 
         serviceRecord.setInvoiceId(savedInvoice.getId());
         serviceRecordRepository.save(serviceRecord);
 
+        customerTimelineService.recordInvoiceEvent(savedInvoice, TimelineEventType.INVOICE_CREATED);
+        outboxService.publishInvoiceEvent(savedInvoice, OutboxEventType.INVOICE_CREATED);
         return savedInvoice;
     }
 
     @Override
     @Transactional
+    @Timed(value = "pos.checkout", extraTags = {"operation", "item_sale_invoice"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
     public InvoiceEntity createItemSaleInvoice(CreateInvoiceRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         InvoiceEntity invoice = InvoiceEntity.builder()
-                .invoiceNumber(generateInvoiceNumber())
                 .invoiceDate(LocalDateTime.now())
                 .customerId(request.customerId())
                 .vehicleId(request.vehicleId())
@@ -136,6 +175,7 @@ public class InvoiceServiceImpl implements InvoiceService {
 
             item.setStockQuantity(item.getStockQuantity() - itemRequest.quantity());
             itemRepository.save(item);
+            stockLedgerService.recordMovement(item, -itemRequest.quantity(), StockMovementType.SALE, savedInvoice.getId());
         }
 
         BigDecimal taxPercentage = request.taxPercentage() != null ? request.taxPercentage() : new BigDecimal("10.0");
@@ -146,7 +186,178 @@ public class InvoiceServiceImpl implements InvoiceService {
         savedInvoice.setTaxAmount(taxAmount);
         savedInvoice.setTotalAmount(total);
 
-        return invoiceRepository.save(savedInvoice);
+        // Reserved after the item lookups and stock updates, since the counter row stays locked until commit;
+        // the invoice insert itself is only flushed at commit, so it still carries the number
+        savedInvoice.setInvoiceNumber(invoiceNumberService.reserve(currentUser.companyId(), 1).get(0));
+        InvoiceEntity createdInvoice = invoiceRepository.save(savedInvoice);
+        customerTimelineService.recordInvoiceEvent(createdInvoice, TimelineEventType.INVOICE_CREATED);
+        outboxService.publishInvoiceEvent(createdInvoice, OutboxEventType.INVOICE_CREATED);
+        return createdInvoice;
+    }
+
+    @Override
+    @Timed(value = "pos.checkout", extraTags = {"operation", "item_sale_invoice"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public InvoiceEntity createItemSaleInvoice(CreateInvoiceRequest request, String idempotencyKey) {
+        // Timed here because the sale below runs as a self-call, outside the proxy, inside the idempotency
+        // service's transaction. A retried key returns the invoice of the first execution instead of selling again
+        UUID invoiceId = idempotencyService.execute(idempotencyKey, request,
+                () -> createItemSaleInvoice(request).getId());
+        return invoiceRepository.findByIdAndCompanyId(invoiceId, UserContext.getUserContext().companyId())
+                .orElseThrow(() -> new RuntimeException("Invoice not found"));
+    }
+
+    @Override
+    @Timed(value = "pos.checkout", extraTags = {"operation", "item_sale_batch"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public InvoiceBatchResponse createItemSaleInvoiceBatch(CreateInvoiceBatchRequest request, String idempotencyKey) {
+        // Same self-call as the single sale. A retried upload gets the per-invoice results of the first one,
+        // including its rejections, instead of creating the accepted invoices again
+        return idempotencyService.execute(idempotencyKey, request, InvoiceBatchResponse.class,
+                () -> createItemSaleInvoiceBatch(request));
+    }
+
+    @Override
+    @Transactional
+    @Timed(value = "pos.checkout", extraTags = {"operation", "item_sale_batch"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
+    public InvoiceBatchResponse createItemSaleInvoiceBatch(CreateInvoiceBatchRequest request) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        List<CreateInvoiceRequest> requests = request.invoices();
+
+        // One query for every item referenced anywhere in the batch
+        Set<UUID> itemIds = requests.stream()
+                .filter(invoice -> invoice != null && invoice.items() != null)
+                .flatMap(invoice -> invoice.items().stream())
+                .filter(line -> line != null && line.itemId() != null)
+                .map(InvoiceItemRequest::itemId)
+                .collect(Collectors.toSet());
+        Map<UUID, ItemEntity> items = itemRepository.findAllById(itemIds).stream()
+                .filter(item -> item.isActive() && item.getCompanyId().equals(currentUser.companyId()))
+                .collect(Collectors.toMap(ItemEntity::getId, Function.identity()));
+
+        InvoiceBatchResultResponse[] results = new InvoiceBatchResultResponse[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<InvoiceEntity> invoices = new ArrayList<>();
+        List<List<InvoiceItemEntity>> invoiceLines = new ArrayList<>();
+        Map<UUID, Integer> stockDecrements = new HashMap<>();
+        LocalDateTime invoiceDate = LocalDateTime.now();
+
+        for (int index = 0; index < requests.size(); index++) {
+            CreateInvoiceRequest invoiceRequest = requests.get(index);
+            String error = validateBatchInvoice(invoiceRequest, items);
+            if (error != null) {
+                results[index] = InvoiceBatchResultResponse.builder().index(index).success(false).error(error).build();
+                continue;
+            }
+
+            List<InvoiceItemEntity> lines = new ArrayList<>(invoiceRequest.items().size());
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (var itemRequest : invoiceRequest.items()) {
+                ItemEntity item = items.get(itemRequest.itemId());
+
+                BigDecimal unitPrice = itemRequest.unitPrice() != null ? itemRequest.unitPrice() : item.getUnitPrice();
+                BigDecimal itemTotal = unitPrice.multiply(new BigDecimal(itemRequest.quantity()));
+                BigDecimal discountAmount = calculateDiscountAmount(itemTotal, item.getDefaultDiscountValue(), item.getDefaultDiscountType());
+                BigDecimal finalPrice = itemTotal.subtract(discountAmount);
+                subtotal = subtotal.add(finalPrice);
+
+                lines.add(InvoiceItemEntity.builder()
+                        .itemId(itemRequest.itemId())
+                        .description(item.getName())
+                        .quantity(itemRequest.quantity())
+                        .unitPrice(unitPrice)
+                        .totalPrice(itemTotal)
+                        .discountValue(item.getDefaultDiscountValue())
+                        .discountType(item.getDefaultDiscountType())
+                        .discountAmount(discountAmount)
+                        .finalPrice(finalPrice)
+                        .type(InvoiceItemType.ITEM)
+                        .companyId(currentUser.companyId())
+                        .branchId(currentUser.branchId())
+                        .build());
+                stockDecrements.merge(item.getId(), itemRequest.quantity(), Integer::sum);
+            }
+
+            BigDecimal discount = invoiceRequest.discountAmount() != null ? invoiceRequest.discountAmount() : BigDecimal.ZERO;
+            BigDecimal taxPercentage = invoiceRequest.taxPercentage() != null ? invoiceRequest.taxPercentage() : new BigDecimal("10.0");
+            BigDecimal taxAmount = subtotal.multiply(taxPercentage.divide(new BigDecimal("100")));
+
+            invoices.add(InvoiceEntity.builder()
+                    .invoiceDate(invoiceDate)
+                    .customerId(invoiceRequest.customerId())
+                    .vehicleId(invoiceRequest.vehicleId())
+                    .type(InvoiceType.ITEM_SALE)
+                    .status(InvoiceStatus.DRAFT)
+                    .subtotal(subtotal)
+                    .taxAmount(taxAmount)
+                    .discountAmount(discount)
+                    .totalAmount(subtotal.add(taxAmount).subtract(discount))
+                    .overallDiscountValue(BigDecimal.ZERO)
+                    .overallDiscountType(DiscountType.PERCENTAGE)
+                    .overallDiscountAmount(BigDecimal.ZERO)
+                    .companyId(currentUser.companyId())
+                    .branchId(currentUser.branchId())
+                    .build());
+            invoiceLines.add(lines);
+            acceptedIndexes.add(index);
+        }
+
+        if (!invoices.isEmpty()) {
+            List<InvoiceEntity> savedInvoices = invoiceRepository.saveAll(invoices);
+
+            List<InvoiceItemEntity> allLines = new ArrayList<>();
+            for (int i = 0; i < savedInvoices.size(); i++) {
+                UUID invoiceId = savedInvoices.get(i).getId();
+                invoiceLines.get(i).forEach(line -> line.setInvoiceId(invoiceId));
+                allLines.addAll(invoiceLines.get(i));
+            }
+            invoiceItemRepository.saveAll(allLines);
+
+            // Each item is updated once with its total quantity across the batch
+            List<ItemEntity> soldItems = new ArrayList<>(stockDecrements.size());
+            stockDecrements.forEach((itemId, quantity) -> {
+                ItemEntity item = items.get(itemId);
+                item.setStockQuantity(item.getStockQuantity() - quantity);
+                soldItems.add(item);
+            });
+            itemRepository.saveAll(soldItems);
+            stockLedgerService.recordMovements(allLines.stream()
+                    .map(line -> StockMovementEntity.builder()
+                            .itemId(line.getItemId())
+                            .companyId(line.getCompanyId())
+                            .branchId(items.get(line.getItemId()).getBranchId())
+                            .movementType(StockMovementType.SALE)
+                            .quantity(-line.getQuantity())
+                            .referenceId(line.getInvoiceId())
+                            .build())
+                    .toList());
+
+            // A single locked counter update reserves the numbers for the whole batch. It comes last because the
+            // row stays locked until commit; the invoices are only inserted when the commit flushes them
+            List<String> invoiceNumbers = invoiceNumberService.reserve(currentUser.companyId(), savedInvoices.size());
+            for (int i = 0; i < savedInvoices.size(); i++) {
+                savedInvoices.get(i).setInvoiceNumber(invoiceNumbers.get(i));
+            }
+
+            customerTimelineService.recordInvoiceEvents(savedInvoices, TimelineEventType.INVOICE_CREATED);
+            outboxService.publishInvoiceEvents(savedInvoices, OutboxEventType.INVOICE_CREATED);
+
+            for (int i = 0; i < savedInvoices.size(); i++) {
+                InvoiceEntity invoice = savedInvoices.get(i);
+                int index = acceptedIndexes.get(i);
+                results[index] = InvoiceBatchResultResponse.builder()
+                        .index(index)
+                        .success(true)
+                        .invoiceId(invoice.getId())
+                        .invoiceNumber(invoice.getInvoiceNumber())
+                        .totalAmount(invoice.getTotalAmount())
+                        .build();
+            }
+        }
+
+        return InvoiceBatchResponse.builder()
+                .created(invoices.size())
+                .failed(requests.size() - invoices.size())
+                .results(Arrays.asList(results))
+                .build();
     }
 
     @Override
@@ -159,38 +370,72 @@ public class InvoiceServiceImpl implements InvoiceService {
     public InvoiceResponse getInvoiceById(UUID id) {
         UserContextDto currentUser = UserContext.getUserContext();
 
-        InvoiceEntity invoice = invoiceRepository.findByIdAndCompanyId(id, currentUser.companyId())
-                .orElseThrow(() -> new RuntimeException("Invoice not found"));
+        Optional<InvoiceEntity> invoice = invoiceRepository.findByIdAndCompanyId(id, currentUser.companyId());
+        if (invoice.isEmpty()) {
+            return invoiceArchiveRepository.findByIdAndCompanyId(id, currentUser.companyId())
+                    .map(archived -> mapArchivedToResponses(List.of(archived), currentUser.companyId()).get(0))
+                    .or(() -> coldInvoiceStore.findById(currentUser.companyId(), id)
+                            .map(cold -> mapToResponse(cold.invoice(), cold.items())))
+                    .orElseThrow(() -> new RuntimeException("Invoice not found"));
+        }
 
         List<InvoiceItemEntity> invoiceItems = invoiceItemRepository.findByInvoiceIdAndCompanyId(id, currentUser.companyId());
 
-        return mapToResponse(invoice, invoiceItems);
+        return mapToResponse(invoice.get(), invoiceItems);
     }
 
     @Override
     public InvoiceResponse getInvoiceByNumber(String invoiceNumber) {
         UserContextDto currentUser = UserContext.getUserContext();
 
-        InvoiceEntity invoice = invoiceRepository.findByInvoiceNumberAndCompanyId(invoiceNumber, currentUser.companyId())
-                .orElseThrow(() -> new RuntimeException("Invoice not found with number: " + invoiceNumber));
+        Optional<InvoiceEntity> found = invoiceRepository.findByInvoiceNumberAndCompanyId(invoiceNumber, currentUser.companyId());
+        if (found.isEmpty()) {
+            return invoiceArchiveRepository.findByInvoiceNumberAndCompanyId(invoiceNumber, currentUser.companyId())
+                    .map(archived -> mapArchivedToResponses(List.of(archived), currentUser.companyId()).get(0))
+                    .or(() -> coldInvoiceStore.findByInvoiceNumber(currentUser.companyId(), invoiceNumber)
+                            .map(cold -> mapToResponse(cold.invoice(), cold.items())))
+                    .orElseThrow(() -> new RuntimeException("Invoice not found with number: " + invoiceNumber));
+        }
+        InvoiceEntity invoice = found.get();
 
         List<InvoiceItemEntity> invoiceItems = invoiceItemRepository.findByInvoiceIdAndCompanyId(invoice.getId(), currentUser.companyId());
 
         return mapToResponse(invoice, invoiceItems);
     }
 
+    @Override
+    public byte[] getInvoiceJsonById(UUID id) {
+        UUID companyId = UserContext.getUserContext().companyId();
+        byte[] cached = invoiceResponseCache.getById(companyId, id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = invoiceResponseCache.stamp();
+        return serializeAndCache(companyId, getInvoiceById(id), stamp);
+    }
+
+    @Override
+    public byte[] getInvoiceJsonByNumber(String invoiceNumber) {
+        UUID companyId = UserContext.getUserContext().companyId();
+        byte[] cached = invoiceResponseCache.getByNumber(companyId, invoiceNumber);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = invoiceResponseCache.stamp();
+        return serializeAndCache(companyId, getInvoiceByNumber(invoiceNumber), stamp);
+    }
+
     @Override
     public List<InvoiceResponse> getInvoicesByCustomer(UUID customerId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         List<InvoiceEntity> invoices = invoiceRepository.findByCustomerIdAndCompanyIdOrderByInvoiceDateDesc(customerId, currentUser.companyId());
 
-        return invoices.stream()
-                .map(invoice -> {
-                    List<InvoiceItemEntity> items = invoiceItemRepository.findByInvoiceIdAndCompanyId(invoice.getId(), currentUser.companyId());
-                    return mapToResponse(invoice, items);
-                })
-                .collect(Collectors.toList());
+        List<InvoiceResponse> responses = mapToResponses(invoices, currentUser.companyId());
+        responses.addAll(mapArchivedToResponses(invoiceArchiveRepository.findByCustomerIdAndCompanyIdOrderByInvoiceDateDesc(
+                customerId, currentUser.companyId()), currentUser.companyId()));
+        responses.sort(NEWEST_FIRST);
+        return responses;
     }
 
     @Override
@@ -204,12 +449,11 @@ public class InvoiceServiceImpl implements InvoiceService {
         // Use the correct method name
         List<InvoiceEntity> invoices = invoiceRepository.findByCompanyIdOrderByInvoiceDateDesc(companyId);
 
-        return invoices.stream()
-                .map(invoice -> {
-                    List<InvoiceItemEntity> items = invoiceItemRepository.findByInvoiceIdAndCompanyId(invoice.getId(), companyId);
-                    return mapToResponse(invoice, items);
-                })
-                .collect(Collectors.toList());
+        List<InvoiceResponse> responses = mapToResponses(invoices, companyId);
+        responses.addAll(mapArchivedToResponses(invoiceArchiveRepository.findByCompanyIdOrderByInvoiceDateDesc(companyId),
+                companyId));
+        responses.sort(NEWEST_FIRST);
+        return responses;
     }
 
     @Override
@@ -233,12 +477,11 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         List<InvoiceEntity> invoices = invoiceRepository.findByBranchIdOrderByInvoiceDateDesc(branchId);
 
-        return invoices.stream()
-                .map(invoice -> {
-                    List<InvoiceItemEntity> items = invoiceItemRepository.findByInvoiceIdAndCompanyId(invoice.getId(), currentUser.companyId());
-                    return mapToResponse(invoice, items);
-                })
-                .collect(Collectors.toList());
+        List<InvoiceResponse> responses = mapToResponses(invoices, currentUser.companyId());
+        responses.addAll(mapArchivedToResponses(invoiceArchiveRepository.findByBranchIdAndCompanyIdOrderByInvoiceDateDesc(
+                branchId, currentUser.companyId()), currentUser.companyId()));
+        responses.sort(NEWEST_FIRST);
+        return responses;
     }
 
     @Override
@@ -262,12 +505,16 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         List<InvoiceEntity> invoices = invoiceRepository.findByBranchIdOrderByInvoiceDateDesc(branchId);
 
-        return invoices.stream()
-                .map(invoice -> {
-                    List<InvoiceItemEntity> items = invoiceItemRepository.findByInvoiceIdAndCompanyId(
-                            invoice.getId(), currentUser.companyId());
-                    return mapToResponseWithDefaults(invoice, items);
-                })
+        Map<UUID, List<InvoiceItemEntity>> itemsByInvoice = loadLines(invoices, currentUser.companyId());
+        List<InvoiceEntity> archived = invoiceArchiveRepository.findByBranchIdAndCompanyIdOrderByInvoiceDateDesc(
+                branchId, currentUser.companyId());
+        itemsByInvoice.putAll(invoiceArchiveRepository.findItemsByInvoices(archived, currentUser.companyId()).stream()
+                .collect(Collectors.groupingBy(InvoiceItemEntity::getInvoiceId)));
+
+        return Stream.concat(invoices.stream(), archived.stream())
+                .map(invoice -> mapToResponseWithDefaults(invoice,
+                        itemsByInvoice.getOrDefault(invoice.getId(), new ArrayList<>())))
+                .sorted(NEWEST_FIRST)
                 .collect(Collectors.toList());
     }
 
@@ -277,12 +524,12 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         List<InvoiceEntity> invoices = invoiceRepository.findByDateRangeAndCompanyId(startDate, endDate, currentUser.companyId());
 
-        return invoices.stream()
-                .map(invoice -> {
-                    List<InvoiceItemEntity> items = invoiceItemRepository.findByInvoiceIdAndCompanyId(invoice.getId(), currentUser.companyId());
-                    return mapToResponse(invoice, items);
-                })
-                .collect(Collectors.toList());
+        List<InvoiceResponse> responses = mapToResponses(invoices, currentUser.companyId());
+        // Only the archive partitions of months in the range are read
+        responses.addAll(mapArchivedToResponses(invoiceArchiveRepository.findByDateRangeAndCompanyId(
+                startDate, endDate, currentUser.companyId()), currentUser.companyId()));
+        responses.sort(NEWEST_FIRST);
+        return responses;
     }
 
     @Override
@@ -293,8 +540,23 @@ public class InvoiceServiceImpl implements InvoiceService {
         InvoiceEntity invoice = invoiceRepository.findByIdAndCompanyId(id, currentUser.companyId())
                 .orElseThrow(() -> new RuntimeException("Invoice not found"));
 
+        // Closed invoices are final, which is what lets every instance cache them without invalidation
+        if (InvoiceResponseCache.isCacheable(invoice.getStatus()) && invoice.getStatus() != status) {
+            throw new RuntimeException("Cannot change status of paid or cancelled invoice");
+        }
+
         invoice.setStatus(status);
-        invoiceRepository.save(invoice);
+        InvoiceEntity savedInvoice = invoiceRepository.save(invoice);
+        if (InvoiceResponseCache.isCacheable(status)) {
+            invoiceResponseCache.putAfterCommit(currentUser.companyId(), mapToResponse(savedInvoice,
+                    invoiceItemRepository.findByInvoiceIdAndCompanyId(id, currentUser.companyId())));
+        } else {
+            invoiceResponseCache.evictAfterCommit(currentUser.companyId(), id);
+        }
+        customerTimelineService.recordInvoiceEvent(savedInvoice, TimelineEventType.INVOICE_STATUS_CHANGED);
+        outboxService.publishInvoiceEvent(savedInvoice, status == InvoiceStatus.PAID
+                ? OutboxEventType.INVOICE_PAID
+                : OutboxEventType.INVOICE_STATUS_CHANGED);
     }
 
     @Override
@@ -344,6 +606,8 @@ public class InvoiceServiceImpl implements InvoiceService {
         invoiceItemRepository.saveAll(invoiceItems);
         recalculateInvoiceTotals(invoice, invoiceItems);
         InvoiceEntity savedInvoice = invoiceRepository.save(invoice);
+        customerTimelineService.recordInvoiceEvent(savedInvoice, TimelineEventType.INVOICE_UPDATED);
+        outboxService.publishInvoiceEvent(savedInvoice, OutboxEventType.INVOICE_UPDATED);
 
         return mapToResponse(savedInvoice, invoiceItems);
     }
@@ -396,15 +660,32 @@ public class InvoiceServiceImpl implements InvoiceService {
     public String generateInvoiceNumber() {
         UserContextDto currentUser = UserContext.getUserContext();
 
-        String dateStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfDay = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
-
-        List<InvoiceEntity> todayInvoices = invoiceRepository.findByDateRangeAndCompanyId(startOfDay, endOfDay, currentUser.companyId());
-        int sequence = todayInvoices.size() + 1;
+        // Preview only: the number is handed out when the invoice is created
+        return invoiceNumberService.peekNext(currentUser.companyId());
+    }
 
-        return String.format("INV-%s-%04d", dateStr, sequence);
+    private String validateBatchInvoice(CreateInvoiceRequest request, Map<UUID, ItemEntity> items) {
+        if (request == null) {
+            return "Invoice is empty";
+        }
+        if (request.customerId() == null) {
+            return "Customer ID is required";
+        }
+        if (request.items() == null || request.items().isEmpty()) {
+            return "At least one item is required";
+        }
+        for (var itemRequest : request.items()) {
+            if (itemRequest == null || itemRequest.itemId() == null) {
+                return "Item ID is required for item sale lines";
+            }
+            if (itemRequest.quantity() == null || itemRequest.quantity() <= 0) {
+                return "Quantity must be positive for item " + itemRequest.itemId();
+            }
+            if (!items.containsKey(itemRequest.itemId())) {
+                return "Item not found: " + itemRequest.itemId();
+            }
+        }
+        return null;
     }
 
     private void updateItemDiscountCalculations(InvoiceItemEntity item) {
@@ -470,6 +751,42 @@ public class InvoiceServiceImpl implements InvoiceService {
         return BigDecimal.ZERO;
     }
 
+    // Only paid and cancelled invoices are kept; the stamp is taken before the invoice was read
+    private byte[] serializeAndCache(UUID companyId, InvoiceResponse invoice, long stamp) {
+        byte[] json = invoiceResponseCache.serialize(invoice);
+        invoiceResponseCache.put(companyId, invoice, json, stamp);
+        return json;
+    }
+
+    private List<InvoiceResponse> mapToResponses(List<InvoiceEntity> invoices, UUID companyId) {
+        Map<UUID, List<InvoiceItemEntity>> itemsByInvoice = loadLines(invoices, companyId);
+        return invoices.stream()
+                .map(invoice -> mapToResponse(invoice, itemsByInvoice.getOrDefault(invoice.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    // Lines of all invoices are loaded with one query per chunk instead of one per invoice
+    private Map<UUID, List<InvoiceItemEntity>> loadLines(List<InvoiceEntity> invoices, UUID companyId) {
+        Map<UUID, List<InvoiceItemEntity>> itemsByInvoice = new HashMap<>();
+        for (int start = 0; start < invoices.size(); start += LINE_LOAD_CHUNK) {
+            List<UUID> invoiceIds = invoices.subList(start, Math.min(start + LINE_LOAD_CHUNK, invoices.size())).stream()
+                    .map(InvoiceEntity::getId)
+                    .toList();
+            invoiceItemRepository.findByInvoiceIdInAndCompanyId(invoiceIds, companyId)
+                    .forEach(item -> itemsByInvoice.computeIfAbsent(item.getInvoiceId(), id -> new ArrayList<>()).add(item));
+        }
+        return itemsByInvoice;
+    }
+
+    private List<InvoiceResponse> mapArchivedToResponses(List<InvoiceEntity> invoices, UUID companyId) {
+        Map<UUID, List<InvoiceItemEntity>> itemsByInvoice = invoiceArchiveRepository.findItemsByInvoices(invoices, companyId)
+                .stream()
+                .collect(Collectors.groupingBy(InvoiceItemEntity::getInvoiceId));
+        return invoices.stream()
+                .map(invoice -> mapToResponse(invoice, itemsByInvoice.getOrDefault(invoice.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     private InvoiceResponse mapToResponse(InvoiceEntity invoice, List<InvoiceItemEntity> invoiceItems) {
         List<InvoiceItemResponse> itemResponses = invoiceItems.stream()
                 .map(item -> InvoiceItemResponse.builder()
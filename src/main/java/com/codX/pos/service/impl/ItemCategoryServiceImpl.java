@@ -1,15 +1,18 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateItemCategoryRequest;
 import com.codX.pos.entity.ItemCategoryEntity;
 import com.codX.pos.entity.Role;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.ItemCategoryRepository;
+import com.codX.pos.service.CatalogVersionService;
 import com.codX.pos.service.ItemCategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,8 +22,10 @@ import java.util.UUID;
 public class ItemCategoryServiceImpl implements ItemCategoryService {
 
     private final ItemCategoryRepository itemCategoryRepository;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
+    @Transactional
     public ItemCategoryEntity createItemCategory(CreateItemCategoryRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -43,29 +48,39 @@ public class ItemCategoryServiceImpl implements ItemCategoryService {
                 .isActive(true)
                 .build();
 
-        return itemCategoryRepository.save(itemCategory);
+        return save(itemCategory);
     }
 
     @Override
     public List<ItemCategoryEntity> getItemCategoriesByCompany(UUID companyId) {
-        UserContextDto currentUser = UserContext.getUserContext();
-
-        if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
-            throw new UnauthorizedException("Access denied to company item categories");
-        }
-
+        authorizeCompanyAccess(companyId);
         return itemCategoryRepository.findByCompanyIdAndIsActiveTrue(companyId);
     }
 
     @Override
     public List<ItemCategoryEntity> getItemCategoriesByBranch(UUID companyId, UUID branchId) {
+        authorizeCompanyAccess(companyId);
+        return itemCategoryRepository.findByCompanyIdAndBranchIdAndIsActiveTrue(companyId, branchId);
+    }
+
+    @Override
+    public String getItemCategoriesByCompanyETag(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getCompanyETag(CatalogType.ITEM_CATEGORIES, companyId);
+    }
+
+    @Override
+    public String getItemCategoriesByBranchETag(UUID companyId, UUID branchId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getBranchETag(CatalogType.ITEM_CATEGORIES, branchId);
+    }
+
+    private void authorizeCompanyAccess(UUID companyId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
             throw new UnauthorizedException("Access denied to company item categories");
         }
-
-        return itemCategoryRepository.findByCompanyIdAndBranchIdAndIsActiveTrue(companyId, branchId);
     }
 
     @Override
@@ -77,19 +92,28 @@ public class ItemCategoryServiceImpl implements ItemCategoryService {
     }
 
     @Override
+    @Transactional
     public ItemCategoryEntity updateItemCategory(UUID id, CreateItemCategoryRequest request) {
         ItemCategoryEntity existingCategory = getItemCategoryById(id);
 
         existingCategory.setName(request.name());
         existingCategory.setDescription(request.description());
 
-        return itemCategoryRepository.save(existingCategory);
+        return save(existingCategory);
     }
 
     @Override
+    @Transactional
     public void deactivateItemCategory(UUID id) {
         ItemCategoryEntity itemCategory = getItemCategoryById(id);
         itemCategory.setActive(false);
-        itemCategoryRepository.save(itemCategory);
+        save(itemCategory);
+    }
+
+    // Saved together with the catalog version, so list ETags change exactly when the category does
+    private ItemCategoryEntity save(ItemCategoryEntity itemCategory) {
+        ItemCategoryEntity saved = itemCategoryRepository.save(itemCategory);
+        catalogVersionService.recordChange(CatalogType.ITEM_CATEGORIES, saved.getCompanyId(), saved.getBranchId());
+        return saved;
     }
-}
\ No newline at end of file
+}
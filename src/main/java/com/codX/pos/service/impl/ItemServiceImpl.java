@@ -1,17 +1,31 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ItemCatalogQuery;
+import com.codX.pos.dto.SyncCursor;
+import com.codX.pos.dto.SyncEntityType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateItemRequest;
 import com.codX.pos.dto.request.DiscountRequest;
+import com.codX.pos.dto.response.ItemCatalogEntry;
+import com.codX.pos.dto.response.ItemCatalogPageResponse;
+import com.codX.pos.dto.response.ItemSearchResult;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.entity.DiscountType;
 import com.codX.pos.entity.ItemEntity;
 import com.codX.pos.entity.Role;
+import com.codX.pos.entity.StockMovementType;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.ItemRepository;
+import com.codX.pos.search.ItemSearchIndex;
+import com.codX.pos.service.CatalogVersionService;
 import com.codX.pos.service.ItemService;
+import com.codX.pos.service.StockLedgerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,9 +35,15 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final ItemRepository itemRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final StockLedgerService stockLedgerService;
 
     @Override
+    @Transactional
     public ItemEntity createItem(CreateItemRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -52,7 +72,10 @@ public class ItemServiceImpl implements ItemService {
                 .isActive(true)
                 .build();
 
-        return itemRepository.save(item);
+        ItemEntity savedItem = saveAndIndex(item);
+        // Opening stock, so the ledger alone accounts for items created after it existed
+        stockLedgerService.recordMovement(savedItem, quantityOf(savedItem.getStockQuantity()), StockMovementType.ADJUSTMENT, null);
+        return savedItem;
     }
 
     @Override
@@ -63,17 +86,93 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemEntity> getItemsByCompany(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return itemRepository.findByCompanyIdAndIsActiveTrue(companyId);
+    }
+
+    @Override
+    public List<ItemEntity> getItemsByBranch(UUID branchId) {
+        authorizeBranchAccess(branchId);
+        return itemRepository.findByBranchIdAndIsActiveTrue(branchId);
+    }
+
+    @Override
+    public String getItemsByCategoryETag(UUID categoryId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        return catalogVersionService.getCompanyETag(CatalogType.ITEMS, currentUser.companyId());
+    }
+
+    @Override
+    public String getItemsByCompanyETag(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getCompanyETag(CatalogType.ITEMS, companyId);
+    }
+
+    @Override
+    public String getItemsByBranchETag(UUID branchId) {
+        authorizeBranchAccess(branchId);
+        return catalogVersionService.getBranchETag(CatalogType.ITEMS, branchId);
+    }
+
+    @Override
+    public ItemCatalogPageResponse getItemCatalogPage(UUID branchId, ItemCatalogQuery query) {
+        authorizeBranchAccess(branchId);
+        UserContextDto currentUser = UserContext.getUserContext();
+        UUID companyId = currentUser.role() == Role.SUPER_ADMIN ? null : currentUser.companyId();
+
+        // Read one extra row to know whether another page exists
+        List<ItemCatalogEntry> items = itemRepository.findCatalogPage(branchId, companyId, query, query.limit() + 1);
+        boolean hasMore = items.size() > query.limit();
+        List<ItemCatalogEntry> page = hasMore ? items.subList(0, query.limit()) : items;
+
+        return ItemCatalogPageResponse.builder()
+                .items(page)
+                .nextCursor(hasMore ? query.cursorAfter(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public String getItemCatalogPageETag(UUID branchId, ItemCatalogQuery query) {
+        String eTag = getItemsByBranchETag(branchId);
+        return eTag.substring(0, eTag.length() - 1) + "-" + query.fingerprint() + "\"";
+    }
+
+    @Override
+    public List<ItemSearchResult> searchItems(UUID branchId, String query, int limit) {
+        authorizeBranchAccess(branchId);
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        // Served from the in-memory index; stock is not part of it and is read when the item is added
+        return itemSearchIndex.search(currentUser.companyId(), branchId, query,
+                        Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS)).stream()
+                .map(item -> new ItemSearchResult(item.id(), item.name(), item.description(), item.unit(),
+                        item.unitPrice(), item.itemCategoryId()))
+                .toList();
+    }
+
+    @Override
+    public SyncResponse<ItemEntity> getItemChangesByBranch(UUID branchId, SyncCursor cursor) {
+        authorizeBranchAccess(branchId);
+        UserContextDto currentUser = UserContext.getUserContext();
+        UUID companyId = currentUser.role() == Role.SUPER_ADMIN ? null : currentUser.companyId();
+
+        List<ItemEntity> items = itemRepository.findChangesByBranch(branchId, companyId,
+                cursor.since(), cursor.afterId(), cursor.until(), PageRequest.of(0, cursor.limit() + 1));
+
+        return SyncResponse.of(SyncEntityType.ITEMS, cursor, items,
+                ItemEntity::getLastModifiedDate, ItemEntity::getId, page -> page);
+    }
+
+    private void authorizeCompanyAccess(UUID companyId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
             throw new UnauthorizedException("Access denied to company items");
         }
-
-        return itemRepository.findByCompanyIdAndIsActiveTrue(companyId);
     }
 
-    @Override
-    public List<ItemEntity> getItemsByBranch(UUID branchId) {
+    private void authorizeBranchAccess(UUID branchId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         switch (currentUser.role()) {
@@ -90,8 +189,6 @@ public class ItemServiceImpl implements ItemService {
             default:
                 throw new UnauthorizedException("Insufficient permissions to access branch items");
         }
-
-        return itemRepository.findByBranchIdAndIsActiveTrue(branchId);
     }
 
     @Override
@@ -103,8 +200,10 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public ItemEntity updateItem(UUID id, CreateItemRequest request) {
         ItemEntity existingItem = getItemById(id);
+        int stockChange = quantityOf(request.stockQuantity()) - quantityOf(existingItem.getStockQuantity());
 
         existingItem.setName(request.name());
         existingItem.setDescription(request.description());
@@ -114,10 +213,13 @@ public class ItemServiceImpl implements ItemService {
         existingItem.setMinStockLevel(request.minStockLevel());
         existingItem.setItemCategoryId(request.itemCategoryId());
 
-        return itemRepository.save(existingItem);
+        ItemEntity savedItem = saveAndIndex(existingItem);
+        stockLedgerService.recordMovement(savedItem, stockChange, StockMovementType.ADJUSTMENT, null);
+        return savedItem;
     }
 
     @Override
+    @Transactional
     public ItemEntity updateDefaultDiscount(UUID id, DiscountRequest discountRequest) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -131,13 +233,25 @@ public class ItemServiceImpl implements ItemService {
         item.setDefaultDiscountValue(discountRequest.value() != null ? discountRequest.value() : BigDecimal.ZERO);
         item.setDefaultDiscountType(discountRequest.type());
 
-        return itemRepository.save(item);
+        return saveAndIndex(item);
     }
 
     @Override
+    @Transactional
     public void deactivateItem(UUID id) {
         ItemEntity item = getItemById(id);
         item.setActive(false);
-        itemRepository.save(item);
+        saveAndIndex(item);
+    }
+
+    private ItemEntity saveAndIndex(ItemEntity item) {
+        ItemEntity savedItem = itemRepository.save(item);
+        catalogVersionService.recordChange(CatalogType.ITEMS, savedItem.getCompanyId(), savedItem.getBranchId());
+        itemSearchIndex.index(savedItem);
+        return savedItem;
+    }
+
+    private static int quantityOf(Integer stockQuantity) {
+        return stockQuantity != null ? stockQuantity : 0;
     }
 }
@@ -0,0 +1,262 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.OutboxEventEntity;
+import com.codX.pos.entity.OutboxEventStatus;
+import com.codX.pos.entity.OutboxEventType;
+import com.codX.pos.entity.ServiceRecordEntity;
+import com.codX.pos.entity.ServiceStatus;
+import com.codX.pos.entity.StockMovementEntity;
+import com.codX.pos.outbox.OutboxEventSink;
+import com.codX.pos.outbox.OutboxMessage;
+import com.codX.pos.repository.OutboxEventRepository;
+import com.codX.pos.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox. Events are inserted by the caller's transaction, so they exist exactly when
+ * the change they describe committed, and a scheduled relay hands them to the configured
+ * {@link OutboxEventSink} in id order. Delivery is at least once: a crash between the sink accepting
+ * a batch and the batch being marked published sends it again.
+ * <p>
+ * When the sink rejects a batch, its events are sent one at a time so the ones ahead of a bad
+ * event still go out; the first event that fails alone is charged an attempt and backs off
+ * exponentially, letting later events overtake it. After {@code pos.outbox.max-attempts} it is
+ * moved to {@link OutboxEventStatus#DEAD_LETTER} and no longer relayed; setting it back to PENDING
+ * requeues it. During a sink outage only the oldest event is charged per run.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    // Upper bound on batches relayed per scheduled run, so one run cannot hold the scheduler thread
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink outboxEventSink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pos.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${pos.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${pos.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${pos.outbox.retry-backoff-seconds:5}")
+    private long retryBackoffSeconds;
+
+    @Value("${pos.outbox.max-backoff-seconds:900}")
+    private long maxBackoffSeconds;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             OutboxEventSink outboxEventSink,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxEventSink = outboxEventSink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void publishInvoiceEvent(InvoiceEntity invoice, OutboxEventType eventType) {
+        outboxEventRepository.save(toInvoiceEvent(invoice, eventType));
+    }
+
+    @Override
+    public void publishInvoiceEvents(List<InvoiceEntity> invoices, OutboxEventType eventType) {
+        outboxEventRepository.insertAll(invoices.stream()
+                .map(invoice -> toInvoiceEvent(invoice, eventType))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void publishServiceRecordEvent(ServiceRecordEntity serviceRecord, ServiceStatus previousStatus,
+                                          OutboxEventType eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("serviceRecordId", serviceRecord.getId());
+        payload.put("status", serviceRecord.getStatus());
+        if (previousStatus != null && previousStatus != serviceRecord.getStatus()) {
+            payload.put("previousStatus", previousStatus);
+        }
+        payload.put("customerId", serviceRecord.getCustomerId());
+        payload.put("vehicleId", serviceRecord.getVehicleId());
+        payload.put("invoiceId", serviceRecord.getInvoiceId());
+        payload.put("serviceDate", serviceRecord.getServiceDate());
+        payload.put("currentMileage", serviceRecord.getCurrentMileage());
+        payload.put("totalAmount", serviceRecord.getTotalAmount());
+
+        outboxEventRepository.save(OutboxEventEntity.builder()
+                .eventType(eventType)
+                .aggregateId(serviceRecord.getId())
+                .companyId(serviceRecord.getCompanyId())
+                .branchId(serviceRecord.getBranchId())
+                .payload(toJson(payload))
+                .build());
+    }
+
+    @Override
+    public void publishStockEvents(List<StockMovementEntity> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        List<OutboxEventEntity> events = new ArrayList<>(movements.size());
+        for (StockMovementEntity movement : movements) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("itemId", movement.getItemId());
+            payload.put("movementId", movement.getId());
+            payload.put("movementType", movement.getMovementType());
+            payload.put("quantity", movement.getQuantity());
+            payload.put("referenceId", movement.getReferenceId());
+
+            events.add(OutboxEventEntity.builder()
+                    .eventType(OutboxEventType.STOCK_CHANGED)
+                    .aggregateId(movement.getItemId())
+                    .companyId(movement.getCompanyId())
+                    .branchId(movement.getBranchId())
+                    .payload(toJson(payload))
+                    .build());
+        }
+        outboxEventRepository.insertAll(events);
+    }
+
+    @Override
+    public int relayPendingEvents() {
+        int relayed = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<Long> attempted = new ArrayList<>();
+            int published;
+            try {
+                published = relayBatch(batchSize, attempted);
+            } catch (RuntimeException e) {
+                log.warn("Failed to relay {} outbox events, sending them one at a time", attempted.size(), e);
+                relayed += relayOneByOne(attempted.size());
+                break;
+            }
+
+            relayed += published;
+            if (published < batchSize) {
+                break;
+            }
+        }
+        if (relayed > 0) {
+            log.debug("Relayed {} outbox events", relayed);
+        }
+        return relayed;
+    }
+
+    // Rows stay locked until the sink has accepted them and they are marked published
+    private int relayBatch(int limit, List<Long> attempted) {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEventEntity> events = outboxEventRepository.lockRelayable(LocalDateTime.now(), limit);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            events.forEach(event -> attempted.add(event.getId()));
+            outboxEventSink.publish(events.stream().map(this::toMessage).collect(Collectors.toList()));
+            outboxEventRepository.markPublished(attempted, LocalDateTime.now());
+            return events.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    private int relayOneByOne(int count) {
+        int relayed = 0;
+        for (int i = 0; i < count; i++) {
+            List<Long> attempted = new ArrayList<>(1);
+            try {
+                if (relayBatch(1, attempted) == 0) {
+                    break;
+                }
+                relayed++;
+            } catch (RuntimeException e) {
+                if (!attempted.isEmpty()) {
+                    recordFailure(attempted.get(0), e);
+                }
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    private void recordFailure(Long eventId, RuntimeException failure) {
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.findById(eventId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxEventStatus.DEAD_LETTER);
+                event.setNextAttemptAt(null);
+                log.error("Outbox event {} ({}) failed {} times, moved to dead letter",
+                        eventId, event.getEventType(), attempts, failure);
+            } else {
+                long backoff = Math.min(maxBackoffSeconds, retryBackoffSeconds << Math.min(attempts - 1, 20));
+                event.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+                log.warn("Outbox event {} failed attempt {}, retrying in {} s", eventId, attempts, backoff);
+            }
+            outboxEventRepository.save(event);
+        }));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    @Override
+    public void cleanupPublishedEvents() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Cleaned up {} published outbox events", deleted);
+    }
+
+    private OutboxEventEntity toInvoiceEvent(InvoiceEntity invoice, OutboxEventType eventType) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("invoiceId", invoice.getId());
+        payload.put("invoiceNumber", invoice.getInvoiceNumber());
+        payload.put("status", invoice.getStatus());
+        payload.put("type", invoice.getType());
+        payload.put("customerId", invoice.getCustomerId());
+        payload.put("vehicleId", invoice.getVehicleId());
+        payload.put("serviceRecordId", invoice.getServiceRecordId());
+        payload.put("invoiceDate", invoice.getInvoiceDate());
+        payload.put("totalAmount", invoice.getTotalAmount());
+
+        return OutboxEventEntity.builder()
+                .eventType(eventType)
+                .aggregateId(invoice.getId())
+                .companyId(invoice.getCompanyId())
+                .branchId(invoice.getBranchId())
+                .payload(toJson(payload))
+                .build();
+    }
+
+    private OutboxMessage toMessage(OutboxEventEntity event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(), event.getCompanyId(),
+                event.getBranchId(), event.getPayload(), event.getCreatedAt());
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event", e);
+        }
+    }
+}
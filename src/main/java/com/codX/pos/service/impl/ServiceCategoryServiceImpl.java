@@ -1,15 +1,18 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateServiceCategoryRequest;
 import com.codX.pos.entity.Role;
 import com.codX.pos.entity.ServiceCategoryEntity;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.ServiceCategoryRepository;
+import com.codX.pos.service.CatalogVersionService;
 import com.codX.pos.service.ServiceCategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,8 +22,10 @@ import java.util.UUID;
 public class ServiceCategoryServiceImpl implements ServiceCategoryService {
 
     private final ServiceCategoryRepository serviceCategoryRepository;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
+    @Transactional
     public ServiceCategoryEntity createServiceCategory(CreateServiceCategoryRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -43,29 +48,39 @@ public class ServiceCategoryServiceImpl implements ServiceCategoryService {
                 .isActive(true)
                 .build();
 
-        return serviceCategoryRepository.save(serviceCategory);
+        return save(serviceCategory);
     }
 
     @Override
     public List<ServiceCategoryEntity> getServiceCategoriesByCompany(UUID companyId) {
-        UserContextDto currentUser = UserContext.getUserContext();
-
-        if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
-            throw new UnauthorizedException("Access denied to company service categories");
-        }
-
+        authorizeCompanyAccess(companyId);
         return serviceCategoryRepository.findByCompanyIdAndIsActiveTrue(companyId);
     }
 
     @Override
     public List<ServiceCategoryEntity> getServiceCategoriesByBranch(UUID companyId, UUID branchId) {
+        authorizeCompanyAccess(companyId);
+        return serviceCategoryRepository.findByCompanyIdAndBranchIdAndIsActiveTrue(companyId, branchId);
+    }
+
+    @Override
+    public String getServiceCategoriesByCompanyETag(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getCompanyETag(CatalogType.SERVICE_CATEGORIES, companyId);
+    }
+
+    @Override
+    public String getServiceCategoriesByBranchETag(UUID companyId, UUID branchId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getBranchETag(CatalogType.SERVICE_CATEGORIES, branchId);
+    }
+
+    private void authorizeCompanyAccess(UUID companyId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
             throw new UnauthorizedException("Access denied to company service categories");
         }
-
-        return serviceCategoryRepository.findByCompanyIdAndBranchIdAndIsActiveTrue(companyId, branchId);
     }
 
     @Override
@@ -77,19 +92,28 @@ public class ServiceCategoryServiceImpl implements ServiceCategoryService {
     }
 
     @Override
+    @Transactional
     public ServiceCategoryEntity updateServiceCategory(UUID id, CreateServiceCategoryRequest request) {
         ServiceCategoryEntity existingCategory = getServiceCategoryById(id);
 
         existingCategory.setName(request.name());
         existingCategory.setDescription(request.description());
 
-        return serviceCategoryRepository.save(existingCategory);
+        return save(existingCategory);
     }
 
     @Override
+    @Transactional
     public void deactivateServiceCategory(UUID id) {
         ServiceCategoryEntity serviceCategory = getServiceCategoryById(id);
         serviceCategory.setActive(false);
-        serviceCategoryRepository.save(serviceCategory);
+        save(serviceCategory);
+    }
+
+    // Saved together with the catalog version, so list ETags change exactly when the category does
+    private ServiceCategoryEntity save(ServiceCategoryEntity serviceCategory) {
+        ServiceCategoryEntity saved = serviceCategoryRepository.save(serviceCategory);
+        catalogVersionService.recordChange(CatalogType.SERVICE_CATEGORIES, saved.getCompanyId(), saved.getBranchId());
+        return saved;
     }
 }
@@ -1,25 +1,43 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.SyncCursor;
+import com.codX.pos.dto.SyncEntityType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateServiceRecordRequest;
+import com.codX.pos.dto.request.ServiceDetailRequest;
 import com.codX.pos.dto.response.ServiceDetailResponse;
 import com.codX.pos.dto.response.ServiceRecordResponse;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.entity.*;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.ItemRepository;
 import com.codX.pos.repository.ServiceDetailRepository;
 import com.codX.pos.repository.ServiceRecordRepository;
 import com.codX.pos.repository.ServiceTypeRepository;
+import com.codX.pos.service.CustomerTimelineService;
+import com.codX.pos.service.OutboxService;
 import com.codX.pos.service.ServiceRecordService;
+import com.codX.pos.service.StockLedgerService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,9 +48,13 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
     private final ServiceDetailRepository serviceDetailRepository;
     private final ServiceTypeRepository serviceTypeRepository;
     private final ItemRepository itemRepository;
+    private final CustomerTimelineService customerTimelineService;
+    private final OutboxService outboxService;
+    private final StockLedgerService stockLedgerService;
 
     @Override
     @Transactional
+    @Timed(value = "pos.checkout", extraTags = {"operation", "service_record"}, percentiles = {0.5, 0.95, 0.99}, histogram = true)
     public ServiceRecordEntity createServiceRecord(CreateServiceRecordRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -121,6 +143,8 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
                         // Update item stock
                         item.setStockQuantity(item.getStockQuantity() - itemRequest.quantity());
                         itemRepository.save(item);
+                        stockLedgerService.recordMovement(item, -itemRequest.quantity(),
+                                StockMovementType.SERVICE_USE, savedServiceRecord.getId());
                     }
                 }
             }
@@ -128,7 +152,10 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
         // Update service record with total amount
         savedServiceRecord.setTotalAmount(totalAmount);
-        return serviceRecordRepository.save(savedServiceRecord);
+        ServiceRecordEntity createdRecord = serviceRecordRepository.save(savedServiceRecord);
+        customerTimelineService.recordServiceRecordEvent(createdRecord, TimelineEventType.SERVICE_RECORD_CREATED);
+        outboxService.publishServiceRecordEvent(createdRecord, null, OutboxEventType.SERVICE_RECORD_CREATED);
+        return createdRecord;
     }
 
     @Override
@@ -137,9 +164,7 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
         List<ServiceRecordEntity> serviceRecords = serviceRecordRepository.findByVehicleIdAndCompanyIdOrderByServiceDateDesc(vehicleId, currentUser.companyId());
 
-        return serviceRecords.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(serviceRecords);
     }
 
     @Override
@@ -148,9 +173,7 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
         List<ServiceRecordEntity> serviceRecords = serviceRecordRepository.findByCustomerIdAndCompanyIdOrderByServiceDateDesc(customerId, currentUser.companyId());
 
-        return serviceRecords.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(serviceRecords);
     }
 
     @Override
@@ -174,9 +197,34 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
         List<ServiceRecordEntity> serviceRecords = serviceRecordRepository.findByBranchIdOrderByServiceDateDesc(branchId);
 
-        return serviceRecords.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(serviceRecords);
+    }
+
+    @Override
+    public SyncResponse<ServiceRecordResponse> getServiceRecordChangesByBranch(UUID branchId, SyncCursor cursor) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        switch (currentUser.role()) {
+            case SUPER_ADMIN:
+                break;
+            case COMPANY_ADMIN:
+                break;
+            case BRANCH_ADMIN:
+            case POS_USER:
+                if (!currentUser.branchId().equals(branchId)) {
+                    throw new UnauthorizedException("You can only sync service records of your own branch");
+                }
+                break;
+            default:
+                throw new UnauthorizedException("Insufficient permissions to sync branch service records");
+        }
+
+        UUID companyId = currentUser.role() == Role.SUPER_ADMIN ? null : currentUser.companyId();
+        List<ServiceRecordEntity> serviceRecords = serviceRecordRepository.findChangesByBranch(branchId, companyId,
+                cursor.since(), cursor.afterId(), cursor.until(), PageRequest.of(0, cursor.limit() + 1));
+
+        return SyncResponse.of(SyncEntityType.SERVICE_RECORDS, cursor, serviceRecords,
+                ServiceRecordEntity::getLastModifiedDate, ServiceRecordEntity::getId, this::mapToResponses);
     }
 
     @Override
@@ -185,9 +233,7 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
 
         List<ServiceRecordEntity> serviceRecords = serviceRecordRepository.findByServiceDateBetweenAndCompanyIdOrderByServiceDateDesc(startDate, endDate, currentUser.companyId());
 
-        return serviceRecords.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return mapToResponses(serviceRecords);
     }
 
     @Override
@@ -208,6 +254,8 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         ServiceRecordEntity existingRecord = serviceRecordRepository.findByIdAndCompanyId(id, currentUser.companyId())
                 .orElseThrow(() -> new RuntimeException("Service record not found"));
 
+        ServiceStatus previousStatus = existingRecord.getStatus();
+
         // Update basic fields
         existingRecord.setVehicleId(request.vehicleId());
         existingRecord.setCustomerId(request.customerId());
@@ -216,86 +264,137 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         existingRecord.setNotes(request.notes());
         existingRecord.setStatus(request.status());
 
-        // Delete existing service details and restore stock
         List<ServiceDetailEntity> existingDetails = serviceDetailRepository.findByServiceRecordIdAndCompanyId(id, currentUser.companyId());
+        List<ServiceDetailRequest> detailRequests = request.serviceDetails() != null ? request.serviceDetails() : List.of();
+
+        // Load every referenced service type and item once instead of per line
+        Set<UUID> serviceTypeIds = detailRequests.stream()
+                .map(ServiceDetailRequest::serviceTypeId)
+                .collect(Collectors.toSet());
+        Map<UUID, ServiceTypeEntity> serviceTypes = serviceTypeRepository.findAllById(serviceTypeIds).stream()
+                .filter(serviceType -> serviceType.isActive() && currentUser.companyId().equals(serviceType.getCompanyId()))
+                .collect(Collectors.toMap(ServiceTypeEntity::getId, Function.identity()));
+
+        Set<UUID> itemIds = new HashSet<>();
+        detailRequests.stream()
+                .filter(detailRequest -> detailRequest.items() != null)
+                .flatMap(detailRequest -> detailRequest.items().stream())
+                .forEach(itemRequest -> itemIds.add(itemRequest.itemId()));
+        existingDetails.stream()
+                .filter(ServiceRecordServiceImpl::isItemDetail)
+                .forEach(detail -> itemIds.add(detail.getItemId()));
+        Map<UUID, ItemEntity> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemEntity::getId, Function.identity()));
+
+        // Existing details are kept and updated when a requested detail has the same (serviceTypeId, itemId)
+        Map<DetailKey, Deque<ServiceDetailEntity>> unmatchedDetails = new HashMap<>();
         for (ServiceDetailEntity detail : existingDetails) {
-            if (detail.getType() == ServiceDetailType.ITEM && detail.getItemId() != null) {
-                ItemEntity item = itemRepository.findById(detail.getItemId()).orElse(null);
-                if (item != null) {
-                    item.setStockQuantity(item.getStockQuantity() + detail.getQuantity());
-                    itemRepository.save(item);
-                }
-            }
+            unmatchedDetails.computeIfAbsent(DetailKey.of(detail), key -> new ArrayDeque<>()).add(detail);
         }
-        serviceDetailRepository.deleteByServiceRecordIdAndCompanyId(id, currentUser.companyId());
-
-        // Recreate service details with new data
-        BigDecimal totalAmount = BigDecimal.ZERO;
-
-        if (request.serviceDetails() != null) {
-            for (var serviceDetailRequest : request.serviceDetails()) {
-                ServiceTypeEntity serviceType = serviceTypeRepository.findByIdAndCompanyIdAndIsActiveTrue(
-                                serviceDetailRequest.serviceTypeId(), currentUser.companyId())
-                        .orElseThrow(() -> new RuntimeException("Service type not found"));
-
-                BigDecimal servicePrice = serviceDetailRequest.unitPrice() != null ?
-                        serviceDetailRequest.unitPrice() : serviceType.getBasePrice();
-                BigDecimal serviceTotalPrice = servicePrice.multiply(new BigDecimal(serviceDetailRequest.quantity()));
+        List<ServiceDetailEntity> newDetails = new ArrayList<>();
 
-                ServiceDetailEntity serviceDetail = ServiceDetailEntity.builder()
-                        .serviceRecordId(id)
-                        .serviceTypeId(serviceDetailRequest.serviceTypeId())
-                        .quantity(serviceDetailRequest.quantity())
-                        .unitPrice(servicePrice)
-                        .totalPrice(serviceTotalPrice)
-                        .type(ServiceDetailType.SERVICE)
-                        .notes(serviceDetailRequest.notes())
-                        .companyId(currentUser.companyId())
-                        .branchId(currentUser.branchId())
-                        .build();
+        // Net quantity taken from stock per item: what the record uses now minus what it used before
+        Map<UUID, Integer> stockUsage = new HashMap<>();
+        existingDetails.stream()
+                .filter(ServiceRecordServiceImpl::isItemDetail)
+                .forEach(detail -> stockUsage.merge(detail.getItemId(), -detail.getQuantity(), Integer::sum));
 
-                serviceDetailRepository.save(serviceDetail);
-                totalAmount = totalAmount.add(serviceTotalPrice);
-
-                if (serviceDetailRequest.items() != null) {
-                    for (var itemRequest : serviceDetailRequest.items()) {
-                        ItemEntity item = itemRepository.findByIdAndCompanyIdAndIsActiveTrue(
-                                        itemRequest.itemId(), currentUser.companyId())
-                                .orElseThrow(() -> new RuntimeException("Item not found"));
-
-                        if (item.getStockQuantity() < itemRequest.quantity()) {
-                            throw new RuntimeException("Insufficient stock for item: " + item.getName());
-                        }
-
-                        BigDecimal itemPrice = itemRequest.unitPrice() != null ?
-                                itemRequest.unitPrice() : item.getUnitPrice();
-                        BigDecimal itemTotalPrice = itemPrice.multiply(new BigDecimal(itemRequest.quantity()));
-
-                        ServiceDetailEntity itemDetail = ServiceDetailEntity.builder()
-                                .serviceRecordId(id)
-                                .serviceTypeId(serviceDetailRequest.serviceTypeId())
-                                .itemId(itemRequest.itemId())
-                                .quantity(itemRequest.quantity())
-                                .unitPrice(itemPrice)
-                                .totalPrice(itemTotalPrice)
-                                .type(ServiceDetailType.ITEM)
-                                .notes(itemRequest.notes())
-                                .companyId(currentUser.companyId())
-                                .branchId(currentUser.branchId())
-                                .build();
+        BigDecimal totalAmount = BigDecimal.ZERO;
 
-                        serviceDetailRepository.save(itemDetail);
-                        totalAmount = totalAmount.add(itemTotalPrice);
+        for (var serviceDetailRequest : detailRequests) {
+            ServiceTypeEntity serviceType = serviceTypes.get(serviceDetailRequest.serviceTypeId());
+            if (serviceType == null) {
+                throw new RuntimeException("Service type not found");
+            }
 
-                        item.setStockQuantity(item.getStockQuantity() - itemRequest.quantity());
-                        itemRepository.save(item);
+            BigDecimal servicePrice = serviceDetailRequest.unitPrice() != null ?
+                    serviceDetailRequest.unitPrice() : serviceType.getBasePrice();
+            BigDecimal serviceTotalPrice = servicePrice.multiply(new BigDecimal(serviceDetailRequest.quantity()));
+
+            reconcileDetail(unmatchedDetails, newDetails, ServiceDetailEntity.builder()
+                    .serviceRecordId(id)
+                    .serviceTypeId(serviceDetailRequest.serviceTypeId())
+                    .quantity(serviceDetailRequest.quantity())
+                    .unitPrice(servicePrice)
+                    .totalPrice(serviceTotalPrice)
+                    .type(ServiceDetailType.SERVICE)
+                    .notes(serviceDetailRequest.notes())
+                    .companyId(currentUser.companyId())
+                    .branchId(currentUser.branchId())
+                    .build());
+            totalAmount = totalAmount.add(serviceTotalPrice);
+
+            if (serviceDetailRequest.items() != null) {
+                for (var itemRequest : serviceDetailRequest.items()) {
+                    ItemEntity item = items.get(itemRequest.itemId());
+                    if (item == null || !item.isActive() || !currentUser.companyId().equals(item.getCompanyId())) {
+                        throw new RuntimeException("Item not found");
                     }
+
+                    BigDecimal itemPrice = itemRequest.unitPrice() != null ?
+                            itemRequest.unitPrice() : item.getUnitPrice();
+                    BigDecimal itemTotalPrice = itemPrice.multiply(new BigDecimal(itemRequest.quantity()));
+
+                    reconcileDetail(unmatchedDetails, newDetails, ServiceDetailEntity.builder()
+                            .serviceRecordId(id)
+                            .serviceTypeId(serviceDetailRequest.serviceTypeId())
+                            .itemId(itemRequest.itemId())
+                            .quantity(itemRequest.quantity())
+                            .unitPrice(itemPrice)
+                            .totalPrice(itemTotalPrice)
+                            .type(ServiceDetailType.ITEM)
+                            .notes(itemRequest.notes())
+                            .companyId(currentUser.companyId())
+                            .branchId(currentUser.branchId())
+                            .build());
+                    totalAmount = totalAmount.add(itemTotalPrice);
+                    stockUsage.merge(itemRequest.itemId(), itemRequest.quantity(), Integer::sum);
                 }
             }
         }
 
+        // Only items whose net usage changed are touched, each once
+        List<ItemEntity> changedItems = new ArrayList<>();
+        List<StockMovementEntity> movements = new ArrayList<>();
+        stockUsage.forEach((itemId, usage) -> {
+            ItemEntity item = items.get(itemId);
+            if (usage == 0 || item == null) {
+                return;
+            }
+            if (usage > 0 && item.getStockQuantity() < usage) {
+                throw new RuntimeException("Insufficient stock for item: " + item.getName());
+            }
+            item.setStockQuantity(item.getStockQuantity() - usage);
+            changedItems.add(item);
+            movements.add(StockMovementEntity.builder()
+                    .itemId(itemId)
+                    .companyId(item.getCompanyId())
+                    .branchId(item.getBranchId())
+                    .movementType(usage > 0 ? StockMovementType.SERVICE_USE : StockMovementType.RESTORE)
+                    .quantity(-usage)
+                    .referenceId(id)
+                    .build());
+        });
+
+        List<ServiceDetailEntity> removedDetails = unmatchedDetails.values().stream()
+                .flatMap(Deque::stream)
+                .toList();
+        if (!removedDetails.isEmpty()) {
+            serviceDetailRepository.deleteAllInBatch(removedDetails);
+        }
+        serviceDetailRepository.saveAll(newDetails);
+        // Kept details are managed entities and are only updated if a field changed
+
+        if (!changedItems.isEmpty()) {
+            itemRepository.saveAll(changedItems);
+            stockLedgerService.recordMovements(movements);
+        }
+
         existingRecord.setTotalAmount(totalAmount);
-        return serviceRecordRepository.save(existingRecord);
+        ServiceRecordEntity updatedRecord = serviceRecordRepository.save(existingRecord);
+        customerTimelineService.recordServiceRecordEvent(updatedRecord, TimelineEventType.SERVICE_RECORD_UPDATED);
+        outboxService.publishServiceRecordEvent(updatedRecord, previousStatus, OutboxEventType.SERVICE_RECORD_UPDATED);
+        return updatedRecord;
     }
 
     @Override
@@ -306,23 +405,38 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         ServiceRecordEntity serviceRecord = serviceRecordRepository.findByIdAndCompanyId(id, currentUser.companyId())
                 .orElseThrow(() -> new RuntimeException("Service record not found"));
 
-        // Restore stock for items
-        List<ServiceDetailEntity> serviceDetails = serviceDetailRepository.findByServiceRecordIdAndCompanyId(id, currentUser.companyId());
-        for (ServiceDetailEntity detail : serviceDetails) {
-            if (detail.getType() == ServiceDetailType.ITEM && detail.getItemId() != null) {
-                ItemEntity item = itemRepository.findById(detail.getItemId()).orElse(null);
-                if (item != null) {
-                    item.setStockQuantity(item.getStockQuantity() + detail.getQuantity());
-                    itemRepository.save(item);
-                }
-            }
+        // Restore stock for items: a fixed number of set-based statements, however many details there are.
+        // No restore movement means the record took nothing from stock, so there is nothing to put back
+        if (stockLedgerService.recordServiceRecordRestore(id, currentUser.companyId()) > 0) {
+            itemRepository.restoreServiceRecordStock(id, currentUser.companyId(), LocalDateTime.now(), currentUser.userId());
         }
 
         // Delete service details first
         serviceDetailRepository.deleteByServiceRecordIdAndCompanyId(id, currentUser.companyId());
 
         // Delete service record
-        serviceRecordRepository.delete(serviceRecord);
+        serviceRecordRepository.deleteByIdAndCompanyId(id, currentUser.companyId());
+        customerTimelineService.recordServiceRecordEvent(serviceRecord, TimelineEventType.SERVICE_RECORD_DELETED);
+        outboxService.publishServiceRecordEvent(serviceRecord, null, OutboxEventType.SERVICE_RECORD_DELETED);
+    }
+
+    private static void reconcileDetail(Map<DetailKey, Deque<ServiceDetailEntity>> unmatchedDetails,
+                                        List<ServiceDetailEntity> newDetails,
+                                        ServiceDetailEntity requested) {
+        Deque<ServiceDetailEntity> candidates = unmatchedDetails.get(DetailKey.of(requested));
+        ServiceDetailEntity existing = candidates != null ? candidates.pollFirst() : null;
+        if (existing == null) {
+            newDetails.add(requested);
+            return;
+        }
+        existing.setQuantity(requested.getQuantity());
+        existing.setUnitPrice(requested.getUnitPrice());
+        existing.setTotalPrice(requested.getTotalPrice());
+        existing.setNotes(requested.getNotes());
+    }
+
+    private static boolean isItemDetail(ServiceDetailEntity detail) {
+        return detail.getType() == ServiceDetailType.ITEM && detail.getItemId() != null;
     }
 
     private ServiceRecordResponse mapToResponse(ServiceRecordEntity serviceRecord) {
@@ -346,9 +460,63 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
                 .totalAmount(serviceRecord.getTotalAmount())
                 .invoiceId(serviceRecord.getInvoiceId())
                 .serviceDetails(serviceDetailResponses)
+                .lastModifiedDate(serviceRecord.getLastModifiedDate())
                 .build();
     }
 
+    /**
+     * Maps a page of service records with a fixed number of queries: details, service type names
+     * and item names are each loaded once for the whole page.
+     */
+    private List<ServiceRecordResponse> mapToResponses(List<ServiceRecordEntity> serviceRecords) {
+        if (serviceRecords.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> serviceRecordIds = serviceRecords.stream()
+                .map(ServiceRecordEntity::getId)
+                .collect(Collectors.toSet());
+        Map<UUID, List<ServiceDetailEntity>> detailsByRecord = serviceDetailRepository.findByServiceRecordIdIn(serviceRecordIds)
+                .stream()
+                .collect(Collectors.groupingBy(ServiceDetailEntity::getServiceRecordId));
+
+        List<ServiceDetailEntity> allDetails = detailsByRecord.values().stream()
+                .flatMap(List::stream)
+                .toList();
+        Map<UUID, String> serviceTypeNames = serviceTypeRepository.findAllById(allDetails.stream()
+                        .map(ServiceDetailEntity::getServiceTypeId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ServiceTypeEntity::getId, ServiceTypeEntity::getName));
+        Map<UUID, String> itemNames = itemRepository.findAllById(allDetails.stream()
+                        .map(ServiceDetailEntity::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemEntity::getId, ItemEntity::getName));
+
+        return serviceRecords.stream()
+                .map(serviceRecord -> ServiceRecordResponse.builder()
+                        .id(serviceRecord.getId())
+                        .vehicleId(serviceRecord.getVehicleId())
+                        .customerId(serviceRecord.getCustomerId())
+                        .serviceDate(serviceRecord.getServiceDate())
+                        .currentMileage(serviceRecord.getCurrentMileage())
+                        .notes(serviceRecord.getNotes())
+                        .status(serviceRecord.getStatus())
+                        .totalAmount(serviceRecord.getTotalAmount())
+                        .invoiceId(serviceRecord.getInvoiceId())
+                        .serviceDetails(detailsByRecord.getOrDefault(serviceRecord.getId(), List.of()).stream()
+                                .map(detail -> mapServiceDetailToResponse(detail,
+                                        serviceTypeNames.get(detail.getServiceTypeId()),
+                                        itemNames.get(detail.getItemId())))
+                                .collect(Collectors.toList()))
+                        .lastModifiedDate(serviceRecord.getLastModifiedDate())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     private ServiceDetailResponse mapServiceDetailToResponse(ServiceDetailEntity serviceDetail) {
         String serviceTypeName = null;
         String itemName = null;
@@ -367,6 +535,11 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
             }
         }
 
+        return mapServiceDetailToResponse(serviceDetail, serviceTypeName, itemName);
+    }
+
+    private ServiceDetailResponse mapServiceDetailToResponse(ServiceDetailEntity serviceDetail,
+                                                             String serviceTypeName, String itemName) {
         return ServiceDetailResponse.builder()
                 .id(serviceDetail.getId())
                 .serviceTypeId(serviceDetail.getServiceTypeId())
@@ -380,4 +553,10 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
                 .notes(serviceDetail.getNotes())
                 .build();
     }
+
+    private record DetailKey(UUID serviceTypeId, UUID itemId) {
+        static DetailKey of(ServiceDetailEntity detail) {
+            return new DetailKey(detail.getServiceTypeId(), detail.getType() == ServiceDetailType.ITEM ? detail.getItemId() : null);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateServiceTypeRequest;
 import com.codX.pos.dto.request.DiscountRequest;
@@ -9,9 +10,11 @@ import com.codX.pos.entity.Role;
 import com.codX.pos.entity.ServiceTypeEntity;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.ServiceTypeRepository;
+import com.codX.pos.service.CatalogVersionService;
 import com.codX.pos.service.ServiceTypeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -22,8 +25,10 @@ import java.util.UUID;
 public class ServiceTypeServiceImpl implements ServiceTypeService {
 
     private final ServiceTypeRepository serviceTypeRepository;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
+    @Transactional
     public ServiceTypeEntity createServiceType(CreateServiceTypeRequest request) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -50,7 +55,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
                 .isActive(true)
                 .build();
 
-        return serviceTypeRepository.save(serviceType);
+        return save(serviceType);
     }
 
     @Override
@@ -61,17 +66,43 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
 
     @Override
     public List<ServiceTypeEntity> getServiceTypesByCompany(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return serviceTypeRepository.findByCompanyIdAndIsActiveTrue(companyId);
+    }
+
+    @Override
+    public List<ServiceTypeEntity> getServiceTypesByBranch(UUID branchId) {
+        authorizeBranchAccess(branchId);
+        return serviceTypeRepository.findByBranchIdAndIsActiveTrue(branchId);
+    }
+
+    @Override
+    public String getServiceTypesByCategoryETag(UUID categoryId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        return catalogVersionService.getCompanyETag(CatalogType.SERVICE_TYPES, currentUser.companyId());
+    }
+
+    @Override
+    public String getServiceTypesByCompanyETag(UUID companyId) {
+        authorizeCompanyAccess(companyId);
+        return catalogVersionService.getCompanyETag(CatalogType.SERVICE_TYPES, companyId);
+    }
+
+    @Override
+    public String getServiceTypesByBranchETag(UUID branchId) {
+        authorizeBranchAccess(branchId);
+        return catalogVersionService.getBranchETag(CatalogType.SERVICE_TYPES, branchId);
+    }
+
+    private void authorizeCompanyAccess(UUID companyId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         if (currentUser.role() != Role.SUPER_ADMIN && !currentUser.companyId().equals(companyId)) {
             throw new UnauthorizedException("Access denied to company service types");
         }
-
-        return serviceTypeRepository.findByCompanyIdAndIsActiveTrue(companyId);
     }
 
-    @Override
-    public List<ServiceTypeEntity> getServiceTypesByBranch(UUID branchId) {
+    private void authorizeBranchAccess(UUID branchId) {
         UserContextDto currentUser = UserContext.getUserContext();
 
         switch (currentUser.role()) {
@@ -88,8 +119,6 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
             default:
                 throw new UnauthorizedException("Insufficient permissions to access branch service types");
         }
-
-        return serviceTypeRepository.findByBranchIdAndIsActiveTrue(branchId);
     }
 
     @Override
@@ -101,6 +130,7 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
     }
 
     @Override
+    @Transactional
     public ServiceTypeEntity updateServiceType(UUID id, CreateServiceTypeRequest request) {
         ServiceTypeEntity existingServiceType = getServiceTypeById(id);
 
@@ -110,10 +140,11 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         existingServiceType.setEstimatedDurationMinutes(request.estimatedDurationMinutes());
         existingServiceType.setServiceCategoryId(request.serviceCategoryId());
 
-        return serviceTypeRepository.save(existingServiceType);
+        return save(existingServiceType);
     }
 
     @Override
+    @Transactional
     public ServiceTypeEntity updateDefaultDiscount(UUID id, DiscountRequest discountRequest) {
         UserContextDto currentUser = UserContext.getUserContext();
 
@@ -127,13 +158,21 @@ public class ServiceTypeServiceImpl implements ServiceTypeService {
         serviceType.setDefaultDiscountValue(discountRequest.value() != null ? discountRequest.value() : BigDecimal.ZERO);
         serviceType.setDefaultDiscountType(discountRequest.type());
 
-        return serviceTypeRepository.save(serviceType);
+        return save(serviceType);
     }
 
     @Override
+    @Transactional
     public void deactivateServiceType(UUID id) {
         ServiceTypeEntity serviceType = getServiceTypeById(id);
         serviceType.setActive(false);
-        serviceTypeRepository.save(serviceType);
+        save(serviceType);
+    }
+
+    // Saved together with the catalog version, so list ETags change exactly when the service type does
+    private ServiceTypeEntity save(ServiceTypeEntity serviceType) {
+        ServiceTypeEntity saved = serviceTypeRepository.save(serviceType);
+        catalogVersionService.recordChange(CatalogType.SERVICE_TYPES, saved.getCompanyId(), saved.getBranchId());
+        return saved;
     }
 }
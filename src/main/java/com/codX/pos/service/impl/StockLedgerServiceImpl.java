@@ -0,0 +1,231 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.dto.ItemQuantityChange;
+import com.codX.pos.dto.ItemStockLevel;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.response.StockLevelResponse;
+import com.codX.pos.dto.response.StockMovementResponse;
+import com.codX.pos.entity.ItemEntity;
+import com.codX.pos.entity.StockMovementEntity;
+import com.codX.pos.entity.StockMovementType;
+import com.codX.pos.entity.StockSnapshotEntity;
+import com.codX.pos.exception.UnauthorizedException;
+import com.codX.pos.repository.ItemRepository;
+import com.codX.pos.repository.StockMovementRepository;
+import com.codX.pos.repository.StockSnapshotRepository;
+import com.codX.pos.service.CatalogVersionService;
+import com.codX.pos.service.OutboxService;
+import com.codX.pos.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only record of every stock change, with periodic per-item snapshots. Callers write a
+ * movement in the same transaction as the change to {@code ItemEntity.stockQuantity}, which stays
+ * the current balance. The stock of an item at any time is its latest snapshot before that time
+ * plus the few movements after it; items without a snapshot are worked back from the current
+ * balance instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final int MAX_MOVEMENTS = 500;
+    private static final int SNAPSHOT_CHUNK_SIZE = 1000;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxService outboxService;
+    private final CatalogVersionService catalogVersionService;
+
+    // Movements newer than this are left to the next snapshot, so transactions still in flight are not skipped
+    @Value("${pos.stock-ledger.snapshot-lag-minutes:5}")
+    private int snapshotLagMinutes;
+
+    @Override
+    public void recordMovement(ItemEntity item, int quantity, StockMovementType movementType, UUID referenceId) {
+        recordMovements(List.of(StockMovementEntity.builder()
+                .itemId(item.getId())
+                .companyId(item.getCompanyId())
+                .branchId(item.getBranchId())
+                .movementType(movementType)
+                .quantity(quantity)
+                .referenceId(referenceId)
+                .build()));
+    }
+
+    @Override
+    public void recordMovements(List<StockMovementEntity> movements) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        List<StockMovementEntity> changes = new ArrayList<>(movements.size());
+        for (StockMovementEntity movement : movements) {
+            if (movement.getQuantity() == null || movement.getQuantity() == 0) {
+                continue;
+            }
+            if (movement.getCreatedBy() == null && currentUser != null) {
+                movement.setCreatedBy(currentUser.userId());
+            }
+            changes.add(movement);
+        }
+        if (!changes.isEmpty()) {
+            stockMovementRepository.insertAll(changes);
+            outboxService.publishStockEvents(changes);
+            recordCatalogChanges(changes);
+        }
+    }
+
+    @Override
+    public int recordServiceRecordRestore(UUID serviceRecordId, UUID companyId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+        int inserted = stockMovementRepository.insertServiceRecordRestores(serviceRecordId, companyId,
+                currentUser != null ? currentUser.userId() : null, LocalDateTime.now());
+        if (inserted > 0) {
+            List<StockMovementEntity> restores = stockMovementRepository.findByReferenceIdAndCompanyIdAndMovementType(
+                    serviceRecordId, companyId, StockMovementType.RESTORE);
+            outboxService.publishStockEvents(restores);
+            recordCatalogChanges(restores);
+        }
+        return inserted;
+    }
+
+    // Item lists carry stock levels, so their ETags change with every movement; repeats within a transaction count once
+    private void recordCatalogChanges(List<StockMovementEntity> movements) {
+        movements.forEach(movement -> catalogVersionService.recordChange(CatalogType.ITEMS,
+                movement.getCompanyId(), movement.getBranchId()));
+    }
+
+    @Override
+    public StockLevelResponse getStockLevel(UUID itemId, LocalDateTime at) {
+        ItemEntity item = getAuthorizedItem(itemId);
+        LocalDateTime time = at != null ? at : LocalDateTime.now();
+
+        Optional<StockSnapshotEntity> snapshot =
+                stockSnapshotRepository.findFirstByItemIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(itemId, time);
+        long quantity = snapshot
+                .map(s -> s.getQuantity() + stockMovementRepository.sumQuantityAfterIdUpTo(itemId, s.getLastMovementId(), time))
+                .orElseGet(() -> currentQuantity(item) - stockMovementRepository.sumQuantityAfter(itemId, time));
+
+        return StockLevelResponse.builder()
+                .itemId(itemId)
+                .at(time)
+                .quantity((int) quantity)
+                .snapshotAt(snapshot.map(StockSnapshotEntity::getSnapshotAt).orElse(null))
+                .build();
+    }
+
+    @Override
+    public List<StockMovementResponse> getMovements(UUID itemId, LocalDateTime from, LocalDateTime to, int limit) {
+        getAuthorizedItem(itemId);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+
+        return stockMovementRepository.findByItemIdAndCreatedAtBetweenOrderByIdAsc(itemId, start, end,
+                        PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_MOVEMENTS))).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime snapshotAt = LocalDateTime.now().minusMinutes(snapshotLagMinutes);
+        Long lastMovementId = stockMovementRepository.findLastIdCreatedUpTo(snapshotAt);
+        long upToId = lastMovementId != null ? lastMovementId : 0L;
+        Long previousId = stockSnapshotRepository.findLastSnapshotMovementId();
+
+        // The first run snapshots every item as its opening balance; later runs only the items that moved
+        List<ItemStockLevel> levels;
+        if (previousId == null) {
+            levels = itemRepository.findAllStockLevels();
+        } else if (upToId > previousId) {
+            List<UUID> movedItemIds = stockMovementRepository.findItemIdsMovedBetween(previousId, upToId);
+            levels = new ArrayList<>(movedItemIds.size());
+            for (int i = 0; i < movedItemIds.size(); i += SNAPSHOT_CHUNK_SIZE) {
+                levels.addAll(itemRepository.findStockLevelsByIdIn(
+                        movedItemIds.subList(i, Math.min(i + SNAPSHOT_CHUNK_SIZE, movedItemIds.size()))));
+            }
+        } else {
+            return 0;
+        }
+
+        // Current balances already include movements after the snapshot point; take them back out
+        Map<UUID, Long> laterChanges = stockMovementRepository.sumQuantitiesAfter(upToId).stream()
+                .collect(Collectors.toMap(ItemQuantityChange::itemId, ItemQuantityChange::quantity));
+
+        List<StockSnapshotEntity> snapshots = new ArrayList<>(levels.size());
+        for (ItemStockLevel level : levels) {
+            long quantity = (level.stockQuantity() != null ? level.stockQuantity() : 0)
+                    - laterChanges.getOrDefault(level.itemId(), 0L);
+            snapshots.add(StockSnapshotEntity.builder()
+                    .itemId(level.itemId())
+                    .companyId(level.companyId())
+                    .branchId(level.branchId())
+                    .quantity((int) quantity)
+                    .lastMovementId(upToId)
+                    .snapshotAt(snapshotAt)
+                    .build());
+        }
+        stockSnapshotRepository.saveAll(snapshots);
+        log.info("Took {} stock snapshots up to movement {}", snapshots.size(), upToId);
+        return snapshots.size();
+    }
+
+    private ItemEntity getAuthorizedItem(UUID itemId) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        // Deactivated items keep their history, so this is not limited to active items
+        ItemEntity item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new RuntimeException("Item not found"));
+
+        switch (currentUser.role()) {
+            case SUPER_ADMIN:
+                break;
+            case COMPANY_ADMIN:
+                if (!item.getCompanyId().equals(currentUser.companyId())) {
+                    throw new RuntimeException("Item not found");
+                }
+                break;
+            case BRANCH_ADMIN:
+            case POS_USER:
+                if (!item.getCompanyId().equals(currentUser.companyId()) || !item.getBranchId().equals(currentUser.branchId())) {
+                    throw new UnauthorizedException("You can only access stock of your own branch");
+                }
+                break;
+            default:
+                throw new UnauthorizedException("Insufficient permissions to access stock history");
+        }
+        return item;
+    }
+
+    private static long currentQuantity(ItemEntity item) {
+        return item.getStockQuantity() != null ? item.getStockQuantity() : 0;
+    }
+
+    private StockMovementResponse mapToResponse(StockMovementEntity movement) {
+        return StockMovementResponse.builder()
+                .id(movement.getId())
+                .itemId(movement.getItemId())
+                .movementType(movement.getMovementType())
+                .quantity(movement.getQuantity())
+                .referenceId(movement.getReferenceId())
+                .createdBy(movement.getCreatedBy())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
+}
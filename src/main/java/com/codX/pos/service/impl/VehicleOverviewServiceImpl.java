@@ -0,0 +1,85 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.dto.response.ServiceRecordResponse;
+import com.codX.pos.dto.response.VehicleOverviewResponse;
+import com.codX.pos.dto.response.VehicleResponse;
+import com.codX.pos.service.InvoiceService;
+import com.codX.pos.service.ServiceRecordService;
+import com.codX.pos.service.VehicleOverviewService;
+import com.codX.pos.service.VehicleService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Composes the front desk's view of a vehicle. Once the vehicle is resolved, its service history
+ * and its customer's invoices are read at the same time on virtual threads, which carry the
+ * caller's user context so the usual company scoping applies. Both reads load their lines in
+ * batches rather than per record.
+ */
+@Service
+public class VehicleOverviewServiceImpl implements VehicleOverviewService {
+
+    private final VehicleService vehicleService;
+    private final ServiceRecordService serviceRecordService;
+    private final InvoiceService invoiceService;
+    private final AsyncTaskExecutor vehicleOverviewExecutor;
+
+    @Value("${pos.vehicle-overview.timeout-seconds:10}")
+    private int timeoutSeconds;
+
+    public VehicleOverviewServiceImpl(VehicleService vehicleService,
+                                      ServiceRecordService serviceRecordService,
+                                      InvoiceService invoiceService,
+                                      @Qualifier("vehicleOverviewExecutor") AsyncTaskExecutor vehicleOverviewExecutor) {
+        this.vehicleService = vehicleService;
+        this.serviceRecordService = serviceRecordService;
+        this.invoiceService = invoiceService;
+        this.vehicleOverviewExecutor = vehicleOverviewExecutor;
+    }
+
+    @Override
+    public VehicleOverviewResponse getVehicleOverview(String vehicleNumber) {
+        VehicleResponse vehicle = vehicleService.getVehicleByNumber(vehicleNumber);
+
+        CompletableFuture<List<ServiceRecordResponse>> serviceRecords = CompletableFuture.supplyAsync(
+                () -> serviceRecordService.getServiceRecordsByVehicle(vehicle.id()), vehicleOverviewExecutor);
+        CompletableFuture<List<InvoiceResponse>> invoices = vehicle.customerId() != null
+                ? CompletableFuture.supplyAsync(
+                        () -> invoiceService.getInvoicesByCustomer(vehicle.customerId()), vehicleOverviewExecutor)
+                : CompletableFuture.completedFuture(List.of());
+
+        // One deadline for both reads, so the request waits at most the timeout in total
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        return VehicleOverviewResponse.builder()
+                .vehicle(vehicle)
+                .serviceRecords(await(serviceRecords, deadline))
+                .invoices(await(invoices, deadline))
+                .build();
+    }
+
+    private static <T> T await(CompletableFuture<T> read, long deadline) {
+        try {
+            return read.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out loading the vehicle overview");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading the vehicle overview");
+        } catch (ExecutionException e) {
+            // Fail the same way the single-purpose endpoints would
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
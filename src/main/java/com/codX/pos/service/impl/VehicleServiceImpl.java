@@ -1,26 +1,37 @@
 package com.codX.pos.service.impl;
 
 import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.SyncCursor;
+import com.codX.pos.dto.SyncEntityType;
 import com.codX.pos.dto.UserContextDto;
 import com.codX.pos.dto.request.CreateVehicleRequest;
+import com.codX.pos.dto.response.SyncResponse;
 import com.codX.pos.dto.response.VehicleResponse;
 import com.codX.pos.entity.Role;
 import com.codX.pos.entity.VehicleEntity;
 import com.codX.pos.exception.UnauthorizedException;
 import com.codX.pos.repository.VehicleRepository;
+import com.codX.pos.search.VehiclePlateIndex;
 import com.codX.pos.service.VehicleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class VehicleServiceImpl implements VehicleService {
 
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final VehicleRepository vehicleRepository;
+    private final VehiclePlateIndex vehiclePlateIndex;
 
     @Override
     public VehicleEntity createVehicle(CreateVehicleRequest request) {
@@ -50,7 +61,9 @@ public class VehicleServiceImpl implements VehicleService {
                 .isActive(true)
                 .build();
 
-        return vehicleRepository.save(vehicle);
+        VehicleEntity savedVehicle = vehicleRepository.save(vehicle);
+        vehiclePlateIndex.index(savedVehicle);
+        return savedVehicle;
     }
 
     // NEW METHOD: Get all vehicles (Super Admin only)
@@ -100,6 +113,34 @@ public class VehicleServiceImpl implements VehicleService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public SyncResponse<VehicleResponse> getVehicleChangesByBranch(UUID branchId, SyncCursor cursor) {
+        UserContextDto currentUser = UserContext.getUserContext();
+
+        switch (currentUser.role()) {
+            case SUPER_ADMIN:
+            case COMPANY_ADMIN:
+                break;
+            case BRANCH_ADMIN:
+            case POS_USER:
+                // Terminals sync their own branch only
+                if (!currentUser.branchId().equals(branchId)) {
+                    throw new UnauthorizedException("You can only sync vehicles of your own branch");
+                }
+                break;
+            default:
+                throw new UnauthorizedException("Insufficient permissions to sync branch vehicles");
+        }
+
+        UUID companyId = currentUser.role() == Role.SUPER_ADMIN ? null : currentUser.companyId();
+        List<VehicleEntity> vehicles = vehicleRepository.findChangesByBranch(branchId, companyId,
+                cursor.since(), cursor.afterId(), cursor.until(), PageRequest.of(0, cursor.limit() + 1));
+
+        return SyncResponse.of(SyncEntityType.VEHICLES, cursor, vehicles,
+                VehicleEntity::getLastModifiedDate, VehicleEntity::getId,
+                page -> page.stream().map(this::mapToResponse).collect(Collectors.toList()));
+    }
+
     @Override
     public List<VehicleResponse> getVehiclesByCustomer(UUID customerId) {
         UserContextDto currentUser = UserContext.getUserContext();
@@ -149,12 +190,22 @@ public class VehicleServiceImpl implements VehicleService {
     }
 
     @Override
-    public List<VehicleResponse> searchVehiclesByNumber(String vehicleNumber) {
+    public List<VehicleResponse> searchVehiclesByNumber(String vehicleNumber, int limit) {
         UserContextDto currentUser = UserContext.getUserContext();
 
-        List<VehicleEntity> vehicles = vehicleRepository.searchByVehicleNumber(vehicleNumber, currentUser.companyId());
+        List<UUID> rankedIds = vehiclePlateIndex.search(
+                currentUser.companyId(), vehicleNumber, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
 
-        return vehicles.stream()
+        Map<UUID, VehicleEntity> vehiclesById = vehicleRepository.findAllById(rankedIds).stream()
+                .filter(vehicle -> vehicle.isActive() && currentUser.companyId().equals(vehicle.getCompanyId()))
+                .collect(Collectors.toMap(VehicleEntity::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .map(vehiclesById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -173,7 +224,9 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setEngineNumber(request.engineNumber());
         vehicle.setChassisNumber(request.chassisNumber());
 
-        return vehicleRepository.save(vehicle);
+        VehicleEntity savedVehicle = vehicleRepository.save(vehicle);
+        vehiclePlateIndex.index(savedVehicle);
+        return savedVehicle;
     }
 
     @Override
@@ -185,6 +238,7 @@ public class VehicleServiceImpl implements VehicleService {
 
         vehicle.setActive(false);
         vehicleRepository.save(vehicle);
+        vehiclePlateIndex.remove(vehicle);
     }
 
     private VehicleResponse mapToResponse(VehicleEntity vehicle) {
@@ -199,6 +253,8 @@ public class VehicleServiceImpl implements VehicleService {
                 .chassisNumber(vehicle.getChassisNumber())
                 .customerId(vehicle.getCustomerId())
                 .createdDate(vehicle.getCreatedDate())
+                .isActive(vehicle.isActive())
+                .lastModifiedDate(vehicle.getLastModifiedDate())
                 .build();
     }
 }
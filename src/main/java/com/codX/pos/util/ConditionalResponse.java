@@ -0,0 +1,34 @@
+package com.codX.pos.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Builds ETag-validated responses for catalog list endpoints. The list is only loaded when the
+ * client's If-None-Match does not match; otherwise the response is an empty 304.
+ */
+public final class ConditionalResponse {
+
+    private ConditionalResponse() {
+    }
+
+    public static ResponseEntity<?> of(WebRequest webRequest, String eTag, Supplier<?> data, String message) {
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        return builder.body(new StandardResponse<>(200, data.get(), message));
+    }
+}
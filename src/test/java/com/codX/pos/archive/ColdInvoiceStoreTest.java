@@ -0,0 +1,63 @@
+package com.codX.pos.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ColdInvoiceStoreTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void refusesToWriteWithoutAUsableDirectory() {
+        ColdInvoice invoice = InvoiceSegmentTest.invoice("INV-0001");
+
+        assertThatThrownBy(() -> store("").write(COMPANY_ID, YearMonth.of(2015, 3), List.of(invoice)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not set");
+        assertThatThrownBy(() -> store("invoice-cold").checkWritable())
+                .hasMessageContaining("absolute");
+        assertThatThrownBy(() -> store(directory.resolve("unmounted").toString()).checkWritable())
+                .hasMessageContaining("not a writable directory");
+        assertThat(store("").findById(COMPANY_ID, invoice.invoice().getId())).isEmpty();
+    }
+
+    @Test
+    void rewritingAMonthMergesByIdAndIsSeenByOtherInstances() {
+        ColdInvoiceStore writer = store(directory.toString());
+        ColdInvoiceStore reader = store(directory.toString());
+        List<ColdInvoice> march = InvoiceSegmentTest.invoices(3);
+        writer.write(COMPANY_ID, YearMonth.of(2015, 3), march);
+        assertThat(reader.findByInvoiceNumber(COMPANY_ID, "INV-0001")).isPresent();
+
+        ColdInvoice lateInvoice = InvoiceSegmentTest.invoice("INV-0100");
+        writer.write(COMPANY_ID, YearMonth.of(2015, 3), List.of(march.get(0), lateInvoice));
+        writer.write(COMPANY_ID, YearMonth.of(2015, 4), List.of(InvoiceSegmentTest.invoice("INV-0200")));
+
+        assertThat(reader.findById(COMPANY_ID, lateInvoice.invoice().getId())).isPresent();
+        assertThat(reader.findByInvoiceNumber(COMPANY_ID, "INV-0002")).isPresent();
+        assertThat(reader.findByInvoiceNumber(COMPANY_ID, "INV-0200")).isPresent();
+        assertThat(reader.findById(UUID.randomUUID(), lateInvoice.invoice().getId())).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColdInvoiceStore store(String directory) {
+        ObjectProvider<Jackson2ObjectMapperBuilder> builder = mock(ObjectProvider.class);
+        when(builder.getObject()).thenReturn(new Jackson2ObjectMapperBuilder());
+        return new ColdInvoiceStore(builder, directory);
+    }
+}
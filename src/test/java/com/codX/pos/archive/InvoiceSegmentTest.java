@@ -0,0 +1,190 @@
+package com.codX.pos.archive;
+
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+import com.codX.pos.entity.InvoiceStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvoiceSegmentTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    private final ObjectMapper smileMapper = new Jackson2ObjectMapperBuilder().smile().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsInvoicesWithTheirLines() throws IOException {
+        List<ColdInvoice> invoices = invoices(150);
+        Path file = write(invoices);
+
+        InvoiceSegment segment = InvoiceSegment.open(file, smileMapper);
+
+        assertThat(segment.blockCount()).isEqualTo(3);
+        List<ColdInvoice> read = segment.readAll();
+        assertThat(read).extracting(invoice -> invoice.invoice().getId())
+                .containsExactlyElementsOf(invoices.stream().map(invoice -> invoice.invoice().getId()).toList());
+        ColdInvoice first = read.get(0);
+        assertThat(first.invoice().getTotalAmount()).isEqualByComparingTo("100.50");
+        assertThat(first.invoice().getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(first.invoice().getInvoiceDate()).isEqualTo(invoices.get(0).invoice().getInvoiceDate());
+        assertThat(first.items()).singleElement()
+                .satisfies(item -> assertThat(item.getDescription()).isEqualTo("Line of INV-0000"));
+    }
+
+    @Test
+    void findsFirstAndLastInvoiceOfEveryBlock() throws IOException {
+        InvoiceSegment segment = InvoiceSegment.open(write(invoices(150)), smileMapper);
+
+        for (int i : new int[]{0, 63, 64, 127, 128, 149}) {
+            String number = number(i);
+            assertThat(segment.mayContain(number)).isTrue();
+            assertThat(segment.find(number)).as(number)
+                    .hasValueSatisfying(found -> assertThat(found.invoice().getInvoiceNumber()).isEqualTo(number));
+        }
+    }
+
+    @Test
+    void missesNumbersBetweenAndOutsideTheBlocks() throws IOException {
+        InvoiceSegment segment = InvoiceSegment.open(write(invoices(150)), smileMapper);
+
+        // Sorts after the last number of the first block and before the first of the second
+        assertThat(segment.find("INV-00635")).isEmpty();
+        assertThat(segment.mayContain("INV-")).isFalse();
+        assertThat(segment.find("INV-")).isEmpty();
+        assertThat(segment.mayContain("INV-9999")).isFalse();
+        assertThat(segment.find("INV-9999")).isEmpty();
+    }
+
+    @Test
+    void findsInvoicesById() throws IOException {
+        List<ColdInvoice> invoices = invoices(150);
+        InvoiceSegment segment = InvoiceSegment.open(write(invoices), smileMapper);
+
+        for (ColdInvoice invoice : invoices) {
+            assertThat(segment.findById(invoice.invoice().getId()))
+                    .hasValueSatisfying(found -> assertThat(found.invoice().getInvoiceNumber())
+                            .isEqualTo(invoice.invoice().getInvoiceNumber()));
+        }
+        assertThat(segment.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void invoiceWithoutNumberSortsFirstAndIsFoundByEmptyNumberOrId() throws IOException {
+        List<ColdInvoice> invoices = invoices(3);
+        ColdInvoice unnumbered = invoice(null);
+        invoices.add(unnumbered);
+
+        InvoiceSegment segment = InvoiceSegment.open(write(invoices), smileMapper);
+
+        assertThat(segment.readAll().get(0).invoice().getId()).isEqualTo(unnumbered.invoice().getId());
+        assertThat(segment.find("")).hasValueSatisfying(found ->
+                assertThat(found.invoice().getId()).isEqualTo(unnumbered.invoice().getId()));
+        assertThat(segment.findById(unnumbered.invoice().getId())).isPresent();
+        assertThat(segment.find(number(1))).isPresent();
+    }
+
+    @Test
+    void emptySegmentFindsNothing() throws IOException {
+        InvoiceSegment segment = InvoiceSegment.open(write(List.of()), smileMapper);
+
+        assertThat(segment.blockCount()).isZero();
+        assertThat(segment.mayContain(number(0))).isFalse();
+        assertThat(segment.find(number(0))).isEmpty();
+        assertThat(segment.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void rejectsAFileWithoutTheMagicNumber() throws IOException {
+        Path file = write(invoices(10));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> InvoiceSegment.open(file, smileMapper))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not an invoice segment");
+    }
+
+    @Test
+    void rejectsATrailerPointingOutsideTheFile() throws IOException {
+        Path file = write(invoices(10));
+        byte[] bytes = Files.readAllBytes(file);
+        // Index offset, the first field of the trailer
+        ByteBuffer.wrap(bytes).putLong(bytes.length - 28, bytes.length * 2L);
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> InvoiceSegment.open(file, smileMapper))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt invoice segment trailer");
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path file = write(invoices(10));
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> InvoiceSegment.open(file, smileMapper)).isInstanceOf(IOException.class);
+    }
+
+    private Path write(List<ColdInvoice> invoices) throws IOException {
+        List<ColdInvoice> sorted = new ArrayList<>(invoices);
+        sorted.sort(Comparator.comparing(InvoiceSegment::sortKey));
+        List<List<ColdInvoice>> blocks = new ArrayList<>();
+        for (int start = 0; start < sorted.size(); start += InvoiceSegment.BLOCK_SIZE) {
+            blocks.add(sorted.subList(start, Math.min(start + InvoiceSegment.BLOCK_SIZE, sorted.size())));
+        }
+        Path file = directory.resolve(COMPANY_ID.toString()).resolve("2015-03.seg");
+        InvoiceSegment.write(file, blocks, smileMapper);
+        return file;
+    }
+
+    static List<ColdInvoice> invoices(int count) {
+        List<ColdInvoice> invoices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            invoices.add(invoice(number(i)));
+        }
+        return invoices;
+    }
+
+    static ColdInvoice invoice(String invoiceNumber) {
+        UUID id = UUID.randomUUID();
+        InvoiceEntity invoice = InvoiceEntity.builder()
+                .id(id)
+                .invoiceNumber(invoiceNumber)
+                .invoiceDate(LocalDateTime.of(2015, 3, 14, 10, 30))
+                .totalAmount(new BigDecimal("100.50"))
+                .status(InvoiceStatus.PAID)
+                .companyId(COMPANY_ID)
+                .build();
+        InvoiceItemEntity item = InvoiceItemEntity.builder()
+                .id(UUID.randomUUID())
+                .invoiceId(id)
+                .description("Line of " + invoiceNumber)
+                .quantity(1)
+                .build();
+        return new ColdInvoice(invoice, List.of(item));
+    }
+
+    static String number(int index) {
+        return String.format("INV-%04d", index);
+    }
+}
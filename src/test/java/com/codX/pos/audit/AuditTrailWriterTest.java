@@ -0,0 +1,189 @@
+package com.codX.pos.audit;
+
+import com.codX.pos.entity.AuditAction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditTrailWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<String> insertedIds = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path spillDirectory;
+
+    private AuditTrailWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void writesSubmittedEventsAndDropsTheJournal() throws Exception {
+        insertsSucceed();
+        writer = start(30);
+
+        writer.submit(event("a"));
+        writer.submit(event("b"));
+        writer.submit(event("c"));
+        await(() -> insertedIds.size() == 3);
+        writer.stop();
+        writer = null;
+
+        assertThat(insertedIds).containsExactly("a", "b", "c");
+        assertThat(files("journal-")).isEmpty();
+        assertThat(files("audit-")).isEmpty();
+    }
+
+    @Test
+    void queuedEventIsInTheJournalBeforeItIsWritten() throws Exception {
+        CountDownLatch databaseBack = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    databaseBack.await(10, TimeUnit.SECONDS);
+                    record(invocation.getArgument(1));
+                    return new int[0][];
+                });
+        writer = start(30);
+
+        writer.submit(event("first"));
+        writer.submit(event("queued"));
+
+        // A crash now would leave both rows on disk for the next start to replay
+        assertThat(journalContent()).contains("\"entityId\":\"first\"", "\"entityId\":\"queued\"");
+        databaseBack.countDown();
+        await(() -> insertedIds.size() == 2);
+    }
+
+    @Test
+    void failedInsertIsSpilledAndReplayed() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    if (calls.getAndIncrement() == 0) {
+                        throw new DataAccessResourceFailureException("database down");
+                    }
+                    record(invocation.getArgument(1));
+                    return new int[0][];
+                });
+        writer = start(0);
+
+        writer.submit(event("a"));
+        await(() -> insertedIds.contains("a"));
+        await(() -> files("audit-").isEmpty());
+
+        assertThat(insertedIds).containsExactly("a");
+        assertThat(calls.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void rowsAreKeptInASpillFileWhileTheDatabaseIsDown() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        writer = start(3600);
+
+        writer.submit(event("a"));
+        await(() -> !files("audit-").isEmpty());
+        writer.stop();
+        writer = null;
+
+        assertThat(files("journal-")).isEmpty();
+        assertThat(Files.readString(files("audit-").get(0))).contains("\"entityId\":\"a\"");
+    }
+
+    @Test
+    void journalLeftByACrashIsReplayedOnStart() throws Exception {
+        insertsSucceed();
+        AuditRow row = new AuditRow("ItemEntity", "orphan", AuditAction.INSERT, UUID.randomUUID(), null,
+                UUID.randomUUID(), "{}", LocalDateTime.now());
+        Path leftover = spillDirectory.resolve("journal-1-" + UUID.randomUUID() + ".ndjson");
+        Files.writeString(leftover, objectMapper.writeValueAsString(row) + "\n", StandardCharsets.UTF_8);
+
+        writer = start(30);
+
+        await(() -> insertedIds.contains("orphan"));
+        await(() -> files("audit-").isEmpty());
+        assertThat(leftover).doesNotExist();
+    }
+
+    private AuditTrailWriter start(long retryIntervalSeconds) throws IOException {
+        AuditTrailWriter started = new AuditTrailWriter(jdbcTemplate, objectMapper, new SimpleMeterRegistry(),
+                16, 10, 10, retryIntervalSeconds, spillDirectory.toString(), true, 10);
+        started.start();
+        return started;
+    }
+
+    private void insertsSucceed() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    record(invocation.getArgument(1));
+                    return new int[0][];
+                });
+    }
+
+    private void record(Collection<AuditRow> rows) {
+        rows.forEach(row -> insertedIds.add(row.entityId()));
+    }
+
+    private List<Path> files(String prefix) {
+        try (Stream<Path> listing = Files.list(spillDirectory)) {
+            return listing.filter(file -> file.getFileName().toString().startsWith(prefix)).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String journalContent() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (Path file : files("journal-")) {
+            content.append(Files.readString(file));
+        }
+        return content.toString();
+    }
+
+    private static AuditEvent event(String entityId) {
+        return new AuditEvent("ItemEntity", entityId, AuditAction.INSERT, UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), new String[]{"name"}, null, new Object[]{"Oil filter"}, null, LocalDateTime.now());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
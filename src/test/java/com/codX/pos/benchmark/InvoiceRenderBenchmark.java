@@ -0,0 +1,119 @@
+package com.codX.pos.benchmark;
+
+import com.codX.pos.dto.response.InvoiceItemResponse;
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.DiscountType;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.entity.InvoiceType;
+import com.codX.pos.render.EscPosInvoiceRenderer;
+import com.codX.pos.render.InvoiceRenderer;
+import com.codX.pos.render.InvoiceTemplate;
+import com.codX.pos.render.InvoiceTemplateCache;
+import com.codX.pos.render.PdfInvoiceRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures uncached rendering throughput of every document format. One platform thread per available
+ * core renders a synthetic twelve-line invoice into a discarding stream for the given number of
+ * seconds, after a warm-up of the same length, and prints renders per second and per core.
+ *
+ * <p>Run with {@code java -cp <test classpath> com.codX.pos.benchmark.InvoiceRenderBenchmark [seconds]}.
+ */
+public class InvoiceRenderBenchmark {
+
+    private static final int LINES = 12;
+    private static final int RECEIPT_COLUMNS = 48;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        InvoiceTemplate template = new InvoiceTemplateCache(RECEIPT_COLUMNS).compile(new InvoiceTemplate.Branding(
+                "Benchmark Motors (Pvt) Ltd", "No. 42, Main Street, Colombo 03", "+94 11 234 5678",
+                "accounts@benchmark.example", "https://benchmark.example/logo.png"));
+        InvoiceResponse invoice = syntheticInvoice();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-8s %8s %12s %14s%n", "format", "threads", "renders/s", "renders/s/core");
+        for (InvoiceRenderer renderer : List.of(new PdfInvoiceRenderer(), new EscPosInvoiceRenderer())) {
+            measure(renderer, template, invoice, threads, seconds);
+            long renders = measure(renderer, template, invoice, threads, seconds);
+            double perSecond = renders / (double) seconds;
+            System.out.printf("%-8s %8d %12.0f %14.0f%n", renderer.format(), threads, perSecond, perSecond / threads);
+        }
+    }
+
+    private static long measure(InvoiceRenderer renderer, InvoiceTemplate template, InvoiceResponse invoice,
+                                int threads, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> renderUntil(renderer, template, invoice, deadline)));
+            }
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long renderUntil(InvoiceRenderer renderer, InvoiceTemplate template, InvoiceResponse invoice,
+                                    long deadline) throws IOException {
+        OutputStream discard = OutputStream.nullOutputStream();
+        long renders = 0;
+        while (System.nanoTime() < deadline) {
+            renderer.render(template, invoice, discard);
+            renders++;
+        }
+        return renders;
+    }
+
+    private static InvoiceResponse syntheticInvoice() {
+        List<InvoiceItemResponse> items = new ArrayList<>(LINES);
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 1; i <= LINES; i++) {
+            BigDecimal unitPrice = BigDecimal.valueOf(1250L * i, 2);
+            BigDecimal total = unitPrice.multiply(BigDecimal.valueOf(i));
+            boolean discounted = i % 4 == 0;
+            BigDecimal discount = discounted ? total.divide(BigDecimal.TEN) : BigDecimal.ZERO;
+            items.add(InvoiceItemResponse.builder()
+                    .id(UUID.randomUUID())
+                    .description("Synthetic service line " + i + " with a description long enough to wrap on a receipt")
+                    .quantity(i)
+                    .unitPrice(unitPrice)
+                    .totalPrice(total)
+                    .discountValue(discounted ? BigDecimal.TEN : null)
+                    .discountType(discounted ? DiscountType.PERCENTAGE : null)
+                    .discountAmount(discount)
+                    .finalPrice(total.subtract(discount))
+                    .build());
+            subtotal = subtotal.add(total.subtract(discount));
+        }
+        BigDecimal tax = subtotal.divide(BigDecimal.TEN);
+        return InvoiceResponse.builder()
+                .id(UUID.randomUUID())
+                .invoiceNumber("INV-20250101-0001")
+                .invoiceDate(LocalDateTime.now())
+                .subtotal(subtotal)
+                .taxAmount(tax)
+                .discountAmount(BigDecimal.ZERO)
+                .totalAmount(subtotal.add(tax))
+                .status(InvoiceStatus.PAID)
+                .type(InvoiceType.SERVICE)
+                .items(items)
+                .build();
+    }
+}
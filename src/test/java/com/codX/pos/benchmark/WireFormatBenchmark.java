@@ -0,0 +1,196 @@
+package com.codX.pos.benchmark;
+
+import com.codX.pos.dto.response.*;
+import com.codX.pos.entity.*;
+import com.codX.pos.util.StandardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and serialization CPU of JSON, Smile and CBOR for the large list
+ * responses (invoices, service records, items), with and without gzip.
+ *
+ * <p>Run with {@code java -cp <test classpath> com.codX.pos.benchmark.WireFormatBenchmark [listSize]}.
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    // Keeps the JIT from discarding the measured work
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws IOException {
+        int listSize = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", mapper(Jackson2ObjectMapperBuilder.json()));
+        mappers.put("smile", mapper(Jackson2ObjectMapperBuilder.smile()));
+        mappers.put("cbor", mapper(Jackson2ObjectMapperBuilder.cbor()));
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("invoices", new StandardResponse<>(200, invoices(listSize), "Invoices retrieved successfully"));
+        payloads.put("serviceRecords", new StandardResponse<>(200, serviceRecords(listSize), "Service records retrieved successfully"));
+        payloads.put("items", new StandardResponse<>(200, items(listSize), "Items retrieved successfully"));
+
+        System.out.printf("%-15s %-6s %12s %12s %12s %12s%n", "payload", "format", "bytes", "gzip bytes", "ser us/op", "gzip us/op");
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            long jsonBytes = 0;
+            for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+                byte[] raw = mapper.getValue().writeValueAsBytes(payload.getValue());
+                byte[] gzipped = gzip(raw);
+                if (jsonBytes == 0) {
+                    jsonBytes = raw.length;
+                }
+
+                double serializeMicros = measure(mapper.getValue(), payload.getValue(), false);
+                double gzipMicros = measure(mapper.getValue(), payload.getValue(), true);
+
+                System.out.printf("%-15s %-6s %12d %12d %12.1f %12.1f   (%.0f%% of json)%n",
+                        payload.getKey(), mapper.getKey(), raw.length, gzipped.length,
+                        serializeMicros, gzipMicros, 100.0 * raw.length / jsonBytes);
+            }
+        }
+    }
+
+    private static ObjectMapper mapper(Jackson2ObjectMapperBuilder builder) {
+        // Same defaults as the application's auto-configured mapper
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static double measure(ObjectMapper mapper, Object payload, boolean compress) throws IOException {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += serialize(mapper, payload, compress);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += serialize(mapper, payload, compress);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = sink;
+        return elapsed / 1_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static int serialize(ObjectMapper mapper, Object payload, boolean compress) throws IOException {
+        byte[] raw = mapper.writeValueAsBytes(payload);
+        return compress ? gzip(raw).length : raw.length;
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<InvoiceResponse> invoices(int count) {
+        List<InvoiceResponse> invoices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<InvoiceItemResponse> lines = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                lines.add(InvoiceItemResponse.builder()
+                        .id(UUID.randomUUID())
+                        .description(j % 2 == 0 ? "Full Service - Engine oil change" : "Castrol GTX 5W-30 (4L)")
+                        .quantity(1 + j)
+                        .unitPrice(new BigDecimal("2450.00"))
+                        .totalPrice(new BigDecimal("2450.00").multiply(BigDecimal.valueOf(1 + j)))
+                        .discountValue(new BigDecimal("5.00"))
+                        .discountType(DiscountType.PERCENTAGE)
+                        .discountAmount(new BigDecimal("122.50"))
+                        .finalPrice(new BigDecimal("2327.50"))
+                        .type(j % 2 == 0 ? InvoiceItemType.SERVICE : InvoiceItemType.ITEM)
+                        .build());
+            }
+            invoices.add(InvoiceResponse.builder()
+                    .id(UUID.randomUUID())
+                    .invoiceNumber("INV-20250101-" + String.format("%04d", i))
+                    .invoiceDate(LocalDateTime.now().minusMinutes(i))
+                    .subtotal(new BigDecimal("9800.00"))
+                    .taxAmount(BigDecimal.ZERO)
+                    .discountAmount(new BigDecimal("490.00"))
+                    .overallDiscountValue(BigDecimal.ZERO)
+                    .overallDiscountType(DiscountType.PERCENTAGE)
+                    .overallDiscountAmount(BigDecimal.ZERO)
+                    .totalAmount(new BigDecimal("9310.00"))
+                    .status(InvoiceStatus.PAID)
+                    .type(InvoiceType.MIXED)
+                    .customerId(UUID.randomUUID())
+                    .vehicleId(UUID.randomUUID())
+                    .serviceRecordId(UUID.randomUUID())
+                    .items(lines)
+                    .build());
+        }
+        return invoices;
+    }
+
+    private static List<ServiceRecordResponse> serviceRecords(int count) {
+        List<ServiceRecordResponse> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<ServiceDetailResponse> details = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                details.add(ServiceDetailResponse.builder()
+                        .id(UUID.randomUUID())
+                        .serviceTypeId(j == 0 ? UUID.randomUUID() : null)
+                        .serviceTypeName(j == 0 ? "Full Service" : null)
+                        .itemId(j == 0 ? null : UUID.randomUUID())
+                        .itemName(j == 0 ? null : "Oil Filter")
+                        .quantity(1)
+                        .unitPrice(new BigDecimal("1500.00"))
+                        .totalPrice(new BigDecimal("1500.00"))
+                        .type(j == 0 ? ServiceDetailType.SERVICE : ServiceDetailType.ITEM)
+                        .notes("Checked and replaced")
+                        .build());
+            }
+            records.add(ServiceRecordResponse.builder()
+                    .id(UUID.randomUUID())
+                    .vehicleId(UUID.randomUUID())
+                    .customerId(UUID.randomUUID())
+                    .serviceDate(LocalDateTime.now().minusHours(i))
+                    .currentMileage(45_000 + i)
+                    .notes("Customer reported noise from front brakes")
+                    .status(ServiceStatus.COMPLETED)
+                    .totalAmount(new BigDecimal("4500.00"))
+                    .invoiceId(UUID.randomUUID())
+                    .serviceDetails(details)
+                    .lastModifiedDate(LocalDateTime.now())
+                    .build());
+        }
+        return records;
+    }
+
+    private static List<ItemDto> items(int count) {
+        ItemCategoryDto category = ItemCategoryDto.builder()
+                .id(UUID.randomUUID())
+                .name("Car Care Products")
+                .description("All car care and maintenance products")
+                .build();
+        List<ItemDto> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(ItemDto.builder()
+                    .id(UUID.randomUUID())
+                    .name("Engine Oil 5W-30 #" + i)
+                    .description("Fully synthetic engine oil")
+                    .unitPrice(new BigDecimal("3200.00"))
+                    .unit("liters")
+                    .stockQuantity(120 - (i % 100))
+                    .minStockLevel(10)
+                    .itemCategory(category)
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,62 @@
+package com.codX.pos.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteBoundedLruCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> removed = new ArrayList<>();
+    private final ByteBoundedLruCache<String, byte[]> cache = new ByteBoundedLruCache<>(meterRegistry, "test.cache",
+            "Bytes held in the test cache", 10, value -> value.length, (key, value) -> removed.add(key));
+
+    @Test
+    void evictsTheLeastRecentlyReadEntriesOnceOverTheByteBound() {
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.get("a");
+
+        cache.put("c", new byte[4]);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(removed).containsExactly("b");
+        assertThat(cache.totalBytes()).isEqualTo(8);
+        assertThat(meterRegistry.get("test.cache.bytes").gauge().value()).isEqualTo(8);
+    }
+
+    @Test
+    void replacingAnEntryReleasesItsBytes() {
+        cache.put("a", new byte[6]);
+        cache.put("a", new byte[3]);
+
+        assertThat(cache.totalBytes()).isEqualTo(3);
+        assertThat(removed).containsExactly("a");
+    }
+
+    @Test
+    void valueLargerThanTheCacheIsNotStored() {
+        assertThat(cache.put("a", new byte[11])).isFalse();
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.totalBytes()).isZero();
+    }
+
+    @Test
+    void unusableEntriesAndNullKeysCountAsMisses() {
+        cache.put("a", new byte[1]);
+
+        assertThat(cache.get("a", value -> false)).isNull();
+        assertThat(cache.get(null)).isNull();
+        assertThat(cache.get("a")).isNotNull();
+
+        assertThat(meterRegistry.get("test.cache.requests").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("test.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+}
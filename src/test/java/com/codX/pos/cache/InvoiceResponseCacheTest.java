@@ -0,0 +1,122 @@
+package com.codX.pos.cache;
+
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.InvoiceStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvoiceResponseCacheTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    private final InvoiceResponseCache cache = new InvoiceResponseCache(new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(), 1024 * 1024);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void cachesClosedInvoicesByIdAndNumber() {
+        InvoiceResponse invoice = invoice("INV-1", InvoiceStatus.PAID);
+        byte[] json = cache.serialize(invoice);
+
+        cache.put(COMPANY_ID, invoice, json, cache.stamp());
+
+        assertThat(cache.getById(COMPANY_ID, invoice.id())).isSameAs(json);
+        assertThat(cache.getByNumber(COMPANY_ID, "INV-1")).isSameAs(json);
+        assertThat(cache.getById(UUID.randomUUID(), invoice.id())).isNull();
+        assertThat(cache.getByNumber(UUID.randomUUID(), "INV-1")).isNull();
+    }
+
+    @Test
+    void skipsInvoicesThatCanStillChange() {
+        InvoiceResponse invoice = invoice("INV-1", InvoiceStatus.SENT);
+
+        cache.put(COMPANY_ID, invoice, cache.serialize(invoice), cache.stamp());
+
+        assertThat(cache.getById(COMPANY_ID, invoice.id())).isNull();
+    }
+
+    @Test
+    void readThatRacedWithAnEvictionIsNotCached() {
+        InvoiceResponse invoice = invoice("INV-1", InvoiceStatus.PAID);
+        long stamp = cache.stamp();
+
+        // The status change commits between the read and the put
+        cache.evict(COMPANY_ID, invoice.id());
+        cache.put(COMPANY_ID, invoice, cache.serialize(invoice), stamp);
+
+        assertThat(cache.getById(COMPANY_ID, invoice.id())).isNull();
+    }
+
+    @Test
+    void putAfterCommitWaitsForTheCommitAndLosesToAnEvictionInBetween() {
+        InvoiceResponse paid = invoice("INV-1", InvoiceStatus.PAID);
+        InvoiceResponse cancelled = invoice("INV-2", InvoiceStatus.CANCELLED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(COMPANY_ID, paid);
+        assertThat(cache.getById(COMPANY_ID, paid.id())).isNull();
+        commit();
+        assertThat(cache.getById(COMPANY_ID, paid.id())).isNotNull();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(COMPANY_ID, cancelled);
+        cache.evictAfterCommit(COMPANY_ID, cancelled.id());
+        // Another transaction evicts before this one commits
+        cache.evict(COMPANY_ID, cancelled.id());
+        commit();
+
+        assertThat(cache.getById(COMPANY_ID, cancelled.id())).isNull();
+        assertThat(cache.getById(COMPANY_ID, paid.id())).isNotNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyReadInvoicesPastTheByteBound() {
+        InvoiceResponse first = invoice("INV-1", InvoiceStatus.PAID);
+        InvoiceResponse second = invoice("INV-2", InvoiceStatus.PAID);
+        InvoiceResponse third = invoice("INV-3", InvoiceStatus.PAID);
+        int size = cache.serialize(first).length;
+        InvoiceResponseCache small = new InvoiceResponseCache(new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), size * 2L + 10);
+
+        small.put(COMPANY_ID, first, small.serialize(first), small.stamp());
+        small.put(COMPANY_ID, second, small.serialize(second), small.stamp());
+        small.getById(COMPANY_ID, first.id());
+        small.put(COMPANY_ID, third, small.serialize(third), small.stamp());
+
+        assertThat(small.getById(COMPANY_ID, first.id())).isNotNull();
+        assertThat(small.getById(COMPANY_ID, second.id())).isNull();
+        assertThat(small.getByNumber(COMPANY_ID, "INV-2")).isNull();
+        assertThat(small.getById(COMPANY_ID, third.id())).isNotNull();
+        assertThat(small.totalBytes()).isLessThanOrEqualTo(size * 2L + 10);
+    }
+
+    private static void commit() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static InvoiceResponse invoice(String invoiceNumber, InvoiceStatus status) {
+        return InvoiceResponse.builder()
+                .id(UUID.randomUUID())
+                .invoiceNumber(invoiceNumber)
+                .totalAmount(new BigDecimal("100.00"))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.codX.pos.live;
+
+import com.codX.pos.dto.response.BranchActivityEvent;
+import com.codX.pos.entity.OutboxEventEntity;
+import com.codX.pos.entity.OutboxEventType;
+import com.codX.pos.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BranchActivityFeedTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final BranchActivityBus bus = mock(BranchActivityBus.class);
+    private final BranchActivityFeed feed = new BranchActivityFeed(repository, bus, new ObjectMapper(), 2, 60);
+
+    // Committed rows, as any instance would see them
+    private final List<OutboxEventEntity> committed = new ArrayList<>();
+
+    private final UUID branchId = UUID.randomUUID();
+    private final UUID otherBranchId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(bus.hasSubscribers()).thenReturn(true);
+        when(bus.hasSubscribers(branchId)).thenReturn(true);
+        when(repository.findMaxId()).thenAnswer(invocation -> committed.stream()
+                .map(OutboxEventEntity::getId)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+        when(repository.findAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return committed.stream()
+                    .filter(event -> event.getId() > afterId)
+                    .sorted(Comparator.comparing(OutboxEventEntity::getId))
+                    .limit(limit)
+                    .toList();
+        });
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return committed.stream().filter(event -> ids.contains(event.getId())).toList();
+        });
+    }
+
+    @Test
+    void startsAtTheTailAndDeliversEventsWrittenByAnyInstance() {
+        commit(1, OutboxEventType.INVOICE_CREATED, branchId, "{}");
+        feed.poll();
+
+        commit(2, OutboxEventType.SERVICE_RECORD_UPDATED, branchId,
+                "{\"status\":\"COMPLETED\",\"previousStatus\":\"IN_PROGRESS\",\"totalAmount\":120.50}");
+        commit(3, OutboxEventType.INVOICE_PAID, branchId, "{\"invoiceNumber\":\"INV-7\",\"status\":\"PAID\"}");
+        commit(4, OutboxEventType.INVOICE_CREATED, branchId, "{\"invoiceNumber\":\"INV-8\"}");
+
+        assertThat(feed.poll()).isEqualTo(3);
+
+        List<BranchActivityEvent> published = published();
+        assertThat(published).extracting(BranchActivityEvent::eventType).containsExactly(
+                OutboxEventType.SERVICE_RECORD_UPDATED, OutboxEventType.INVOICE_PAID, OutboxEventType.INVOICE_CREATED);
+        assertThat(published.get(0).status()).isEqualTo("COMPLETED");
+        assertThat(published.get(0).previousStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(published.get(0).totalAmount()).isEqualByComparingTo(new BigDecimal("120.50"));
+        assertThat(published.get(1).invoiceNumber()).isEqualTo("INV-7");
+    }
+
+    @Test
+    void deliversALowerIdThatCommitsLate() {
+        feed.poll();
+        commit(2, OutboxEventType.INVOICE_CREATED, branchId, "{\"invoiceNumber\":\"INV-2\"}");
+        assertThat(feed.poll()).isEqualTo(1);
+
+        commit(1, OutboxEventType.INVOICE_CREATED, branchId, "{\"invoiceNumber\":\"INV-1\"}");
+        assertThat(feed.poll()).isEqualTo(1);
+        assertThat(feed.poll()).isZero();
+
+        assertThat(published()).extracting(BranchActivityEvent::invoiceNumber).containsExactly("INV-2", "INV-1");
+    }
+
+    @Test
+    void skipsStockChangesAndBranchesWithoutStreams() {
+        feed.poll();
+        commit(1, OutboxEventType.STOCK_CHANGED, branchId, "{}");
+        commit(2, OutboxEventType.INVOICE_CREATED, otherBranchId, "{}");
+        commit(3, OutboxEventType.INVOICE_CREATED, null, "{}");
+
+        assertThat(feed.poll()).isZero();
+        verify(bus, never()).publish(any());
+    }
+
+    @Test
+    void doesNotReadWhileNoStreamIsOpen() {
+        when(bus.hasSubscribers()).thenReturn(false);
+        commit(1, OutboxEventType.INVOICE_CREATED, branchId, "{}");
+
+        assertThat(feed.poll()).isZero();
+        verify(repository, never()).findAfter(anyLong(), anyInt());
+
+        // A stream opened later starts from the tail instead of replaying what it missed
+        when(bus.hasSubscribers()).thenReturn(true);
+        assertThat(feed.poll()).isZero();
+        verify(bus, never()).publish(any());
+    }
+
+    private void commit(long id, OutboxEventType eventType, UUID branch, String payload) {
+        committed.add(OutboxEventEntity.builder()
+                .id(id)
+                .eventType(eventType)
+                .aggregateId(UUID.randomUUID())
+                .branchId(branch)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private List<BranchActivityEvent> published() {
+        ArgumentCaptor<BranchActivityEvent> captor = ArgumentCaptor.forClass(BranchActivityEvent.class);
+        verify(bus, atLeastOnce()).publish(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,201 @@
+package com.codX.pos.loadtest;
+
+import com.codX.pos.loadtest.TerminalSession.Credentials;
+import com.codX.pos.loadtest.TerminalSession.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives a mixed checkout workload against a running instance, one virtual thread per till, and
+ * reports throughput, latency percentiles and error rates per operation.
+ *
+ * <p>Tills are POS users read from a credentials file ({@code userName,password,companyId,branchId}
+ * per line, as written by the synthetic data generator). Settings are system properties:
+ * <ul>
+ *     <li>{@code baseUrl} - default {@code http://localhost:8080}</li>
+ *     <li>{@code credentials} - default {@code target/loadtest-credentials.csv}</li>
+ *     <li>{@code tenants}, {@code branches}, {@code tills} - how many companies, branches per company
+ *     and tills per branch to take from the file; default all</li>
+ *     <li>{@code warmupSeconds}, {@code durationSeconds} - default 30 and 120</li>
+ *     <li>{@code thinkTimeMillis} - pause between operations of one till, default 250</li>
+ *     <li>{@code maxErrorRate} - the run fails above this error rate, default 0.01</li>
+ * </ul>
+ * The process exits with status 1 when the error rate is exceeded, so it can gate a release job.
+ */
+public class LoadTestHarness {
+
+    // Relative frequency of each operation in the mix; a service record is always followed by its invoice
+    private static final Map<Operation, Integer> WORKLOAD_MIX = new LinkedHashMap<>();
+
+    static {
+        WORKLOAD_MIX.put(Operation.CATALOG_FETCH, 20);
+        WORKLOAD_MIX.put(Operation.VEHICLE_SEARCH, 25);
+        WORKLOAD_MIX.put(Operation.ITEM_SALE, 25);
+        WORKLOAD_MIX.put(Operation.SERVICE_RECORD_CREATE, 15);
+        WORKLOAD_MIX.put(Operation.INVOICE_LISTING, 13);
+        WORKLOAD_MIX.put(Operation.LOGIN, 2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("baseUrl", "http://localhost:8080");
+        Path credentialsFile = Path.of(System.getProperty("credentials", "target/loadtest-credentials.csv"));
+        int tenants = Integer.getInteger("tenants", Integer.MAX_VALUE);
+        int branches = Integer.getInteger("branches", Integer.MAX_VALUE);
+        int tills = Integer.getInteger("tills", Integer.MAX_VALUE);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("warmupSeconds", 30));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("durationSeconds", 120));
+        long thinkTimeMillis = Long.getLong("thinkTimeMillis", 250);
+        double maxErrorRate = Double.parseDouble(System.getProperty("maxErrorRate", "0.01"));
+
+        List<Credentials> selected = select(readCredentials(credentialsFile), tenants, branches, tills);
+        if (selected.isEmpty()) {
+            throw new IllegalStateException("No tills selected from " + credentialsFile);
+        }
+        System.out.printf("Driving %d tills against %s (warmup %ds, measured %ds)%n",
+                selected.size(), baseUrl, warmup.toSeconds(), duration.toSeconds());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService tillExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<TerminalSession> sessions = new ArrayList<>();
+            for (Credentials credentials : selected) {
+                sessions.add(new TerminalSession(httpClient, objectMapper, baseUrl, credentials));
+            }
+            List<Future<?>> preparing = new ArrayList<>();
+            for (TerminalSession session : sessions) {
+                preparing.add(tillExecutor.submit(() -> {
+                    session.prepare();
+                    return null;
+                }));
+            }
+            for (Future<?> future : preparing) {
+                future.get();
+            }
+
+            // Warmup samples are discarded before the measured phase
+            run(sessions, tillExecutor, warmup, thinkTimeMillis);
+            Map<Operation, LatencyRecorder> warmupTotals = merge(sessions);
+            sessions.forEach(session -> session.recorders().replaceAll((operation, recorder) -> new LatencyRecorder()));
+
+            long start = System.nanoTime();
+            run(sessions, tillExecutor, duration, thinkTimeMillis);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("Warmup: %d operations%n", warmupTotals.values().stream().mapToInt(LatencyRecorder::count).sum());
+            boolean passed = report(merge(sessions), elapsedSeconds, maxErrorRate);
+            if (!passed) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void run(List<TerminalSession> sessions, ExecutorService executor, Duration duration,
+                            long thinkTimeMillis) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> running = new ArrayList<>();
+        for (TerminalSession session : sessions) {
+            running.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    session.execute(nextOperation());
+                    if (thinkTimeMillis > 0) {
+                        Thread.sleep(ThreadLocalRandom.current().nextLong(thinkTimeMillis / 2, thinkTimeMillis * 3 / 2 + 1));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+
+    private static Operation nextOperation() {
+        int total = WORKLOAD_MIX.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : WORKLOAD_MIX.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Workload mix is empty");
+    }
+
+    private static Map<Operation, LatencyRecorder> merge(List<TerminalSession> sessions) {
+        Map<Operation, LatencyRecorder> totals = new EnumMap<>(Operation.class);
+        for (TerminalSession session : sessions) {
+            session.recorders().forEach((operation, recorder) ->
+                    totals.computeIfAbsent(operation, key -> new LatencyRecorder()).merge(recorder));
+        }
+        return totals;
+    }
+
+    private static boolean report(Map<Operation, LatencyRecorder> totals, double elapsedSeconds, double maxErrorRate) {
+        System.out.printf("%-24s %9s %9s %8s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "errors", "p50 ms", "p99 ms", "p999 ms");
+        int count = 0;
+        int errors = 0;
+        for (Map.Entry<Operation, LatencyRecorder> entry : totals.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            if (recorder.count() == 0) {
+                continue;
+            }
+            count += recorder.count();
+            errors += recorder.errors();
+            System.out.printf("%-24s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), recorder.count(), recorder.count() / elapsedSeconds,
+                    100.0 * recorder.errors() / recorder.count(),
+                    recorder.percentileMillis(50), recorder.percentileMillis(99), recorder.percentileMillis(99.9));
+        }
+
+        double errorRate = count == 0 ? 1 : (double) errors / count;
+        System.out.printf("Total: %d operations, %.1f ops/s, error rate %.2f%% (max %.2f%%)%n",
+                count, count / elapsedSeconds, 100 * errorRate, 100 * maxErrorRate);
+        return errorRate <= maxErrorRate;
+    }
+
+    private static List<Credentials> readCredentials(Path file) throws IOException {
+        List<Credentials> credentials = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("#") || line.startsWith("userName,")) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            credentials.add(new Credentials(fields[0], fields[1], fields[2], fields[3]));
+        }
+        return credentials;
+    }
+
+    private static List<Credentials> select(List<Credentials> all, int tenants, int branchesPerTenant, int tillsPerBranch) {
+        Map<String, Map<String, List<Credentials>>> byTenantAndBranch = new LinkedHashMap<>();
+        for (Credentials credentials : all) {
+            byTenantAndBranch.computeIfAbsent(credentials.companyId(), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(credentials.branchId(), key -> new ArrayList<>())
+                    .add(credentials);
+        }
+
+        List<Credentials> selected = new ArrayList<>();
+        byTenantAndBranch.values().stream().limit(tenants).forEach(branches ->
+                branches.values().stream().limit(branchesPerTenant).forEach(tills ->
+                        tills.stream().limit(tillsPerBranch).forEach(selected::add)));
+        return selected;
+    }
+}
@@ -0,0 +1,264 @@
+package com.codX.pos.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated till: logs in as a POS user, loads its branch catalog the way a terminal does and
+ * then issues operations against the API, recording the latency of each.
+ */
+class TerminalSession {
+
+    enum Operation {
+        LOGIN,
+        CATALOG_FETCH,
+        SERVICE_RECORD_CREATE,
+        SERVICE_INVOICE_CREATE,
+        ITEM_SALE,
+        INVOICE_LISTING,
+        VEHICLE_SEARCH
+    }
+
+    record Credentials(String userName, String password, String companyId, String branchId) {}
+
+    private record Vehicle(String id, String customerId, String vehicleNumber) {}
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Credentials credentials;
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+    private String token;
+    private String branchId;
+    private String itemsETag;
+    private final List<String> itemIds = new ArrayList<>();
+    private final List<String> serviceTypeIds = new ArrayList<>();
+    private final List<Vehicle> vehicles = new ArrayList<>();
+
+    TerminalSession(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Credentials credentials) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.credentials = credentials;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    Map<Operation, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    /**
+     * Logs in and loads the reference data the operations pick from. Not recorded.
+     */
+    void prepare() throws IOException, InterruptedException {
+        if (!login()) {
+            throw new IllegalStateException("Login failed for " + credentials.userName());
+        }
+
+        JsonNode items = call("GET", "/api/v1/items/branch/" + branchId, null).body();
+        items.path("data").forEach(item -> itemIds.add(item.path("id").asText()));
+
+        JsonNode serviceTypes = call("GET", "/api/v1/service-types/branch/" + branchId, null).body();
+        serviceTypes.path("data").forEach(serviceType -> serviceTypeIds.add(serviceType.path("id").asText()));
+
+        String since = null;
+        String afterId = null;
+        boolean hasMore = true;
+        while (hasMore) {
+            String path = "/api/v1/sync/branch/" + branchId + "?entity=VEHICLES&limit=1000"
+                    + (since != null ? "&since=" + encode(since) + "&afterId=" + afterId : "");
+            JsonNode page = call("GET", path, null).body().path("data");
+            page.path("changes").forEach(vehicle -> {
+                if (vehicle.path("isActive").asBoolean(true)) {
+                    vehicles.add(new Vehicle(vehicle.path("id").asText(), vehicle.path("customerId").asText(),
+                            vehicle.path("vehicleNumber").asText()));
+                }
+            });
+            since = page.path("nextSince").asText();
+            afterId = page.path("nextAfterId").asText();
+            hasMore = page.path("hasMore").asBoolean(false);
+        }
+
+        if (itemIds.isEmpty() || serviceTypeIds.isEmpty() || vehicles.isEmpty()) {
+            throw new IllegalStateException("Branch " + branchId + " of " + credentials.userName()
+                    + " has no seeded items, service types or vehicles");
+        }
+    }
+
+    void execute(Operation operation) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = switch (operation) {
+                case LOGIN -> login();
+                case CATALOG_FETCH -> fetchCatalog();
+                case SERVICE_RECORD_CREATE -> createServiceRecordAndInvoice(start);
+                // Only issued right after a service record, see createServiceRecordAndInvoice
+                case SERVICE_INVOICE_CREATE -> throw new IllegalArgumentException("Not a standalone operation");
+                case ITEM_SALE -> createItemSale();
+                case INVOICE_LISTING -> call("GET", "/api/v1/invoices/branch/" + branchId, null).ok();
+                case VEHICLE_SEARCH -> searchVehicle();
+            };
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (operation != Operation.SERVICE_RECORD_CREATE) {
+            recorders.get(operation).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "userName", credentials.userName(),
+                "password", credentials.password()));
+        Result result = send("POST", "/api/v1/auth/authenticate", body, false);
+        if (!result.ok()) {
+            return false;
+        }
+        token = result.body().path("data").path("token").asText();
+        branchId = claim(token, "branchId");
+        return true;
+    }
+
+    private boolean fetchCatalog() throws IOException, InterruptedException {
+        // Terminals poll with the last ETag, so most fetches should be 304s
+        HttpRequest.Builder request = request("/api/v1/items/branch/" + branchId).GET();
+        if (itemsETag != null) {
+            request.header("If-None-Match", itemsETag);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        response.headers().firstValue("ETag").ifPresent(eTag -> itemsETag = eTag);
+        return response.statusCode() == 200 || response.statusCode() == 304;
+    }
+
+    private boolean createServiceRecordAndInvoice(long start) throws IOException, InterruptedException {
+        // Recorded per step, as SERVICE_RECORD_CREATE and SERVICE_INVOICE_CREATE
+        Vehicle vehicle = pick(vehicles);
+        String body = objectMapper.writeValueAsString(Map.of(
+                "vehicleId", vehicle.id(),
+                "customerId", vehicle.customerId(),
+                "currentMileage", ThreadLocalRandom.current().nextInt(5_000, 200_000),
+                "notes", "Load test service",
+                "serviceDetails", List.of(Map.of(
+                        "serviceTypeId", pick(serviceTypeIds),
+                        "quantity", 1,
+                        "items", List.of(Map.of("itemId", pick(itemIds), "quantity", 1))))));
+
+        Result serviceRecord = callRecorded(Operation.SERVICE_RECORD_CREATE, start,
+                "POST", "/api/v1/service-records/create", body);
+        if (serviceRecord == null || !serviceRecord.ok()) {
+            return false;
+        }
+
+        String serviceRecordId = serviceRecord.body().path("data").path("id").asText();
+        Result invoice = callRecorded(Operation.SERVICE_INVOICE_CREATE, System.nanoTime(),
+                "POST", "/api/v1/invoices/service/" + serviceRecordId, null);
+        return invoice != null && invoice.ok();
+    }
+
+    /**
+     * Calls and records the latency under the given operation; null on transport failure.
+     */
+    private Result callRecorded(Operation operation, long start, String method, String path, String body)
+            throws InterruptedException {
+        try {
+            Result result = call(method, path, body);
+            recorders.get(operation).record(System.nanoTime() - start, result.ok());
+            return result;
+        } catch (IOException e) {
+            recorders.get(operation).record(System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private boolean createItemSale() throws IOException, InterruptedException {
+        Vehicle vehicle = pick(vehicles);
+        int lines = ThreadLocalRandom.current().nextInt(1, 4);
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of("itemId", pick(itemIds), "quantity", 1, "type", "ITEM"));
+        }
+        String body = objectMapper.writeValueAsString(Map.of(
+                "customerId", vehicle.customerId(),
+                "type", "ITEM_SALE",
+                "items", items));
+        return call("POST", "/api/v1/invoices/item-sale", body).ok();
+    }
+
+    private boolean searchVehicle() throws IOException, InterruptedException {
+        String plate = pick(vehicles).vehicleNumber().replaceAll("[\\s-]", "");
+        int length = Math.min(plate.length(), ThreadLocalRandom.current().nextInt(3, 6));
+        int offset = ThreadLocalRandom.current().nextInt(plate.length() - length + 1);
+        String query = plate.substring(offset, offset + length);
+        return call("GET", "/api/v1/vehicles/search?limit=20&vehicleNumber=" + encode(query), null).ok();
+    }
+
+    private Result call(String method, String path, String body) throws IOException, InterruptedException {
+        return send(method, path, body, true);
+    }
+
+    private Result send(String method, String path, String body, boolean authenticated) throws IOException, InterruptedException {
+        HttpRequest.Builder request = authenticated ? request(path) : HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode json = response.body().length > 0 ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+        return new Result(response.statusCode(), json);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json");
+    }
+
+    private String claim(String jwt, String name) throws IOException {
+        String payload = jwt.split("\\.")[1];
+        JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(payload));
+        String value = claims.path(name).asText(null);
+        return value != null ? value : credentials.branchId();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Result(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.codX.pos.metrics;
+
+import com.codX.pos.entity.CompanyEntity;
+import com.codX.pos.repository.CompanyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TenantTierResolverTest {
+
+    private final CompanyRepository companyRepository = mock(CompanyRepository.class);
+    private final TenantTierResolver resolver = new TenantTierResolver(companyRepository);
+
+    @Test
+    void unloadedCompanyIsUnknownWithoutQueryingTheDatabase() {
+        assertThat(resolver.tierOf(UUID.randomUUID())).isEqualTo(TenantTierResolver.UNKNOWN);
+        assertThat(resolver.tierOf(null)).isEqualTo(TenantTierResolver.NO_TENANT);
+        verifyNoInteractions(companyRepository);
+    }
+
+    @Test
+    void refreshLoadsTiersOfAllCompanies() {
+        CompanyEntity single = company(1);
+        CompanyEntity enterprise = company(20);
+        when(companyRepository.findAll()).thenReturn(List.of(single, enterprise));
+
+        resolver.refresh();
+
+        assertThat(resolver.tierOf(single.getId())).isEqualTo("single");
+        assertThat(resolver.tierOf(enterprise.getId())).isEqualTo("enterprise");
+    }
+
+    @Test
+    void registeredCompanyIsTaggedBeforeTheNextRefresh() {
+        CompanyEntity company = company(5);
+
+        resolver.register(company);
+        assertThat(resolver.tierOf(company.getId())).isEqualTo("standard");
+
+        company.setMaxBranches(6);
+        resolver.register(company);
+        assertThat(resolver.tierOf(company.getId())).isEqualTo("enterprise");
+    }
+
+    private static CompanyEntity company(int maxBranches) {
+        return CompanyEntity.builder().id(UUID.randomUUID()).maxBranches(maxBranches).build();
+    }
+}
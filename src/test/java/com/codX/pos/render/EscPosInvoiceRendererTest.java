@@ -0,0 +1,72 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.response.InvoiceResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EscPosInvoiceRendererTest {
+
+    private static final InvoiceTemplate.Branding BRANDING = new InvoiceTemplate.Branding("Lanka Motors",
+            "No. 42, Main Street, Colombo 03", "+94 11 234 5678", "accounts@lanka.example", null);
+
+    private final EscPosInvoiceRenderer renderer = new EscPosInvoiceRenderer();
+
+    @Test
+    void startsWithTheCompiledHeaderAndEndsWithACut() throws IOException {
+        InvoiceTemplate template = new InvoiceTemplateCache(48).compile(BRANDING);
+
+        byte[] receipt = render(template, PdfInvoiceRendererTest.invoice(3, "Oil filter"));
+
+        assertThat(Arrays.copyOf(receipt, template.escPosHeader().length)).isEqualTo(template.escPosHeader());
+        assertThat(Arrays.copyOf(receipt, 2)).containsExactly(0x1B, '@');
+        assertThat(Arrays.copyOfRange(receipt, receipt.length - 7, receipt.length))
+                .containsExactly(0x1B, 'd', 4, 0x1D, 'V', 66, 0);
+        String text = new String(receipt, StandardCharsets.US_ASCII);
+        assertThat(text).contains("Lanka Motors\n", "Oil filter\n", "INV-20250101-0001\n");
+    }
+
+    @Test
+    void boldIsSwitchedOffAgainAfterEveryBoldRun() throws IOException {
+        byte[] receipt = render(new InvoiceTemplateCache(48).compile(BRANDING), PdfInvoiceRendererTest.invoice(3, "Oil filter"));
+
+        String text = new String(receipt, StandardCharsets.ISO_8859_1);
+        int on = text.split("\u001BE\u0001", -1).length - 1;
+        int off = text.split("\u001BE\u0000", -1).length - 1;
+        assertThat(on).isEqualTo(2);
+        assertThat(off).isEqualTo(on);
+        assertThat(text.lastIndexOf("\u001BE\u0000")).isGreaterThan(text.lastIndexOf("TOTAL"));
+    }
+
+    @Test
+    void bodyLinesFitNarrowPaper() throws IOException {
+        InvoiceTemplate template = new InvoiceTemplateCache(32).compile(BRANDING);
+        byte[] receipt = render(template, PdfInvoiceRendererTest.invoice(4,
+                "Synthetic service line with a description long enough to wrap on a receipt"));
+
+        String body = new String(Arrays.copyOfRange(receipt, template.escPosHeader().length, receipt.length - 7),
+                StandardCharsets.US_ASCII).replaceAll("\u001BE[\u0000\u0001]", "");
+        assertThat(body.split("\n")).allSatisfy(line -> assertThat(line.length()).isLessThanOrEqualTo(32));
+        assertThat(body).contains("--------------------------------\n");
+    }
+
+    @Test
+    void countsAndReplacesNonAsciiCharacters() throws IOException {
+        InvoiceTemplate template = new InvoiceTemplateCache(48).compile(BRANDING);
+        InvoiceResponse invoice = PdfInvoiceRendererTest.invoice(1, "Café filter");
+
+        assertThat(renderer.unprintableCharacters(template, invoice)).isEqualTo(1);
+        assertThat(new String(render(template, invoice), StandardCharsets.US_ASCII)).contains("Caf? filter\n");
+    }
+
+    private byte[] render(InvoiceTemplate template, InvoiceResponse invoice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(template, invoice, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+package com.codX.pos.render;
+
+import com.codX.pos.dto.response.InvoiceItemResponse;
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.InvoiceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfInvoiceRendererTest {
+
+    private static final Pattern STREAM = Pattern.compile("<< /Length (\\d+) /Filter /FlateDecode >>\nstream\n");
+
+    private final PdfInvoiceRenderer renderer = new PdfInvoiceRenderer();
+    private final InvoiceTemplate template = new InvoiceTemplateCache(48).compile(new InvoiceTemplate.Branding(
+            "Lanka Motors", "No. 42, Main Street, Colombo 03", "+94 11 234 5678", "accounts@lanka.example",
+            "https://lanka.example/logo.png"));
+
+    @Test
+    void crossReferenceOffsetsPointAtTheirObjects() throws Exception {
+        byte[] pdf = render(invoice(80, "Oil filter"));
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        assertThat(text).startsWith("%PDF-1.4\n").endsWith("%%EOF\n");
+        Matcher startXref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(text);
+        assertThat(startXref.find()).isTrue();
+        int xref = Integer.parseInt(startXref.group(1));
+        assertThat(text.substring(xref)).startsWith("xref\n0 ");
+
+        String[] table = text.substring(xref).split("\n");
+        int size = Integer.parseInt(table[1].split(" ")[1]);
+        assertThat(text).contains("trailer\n<< /Size " + size + " /Root 1 0 R >>");
+        assertThat(table[2]).isEqualTo("0000000000 65535 f ");
+        for (int object = 1; object < size; object++) {
+            String entry = table[2 + object];
+            assertThat(entry).hasSize(19).endsWith(" 00000 n ");
+            int offset = Integer.parseInt(entry.substring(0, 10));
+            assertThat(text.substring(offset)).as("object %d", object).startsWith(object + " 0 obj\n");
+        }
+    }
+
+    @Test
+    void longInvoiceIsSplitIntoFullPages() throws Exception {
+        InvoiceResponse invoice = invoice(80, "Oil filter");
+        int bodyLines = ReceiptLayout.body(invoice, PdfInvoiceRenderer.COLUMNS).size();
+        int letterheadLines = ReceiptLayout.letterhead(template.branding(), PdfInvoiceRenderer.COLUMNS).size();
+        int firstPageBody = PdfInvoiceRenderer.LINES_PER_PAGE - letterheadLines - 1;
+        int expectedPages = 1 + (bodyLines - firstPageBody + PdfInvoiceRenderer.LINES_PER_PAGE - 1)
+                / PdfInvoiceRenderer.LINES_PER_PAGE;
+
+        String text = new String(render(invoice), StandardCharsets.ISO_8859_1);
+        List<String> pages = contents(text);
+
+        assertThat(expectedPages).isGreaterThan(2);
+        assertThat(text).contains("/Count " + expectedPages + " >>");
+        assertThat(pages).hasSize(expectedPages);
+        assertThat(shownLines(pages.get(0))).isEqualTo(letterheadLines + firstPageBody);
+        for (int i = 1; i < pages.size() - 1; i++) {
+            assertThat(shownLines(pages.get(i))).isEqualTo(PdfInvoiceRenderer.LINES_PER_PAGE);
+        }
+        assertThat(pages.stream().mapToInt(PdfInvoiceRendererTest::shownLines).sum())
+                .isEqualTo(letterheadLines + bodyLines);
+        assertThat(pages.get(0)).contains("(" + " ".repeat(34) + "Lanka Motors) Tj");
+        assertThat(pages.get(pages.size() - 1)).contains("(TOTAL ");
+        // Only the first page links the company name to the logo
+        assertThat(text.split("/URI \\(https://lanka.example/logo.png\\)", -1)).hasSize(2);
+    }
+
+    @Test
+    void shortInvoiceFitsOnOnePage() throws Exception {
+        String text = new String(render(invoice(2, "Oil filter")), StandardCharsets.ISO_8859_1);
+
+        assertThat(text).contains("/Count 1 >>");
+        assertThat(contents(text)).hasSize(1);
+    }
+
+    @Test
+    void escapesStringDelimiters() throws Exception {
+        String page = contents(new String(render(invoice(1, "Oil (5W-30) \\ filter")), StandardCharsets.ISO_8859_1)).get(0);
+
+        assertThat(page).contains("(Oil \\(5W-30\\) \\\\ filter) Tj");
+    }
+
+    @Test
+    void countsAndReplacesCharactersOutsideWinAnsi() throws Exception {
+        InvoiceResponse latin = invoice(1, "Café crème");
+        InvoiceResponse sinhala = invoice(1, "එන්ජින් oil");
+
+        assertThat(renderer.unprintableCharacters(template, latin)).isZero();
+        assertThat(renderer.unprintableCharacters(template, sinhala)).isEqualTo("එන්ජින්".length());
+        String page = contents(new String(render(sinhala), StandardCharsets.ISO_8859_1)).get(0);
+        assertThat(page).contains("(" + "?".repeat("එන්ජින්".length()) + " oil) Tj");
+    }
+
+    private byte[] render(InvoiceResponse invoice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(template, invoice, out);
+        return out.toByteArray();
+    }
+
+    private static List<String> contents(String pdf) throws DataFormatException {
+        List<String> pages = new ArrayList<>();
+        Matcher stream = STREAM.matcher(pdf);
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(1));
+            byte[] data = pdf.substring(stream.end(), stream.end() + length).getBytes(StandardCharsets.ISO_8859_1);
+            assertThat(pdf.substring(stream.end() + length)).startsWith("\nendstream\n");
+            Inflater inflater = new Inflater();
+            inflater.setInput(data);
+            byte[] buffer = new byte[1 << 16];
+            int read = inflater.inflate(buffer);
+            assertThat(inflater.finished()).isTrue();
+            inflater.end();
+            pages.add(new String(buffer, 0, read, StandardCharsets.ISO_8859_1));
+        }
+        return pages;
+    }
+
+    private static int shownLines(String content) {
+        return content.split("\\) Tj T\\*\n", -1).length - 1;
+    }
+
+    static InvoiceResponse invoice(int lines, String description) {
+        List<InvoiceItemResponse> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(InvoiceItemResponse.builder()
+                    .id(UUID.randomUUID())
+                    .description(description)
+                    .quantity(1)
+                    .unitPrice(new BigDecimal("1250.00"))
+                    .totalPrice(new BigDecimal("1250.00"))
+                    .finalPrice(new BigDecimal("1250.00"))
+                    .build());
+        }
+        BigDecimal total = new BigDecimal("1250.00").multiply(BigDecimal.valueOf(lines));
+        return InvoiceResponse.builder()
+                .id(UUID.randomUUID())
+                .invoiceNumber("INV-20250101-0001")
+                .invoiceDate(LocalDateTime.of(2025, 1, 1, 9, 30))
+                .subtotal(total)
+                .taxAmount(BigDecimal.ZERO)
+                .totalAmount(total)
+                .status(InvoiceStatus.PAID)
+                .items(items)
+                .build();
+    }
+}
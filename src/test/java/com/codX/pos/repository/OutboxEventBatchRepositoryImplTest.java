@@ -0,0 +1,62 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.OutboxEventEntity;
+import com.codX.pos.entity.OutboxEventStatus;
+import com.codX.pos.entity.OutboxEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxEventBatchRepositoryImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final OutboxEventBatchRepositoryImpl repository = new OutboxEventBatchRepositoryImpl(jdbcTemplate);
+
+    @Test
+    void eventsAreInsertedPendingAsOneBatchAndGetTheirGeneratedIds() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                setter.setValues(statement, i);
+                keyHolder.getKeyList().add(Map.of("GENERATED_KEY", BigInteger.valueOf(7 + i)));
+            }
+            return new int[setter.getBatchSize()];
+        });
+        List<OutboxEventEntity> events = List.of(event("{\"n\":1}"), event("{\"n\":2}"));
+
+        repository.insertAll(events);
+
+        assertThat(events).extracting(OutboxEventEntity::getId).containsExactly(7L, 8L);
+        assertThat(events).allSatisfy(event -> assertThat(event.getCreatedAt()).isNotNull());
+        verify(statement).setString(5, "{\"n\":2}");
+        verify(statement, times(2)).setString(7, OutboxEventStatus.PENDING.name());
+    }
+
+    private static OutboxEventEntity event(String payload) {
+        return OutboxEventEntity.builder()
+                .eventType(OutboxEventType.INVOICE_CREATED)
+                .aggregateId(UUID.randomUUID())
+                .companyId(UUID.randomUUID())
+                .branchId(UUID.randomUUID())
+                .payload(payload)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.codX.pos.repository;
+
+import com.codX.pos.entity.StockMovementEntity;
+import com.codX.pos.entity.StockMovementType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockMovementBatchRepositoryImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StockMovementBatchRepositoryImpl repository = new StockMovementBatchRepositoryImpl(jdbcTemplate);
+
+    @Test
+    void movementsAreInsertedAsOneBatchAndGetTheirGeneratedIds() {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                // MySQL reports the ids as GENERATED_KEY, in row order
+                keyHolder.getKeyList().add(Map.of("GENERATED_KEY", BigInteger.valueOf(41 + i)));
+            }
+            return new int[setter.getBatchSize()];
+        });
+        List<StockMovementEntity> movements = List.of(movement(-2), movement(-1));
+
+        repository.insertAll(movements);
+
+        assertThat(movements).extracting(StockMovementEntity::getId).containsExactly(41L, 42L);
+        assertThat(movements).allSatisfy(movement -> assertThat(movement.getCreatedAt()).isNotNull());
+    }
+
+    @Test
+    void missingGeneratedIdsFailTheInsert() {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenReturn(new int[2]);
+
+        assertThatThrownBy(() -> repository.insertAll(List.of(movement(-2), movement(-1))))
+                .hasMessage("Expected 2 generated ids but got 0");
+    }
+
+    @Test
+    void nothingToInsertSkipsTheDatabase() {
+        repository.insertAll(List.of());
+
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    private static StockMovementEntity movement(int quantity) {
+        return StockMovementEntity.builder()
+                .itemId(UUID.randomUUID())
+                .companyId(UUID.randomUUID())
+                .branchId(UUID.randomUUID())
+                .movementType(StockMovementType.SALE)
+                .quantity(quantity)
+                .build();
+    }
+}
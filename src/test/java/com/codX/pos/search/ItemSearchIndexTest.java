@@ -0,0 +1,190 @@
+package com.codX.pos.search;
+
+import com.codX.pos.entity.ItemEntity;
+import com.codX.pos.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final UUID BRANCH_ID = UUID.randomUUID();
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndex index = new ItemSearchIndex(itemRepository, mock(PlatformTransactionManager.class), false, 60);
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        SearchableItem inDescription = item("Engine Oil 5W30", "Suits brake fluid reservoirs");
+        SearchableItem laterNameWord = item("Front Brake Pads", null);
+        SearchableItem nameStart = item("Brake Pads", null);
+        SearchableItem wholeWord = item("Brake", null);
+        loadCompany(inDescription, laterNameWord, nameStart, wholeWord);
+
+        assertThat(search("brake")).containsExactly(wholeWord, nameStart, laterNameWord, inDescription);
+        assertThat(search("brake pads")).containsExactly(nameStart, laterNameWord);
+    }
+
+    @Test
+    void everyQueryWordMustStartSomeWordOfTheItem() {
+        SearchableItem oilFilter = item("Oil Filter", "Toyota Corolla");
+        SearchableItem airFilter = item("Air Filter", "Toyota Corolla");
+        loadCompany(oilFilter, airFilter);
+
+        assertThat(search("fil")).containsExactlyInAnyOrder(oilFilter, airFilter);
+        assertThat(search("oil fil")).containsExactly(oilFilter);
+        assertThat(search("cor fil")).containsExactlyInAnyOrder(oilFilter, airFilter);
+        assertThat(search("oil air")).isEmpty();
+    }
+
+    @Test
+    void misspelledWordsMatchWithOneEdit() {
+        SearchableItem brakePads = item("Brake Pads", null);
+        SearchableItem sparkPlug = item("Spark Plug", null);
+        loadCompany(brakePads, sparkPlug);
+
+        assertThat(search("brkae")).containsExactly(brakePads);   // swapped
+        assertThat(search("braek pads")).containsExactly(brakePads);
+        assertThat(search("sparx")).containsExactly(sparkPlug);   // wrong character
+        assertThat(search("spak")).containsExactly(sparkPlug);    // missing character
+        assertThat(search("sparrk")).containsExactly(sparkPlug);  // extra character
+        // Short words are not corrected
+        assertThat(search("brk")).isEmpty();
+    }
+
+    @Test
+    void exactMatchesRankAboveCorrectedOnes() {
+        SearchableItem exact = item("Bolt Kit", null);
+        SearchableItem corrected = item("Belt", null);
+        loadCompany(exact, corrected);
+
+        assertThat(search("bolt")).containsExactly(exact);
+        assertThat(search("balt")).containsExactlyInAnyOrder(exact, corrected);
+    }
+
+    @Test
+    void searchIsLimitedToTheBranch() {
+        SearchableItem here = item("Wiper Blade", null);
+        SearchableItem elsewhere = new SearchableItem(UUID.randomUUID(), COMPANY_ID, UUID.randomUUID(), "Wiper Motor",
+                null, "pieces", BigDecimal.TEN, null);
+        loadCompany(here, elsewhere);
+
+        assertThat(index.search(COMPANY_ID, BRANCH_ID, "wiper", 10)).containsExactly(here);
+        assertThat(index.search(COMPANY_ID, null, "wiper", 10)).containsExactlyInAnyOrder(here, elsewhere);
+    }
+
+    @Test
+    void writesDuringTheLoadAreAppliedOnceItCompletes() throws Exception {
+        SearchableItem removedDuringLoad = item("Brake Pads", null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findActiveSearchableItemsByCompanyId(COMPANY_ID)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            // The scan started before the writes below and does not see them
+            return List.of(removedDuringLoad);
+        });
+
+        CompletableFuture<List<SearchableItem>> firstSearch = CompletableFuture.supplyAsync(() -> search("brake"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ItemEntity added = entity("Brake Fluid", true);
+        ItemEntity deactivated = entity("Brake Pads", false);
+        deactivated.setId(removedDuringLoad.id());
+        index.index(added);
+        index.index(deactivated);
+        release.countDown();
+
+        assertThat(firstSearch.get(5, TimeUnit.SECONDS)).extracting(SearchableItem::id).containsExactly(added.getId());
+        assertThat(search("brake")).extracting(SearchableItem::id).containsExactly(added.getId());
+    }
+
+    @Test
+    void writesBeforeTheFirstSearchAreReadFromTheDatabase() {
+        ItemEntity item = entity("Brake Pads", true);
+        index.index(item);
+        when(itemRepository.findActiveSearchableItemsByCompanyId(COMPANY_ID))
+                .thenReturn(List.of(new SearchableItem(item.getId(), COMPANY_ID, BRANCH_ID, item.getName(), null, null, null, null)));
+
+        assertThat(search("brake")).extracting(SearchableItem::id).containsExactly(item.getId());
+    }
+
+    @Test
+    void rebuildKeepsWritesMadeDuringTheScanAndStopsLazyLoads() {
+        SearchableItem scanned = item("Brake Pads", null);
+        ItemEntity writtenDuringScan = entity("Brake Disc", true);
+        when(itemRepository.streamActiveSearchableItems()).thenAnswer(invocation -> {
+            index.index(writtenDuringScan);
+            return Stream.of(scanned);
+        });
+
+        index.rebuild();
+
+        assertThat(search("brake")).extracting(SearchableItem::id)
+                .containsExactlyInAnyOrder(scanned.id(), writtenDuringScan.getId());
+        assertThat(index.search(UUID.randomUUID(), null, "brake", 10)).isEmpty();
+        verify(itemRepository, never()).findActiveSearchableItemsByCompanyId(any());
+    }
+
+    @Test
+    void refreshAppliesChangesMadeOnOtherInstances() {
+        SearchableItem renamed = item("Brake Pads", null);
+        loadCompany(renamed);
+        search("brake");
+
+        ItemEntity created = entity("Brake Fluid", true);
+        ItemEntity otherCompany = entity("Brake Shoe", true);
+        otherCompany.setCompanyId(UUID.randomUUID());
+        ItemEntity update = entity("Clutch Plate", true);
+        update.setId(renamed.id());
+        when(itemRepository.findChangesSince(any(LocalDateTime.class), any(UUID.class), any()))
+                .thenReturn(List.of(created, otherCompany, update));
+
+        index.refresh();
+
+        assertThat(search("brake")).extracting(SearchableItem::id).containsExactly(created.getId());
+        assertThat(search("clutch")).extracting(SearchableItem::id).containsExactly(renamed.id());
+    }
+
+    private List<SearchableItem> search(String query) {
+        return index.search(COMPANY_ID, BRANCH_ID, query, 10);
+    }
+
+    private void loadCompany(SearchableItem... items) {
+        when(itemRepository.findActiveSearchableItemsByCompanyId(COMPANY_ID)).thenReturn(List.of(items));
+    }
+
+    private static SearchableItem item(String name, String description) {
+        return new SearchableItem(UUID.randomUUID(), COMPANY_ID, BRANCH_ID, name, description, "pieces", BigDecimal.TEN, null);
+    }
+
+    private static ItemEntity entity(String name, boolean active) {
+        ItemEntity item = ItemEntity.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .unit("pieces")
+                .unitPrice(BigDecimal.TEN)
+                .companyId(COMPANY_ID)
+                .branchId(BRANCH_ID)
+                .lastModifiedDate(LocalDateTime.now())
+                .build();
+        item.setActive(active);
+        return item;
+    }
+}
@@ -0,0 +1,156 @@
+package com.codX.pos.search;
+
+import com.codX.pos.entity.VehicleEntity;
+import com.codX.pos.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VehiclePlateIndexTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    private final VehicleRepository vehicleRepository = mock(VehicleRepository.class);
+    private final VehiclePlateIndex index = new VehiclePlateIndex(vehicleRepository, 60);
+
+    @Test
+    void normalizeStripsSpacesAndDashesAndUpperCases() {
+        assertThat(VehiclePlateIndex.normalize(" wp-cab 1234 ")).isEqualTo("WPCAB1234");
+        assertThat(VehiclePlateIndex.normalize("ABC\t-\t12")).isEqualTo("ABC12");
+        assertThat(VehiclePlateIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void prefixMatchesRankBeforeSubstringMatches() {
+        VehiclePlate prefix = plate("CAB-1234");
+        VehiclePlate substring = plate("WP CAB-9999");
+        VehiclePlate other = plate("KX-0001");
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID)).thenReturn(List.of(substring, other, prefix));
+
+        assertThat(index.search(COMPANY_ID, "cab", 10)).containsExactly(prefix.id(), substring.id());
+        assertThat(index.search(COMPANY_ID, "cab 12", 10)).containsExactly(prefix.id());
+        assertThat(index.search(COMPANY_ID, "cab", 1)).containsExactly(prefix.id());
+    }
+
+    @Test
+    void tenantIsLoadedOnce() {
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID)).thenReturn(List.of(plate("CAB-1234")));
+
+        index.search(COMPANY_ID, "CAB", 10);
+        index.search(COMPANY_ID, "1234", 10);
+
+        verify(vehicleRepository, times(1)).findActivePlatesByCompanyId(COMPANY_ID);
+    }
+
+    @Test
+    void writesBeforeTheFirstSearchAreReadFromTheDatabase() {
+        VehicleEntity vehicle = vehicle("CAB-1234", true);
+        index.index(vehicle);
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID))
+                .thenReturn(List.of(new VehiclePlate(vehicle.getId(), vehicle.getVehicleNumber())));
+
+        assertThat(index.search(COMPANY_ID, "CAB", 10)).containsExactly(vehicle.getId());
+    }
+
+    @Test
+    void writesDuringTheLoadAreAppliedOnceItCompletes() throws Exception {
+        VehiclePlate removedDuringLoad = plate("CAB-0001");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            // The scan started before the writes below and does not see them
+            return List.of(removedDuringLoad);
+        });
+
+        CompletableFuture<List<UUID>> firstSearch = CompletableFuture.supplyAsync(() -> index.search(COMPANY_ID, "CAB", 10));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        VehicleEntity added = vehicle("CAB-0002", true);
+        VehicleEntity deactivated = vehicle("CAB-0001", false);
+        deactivated.setId(removedDuringLoad.id());
+        index.index(added);
+        index.index(deactivated);
+        release.countDown();
+
+        assertThat(firstSearch.get(5, TimeUnit.SECONDS)).containsExactly(added.getId());
+        assertThat(index.search(COMPANY_ID, "CAB", 10)).containsExactly(added.getId());
+    }
+
+    @Test
+    void failedLoadIsRetriedOnTheNextSearch() {
+        VehiclePlate vehicle = plate("CAB-1234");
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of(vehicle));
+
+        CompletableFuture<List<UUID>> failed = CompletableFuture.supplyAsync(() -> index.search(COMPANY_ID, "CAB", 10));
+        assertThat(failed).failsWithin(5, TimeUnit.SECONDS);
+
+        assertThat(index.search(COMPANY_ID, "CAB", 10)).containsExactly(vehicle.id());
+    }
+
+    @Test
+    void refreshAppliesChangesMadeOnOtherInstances() {
+        VehiclePlate renamed = plate("CAB-1234");
+        when(vehicleRepository.findActivePlatesByCompanyId(COMPANY_ID)).thenReturn(List.of(renamed));
+        index.search(COMPANY_ID, "CAB", 10);
+
+        VehicleEntity created = vehicle("CAB-5678", true);
+        VehicleEntity otherCompany = vehicle("CAB-0000", true);
+        otherCompany.setCompanyId(UUID.randomUUID());
+        VehicleEntity update = vehicle("KX-1234", true);
+        update.setId(renamed.id());
+        when(vehicleRepository.findChangesSince(any(LocalDateTime.class), any(UUID.class), any()))
+                .thenReturn(List.of(created, otherCompany, update));
+
+        index.refresh();
+
+        assertThat(index.search(COMPANY_ID, "CAB", 10)).containsExactly(created.getId());
+        assertThat(index.search(COMPANY_ID, "KX", 10)).containsExactly(renamed.id());
+    }
+
+    @Test
+    void refreshResumesFromTheNewestChangeItSaw() {
+        LocalDateTime modified = LocalDateTime.now().plusMinutes(5);
+        VehicleEntity change = vehicle("CAB-1234", true);
+        change.setLastModifiedDate(modified);
+        when(vehicleRepository.findChangesSince(any(LocalDateTime.class), any(UUID.class), any()))
+                .thenReturn(List.of(change))
+                .thenReturn(List.of());
+
+        index.refresh();
+        index.refresh();
+
+        // Every refresh starts below the lowest id in MySQL's unsigned byte order
+        verify(vehicleRepository).findChangesSince(eq(modified.minusSeconds(60)), eq(new UUID(0L, 0L)), any());
+    }
+
+    private static VehiclePlate plate(String vehicleNumber) {
+        return new VehiclePlate(UUID.randomUUID(), vehicleNumber);
+    }
+
+    private static VehicleEntity vehicle(String vehicleNumber, boolean active) {
+        return VehicleEntity.builder()
+                .id(UUID.randomUUID())
+                .vehicleNumber(vehicleNumber)
+                .companyId(COMPANY_ID)
+                .isActive(active)
+                .lastModifiedDate(LocalDateTime.now())
+                .build();
+    }
+}
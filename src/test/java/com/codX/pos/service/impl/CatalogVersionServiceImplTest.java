@@ -0,0 +1,78 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.dto.CatalogType;
+import com.codX.pos.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionServiceImplTest {
+
+    private final CatalogVersionRepository repository = mock(CatalogVersionRepository.class);
+    private final CatalogVersionServiceImpl catalogVersionService = new CatalogVersionServiceImpl(repository);
+
+    private final UUID companyId = new UUID(0L, 1L);
+    private final UUID branchId = new UUID(0L, 2L);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void eTagIsTheScopeVersion() {
+        when(repository.findVersion(CatalogType.ITEMS, branchId)).thenReturn(Optional.of(36L));
+        when(repository.findVersion(CatalogType.ITEMS, companyId)).thenReturn(Optional.empty());
+
+        assertThat(catalogVersionService.getBranchETag(CatalogType.ITEMS, branchId)).isEqualTo("\"items-10\"");
+        assertThat(catalogVersionService.getCompanyETag(CatalogType.ITEMS, companyId)).isEqualTo("\"items-0\"");
+        assertThat(catalogVersionService.getCompanyETag(CatalogType.ITEMS, null)).isNull();
+    }
+
+    @Test
+    void changeOutsideATransactionIsCountedAtOnce() {
+        catalogVersionService.recordChange(CatalogType.SERVICE_TYPES, companyId, branchId);
+
+        verify(repository).increment("SERVICE_TYPES", companyId);
+        verify(repository).increment("SERVICE_TYPES", branchId);
+    }
+
+    @Test
+    void changesInATransactionAreCountedOncePerScopeJustBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersionService.recordChange(CatalogType.ITEMS, companyId, branchId);
+        catalogVersionService.recordChange(CatalogType.ITEMS, companyId, branchId);
+        catalogVersionService.recordChange(CatalogType.ITEM_CATEGORIES, companyId, null);
+        verify(repository, never()).increment(anyString(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Always the same order, so two writers never wait on each other's rows
+        InOrder order = inOrder(repository);
+        order.verify(repository).increment("ITEMS", companyId);
+        order.verify(repository).increment("ITEMS", branchId);
+        order.verify(repository).increment("ITEM_CATEGORIES", companyId);
+        verify(repository, times(3)).increment(anyString(), any());
+        assertThat(TransactionSynchronizationManager.hasResource(catalogVersionService)).isFalse();
+    }
+}
@@ -0,0 +1,204 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.response.InvoiceBatchResponse;
+import com.codX.pos.dto.response.InvoiceBatchResultResponse;
+import com.codX.pos.entity.IdempotencyKeyEntity;
+import com.codX.pos.entity.Role;
+import com.codX.pos.exception.IdempotencyKeyConflictException;
+import com.codX.pos.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    private final IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+    private final IdempotencyServiceImpl idempotencyService = service();
+
+    @BeforeEach
+    void setUp() {
+        UserContext.setUserContext(UserContextDto.builder()
+                .userId(UUID.randomUUID())
+                .role(Role.POS_USER)
+                .companyId(COMPANY_ID)
+                .build());
+        when(repository.findByCompanyIdAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void replayedKeyReturnsTheFirstResultWithoutRunningAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        UUID invoiceId = UUID.randomUUID();
+
+        UUID first = idempotencyService.execute("key-1", Map.of("item", "A"), () -> {
+            runs.incrementAndGet();
+            return invoiceId;
+        });
+        UUID replay = idempotencyService.execute("key-1", Map.of("item", "A"), () -> {
+            runs.incrementAndGet();
+            return UUID.randomUUID();
+        });
+
+        assertThat(first).isEqualTo(invoiceId);
+        assertThat(replay).isEqualTo(invoiceId);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyStoredByAnotherInstanceIsReplayedFromTheTable() {
+        UUID invoiceId = UUID.randomUUID();
+        IdempotencyKeyEntity stored = IdempotencyKeyEntity.builder()
+                .companyId(COMPANY_ID)
+                .idempotencyKey("key-2")
+                .requestHash(hashOf(Map.of("item", "A")))
+                .resultId(invoiceId)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(repository.findByCompanyIdAndIdempotencyKey(COMPANY_ID, "key-2")).thenReturn(Optional.of(stored));
+
+        UUID replay = idempotencyService.execute("key-2", Map.of("item", "A"), () -> {
+            throw new AssertionError("must not run again");
+        });
+
+        assertThat(replay).isEqualTo(invoiceId);
+    }
+
+    @Test
+    void replayedKeyReturnsAnEqualTypedResultStoredAsJson() {
+        AtomicInteger runs = new AtomicInteger();
+        InvoiceBatchResponse response = InvoiceBatchResponse.builder()
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        InvoiceBatchResultResponse.builder().index(0).success(true).invoiceId(UUID.randomUUID())
+                                .invoiceNumber("INV-1").totalAmount(new BigDecimal("12.50")).build(),
+                        InvoiceBatchResultResponse.builder().index(1).success(false).error("Insufficient stock").build()))
+                .build();
+
+        InvoiceBatchResponse first = idempotencyService.execute("key-6", List.of("A", "B"), InvoiceBatchResponse.class, () -> {
+            runs.incrementAndGet();
+            return response;
+        });
+        InvoiceBatchResponse replay = idempotencyService.execute("key-6", List.of("A", "B"), InvoiceBatchResponse.class, () -> {
+            runs.incrementAndGet();
+            throw new AssertionError("must not run again");
+        });
+
+        assertThat(first).isEqualTo(response);
+        assertThat(replay).isEqualTo(response);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        idempotencyService.execute("key-3", Map.of("item", "A"), UUID::randomUUID);
+
+        assertThatThrownBy(() -> idempotencyService.execute("key-3", Map.of("item", "B"), UUID::randomUUID))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheFirstExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        UUID invoiceId = UUID.randomUUID();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserContextDto user = UserContext.getUserContext();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<UUID> original = executor.submit(() -> {
+                UserContext.setUserContext(user);
+                return idempotencyService.execute("key-4", Map.of("item", "A"), () -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return invoiceId;
+                });
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<UUID> duplicate = executor.submit(() -> {
+                UserContext.setUserContext(user);
+                return idempotencyService.execute("key-4", Map.of("item", "A"), () -> {
+                    runs.incrementAndGet();
+                    return UUID.randomUUID();
+                });
+            });
+            Thread.sleep(100);
+            assertThat(duplicate.isDone()).isFalse();
+            release.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo(invoiceId);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(invoiceId);
+            assertThat(runs).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("key-5", List.of(1), () -> {
+            throw new RuntimeException("Item not found");
+        })).hasMessage("Item not found");
+
+        UUID invoiceId = UUID.randomUUID();
+        assertThat(idempotencyService.execute("key-5", List.of(1), () -> invoiceId)).isEqualTo(invoiceId);
+    }
+
+    private IdempotencyServiceImpl service() {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(
+                repository, mock(PlatformTransactionManager.class), new ObjectMapper(), 100);
+        ReflectionTestUtils.setField(service, "ttlHours", 24);
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 5);
+        return service;
+    }
+
+    private static String hashOf(Object request) {
+        return ReflectionTestUtils.invokeMethod(new IdempotencyServiceImpl(
+                mock(IdempotencyKeyRepository.class), mock(PlatformTransactionManager.class), new ObjectMapper(), 1),
+                "hash", request);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.archive.ColdInvoiceStore;
+import com.codX.pos.archive.InvoiceArchiveRepository;
+import com.codX.pos.archive.InvoiceArchiveSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InvoiceArchiveServiceImplTest {
+
+    private final InvoiceArchiveRepository repository = mock(InvoiceArchiveRepository.class);
+    private final ColdInvoiceStore coldInvoiceStore = mock(ColdInvoiceStore.class);
+    private final InvoiceArchiveServiceImpl archiveService = new InvoiceArchiveServiceImpl(repository,
+            mock(InvoiceArchiveSchema.class), coldInvoiceStore, mock(PlatformTransactionManager.class));
+
+    @Test
+    void coldMoveIsOffByDefault() {
+        assertThat(archiveService.moveArchivedInvoicesToColdStorage()).isZero();
+
+        verifyNoInteractions(repository, coldInvoiceStore);
+    }
+
+    @Test
+    void coldMoveRefusesToRunWithoutAUsableDirectory() {
+        ReflectionTestUtils.setField(archiveService, "coldEnabled", true);
+        doThrow(new IllegalStateException("pos.invoice-archive.cold-dir is not set")).when(coldInvoiceStore).checkWritable();
+
+        assertThatThrownBy(archiveService::checkColdStorage).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(archiveService::moveArchivedInvoicesToColdStorage).isInstanceOf(IllegalStateException.class);
+        verify(repository, never()).withNamedLock(anyString(), any());
+    }
+
+    @Test
+    void coldMoveSkipsWhileAnotherInstanceHoldsTheLock() {
+        ReflectionTestUtils.setField(archiveService, "coldEnabled", true);
+        when(repository.withNamedLock(anyString(), any())).thenReturn(Optional.empty());
+
+        assertThat(archiveService.moveArchivedInvoicesToColdStorage()).isZero();
+
+        verify(repository, never()).findOldestArchivedInvoiceDate();
+    }
+}
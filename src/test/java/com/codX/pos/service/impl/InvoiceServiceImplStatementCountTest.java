@@ -0,0 +1,132 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.archive.ColdInvoiceStore;
+import com.codX.pos.archive.InvoiceArchiveRepository;
+import com.codX.pos.cache.InvoiceResponseCache;
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.DiscountType;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+import com.codX.pos.entity.InvoiceItemType;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.entity.InvoiceType;
+import com.codX.pos.entity.Role;
+import com.codX.pos.service.CustomerTimelineService;
+import com.codX.pos.service.IdempotencyService;
+import com.codX.pos.service.InvoiceNumberService;
+import com.codX.pos.service.OutboxService;
+import com.codX.pos.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.codX.pos.support.SqlStatementAssertions.assertStatementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the configured database, like {@code PosApplicationTests}; only the JPA slice and
+ * {@link InvoiceServiceImpl} are real, so every statement counted comes from the invoice listing itself.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.codX.pos.metrics.SqlStatementCounter")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InvoiceServiceImpl.class)
+class InvoiceServiceImplStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InvoiceServiceImpl invoiceService;
+
+    @MockitoBean
+    private CustomerTimelineService customerTimelineService;
+    @MockitoBean
+    private OutboxService outboxService;
+    @MockitoBean
+    private InvoiceArchiveRepository invoiceArchiveRepository;
+    @MockitoBean
+    private ColdInvoiceStore coldInvoiceStore;
+    @MockitoBean
+    private InvoiceResponseCache invoiceResponseCache;
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+    @MockitoBean
+    private InvoiceNumberService invoiceNumberService;
+    @MockitoBean
+    private StockLedgerService stockLedgerService;
+
+    private final UUID companyId = UUID.randomUUID();
+    private final UUID branchId = UUID.randomUUID();
+
+    @AfterEach
+    void clearUser() {
+        UserContext.clear();
+    }
+
+    @Test
+    void branchListingLoadsLinesInOneQueryRegardlessOfInvoiceCount() {
+        for (int i = 0; i < 20; i++) {
+            InvoiceEntity invoice = entityManager.persist(invoice(i));
+            entityManager.persist(line(invoice, "Oil change"));
+            entityManager.persist(line(invoice, "Filter"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        UserContext.setUserContext(UserContextDto.builder()
+                .userId(UUID.randomUUID())
+                .role(Role.BRANCH_ADMIN)
+                .companyId(companyId)
+                .branchId(branchId)
+                .build());
+
+        List<InvoiceResponse> invoices = assertStatementsAtMost(3, () -> invoiceService.getInvoicesByBranch(branchId));
+
+        assertThat(invoices).hasSize(20);
+        assertThat(invoices).allSatisfy(invoice -> assertThat(invoice.items()).hasSize(2));
+    }
+
+    private InvoiceEntity invoice(int i) {
+        return InvoiceEntity.builder()
+                .invoiceNumber("INV-SQL-" + i)
+                .invoiceDate(LocalDateTime.now().minusMinutes(i))
+                .subtotal(new BigDecimal("30.00"))
+                .taxAmount(BigDecimal.ZERO)
+                .discountAmount(BigDecimal.ZERO)
+                .totalAmount(new BigDecimal("30.00"))
+                .status(InvoiceStatus.PAID)
+                .type(InvoiceType.SERVICE)
+                .customerId(UUID.randomUUID())
+                .companyId(companyId)
+                .branchId(branchId)
+                .build();
+    }
+
+    private InvoiceItemEntity line(InvoiceEntity invoice, String description) {
+        return InvoiceItemEntity.builder()
+                .invoiceId(invoice.getId())
+                .description(description)
+                .quantity(1)
+                .unitPrice(new BigDecimal("15.00"))
+                .totalPrice(new BigDecimal("15.00"))
+                .discountValue(BigDecimal.ZERO)
+                .discountType(DiscountType.PERCENTAGE)
+                .discountAmount(BigDecimal.ZERO)
+                .finalPrice(new BigDecimal("15.00"))
+                .type(InvoiceItemType.SERVICE)
+                .companyId(companyId)
+                .branchId(branchId)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.archive.ColdInvoiceStore;
+import com.codX.pos.archive.InvoiceArchiveRepository;
+import com.codX.pos.cache.InvoiceResponseCache;
+import com.codX.pos.context.UserContext;
+import com.codX.pos.dto.UserContextDto;
+import com.codX.pos.dto.response.InvoiceResponse;
+import com.codX.pos.entity.InvoiceEntity;
+import com.codX.pos.entity.InvoiceItemEntity;
+import com.codX.pos.entity.InvoiceStatus;
+import com.codX.pos.entity.Role;
+import com.codX.pos.repository.InvoiceItemRepository;
+import com.codX.pos.repository.InvoiceRepository;
+import com.codX.pos.repository.ItemRepository;
+import com.codX.pos.repository.ServiceRecordRepository;
+import com.codX.pos.repository.ServiceTypeRepository;
+import com.codX.pos.service.CustomerTimelineService;
+import com.codX.pos.service.IdempotencyService;
+import com.codX.pos.service.InvoiceNumberService;
+import com.codX.pos.service.OutboxService;
+import com.codX.pos.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoiceServiceImplTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final UUID BRANCH_ID = UUID.randomUUID();
+
+    private final InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+    private final InvoiceItemRepository invoiceItemRepository = mock(InvoiceItemRepository.class);
+    private final InvoiceArchiveRepository invoiceArchiveRepository = mock(InvoiceArchiveRepository.class);
+    private final InvoiceResponseCache invoiceResponseCache = mock(InvoiceResponseCache.class);
+
+    private final InvoiceServiceImpl invoiceService = new InvoiceServiceImpl(
+            invoiceRepository,
+            invoiceItemRepository,
+            mock(ServiceRecordRepository.class),
+            mock(ItemRepository.class),
+            mock(ServiceTypeRepository.class),
+            mock(CustomerTimelineService.class),
+            mock(OutboxService.class),
+            invoiceArchiveRepository,
+            mock(ColdInvoiceStore.class),
+            invoiceResponseCache,
+            mock(IdempotencyService.class),
+            mock(InvoiceNumberService.class),
+            mock(StockLedgerService.class));
+
+    @BeforeEach
+    void setUp() {
+        UserContext.setUserContext(UserContextDto.builder()
+                .userId(UUID.randomUUID())
+                .role(Role.BRANCH_ADMIN)
+                .companyId(COMPANY_ID)
+                .branchId(BRANCH_ID)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void branchInvoicesLoadTheirLinesInOneQuery() {
+        InvoiceEntity first = invoice();
+        InvoiceEntity second = invoice();
+        InvoiceEntity withoutLines = invoice();
+        when(invoiceRepository.findByBranchIdOrderByInvoiceDateDesc(BRANCH_ID))
+                .thenReturn(List.of(first, second, withoutLines));
+        when(invoiceItemRepository.findByInvoiceIdInAndCompanyId(anyCollection(), eq(COMPANY_ID)))
+                .thenReturn(List.of(line(first, "Oil filter"), line(second, "Brake pads"), line(first, "Labour")));
+
+        List<InvoiceResponse> responses = invoiceService.getInvoicesByBranch(BRANCH_ID);
+
+        assertThat(responses).extracting(InvoiceResponse::id)
+                .containsExactly(first.getId(), second.getId(), withoutLines.getId());
+        assertThat(responses.get(0).items()).extracting("description").containsExactly("Oil filter", "Labour");
+        assertThat(responses.get(1).items()).extracting("description").containsExactly("Brake pads");
+        assertThat(responses.get(2).items()).isEmpty();
+        verify(invoiceItemRepository, times(1)).findByInvoiceIdInAndCompanyId(anyCollection(), eq(COMPANY_ID));
+        verify(invoiceItemRepository, never()).findByInvoiceIdAndCompanyId(any(), any());
+    }
+
+    @Test
+    void branchInvoicesIncludeArchivedOnesNewestFirst() {
+        InvoiceEntity live = invoice();
+        live.setInvoiceDate(LocalDateTime.of(2026, 3, 1, 10, 0));
+        InvoiceEntity archived = invoice();
+        archived.setInvoiceDate(LocalDateTime.of(2021, 6, 1, 10, 0));
+        when(invoiceRepository.findByBranchIdOrderByInvoiceDateDesc(BRANCH_ID)).thenReturn(List.of(live));
+        when(invoiceArchiveRepository.findByBranchIdAndCompanyIdOrderByInvoiceDateDesc(BRANCH_ID, COMPANY_ID))
+                .thenReturn(List.of(archived));
+        when(invoiceArchiveRepository.findItemsByInvoices(List.of(archived), COMPANY_ID))
+                .thenReturn(List.of(line(archived, "Timing belt")));
+
+        List<InvoiceResponse> responses = invoiceService.getInvoicesByBranch(BRANCH_ID);
+
+        assertThat(responses).extracting(InvoiceResponse::id).containsExactly(live.getId(), archived.getId());
+        assertThat(responses.get(1).items()).extracting("description").containsExactly("Timing belt");
+    }
+
+    @Test
+    void companyInvoicesIncludeArchivedOnes() {
+        InvoiceEntity live = invoice();
+        InvoiceEntity archived = invoice();
+        when(invoiceRepository.findByCompanyIdOrderByInvoiceDateDesc(COMPANY_ID)).thenReturn(List.of(live));
+        when(invoiceArchiveRepository.findByCompanyIdOrderByInvoiceDateDesc(COMPANY_ID)).thenReturn(List.of(archived));
+
+        assertThat(invoiceService.getInvoicesByCompany(COMPANY_ID)).extracting(InvoiceResponse::id)
+                .containsExactly(live.getId(), archived.getId());
+    }
+
+    @Test
+    void paidInvoiceCannotBeReopened() {
+        InvoiceEntity paid = invoice();
+        paid.setStatus(InvoiceStatus.PAID);
+        when(invoiceRepository.findByIdAndCompanyId(paid.getId(), COMPANY_ID)).thenReturn(Optional.of(paid));
+
+        assertThatThrownBy(() -> invoiceService.updateInvoiceStatus(paid.getId(), InvoiceStatus.SENT))
+                .hasMessage("Cannot change status of paid or cancelled invoice");
+        assertThatThrownBy(() -> invoiceService.updateInvoiceStatus(paid.getId(), InvoiceStatus.CANCELLED))
+                .hasMessage("Cannot change status of paid or cancelled invoice");
+
+        assertThat(paid.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        verify(invoiceRepository, never()).save(any());
+        verify(invoiceResponseCache, never()).evictAfterCommit(any(), any());
+    }
+
+    private static InvoiceEntity invoice() {
+        return InvoiceEntity.builder()
+                .id(UUID.randomUUID())
+                .companyId(COMPANY_ID)
+                .branchId(BRANCH_ID)
+                .build();
+    }
+
+    private static InvoiceItemEntity line(InvoiceEntity invoice, String description) {
+        InvoiceItemEntity line = new InvoiceItemEntity();
+        line.setId(UUID.randomUUID());
+        line.setInvoiceId(invoice.getId());
+        line.setCompanyId(COMPANY_ID);
+        line.setDescription(description);
+        return line;
+    }
+}
@@ -0,0 +1,167 @@
+package com.codX.pos.service.impl;
+
+import com.codX.pos.entity.OutboxEventEntity;
+import com.codX.pos.entity.OutboxEventStatus;
+import com.codX.pos.entity.OutboxEventType;
+import com.codX.pos.outbox.OutboxEventSink;
+import com.codX.pos.outbox.OutboxMessage;
+import com.codX.pos.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxServiceImplTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final List<OutboxEventEntity> events = new ArrayList<>();
+    private final List<Long> delivered = new ArrayList<>();
+    private Predicate<OutboxMessage> rejected = message -> false;
+
+    private final OutboxServiceImpl outboxService = new OutboxServiceImpl(repository, this::publish,
+            new ObjectMapper(), mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxService, "batchSize", 3);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxService, "retryBackoffSeconds", 5L);
+        ReflectionTestUtils.setField(outboxService, "maxBackoffSeconds", 900L);
+
+        when(repository.lockRelayable(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return events.stream()
+                    .filter(event -> event.getStatus() == OutboxEventStatus.PENDING)
+                    .filter(event -> event.getNextAttemptAt() == null || !event.getNextAttemptAt().isAfter(now))
+                    .limit(limit)
+                    .toList();
+        });
+        when(repository.markPublished(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            events.stream().filter(event -> ids.contains(event.getId())).forEach(event -> {
+                event.setStatus(OutboxEventStatus.PUBLISHED);
+                event.setPublishedAt(invocation.getArgument(1));
+            });
+            return ids.size();
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation -> events.stream()
+                .filter(event -> event.getId().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void relaysPendingEventsInIdOrder() {
+        addEvents(5);
+
+        assertThat(outboxService.relayPendingEvents()).isEqualTo(5);
+
+        assertThat(delivered).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(events).allMatch(event -> event.getStatus() == OutboxEventStatus.PUBLISHED);
+    }
+
+    @Test
+    void poisonEventBacksOffWithoutHoldingBackTheOthers() {
+        addEvents(5);
+        rejected = message -> message.id() == 2L;
+
+        assertThat(outboxService.relayPendingEvents()).isEqualTo(1);
+
+        OutboxEventEntity poison = events.get(1);
+        assertThat(poison.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(poison.getAttempts()).isEqualTo(1);
+        assertThat(poison.getLastError()).isEqualTo("rejected 2");
+        assertThat(poison.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(3));
+
+        // The next run skips it while it backs off
+        outboxService.relayPendingEvents();
+        assertThat(delivered).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(poison.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffGrowsUpToTheCap() {
+        addEvents(1);
+        rejected = message -> true;
+        OutboxEventEntity event = events.get(0);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 20);
+        ReflectionTestUtils.setField(outboxService, "maxBackoffSeconds", 30L);
+
+        List<Long> backoffs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            event.setNextAttemptAt(null);
+            LocalDateTime before = LocalDateTime.now();
+            outboxService.relayPendingEvents();
+            backoffs.add(Duration.between(before, event.getNextAttemptAt()).toSeconds());
+        }
+
+        assertThat(backoffs).containsExactly(5L, 10L, 20L, 30L, 30L);
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttempts() {
+        addEvents(2);
+        rejected = message -> message.id() == 1L;
+        OutboxEventEntity poison = events.get(0);
+        poison.setAttempts(2);
+
+        outboxService.relayPendingEvents();
+
+        assertThat(poison.getStatus()).isEqualTo(OutboxEventStatus.DEAD_LETTER);
+        assertThat(poison.getAttempts()).isEqualTo(3);
+        assertThat(poison.getNextAttemptAt()).isNull();
+
+        outboxService.relayPendingEvents();
+        assertThat(delivered).containsExactly(2L);
+    }
+
+    @Test
+    void sinkOutageChargesOnlyTheOldestEvent() {
+        addEvents(3);
+        rejected = message -> true;
+
+        assertThat(outboxService.relayPendingEvents()).isZero();
+
+        assertThat(events).extracting(OutboxEventEntity::getAttempts).containsExactly(1, 0, 0);
+        assertThat(events).allMatch(event -> event.getStatus() == OutboxEventStatus.PENDING);
+    }
+
+    private void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (rejected.test(message)) {
+                throw new IllegalStateException("rejected " + message.id());
+            }
+        }
+        messages.forEach(message -> delivered.add(message.id()));
+    }
+
+    private void addEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            events.add(OutboxEventEntity.builder()
+                    .id((long) events.size() + 1)
+                    .eventType(OutboxEventType.STOCK_CHANGED)
+                    .aggregateId(UUID.randomUUID())
+                    .payload("{}")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.codX.pos.support;
+
+import com.codX.pos.metrics.SqlStatementCounter;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the number of SQL statements a block of code issues, e.g. in an integration test:
+ *
+ * <pre>{@code
+ * List<InvoiceResponse> invoices = SqlStatementAssertions.assertStatementsAtMost(3,
+ *         () -> invoiceService.getInvoicesByBranch(branchId));
+ * }</pre>
+ *
+ * Counts come from {@link SqlStatementCounter}, so only statements run through Hibernate on the
+ * calling thread are seen.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertStatementsAtMost(int maxStatements, Supplier<T> action) {
+        boolean owner = !SqlStatementCounter.isActive();
+        if (owner) {
+            SqlStatementCounter.start();
+        }
+        try {
+            SqlStatementCounter.StatementStats before = SqlStatementCounter.snapshot();
+            T result = action.get();
+            SqlStatementCounter.StatementStats issued = SqlStatementCounter.snapshot().since(before);
+
+            if (issued.total() > maxStatements) {
+                throw new AssertionError(String.format(
+                        "Expected at most %d SQL statements but %d were issued; most repeated (%d times): %s",
+                        maxStatements, issued.total(), issued.mostRepeatedCount(), issued.mostRepeated()));
+            }
+            return result;
+        } finally {
+            if (owner) {
+                SqlStatementCounter.stop();
+            }
+        }
+    }
+
+    public static void assertStatementsAtMost(int maxStatements, Runnable action) {
+        assertStatementsAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}